@@ -1,13 +1,19 @@
 package dev.dini.notification.service.config;
 
+import dev.dini.notification.service.dto.NotificationRequest;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
+
 @Configuration
 public class RabbitMQConfig {
 
@@ -35,4 +41,14 @@ public class RabbitMQConfig {
     public Binding binding(Queue queue, TopicExchange exchange) {
         return BindingBuilder.bind(queue).to(exchange).with(routingKey);
     }
+
+    // Account Service publishes JSON with the logical type id "notification"
+    @Bean
+    public MessageConverter messageConverter() {
+        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+        typeMapper.setIdClassMapping(Map.of("notification", NotificationRequest.class));
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package dev.dini.transaction.service.idempotency;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -6,6 +6,7 @@ import dev.dini.transaction.service.customer.CustomerDTO;
 import dev.dini.transaction.service.customer.CustomerServiceClient;
 import dev.dini.transaction.service.dto.TransactionRequestDTO;
 import dev.dini.transaction.service.dto.TransactionResponseDTO;
+import dev.dini.transaction.service.idempotency.IdempotencyStore;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,18 +25,27 @@ public class TransactionController {
     private final TransactionService transactionService;
     private final AccountServiceClient accountServiceClient;
     private final CustomerServiceClient customerServiceClient;
+    private final IdempotencyStore idempotencyStore;
 
-    public TransactionController(TransactionService transactionService, AccountServiceClient accountServiceClient, CustomerServiceClient customerServiceClient) {
+    public TransactionController(TransactionService transactionService, AccountServiceClient accountServiceClient, CustomerServiceClient customerServiceClient, IdempotencyStore idempotencyStore) {
         this.transactionService = transactionService;
         this.accountServiceClient = accountServiceClient;
         this.customerServiceClient = customerServiceClient;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @PostMapping
-    public ResponseEntity<TransactionResponseDTO> createTransaction(@RequestBody @Valid TransactionRequestDTO request) {
+    public ResponseEntity<TransactionResponseDTO> createTransaction(@RequestBody @Valid TransactionRequestDTO request,
+                                                                    @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
         if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
+        // A retry with the same Idempotency-Key gets the first response back instead of a second transaction
+        return idempotencyStore.execute("transaction-create", idempotencyKey, request.toString(),
+                TransactionResponseDTO.class, () -> processTransaction(request));
+    }
+
+    private ResponseEntity<TransactionResponseDTO> processTransaction(TransactionRequestDTO request) {
         try {
             // Fetch sender and receiver account details
             AccountDTO senderAccount = accountServiceClient.getAccountId(request.getSenderAccountId());
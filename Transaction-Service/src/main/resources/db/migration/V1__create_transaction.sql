@@ -0,0 +1,18 @@
+-- The Transaction entity's table, column types as Hibernate generated them under ddl-auto: create, so
+-- databases that already hold it are kept as they are
+CREATE TABLE IF NOT EXISTS transaction (
+    transaction_id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sender_account_id INTEGER NOT NULL,
+    receiver_account_id INTEGER NOT NULL,
+    amount NUMERIC(38, 2) NOT NULL,
+    transaction_type VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    timestamp TIMESTAMP(6),
+    description VARCHAR(255),
+    transaction_reference_id VARCHAR(255) UNIQUE,
+    payment_method SMALLINT,
+    initiated_by_customer_id INTEGER,
+    processed_by_customer_id INTEGER,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
@@ -4,6 +4,7 @@ import dev.dini.transaction.service.account.AccountServiceClient;
 import dev.dini.transaction.service.customer.CustomerServiceClient;
 import dev.dini.transaction.service.dto.TransactionRequestDTO;
 import dev.dini.transaction.service.dto.TransactionResponseDTO;
+import dev.dini.transaction.service.idempotency.IdempotencyStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -18,6 +19,10 @@ import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +37,9 @@ class TransactionControllerTest {
     @Mock
     private CustomerServiceClient customerServiceClient;
 
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
     @InjectMocks
     private TransactionController transactionController;
 
@@ -50,11 +58,29 @@ class TransactionControllerTest {
         requestDTO.setReceiverAccountId(2);
         requestDTO.setAmount(BigDecimal.valueOf(-100));
 
-        ResponseEntity<TransactionResponseDTO> response = transactionController.createTransaction(requestDTO);
+        ResponseEntity<TransactionResponseDTO> response = transactionController.createTransaction(requestDTO, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
 
+    @Test
+    void createTransaction_withRepeatedIdempotencyKey_returnsStoredResponse() {
+        TransactionRequestDTO requestDTO = new TransactionRequestDTO();
+        requestDTO.setSenderAccountId(1);
+        requestDTO.setReceiverAccountId(2);
+        requestDTO.setAmount(BigDecimal.valueOf(100));
+        TransactionResponseDTO stored = new TransactionResponseDTO();
+        when(idempotencyStore.execute(eq("transaction-create"), eq("key-1"), eq(requestDTO.toString()),
+                eq(TransactionResponseDTO.class), any()))
+                .thenReturn(new ResponseEntity<>(stored, HttpStatus.CREATED));
+
+        ResponseEntity<TransactionResponseDTO> response = transactionController.createTransaction(requestDTO, "key-1");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(stored, response.getBody());
+        verify(transactionService, never()).createTransaction(any());
+    }
+
     @Test
     void getTransaction_returnsNotFoundForNonExistentTransaction() {
         Integer transactionId = 999;
@@ -27,6 +27,8 @@ public class Account {
     private UUID customerId;
 
     private String accountName;
+
+    @Column(unique = true)
     private String accountNumber;
 
     @NotNull
@@ -44,10 +46,15 @@ public class Account {
     private BigDecimal transactionLimit;
 
     private LocalDateTime createdAt;
+    // Never null, the daily accrual selects changed accounts on it
+    @Column(nullable = false)
     private LocalDateTime updatedAt;
 
     private BigDecimal overdraftLimit = BigDecimal.ZERO;
 
+    // Number of sub-balance rows incoming credits are spread over, 0 when striping is off
+    private int balanceStripes;
+
     @Version
     private Integer version;
 
@@ -60,6 +67,9 @@ public class Account {
     @PrePersist
     public void prePersist() {
         this.createdAt = LocalDateTime.now();
+        if (this.updatedAt == null) {
+            this.updatedAt = this.createdAt;
+        }
     }
 
     @PreUpdate
@@ -2,13 +2,20 @@ package dev.dini.account.service.account;
 
 import dev.dini.account.service.customer.CustomerServiceClient;
 import dev.dini.account.service.dto.*;
+import dev.dini.account.service.idempotency.IdempotencyStore;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,6 +25,7 @@ import java.util.UUID;
 public class AccountController {
 
     private final AccountService accountService;
+    private final IdempotencyStore idempotencyStore;
 
     private static final Logger logger = LoggerFactory.getLogger(AccountController.class);
 
@@ -51,6 +59,33 @@ public class AccountController {
         return ResponseEntity.ok(accounts);
     }
 
+    // Pages of a customer's accounts in account ID order; pass the previous page's nextAfterId to continue
+    @GetMapping("/customer/{customerId}/page")
+    public ResponseEntity<AccountPageDTO> getAccountPageByCustomerId(@PathVariable UUID customerId,
+                                                                     @RequestParam(required = false) UUID afterId,
+                                                                     @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(accountService.getAccountPage(customerId, afterId, limit));
+    }
+
+    // All of a customer's accounts as newline-delimited JSON, written while they are read
+    @GetMapping(value = "/customer/{customerId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAccountsByCustomerId(@PathVariable UUID customerId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> accountService.exportAccounts(customerId, out));
+    }
+
+    // Admin export of every account as newline-delimited JSON
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAccounts() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> {
+                    long exported = accountService.exportAccounts(null, out);
+                    logger.info("Exported {} accounts", exported);
+                });
+    }
+
     @PutMapping("/{accountId}")
     public ResponseEntity<AccountResponseDTO> updateAccount(@PathVariable UUID accountId,
                                                             @RequestBody AccountRequestDTO accountRequestDTO) {
@@ -70,12 +105,48 @@ public class AccountController {
         return ResponseEntity.ok(balance);
     }
 
+    // A retried transfer with the same Idempotency-Key is answered from the store instead of moving money twice
     @PostMapping("/transfer")
     public ResponseEntity<Void> transferFunds(@RequestParam UUID fromAccountId,
                                               @RequestParam UUID toAccountId,
-                                              @RequestParam BigDecimal amount) {
-        accountService.transferFunds(fromAccountId, toAccountId, amount);
-        return ResponseEntity.ok().build();
+                                              @RequestParam BigDecimal amount,
+                                              @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        String request = fromAccountId + "|" + toAccountId + "|" + amount.stripTrailingZeros().toPlainString();
+        return idempotencyStore.execute("account-transfer", idempotencyKey, request, Void.class, () -> {
+            accountService.transferFunds(fromAccountId, toAccountId, amount);
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    // Retried like a transfer: the same Idempotency-Key is answered from the store instead of debiting twice
+    @PostMapping("/{accountId}/withdraw")
+    public ResponseEntity<Void> withdraw(@PathVariable UUID accountId,
+                                         @RequestParam BigDecimal amount,
+                                         @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        String request = accountId + "|" + amount.stripTrailingZeros().toPlainString();
+        return idempotencyStore.execute("account-withdrawal", idempotencyKey, request, Void.class, () -> {
+            accountService.withdraw(accountId, amount);
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    // Bulk transfers, streamed as a JSON array or newline-delimited JSON of {fromAccountId, toAccountId, amount}
+    @PostMapping(value = "/transfers/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchTransferResponseDTO> transferFundsBatch(InputStream transfers) {
+        BatchTransferResponseDTO response = accountService.transferFundsBatch(transfers);
+        logger.info("Bulk transfer processed: {} applied, {} rejected", response.getApplied(), response.getRejected());
+        return ResponseEntity.ok(response);
+    }
+
+    // Migration import, streamed as CSV with a header row, a JSON array or newline-delimited JSON of account records
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<AccountImportResponseDTO> importAccounts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                   InputStream accounts) {
+        AccountImportResponseDTO response = accountService.importAccounts(accounts, AccountImportFormat.fromContentType(contentType));
+        logger.info("Account import processed: {} imported, {} rejected", response.getImported(), response.getRejected());
+        return ResponseEntity.ok(response);
     }
 
     @PutMapping("/{accountId}/accountType")
@@ -104,6 +175,12 @@ public class AccountController {
         return ResponseEntity.ok().build();
     }
 
+    // Freeze, unfreeze or lock many accounts, or all of a customer's, in one request
+    @PostMapping("/status/bulk")
+    public ResponseEntity<BulkStatusChangeResponseDTO> changeStatus(@RequestBody BulkStatusChangeRequestDTO request) {
+        return ResponseEntity.ok(accountService.changeStatus(request));
+    }
+
     @PutMapping("/{accountId}/addHolder")
     public ResponseEntity<Void> addAccountHolder(@PathVariable UUID accountId,
                                                  @RequestParam UUID customerId) {
@@ -131,6 +208,14 @@ public class AccountController {
         return ResponseEntity.ok().build();
     }
 
+    // Opt a high-contention account into striped balances, stripes=0 turns it off again
+    @PutMapping("/{accountId}/balanceStripes")
+    public ResponseEntity<Void> setBalanceStripes(@PathVariable UUID accountId,
+                                                  @RequestParam int stripes) {
+        accountService.setBalanceStripes(accountId, stripes);
+        return ResponseEntity.ok().build();
+    }
+
     // Add the linkAccountToCustomer endpoint
     @PutMapping("/{accountId}/linkCustomer")
     public ResponseEntity<Void> linkAccountToCustomer(@PathVariable UUID accountId,
@@ -147,4 +232,37 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
 
-}
\ No newline at end of file
+    // What-if projection; unlike calculateInterest it changes nothing
+    @PostMapping("/interest/preview")
+    public ResponseEntity<InterestPreviewResponseDTO> previewInterest(@RequestBody InterestPreviewRequestDTO request) {
+        logger.info("Previewing interest over {} days", request.getHorizonDays());
+        return ResponseEntity.ok(accountService.previewInterest(request));
+    }
+
+    // Pages of interest history, newest first; pass the previous page's next cursor to continue
+    @GetMapping("/{accountId}/interest/history")
+    public ResponseEntity<InterestHistoryPageDTO> getInterestHistory(@PathVariable UUID accountId,
+                                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTimestamp,
+                                                                     @RequestParam(required = false) Long beforeId,
+                                                                     @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(accountService.getInterestHistory(accountId, beforeTimestamp, beforeId, limit));
+    }
+
+    @GetMapping("/{accountId}/interest/totals")
+    public ResponseEntity<List<InterestPeriodTotalDTO>> getInterestTotals(@PathVariable UUID accountId,
+                                                                          @RequestParam(required = false) Integer year) {
+        return ResponseEntity.ok(accountService.getInterestTotals(accountId, year));
+    }
+
+    // Audit events newest first, filtered by account, event and [from, to); pass the previous page's next cursor to continue
+    @GetMapping("/audit")
+    public ResponseEntity<AuditEventPageDTO> getAuditEvents(@RequestParam(required = false) UUID accountId,
+                                                            @RequestParam(required = false) String event,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTimestamp,
+                                                            @RequestParam(required = false) Long beforeId,
+                                                            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(accountService.getAuditEvents(accountId, event, from, to, beforeTimestamp, beforeId, limit));
+    }
+}
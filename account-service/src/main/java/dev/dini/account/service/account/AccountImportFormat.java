@@ -0,0 +1,12 @@
+package dev.dini.account.service.account;
+
+public enum AccountImportFormat {
+    // A JSON array or newline-delimited JSON of records
+    JSON,
+    // Comma-separated values with a header row naming the record fields
+    CSV;
+
+    public static AccountImportFormat fromContentType(String contentType) {
+        return contentType != null && contentType.toLowerCase().startsWith("text/csv") ? CSV : JSON;
+    }
+}
@@ -0,0 +1,83 @@
+package dev.dini.account.service.account;
+
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountStatusRegistry;
+import dev.dini.account.service.dto.AccountImportRecordDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Inserts one chunk of imported accounts with a single JDBC batch in one transaction. An account
+ * whose number is already taken is skipped by the unique index instead of failing the chunk.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountImportProcessor {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO accounts (account_id, customer_id, account_name, account_number, balance, account_type, status, " +
+                    "overdraft_protection, overdraft_limit, transaction_limit, balance_stripes, version, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?) ON CONFLICT (account_number) DO NOTHING";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AccountAuditService accountAuditService;
+    private final AccountStatusRegistry accountStatusRegistry;
+
+    /**
+     * @return Per account, in order, whether it was inserted; false when its account number was taken
+     */
+    @Transactional
+    public boolean[] insertChunk(List<NewAccount> accounts) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(accounts.size());
+        for (NewAccount account : accounts) {
+            AccountImportRecordDTO record = account.record();
+            args.add(new Object[]{account.accountId(), record.getCustomerId(), record.getAccountName(), account.accountNumber(),
+                    orZero(record.getBalance()), record.getAccountType().name(), statusOf(record).name(),
+                    record.isOverdraftProtection(), orZero(record.getOverdraftLimit()), orZero(record.getTransactionLimit()),
+                    now, now});
+        }
+        int[] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, args);
+
+        boolean[] inserted = new boolean[accounts.size()];
+        List<UUID> insertedIds = new ArrayList<>(accounts.size());
+        Map<AccountStatus, List<UUID>> inactive = new EnumMap<>(AccountStatus.class);
+        for (int i = 0; i < accounts.size(); i++) {
+            // The driver may report SUCCESS_NO_INFO (-2) instead of a row count
+            inserted[i] = counts[i] != 0;
+            if (inserted[i]) {
+                NewAccount account = accounts.get(i);
+                insertedIds.add(account.accountId());
+                AccountStatus status = statusOf(account.record());
+                if (status != AccountStatus.ACTIVE) {
+                    inactive.computeIfAbsent(status, s -> new ArrayList<>()).add(account.accountId());
+                }
+            }
+        }
+        accountAuditService.logAccountEvents(insertedIds, "IMPORT_ACCOUNT", "Account imported");
+        inactive.forEach((status, ids) -> accountStatusRegistry.statusChanged(ids, status));
+        return inserted;
+    }
+
+    static AccountStatus statusOf(AccountImportRecordDTO record) {
+        return record.getStatus() != null ? record.getStatus() : AccountStatus.ACTIVE;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    public record NewAccount(UUID accountId, String accountNumber, AccountImportRecordDTO record) {
+    }
+}
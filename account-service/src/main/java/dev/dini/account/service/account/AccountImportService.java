@@ -0,0 +1,329 @@
+package dev.dini.account.service.account;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.dini.account.service.component.AccountNumberGenerator;
+import dev.dini.account.service.customer.CustomerServiceClient;
+import dev.dini.account.service.dto.AccountImportRecordDTO;
+import dev.dini.account.service.dto.AccountImportRejectionDTO;
+import dev.dini.account.service.dto.AccountImportResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports accounts migrated from another system. The file is streamed and handled in chunks: one
+ * customer-service call checks every customer of a chunk, account numbers come from the generator's
+ * reserved blocks, and the chunk is inserted with one JDBC batch. Creation notifications are not sent.
+ * Each chunk commits on its own, so after a failure the rejections say exactly what to import again.
+ */
+@Service
+public class AccountImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountImportService.class);
+
+    private final AccountImportProcessor accountImportProcessor;
+    private final CustomerServiceClient customerServiceClient;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final ObjectMapper objectMapper;
+    private final Counter importedCounter;
+    private final Counter rejectedCounter;
+
+    @Value("${account.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${account.import.max-reported-rejections:10000}")
+    private int maxReportedRejections = 10000;
+
+    @Value("${account.import.progress-every:100000}")
+    private long progressEvery = 100000;
+
+    public AccountImportService(AccountImportProcessor accountImportProcessor,
+                                CustomerServiceClient customerServiceClient,
+                                AccountNumberGenerator accountNumberGenerator,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.accountImportProcessor = accountImportProcessor;
+        this.customerServiceClient = customerServiceClient;
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.objectMapper = objectMapper;
+        // Watch these to follow a long import
+        this.importedCounter = Counter.builder("account.import.imported")
+                .description("Accounts inserted by imports")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("account.import.rejected")
+                .description("Import records that were rejected")
+                .register(meterRegistry);
+    }
+
+    public AccountImportResponseDTO importAccounts(InputStream body, AccountImportFormat format) {
+        Run run = new Run();
+        List<Pending> chunk = new ArrayList<>(chunkSize);
+        try (RecordReader records = format == AccountImportFormat.CSV ? new CsvRecordReader(body) : new JsonRecordReader(body)) {
+            JsonNode node;
+            while ((node = records.next()) != null) {
+                long index = run.read++;
+                AccountImportRecordDTO record;
+                try {
+                    record = objectMapper.treeToValue(node, AccountImportRecordDTO.class);
+                } catch (JsonProcessingException e) {
+                    reject(run, index, null, "INVALID_RECORD: " + e.getOriginalMessage());
+                    continue;
+                }
+                String invalid = validate(record);
+                if (invalid != null) {
+                    reject(run, index, record.getCustomerId(), invalid);
+                    continue;
+                }
+                chunk.add(new Pending(index, record));
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, run);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Account import file could not be read after {} records", run.read, e);
+            run.response.setError("Malformed record at position " + run.read + ": " + e.getMessage());
+        }
+
+        // Records read before a malformed one are still imported
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, run);
+        }
+
+        AccountImportResponseDTO response = run.response;
+        response.setTotal(run.read);
+        response.setElapsedMillis((System.nanoTime() - run.started) / 1_000_000);
+        logger.info("Account import finished: {} records, {} imported, {} rejected in {} ms",
+                response.getTotal(), response.getImported(), response.getRejected(), response.getElapsedMillis());
+        return response;
+    }
+
+    private static String validate(AccountImportRecordDTO record) {
+        if (record.getCustomerId() == null || record.getAccountType() == null) {
+            return "MISSING_FIELDS";
+        }
+        if (record.getBalance() != null && record.getBalance().signum() < 0) {
+            return "NEGATIVE_BALANCE";
+        }
+        return null;
+    }
+
+    private void processChunk(List<Pending> chunk, Run run) {
+        Set<UUID> customerIds = new HashSet<>();
+        for (Pending pending : chunk) {
+            customerIds.add(pending.record().getCustomerId());
+        }
+        Set<UUID> existing;
+        try {
+            existing = new HashSet<>(customerServiceClient.findExistingCustomerIds(customerIds));
+        } catch (RuntimeException e) {
+            logger.error("Customer check for the import chunk starting at record {} failed", chunk.get(0).index(), e);
+            rejectAll(chunk, run, "CUSTOMER_CHECK_FAILED");
+            return;
+        }
+
+        List<Pending> accepted = new ArrayList<>(chunk.size());
+        for (Pending pending : chunk) {
+            if (existing.contains(pending.record().getCustomerId())) {
+                accepted.add(pending);
+            } else {
+                reject(run, pending.index(), pending.record().getCustomerId(), "CUSTOMER_NOT_FOUND");
+            }
+        }
+        if (accepted.isEmpty()) {
+            logProgress(run);
+            return;
+        }
+
+        try {
+            // Kept numbers first, so the generator never hands out one of them for the rest of the chunk
+            List<String> keptNumbers = new ArrayList<>();
+            for (Pending pending : accepted) {
+                if (hasAccountNumber(pending.record())) {
+                    keptNumbers.add(pending.record().getAccountNumber());
+                }
+            }
+            accountNumberGenerator.skipPast(keptNumbers);
+
+            List<AccountImportProcessor.NewAccount> accounts = new ArrayList<>(accepted.size());
+            for (Pending pending : accepted) {
+                AccountImportRecordDTO record = pending.record();
+                String accountNumber = hasAccountNumber(record)
+                        ? record.getAccountNumber()
+                        : accountNumberGenerator.generateUniqueAccountNumber(record.getAccountType());
+                accounts.add(new AccountImportProcessor.NewAccount(UUID.randomUUID(), accountNumber, record));
+            }
+            boolean[] inserted = accountImportProcessor.insertChunk(accounts);
+            long imported = 0;
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i]) {
+                    imported++;
+                } else {
+                    reject(run, accepted.get(i).index(), accepted.get(i).record().getCustomerId(), "DUPLICATE_ACCOUNT_NUMBER");
+                }
+            }
+            run.response.setImported(run.response.getImported() + imported);
+            importedCounter.increment(imported);
+        } catch (RuntimeException e) {
+            // The chunk's transaction rolled back as a whole, keep going with the next one
+            logger.error("Import chunk starting at record {} failed", chunk.get(0).index(), e);
+            rejectAll(accepted, run, "CHUNK_FAILED");
+        }
+        logProgress(run);
+    }
+
+    private static boolean hasAccountNumber(AccountImportRecordDTO record) {
+        return record.getAccountNumber() != null && !record.getAccountNumber().isBlank();
+    }
+
+    private void logProgress(Run run) {
+        long done = run.response.getImported() + run.response.getRejected();
+        if (done / progressEvery > run.lastProgress / progressEvery) {
+            double seconds = Math.max(1, System.nanoTime() - run.started) / 1e9;
+            logger.info("Account import progress: {} records, {} imported, {} rejected, {} records/s",
+                    done, run.response.getImported(), run.response.getRejected(), Math.round(done / seconds));
+        }
+        run.lastProgress = done;
+    }
+
+    private void rejectAll(List<Pending> pendings, Run run, String reason) {
+        for (Pending pending : pendings) {
+            reject(run, pending.index(), pending.record().getCustomerId(), reason);
+        }
+    }
+
+    private void reject(Run run, long index, UUID customerId, String reason) {
+        AccountImportResponseDTO response = run.response;
+        response.setRejected(response.getRejected() + 1);
+        rejectedCounter.increment();
+        if (response.getRejections().size() < maxReportedRejections) {
+            response.getRejections().add(new AccountImportRejectionDTO(index, customerId, reason));
+        }
+    }
+
+    private record Pending(long index, AccountImportRecordDTO record) {
+    }
+
+    private static final class Run {
+        private final AccountImportResponseDTO response = new AccountImportResponseDTO();
+        private final long started = System.nanoTime();
+        private long read;
+        private long lastProgress;
+    }
+
+    private interface RecordReader extends AutoCloseable {
+        // Null at the end of the file
+        JsonNode next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private final class JsonRecordReader implements RecordReader {
+        private final MappingIterator<JsonNode> nodes;
+
+        private JsonRecordReader(InputStream body) throws IOException {
+            this.nodes = objectMapper.readerFor(JsonNode.class).readValues(body);
+        }
+
+        @Override
+        public JsonNode next() throws IOException {
+            return nodes.hasNextValue() ? nodes.nextValue() : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            nodes.close();
+        }
+    }
+
+    /**
+     * Reads a header row and then one record per line. Fields may be quoted with double quotes, with
+     * "" for a quote inside; a quoted field cannot span lines. Empty fields are left unset.
+     */
+    private final class CsvRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private final List<String> header;
+        private long line = 1;
+
+        private CsvRecordReader(InputStream body) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            String first = reader.readLine();
+            this.header = first == null ? List.of() : splitCsvLine(first, line);
+        }
+
+        @Override
+        public JsonNode next() throws IOException {
+            String row;
+            do {
+                row = reader.readLine();
+                line++;
+                if (row == null) {
+                    return null;
+                }
+            } while (row.isBlank());
+            List<String> values = splitCsvLine(row, line);
+            ObjectNode node = objectMapper.createObjectNode();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                if (!values.get(i).isEmpty()) {
+                    node.put(header.get(i).trim(), values.get(i));
+                }
+            }
+            return node;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    static List<String> splitCsvLine(String row, long line) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < row.length() && row.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted field on line " + line);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
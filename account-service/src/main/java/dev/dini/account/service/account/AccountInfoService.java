@@ -39,8 +39,8 @@ public class AccountInfoService {
 
     public AccountStatus checkAccountStatus(UUID accountId) {
         logger.info("Checking status for account ID: {}", accountId);
-        Account account = getAccount(accountId);
-        return account.getStatus();
+        return accountRepository.findStatusByAccountId(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
     }
 
     public List<Account> getAccountsByCustomerId(UUID customerId) {
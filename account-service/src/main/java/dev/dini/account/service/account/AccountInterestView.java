@@ -0,0 +1,13 @@
+package dev.dini.account.service.account;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The account columns an interest preview needs. The balance includes outstanding balance stripes.
+ */
+public record AccountInterestView(UUID accountId,
+                                  AccountType accountType,
+                                  BigDecimal balance,
+                                  Integer version) {
+}
@@ -0,0 +1,137 @@
+package dev.dini.account.service.account;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.dini.account.service.dto.AccountPageDTO;
+import dev.dini.account.service.dto.AccountSummaryDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lists accounts without loading them as entities: pages keyed on account_id for the API, and
+ * newline-delimited JSON streamed straight from a server-side cursor for exports, so neither holds
+ * more than a page or a fetch of rows however many accounts there are.
+ */
+@Service
+public class AccountListingService {
+
+    private static final String COLUMNS =
+            "SELECT account_id, customer_id, account_number, account_name, account_type, status, balance, created_at FROM accounts";
+
+    private static final RowMapper<AccountSummaryDTO> SUMMARY = (rs, rowNum) -> toSummary(rs);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    // Flushed once at the end of an export rather than after every row
+    private final ObjectWriter summaryWriter;
+
+    @Value("${account.listing.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    // Rows Postgres sends per round trip while an export walks its cursor
+    @Value("${account.listing.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    public AccountListingService(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.summaryWriter = objectMapper.writerFor(AccountSummaryDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @param customerId The customer whose accounts are listed, null for all accounts
+     * @param afterId    Cursor from the previous page, null for the first page
+     */
+    @Transactional(readOnly = true)
+    public AccountPageDTO getPage(UUID customerId, UUID afterId, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        StringBuilder sql = new StringBuilder(COLUMNS).append(" WHERE TRUE");
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit + 1);
+        if (customerId != null) {
+            sql.append(" AND customer_id = :customerId");
+            params.addValue("customerId", customerId);
+        }
+        if (afterId != null) {
+            sql.append(" AND account_id > :afterId");
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY account_id LIMIT :limit");
+
+        // One row more than asked for tells whether there is a next page
+        List<AccountSummaryDTO> rows = jdbcTemplate.query(sql.toString(), params, SUMMARY);
+        if (rows.size() <= limit) {
+            return new AccountPageDTO(rows, null);
+        }
+        List<AccountSummaryDTO> accounts = List.copyOf(rows.subList(0, limit));
+        return new AccountPageDTO(accounts, accounts.get(limit - 1).getAccountId());
+    }
+
+    /**
+     * Writes the accounts as newline-delimited JSON in account_id order. Postgres only streams through
+     * a cursor inside a transaction, hence the read-only one around the whole export.
+     *
+     * @param customerId The customer whose accounts are written, null for all accounts
+     * @return The number of accounts written
+     */
+    @Transactional(readOnly = true)
+    public long export(UUID customerId, OutputStream out) throws IOException {
+        String sql = COLUMNS + (customerId != null ? " WHERE customer_id = ?" : "") + " ORDER BY account_id";
+        long[] written = new long[1];
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            jdbcTemplate.getJdbcTemplate().query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(fetchSize);
+                if (customerId != null) {
+                    statement.setObject(1, customerId);
+                }
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    summaryWriter.writeValue(generator, toSummary(rs));
+                    generator.writeRaw('\n');
+                    written[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return written[0];
+    }
+
+    private static AccountSummaryDTO toSummary(ResultSet rs) throws SQLException {
+        String accountType = rs.getString("account_type");
+        String status = rs.getString("status");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new AccountSummaryDTO(
+                rs.getObject("account_id", UUID.class),
+                rs.getObject("customer_id", UUID.class),
+                rs.getString("account_number"),
+                rs.getString("account_name"),
+                accountType != null ? AccountType.valueOf(accountType) : null,
+                status != null ? AccountStatus.valueOf(status) : null,
+                rs.getBigDecimal("balance"),
+                createdAt != null ? createdAt.toLocalDateTime() : null);
+    }
+}
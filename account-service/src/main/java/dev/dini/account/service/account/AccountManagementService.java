@@ -1,6 +1,7 @@
 package dev.dini.account.service.account;
 
 import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountBalanceCache;
 import dev.dini.account.service.component.AccountNumberGenerator;
 import dev.dini.account.service.customer.CustomerDTO;
 import dev.dini.account.service.customer.CustomerServiceClient;
@@ -12,6 +13,7 @@ import dev.dini.account.service.security.AccountSecurityService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -24,6 +26,9 @@ public class AccountManagementService {
 
     private static final Logger logger = LoggerFactory.getLogger(AccountManagementService.class);
 
+    // Attempts to save a new account before a taken account number is given up on
+    private static final int MAX_ACCOUNT_NUMBER_ATTEMPTS = 3;
+
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
     private final AccountAuditService accountAuditLog;
@@ -33,6 +38,7 @@ public class AccountManagementService {
     private final AccountInfoService accountInfoService;
     private final AccountSecurityService accountSecurityService;
     private final InterestCalculationService interestCalculationService;
+    private final AccountBalanceCache accountBalanceCache;
 
     public Account createAccount(CreateAccountRequestDTO createAccountRequestDTO) {
         logger.info("Creating a new account for customer ID: {}", createAccountRequestDTO.getCustomerId());
@@ -40,10 +46,6 @@ public class AccountManagementService {
         // Validate customer existence
         CustomerDTO customerDTO = customerServiceClient.getCustomerById(createAccountRequestDTO.getCustomerId());
 
-        // Generate unique account number
-        AccountType accountType = createAccountRequestDTO.getAccountType();
-        String generatedAccountNumber = accountNumberGenerator.generateUniqueAccountNumber(accountType);
-
         // Create account from request DTO
         Account newAccount = accountMapper.toAccountFromCreateRequest(createAccountRequestDTO);
         newAccount.setCustomerId(customerDTO.getCustomerId());
@@ -51,8 +53,8 @@ public class AccountManagementService {
         newAccount.setCreatedAt(LocalDateTime.now());
         newAccount.setUpdatedAt(LocalDateTime.now());
 
-        // Save the new account to the repository
-        Account savedAccount = accountRepository.save(newAccount);
+        // Save the new account under a unique account number
+        Account savedAccount = saveWithNewAccountNumber(newAccount, createAccountRequestDTO.getAccountType());
 
         // Log the account creation event and send notification
         accountAuditLog.logAccountEvent(savedAccount.getAccountId(), "CREATE_ACCOUNT", "New account created");
@@ -62,12 +64,32 @@ public class AccountManagementService {
         return savedAccount;
     }
 
+    private Account saveWithNewAccountNumber(Account newAccount, AccountType accountType) {
+        for (int attempt = 1; ; attempt++) {
+            newAccount.setAccountNumber(accountNumberGenerator.generateUniqueAccountNumber(accountType));
+            try {
+                return accountRepository.save(newAccount);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_ACCOUNT_NUMBER_ATTEMPTS) {
+                    throw e;
+                }
+                // Most likely a number another instance imported inside our current block
+                logger.warn("Account number {} could not be saved, retrying with a new block", newAccount.getAccountNumber(), e);
+                accountNumberGenerator.skipBlock();
+                newAccount.setAccountId(null);
+                newAccount.setVersion(null);
+            }
+        }
+    }
+
     public AccountResponseDTO updateAccount(UUID accountId, AccountRequestDTO accountRequestDTO) {
         logger.info("Updating account with ID: {}", accountId);
         Account existingAccount = accountInfoService.getAccount(accountId);
         accountMapper.updateAccountFromDto(accountRequestDTO, existingAccount);
         existingAccount.setUpdatedAt(LocalDateTime.now());
         Account updatedAccount = accountRepository.save(existingAccount);
+        // The request DTO may carry a balance
+        accountBalanceCache.evict(accountId);
 
         accountAuditLog.logAccountEvent(accountId, "UPDATE_ACCOUNT", "Account updated");
 
@@ -159,6 +181,13 @@ public class AccountManagementService {
         accountSecurityService.unfreezeAccount(accountId);
     }
 
+    public BulkStatusChangeResponseDTO changeStatus(BulkStatusChangeRequestDTO request) {
+        logger.info("Changing status of {} to {}", request.getCustomerId() != null
+                ? "accounts of customer " + request.getCustomerId()
+                : (request.getAccountIds() == null ? 0 : request.getAccountIds().size()) + " accounts", request.getStatus());
+        return accountSecurityService.changeStatus(request);
+    }
+
     // New methods for interest calculation
     public InterestCalculationResponseDTO calculateInterest(UUID accountId) {
         logger.info("Calculating interest for account ID: {}", accountId);
@@ -1,8 +1,14 @@
 package dev.dini.account.service.account;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,6 +20,95 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
 
     List<Account> findByAccountType(AccountType accountType);
 
-    boolean existsByAccountNumber(String accountNumber);
-}
+    // Guarded debit: only applies when the row still holds enough funds, returns the number of rows updated
+    @Modifying
+    @Query("update Account a set a.balance = a.balance - :amount, a.updatedAt = :updatedAt, " +
+            "a.version = coalesce(a.version, 0) + 1 " +
+            "where a.accountId = :accountId and a.balance >= :amount")
+    int debitIfSufficient(@Param("accountId") UUID accountId,
+                          @Param("amount") BigDecimal amount,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Guarded debit that may take the balance down to -overdraft, never below the row's own overdraft limit and only
+    // while the row has overdraft protection on
+    @Modifying
+    @Query("update Account a set a.balance = a.balance - :amount, a.updatedAt = :updatedAt, " +
+            "a.version = coalesce(a.version, 0) + 1 " +
+            "where a.accountId = :accountId " +
+            "and (a.balance >= :amount " +
+            "or (a.overdraftProtection = true and a.balance + least(:overdraft, coalesce(a.overdraftLimit, 0)) >= :amount))")
+    int debitWithinOverdraft(@Param("accountId") UUID accountId,
+                             @Param("amount") BigDecimal amount,
+                             @Param("overdraft") BigDecimal overdraft,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Credits the main row only when the account does not spread credits over balance stripes
+    @Modifying
+    @Query("update Account a set a.balance = a.balance + :amount, a.updatedAt = :updatedAt, " +
+            "a.version = coalesce(a.version, 0) + 1 " +
+            "where a.accountId = :accountId and a.balanceStripes = 0")
+    int creditIfUnstriped(@Param("accountId") UUID accountId,
+                          @Param("amount") BigDecimal amount,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("update Account a set a.balance = a.balance + :amount, a.updatedAt = :updatedAt, " +
+            "a.version = coalesce(a.version, 0) + 1 " +
+            "where a.accountId = :accountId")
+    int credit(@Param("accountId") UUID accountId,
+               @Param("amount") BigDecimal amount,
+               @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("update Account a set a.balanceStripes = :stripes, a.updatedAt = :updatedAt, " +
+            "a.version = coalesce(a.version, 0) + 1 where a.accountId = :accountId")
+    int updateBalanceStripes(@Param("accountId") UUID accountId,
+                             @Param("stripes") int stripes,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select a.accountId from Account a where a.balanceStripes > 0")
+    List<UUID> findStripedAccountIds();
+
+    // Lightweight lookups for the validation paths: they read single columns instead of hydrating the entity
+
+    @Query("select a.status from Account a where a.accountId = :accountId")
+    Optional<AccountStatus> findStatusByAccountId(@Param("accountId") UUID accountId);
 
+    @Query("select a.accountType from Account a where a.accountId = :accountId")
+    Optional<AccountType> findAccountTypeByAccountId(@Param("accountId") UUID accountId);
+
+    // Main row only
+    @Query("select a.balance from Account a where a.accountId = :accountId")
+    Optional<BigDecimal> findBalanceByAccountId(@Param("accountId") UUID accountId);
+
+    @Query("select new dev.dini.account.service.account.AccountValidationView(a.accountId, a.status, a.accountType, " +
+            "a.transactionLimit, a.balance, a.overdraftProtection, a.overdraftLimit) " +
+            "from Account a where a.accountId = :accountId")
+    Optional<AccountValidationView> findValidationViewByAccountId(@Param("accountId") UUID accountId);
+
+    // Both sides of a transfer in one round trip
+    @Query("select new dev.dini.account.service.account.AccountValidationView(a.accountId, a.status, a.accountType, " +
+            "a.transactionLimit, a.balance, a.overdraftProtection, a.overdraftLimit) " +
+            "from Account a where a.accountId in :accountIds")
+    List<AccountValidationView> findValidationViewsByAccountIds(@Param("accountIds") Collection<UUID> accountIds);
+
+    // Row lock on the main row; whatever locks both the row and its stripes takes the row first
+    @Query(value = "SELECT a.account_id FROM accounts a WHERE a.account_id = :accountId FOR UPDATE", nativeQuery = true)
+    Optional<UUID> lockByAccountId(@Param("accountId") UUID accountId);
+
+    // Main row plus outstanding balance stripes in one round trip
+    @Query(value = "SELECT a.balance + COALESCE((SELECT SUM(s.balance) FROM account_balance_stripes s " +
+            "WHERE s.account_id = a.account_id), 0) FROM accounts a WHERE a.account_id = :accountId", nativeQuery = true)
+    Optional<BigDecimal> findTotalBalanceByAccountId(@Param("accountId") UUID accountId);
+
+    // Interest previews read only these columns and never load the entity for writing
+    @Query("select new dev.dini.account.service.account.AccountInterestView(a.accountId, a.accountType, " +
+            "a.balance + coalesce((select sum(s.balance) from AccountBalanceStripe s where s.id.accountId = a.accountId), 0), " +
+            "a.version) from Account a where a.accountId in :accountIds")
+    List<AccountInterestView> findInterestViewsByAccountIds(@Param("accountIds") Collection<UUID> accountIds);
+
+    @Query("select new dev.dini.account.service.account.AccountInterestView(a.accountId, a.accountType, " +
+            "a.balance + coalesce((select sum(s.balance) from AccountBalanceStripe s where s.id.accountId = a.accountId), 0), " +
+            "a.version) from Account a where a.customerId = :customerId order by a.accountId")
+    List<AccountInterestView> findInterestViewsByCustomerId(@Param("customerId") UUID customerId);
+}
@@ -2,7 +2,11 @@ package dev.dini.account.service.account;
 
 import dev.dini.account.service.dto.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,6 +17,12 @@ public interface AccountService {
 
     List<Account> getAccountsByCustomerId(UUID customerId);
 
+    // Accounts of a customer, or all accounts when customerId is null, one keyset page at a time
+    AccountPageDTO getAccountPage(UUID customerId, UUID afterId, int limit);
+
+    // Streams the accounts of a customer, or all accounts when customerId is null, as newline-delimited JSON
+    long exportAccounts(UUID customerId, OutputStream out) throws IOException;
+
     Account createAccount(CreateAccountRequestDTO createAccountRequestDTO);
 
     // Retrieve account details
@@ -27,6 +37,15 @@ public interface AccountService {
     AccountResponseDTO updateAccount(UUID accountId, AccountRequestDTO accountRequestDTO);
     void transferFunds(UUID fromAccountId, UUID toAccountId, BigDecimal amount);
 
+    // Debit the account, using its overdraft where the balance does not cover the amount
+    void withdraw(UUID accountId, BigDecimal amount);
+
+    // Apply a stream of transfers (JSON array or NDJSON) in chunked transactions
+    BatchTransferResponseDTO transferFundsBatch(InputStream transfers);
+
+    // Import migrated accounts from a CSV or JSON stream in chunked transactions
+    AccountImportResponseDTO importAccounts(InputStream accounts, AccountImportFormat format);
+
     Account changeAccountType(UUID accountId, AccountType newAccountType);
 
     void setOverdraftProtection(UUID accountId, boolean enabled);
@@ -34,6 +53,9 @@ public interface AccountService {
     void freezeAccount(UUID accountId);
     void unfreezeAccount(UUID accountId);
 
+    // Set-based status change of many accounts, e.g. a mass freeze during an incident
+    BulkStatusChangeResponseDTO changeStatus(BulkStatusChangeRequestDTO request);
+
 
     void addAccountHolder(UUID accountId, UUID customerId);
     void removeAccountHolder(UUID accountId, UUID customerId);
@@ -43,6 +65,22 @@ public interface AccountService {
 
     void setTransactionLimit(UUID accountId, BigDecimal limit);
 
+    // Spread incoming credits over N balance stripes, 0 turns striping off
+    void setBalanceStripes(UUID accountId, int stripes);
+
     // Calculate interest
     InterestCalculationResponseDTO calculateInterest(InterestCalculationRequestDTO request);
+
+    // Project interest without touching any balance
+    InterestPreviewResponseDTO previewInterest(InterestPreviewRequestDTO request);
+
+    // Interest history, newest first, one keyset page at a time
+    InterestHistoryPageDTO getInterestHistory(UUID accountId, LocalDateTime beforeTimestamp, Long beforeId, int limit);
+
+    // Monthly totals and the total of one year, or the total of every year when year is null
+    List<InterestPeriodTotalDTO> getInterestTotals(UUID accountId, Integer year);
+
+    // Audit events newest first, one keyset page at a time; needs an account or a start time
+    AuditEventPageDTO getAuditEvents(UUID accountId, String event, LocalDateTime from, LocalDateTime to,
+                                     LocalDateTime beforeTimestamp, Long beforeId, int limit);
 }
@@ -1,16 +1,25 @@
 package dev.dini.account.service.account;
 
+import dev.dini.account.service.audit.AccountAuditQueryService;
 import dev.dini.account.service.audit.AccountAuditService;
 import dev.dini.account.service.dto.*;
+import dev.dini.account.service.transaction.BatchTransferService;
 import dev.dini.account.service.transaction.TransactionService;
 import dev.dini.account.service.interest.InterestCalculationService;
+import dev.dini.account.service.interest.InterestHistoryService;
+import dev.dini.account.service.interest.InterestPreviewService;
+import dev.dini.account.service.stripe.StripedBalanceService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,6 +33,13 @@ public class AccountServiceImpl implements AccountService {
     private final AccountInfoService accountInfoService;
     private final TransactionService transactionService;
     private final InterestCalculationService interestCalculationService;
+    private final BatchTransferService batchTransferService;
+    private final StripedBalanceService stripedBalanceService;
+    private final InterestPreviewService interestPreviewService;
+    private final InterestHistoryService interestHistoryService;
+    private final AccountImportService accountImportService;
+    private final AccountAuditQueryService accountAuditQueryService;
+    private final AccountListingService accountListingService;
 
     @Override
     public Account createAccount(CreateAccountRequestDTO createAccountRequestDTO) {
@@ -57,6 +73,21 @@ public class AccountServiceImpl implements AccountService {
         logger.info("Transaction from account {} to account {} of amount {} processed successfully", fromAccountId, toAccountId, amount);
     }
 
+    @Override
+    public void withdraw(UUID accountId, BigDecimal amount) {
+        transactionService.withdraw(accountId, amount);
+    }
+
+    @Override
+    public BatchTransferResponseDTO transferFundsBatch(InputStream transfers) {
+        return batchTransferService.transfer(transfers);
+    }
+
+    @Override
+    public AccountImportResponseDTO importAccounts(InputStream accounts, AccountImportFormat format) {
+        return accountImportService.importAccounts(accounts, format);
+    }
+
     @Override
     public Account changeAccountType(UUID accountId, AccountType newAccountType) {
         return accountManagementService.changeAccountType(accountId, newAccountType);
@@ -77,6 +108,11 @@ public class AccountServiceImpl implements AccountService {
         accountManagementService.unfreezeAccount(accountId);
     }
 
+    @Override
+    public BulkStatusChangeResponseDTO changeStatus(BulkStatusChangeRequestDTO request) {
+        return accountManagementService.changeStatus(request);
+    }
+
     @Override
     public void addAccountHolder(UUID accountId, UUID customerId) {
         accountManagementService.addAccountHolder(accountId, customerId);
@@ -97,6 +133,11 @@ public class AccountServiceImpl implements AccountService {
         accountManagementService.setTransactionLimit(accountId, limit);
     }
 
+    @Override
+    public void setBalanceStripes(UUID accountId, int stripes) {
+        stripedBalanceService.setStripes(accountId, stripes);
+    }
+
     @Override
     public void processTransaction(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
         transactionService.transferFunds(fromAccountId, toAccountId, amount);
@@ -112,10 +153,41 @@ public class AccountServiceImpl implements AccountService {
         return accountInfoService.getAccountsByCustomerId(customerId);
     }
 
+    @Override
+    public AccountPageDTO getAccountPage(UUID customerId, UUID afterId, int limit) {
+        return accountListingService.getPage(customerId, afterId, limit);
+    }
+
+    @Override
+    public long exportAccounts(UUID customerId, OutputStream out) throws IOException {
+        return accountListingService.export(customerId, out);
+    }
+
     @Override
     public InterestCalculationResponseDTO calculateInterest(InterestCalculationRequestDTO request) {
         UUID accountId = request.getAccountId();
         logger.info("Calculating interest for account ID: {}", accountId);
         return interestCalculationService.calculateInterest(request);
     }
-}
\ No newline at end of file
+
+    @Override
+    public InterestPreviewResponseDTO previewInterest(InterestPreviewRequestDTO request) {
+        return interestPreviewService.preview(request);
+    }
+
+    @Override
+    public InterestHistoryPageDTO getInterestHistory(UUID accountId, LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        return interestHistoryService.getHistory(accountId, beforeTimestamp, beforeId, limit);
+    }
+
+    @Override
+    public List<InterestPeriodTotalDTO> getInterestTotals(UUID accountId, Integer year) {
+        return interestHistoryService.getTotals(accountId, year);
+    }
+
+    @Override
+    public AuditEventPageDTO getAuditEvents(UUID accountId, String event, LocalDateTime from, LocalDateTime to,
+                                            LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        return accountAuditQueryService.findEvents(accountId, event, from, to, beforeTimestamp, beforeId, limit);
+    }
+}
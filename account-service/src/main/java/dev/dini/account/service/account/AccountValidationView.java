@@ -0,0 +1,16 @@
+package dev.dini.account.service.account;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The account columns transfer validation needs, read without hydrating the {@link Account} entity.
+ */
+public record AccountValidationView(UUID accountId,
+                                    AccountStatus status,
+                                    AccountType accountType,
+                                    BigDecimal transactionLimit,
+                                    BigDecimal balance,
+                                    boolean overdraftProtection,
+                                    BigDecimal overdraftLimit) {
+}
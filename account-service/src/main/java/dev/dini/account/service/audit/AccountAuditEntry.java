@@ -0,0 +1,8 @@
+package dev.dini.account.service.audit;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// An audit event waiting in the ring buffer to be written
+record AccountAuditEntry(UUID accountId, String event, String details, LocalDateTime occurredAt) {
+}
@@ -0,0 +1,91 @@
+package dev.dini.account.service.audit;
+
+import dev.dini.account.service.dto.AuditEventDTO;
+import dev.dini.account.service.dto.AuditEventPageDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the audit trail newest first, a keyset page at a time. Every filter is a plain condition on
+ * account_audit, so Postgres only visits the monthly partitions inside the time range, and a single
+ * account is read through its (account_id, occurred_at, id) index in each of them: a page costs the
+ * same however much history there is.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountAuditQueryService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${audit.query.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    /**
+     * @param from            Inclusive lower bound; required when no account is given
+     * @param to              Exclusive upper bound, null for no bound
+     * @param beforeTimestamp Cursor from the previous page, together with {@code beforeId}; both null for the first page
+     */
+    public AuditEventPageDTO findEvents(UUID accountId, String event, LocalDateTime from, LocalDateTime to,
+                                        LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        if ((beforeTimestamp == null) != (beforeId == null)) {
+            throw new IllegalArgumentException("beforeTimestamp and beforeId must be given together");
+        }
+        if (accountId == null && from == null) {
+            throw new IllegalArgumentException("Either accountId or from must be given");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT id, account_id, event, details, occurred_at FROM account_audit WHERE TRUE");
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit + 1);
+        if (accountId != null) {
+            sql.append(" AND account_id = :accountId");
+            params.addValue("accountId", accountId);
+        }
+        if (event != null) {
+            sql.append(" AND event = :event");
+            params.addValue("event", event);
+        }
+        if (from != null) {
+            sql.append(" AND occurred_at >= :from");
+            params.addValue("from", Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND occurred_at < :to");
+            params.addValue("to", Timestamp.valueOf(to));
+        }
+        if (beforeTimestamp != null) {
+            // Also an upper bound on occurred_at, so later pages skip the newer partitions
+            sql.append(" AND occurred_at <= :beforeTimestamp AND (occurred_at, id) < (:beforeTimestamp, :beforeId)");
+            params.addValue("beforeTimestamp", Timestamp.valueOf(beforeTimestamp));
+            params.addValue("beforeId", beforeId);
+        }
+        sql.append(" ORDER BY occurred_at DESC, id DESC LIMIT :limit");
+
+        // One row more than asked for tells whether there is a next page
+        List<AuditEventDTO> rows = jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new AuditEventDTO(
+                rs.getLong("id"),
+                rs.getObject("account_id", UUID.class),
+                rs.getString("event"),
+                rs.getString("details"),
+                rs.getTimestamp("occurred_at").toLocalDateTime()));
+        if (rows.size() <= limit) {
+            return new AuditEventPageDTO(rows, null, null);
+        }
+        List<AuditEventDTO> events = rows.subList(0, limit);
+        AuditEventDTO last = events.get(limit - 1);
+        return new AuditEventPageDTO(List.copyOf(events), last.getOccurredAt(), last.getId());
+    }
+}
@@ -1,20 +1,209 @@
 package dev.dini.account.service.audit;
 
-import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
-@Slf4j
+/**
+ * Records account events in the account_audit table. Callers only put the event into a ring buffer;
+ * a single background thread writes the buffer out in multi-row batches, so an audited request does
+ * not wait on an insert. Inside a transaction the event is buffered once the transaction commits.
+ * <p>
+ * When the buffer is full a caller waits up to {@code audit.offer-timeout-ms} for room. Past that, and
+ * for batches that still fail after {@code audit.max-attempts} writes, events are dropped: they are
+ * counted in {@code audit.events.dropped} and logged in full, so the loss is bounded by the buffer
+ * size and never silent.
+ */
 @Service
 public class AccountAuditService {
+
     private static final Logger logger = LoggerFactory.getLogger(AccountAuditService.class);
 
+    private final AccountAuditWriter accountAuditWriter;
+    private final AuditRingBuffer buffer;
+    private final Counter written;
+    private final Counter dropped;
+
+    @Value("${audit.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${audit.flush-interval-ms:200}")
+    private long flushIntervalMs = 200;
+
+    @Value("${audit.offer-timeout-ms:50}")
+    private long offerTimeoutMs = 50;
+
+    @Value("${audit.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    @Value("${audit.retry-backoff-ms:500}")
+    private long retryBackoffMs = 500;
+
+    private volatile Thread writerThread;
+    private volatile boolean running;
+
+    public AccountAuditService(AccountAuditWriter accountAuditWriter,
+                               MeterRegistry meterRegistry,
+                               @Value("${audit.buffer-capacity:65536}") int bufferCapacity) {
+        this.accountAuditWriter = accountAuditWriter;
+        this.buffer = new AuditRingBuffer(bufferCapacity);
+        this.written = Counter.builder("audit.events.written")
+                .description("Audit events written to account_audit")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit.events.dropped")
+                .description("Audit events dropped because the buffer was full or the write kept failing")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
     public void logAccountEvent(UUID accountId, String event, String details) {
-        logger.info("Account Event - AccountID: {}, Event: {}, Details: {}, Timestamp: {}",
-                accountId, event, details, LocalDateTime.now());
+        AccountAuditEntry entry = new AccountAuditEntry(accountId, event, details, LocalDateTime.now());
+        afterCommit(() -> enqueue(entry));
+    }
+
+    public void logAccountEvents(Collection<UUID> accountIds, String event, String details) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime timestamp = LocalDateTime.now();
+        List<AccountAuditEntry> entries = new ArrayList<>(accountIds.size());
+        for (UUID accountId : accountIds) {
+            entries.add(new AccountAuditEntry(accountId, event, details, timestamp));
+        }
+        afterCommit(() -> entries.forEach(this::enqueue));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    void enqueue(AccountAuditEntry entry) {
+        if (buffer.offer(entry)) {
+            if (buffer.size() >= batchSize) {
+                wakeWriter();
+            }
+            return;
+        }
+        // Full: let the writer catch up for a bounded time rather than block the caller indefinitely
+        wakeWriter();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            if (buffer.offer(entry)) {
+                return;
+            }
+        }
+        dropped.increment();
+        logger.warn("Audit buffer full, dropped Account Event - AccountID: {}, Event: {}, Details: {}, Timestamp: {}",
+                entry.accountId(), entry.event(), entry.details(), entry.occurredAt());
+    }
+
+    private void wakeWriter() {
+        Thread writer = writerThread;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        Thread writer = new Thread(this::runWriter, "account-audit-writer");
+        writer.setDaemon(true);
+        writerThread = writer;
+        writer.start();
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                if (flush() < batchSize) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Audit writer failed", e);
+            }
+        }
+    }
+
+    /**
+     * Writes one batch from the buffer. Only the writer thread, or the shutdown after it has stopped,
+     * may call this.
+     *
+     * @return The number of events taken from the buffer
+     */
+    int flush() {
+        List<AccountAuditEntry> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+        int drained = buffer.drainTo(batch, batchSize);
+        if (drained > 0) {
+            write(batch);
+        }
+        return drained;
+    }
+
+    private void write(List<AccountAuditEntry> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                accountAuditWriter.write(batch);
+                written.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    dropped.increment(batch.size());
+                    logger.error("Failed to write {} audit events after {} attempts, dropping them", batch.size(), attempt, e);
+                    for (AccountAuditEntry entry : batch) {
+                        logger.error("Dropped Account Event - AccountID: {}, Event: {}, Details: {}, Timestamp: {}",
+                                entry.accountId(), entry.event(), entry.details(), entry.occurredAt());
+                    }
+                    return;
+                }
+                logger.warn("Failed to write {} audit events, attempt {} of {}", batch.size(), attempt, maxAttempts, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryBackoffMs * attempt));
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        Thread writer = writerThread;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+            if (writer.isAlive()) {
+                logger.warn("Audit writer still busy at shutdown, {} audit events not written", buffer.size());
+                return;
+            }
+        }
+        while (flush() > 0) {
+            // Write out whatever was buffered before the writer stopped
+        }
     }
 }
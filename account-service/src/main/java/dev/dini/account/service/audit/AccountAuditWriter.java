@@ -0,0 +1,38 @@
+package dev.dini.account.service.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Appends audit events to account_audit with one multi-row INSERT per batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountAuditWriter {
+
+    private static final String INSERT_PREFIX = "INSERT INTO account_audit (account_id, event, details, occurred_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    void write(List<AccountAuditEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + entries.size() * (ROW.length() + 2)).append(INSERT_PREFIX);
+        Object[] args = new Object[entries.size() * 4];
+        for (int i = 0; i < entries.size(); i++) {
+            AccountAuditEntry entry = entries.get(i);
+            sql.append(i == 0 ? "" : ", ").append(ROW);
+            args[i * 4] = entry.accountId();
+            args[i * 4 + 1] = entry.event();
+            args[i * 4 + 2] = entry.details();
+            args[i * 4 + 3] = Timestamp.valueOf(entry.occurredAt());
+        }
+        jdbcTemplate.getJdbcTemplate().update(sql.toString(), args);
+    }
+}
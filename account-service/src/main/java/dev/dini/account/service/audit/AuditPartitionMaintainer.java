@@ -0,0 +1,142 @@
+package dev.dini.account.service.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of account_audit: creates the current month and the next
+ * {@code audit.partitions.months-ahead}, so inserts never land in the default partition, and detaches
+ * the months older than {@code audit.partitions.retention-months}. Detached partitions stay behind as
+ * ordinary tables to be archived or dropped. Instances take turns through an advisory lock.
+ */
+@Component
+public class AuditPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPartitionMaintainer.class);
+
+    private static final String PARENT = "account_audit";
+    private static final Pattern PARTITION_NAME = Pattern.compile("account_audit_(\\d{4})_(\\d{2})");
+    // Arbitrary, only has to differ from other advisory locks on the database
+    private static final long LOCK_KEY = 0x61756469740001L;
+
+    private static final String PARTITIONS_SQL = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = '" + PARENT + "'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.partitions.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    // 0 keeps every month attached
+    @Value("${audit.partitions.retention-months:24}")
+    private int retentionMonths = 24;
+
+    public AuditPartitionMaintainer(NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = namedJdbcTemplate.getJdbcTemplate();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain(YearMonth.now());
+    }
+
+    @Scheduled(cron = "${audit.partitions.cron:0 30 0 * * ?}")
+    public void maintainDaily() {
+        maintain(YearMonth.now());
+    }
+
+    /**
+     * Runs on one connection holding a session advisory lock. Each statement commits on its own, so a
+     * partition that cannot be created or detached does not hold up the others.
+     */
+    public void maintain(YearMonth current) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                if (!tryLock(statement)) {
+                    logger.info("Audit partitions are being maintained by another instance");
+                    return null;
+                }
+                try {
+                    maintain(statement, current);
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+                }
+            }
+            return null;
+        });
+    }
+
+    private void maintain(Statement statement, YearMonth current) throws SQLException {
+        List<String> existing = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery(PARTITIONS_SQL)) {
+            while (rs.next()) {
+                existing.add(rs.getString(1));
+            }
+        }
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = partitionName(month);
+            if (!existing.contains(name)) {
+                execute(statement, "CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + PARENT
+                        + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')",
+                        "Created audit partition " + name);
+            }
+        }
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths - 1L);
+        for (String name : existing) {
+            Optional<YearMonth> month = partitionMonth(name);
+            if (month.isPresent() && month.get().isBefore(oldestKept)) {
+                execute(statement, "ALTER TABLE " + PARENT + " DETACH PARTITION " + name,
+                        "Detached audit partition " + name + ", older than " + retentionMonths + " months");
+            }
+        }
+    }
+
+    private static boolean tryLock(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT pg_try_advisory_lock(" + LOCK_KEY + ")")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static void execute(Statement statement, String sql, String done) {
+        try {
+            statement.execute(sql);
+            logger.info(done);
+        } catch (SQLException e) {
+            logger.error("Audit partition maintenance failed: {}", sql, e);
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("%s_%04d_%02d", PARENT, month.getYear(), month.getMonthValue());
+    }
+
+    static Optional<YearMonth> partitionMonth(String name) {
+        Matcher matcher = PARTITION_NAME.matcher(name);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+}
@@ -0,0 +1,72 @@
+package dev.dini.account.service.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer. Producers claim a slot with one CAS on the
+ * tail and then publish into it; the consumer takes published slots in order and frees them by
+ * moving the head. Neither side takes a lock.
+ */
+final class AuditRingBuffer {
+
+    private final AtomicReferenceArray<AccountAuditEntry> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return False when the buffer is full
+     */
+    boolean offer(AccountAuditEntry entry) {
+        while (true) {
+            long claimed = tail.get();
+            if (claimed - head.get() >= slots.length()) {
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.set((int) (claimed & mask), entry);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} entries into {@code target}, stopping early at a slot that was claimed
+     * but is not published yet. Only the writer thread may call this.
+     *
+     * @return The number of entries moved
+     */
+    int drainTo(List<AccountAuditEntry> target, int max) {
+        long next = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) (next & mask);
+            AccountAuditEntry entry = slots.get(slot);
+            if (entry == null) {
+                break;
+            }
+            slots.set(slot, null);
+            target.add(entry);
+            next++;
+            drained++;
+        }
+        head.set(next);
+        return drained;
+    }
+
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
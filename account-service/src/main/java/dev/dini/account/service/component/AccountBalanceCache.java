@@ -0,0 +1,89 @@
+package dev.dini.account.service.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of total account balances (main row plus balance stripes) for the balance read path.
+ * Every path that changes a balance must call {@link #evict}. The short TTL bounds how stale an entry
+ * can get when the balance was changed by another instance.
+ */
+@Component
+public class AccountBalanceCache {
+
+    private final Cache<UUID, BigDecimal> cache;
+
+    public AccountBalanceCache(MeterRegistry meterRegistry,
+                               @Value("${balance.cache.max-size:100000}") long maxSize,
+                               @Value("${balance.cache.ttl:PT10S}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Publishes cache.gets{result=hit|miss}, cache.evictions and cache.size tagged cache=account.balance
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "account.balance");
+    }
+
+    /**
+     * Returns the cached balance or loads it. Null results (unknown accounts) are not cached.
+     */
+    public BigDecimal get(UUID accountId, Function<UUID, BigDecimal> loader) {
+        return cache.get(accountId, loader);
+    }
+
+    public void evict(UUID accountId) {
+        evictAll(List.of(accountId));
+    }
+
+    /**
+     * Drops the entries now and once more when the surrounding transaction completes, so a reader that
+     * reloaded the old committed balance in between does not keep it in the cache.
+     */
+    public void evictAll(Collection<UUID> accountIds) {
+        cache.invalidateAll(accountIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<UUID> ids = List.copyOf(accountIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(ids);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every entry, for set-based updates that do not know which accounts they touched. Like
+     * {@link #evictAll}, it runs again when the surrounding transaction completes.
+     */
+    public void clear() {
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    // Runs pending size evictions, which Caffeine otherwise performs asynchronously
+    void cleanUp() {
+        cache.cleanUp();
+    }
+}
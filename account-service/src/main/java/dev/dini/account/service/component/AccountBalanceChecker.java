@@ -19,11 +19,14 @@ public class AccountBalanceChecker {
     private static final Logger logger = LoggerFactory.getLogger(AccountBalanceChecker.class);
 
     private final AccountRepository accountRepository;
+    private final AccountBalanceCache accountBalanceCache;
 
+    // Checks the main balance only: credits still sitting on balance stripes cannot be debited until compacted.
+    // Reads the database rather than the cache, since it guards a debit.
     public boolean hasSufficientBalance(UUID accountId, BigDecimal amount) {
-        Optional<Account> accountOptional = accountRepository.findById(accountId);
-        if (accountOptional.isPresent()) {
-            BigDecimal balance = accountOptional.get().getBalance();
+        Optional<BigDecimal> balanceOptional = accountRepository.findBalanceByAccountId(accountId);
+        if (balanceOptional.isPresent()) {
+            BigDecimal balance = balanceOptional.get();
             if (balance.compareTo(amount) < 0) {
                 logger.warn("Account ID {} has insufficient balance. Current balance: {}, required: {}", accountId, balance, amount);
                 return false;
@@ -35,11 +38,12 @@ public class AccountBalanceChecker {
         }
     }
 
+    // Total balance including balance stripes, served from the balance cache
     public BigDecimal getAccountBalance(UUID accountId) {
-        Optional<Account> accountOptional = accountRepository.findById(accountId);
-        if (accountOptional.isPresent()) {
-            BigDecimal balance = accountOptional.get().getBalance();
-            logger.info("Account balance for ID {}: {}", accountId, balance);
+        BigDecimal balance = accountBalanceCache.get(accountId,
+                id -> accountRepository.findTotalBalanceByAccountId(id).orElse(null));
+        if (balance != null) {
+            logger.debug("Account balance for ID {}: {}", accountId, balance);
             return balance;
         } else {
             logger.warn("Account with ID {} not found", accountId);
@@ -53,6 +57,7 @@ public class AccountBalanceChecker {
             Account account = accountOptional.get();
             account.setBalance(newBalance);
             accountRepository.save(account);
+            accountBalanceCache.evict(accountId);
             logger.info("Account balance for ID {} updated to {}", accountId, newBalance);
         } else {
             logger.warn("Account with ID {} not found", accountId);
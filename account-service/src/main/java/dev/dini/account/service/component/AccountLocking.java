@@ -14,27 +14,34 @@ import java.util.UUID;
 public class AccountLocking {
 
     private final AccountRepository accountRepository;
+    private final AccountStatusRegistry accountStatusRegistry;
 
     private Account findAccountById(UUID accountId) {
         return accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
     }
 
+    private AccountStatus findStatusById(UUID accountId) {
+        return accountRepository.findStatusByAccountId(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
     public boolean isAccountLocked(UUID accountId) {
-        Account account = findAccountById(accountId);
-        return account.getStatus() == AccountStatus.FROZEN;
+        return findStatusById(accountId) == AccountStatus.FROZEN;
     }
 
     public void lockAccount(UUID accountId) {
         Account account = findAccountById(accountId);
         account.setStatus(AccountStatus.FROZEN);
         accountRepository.save(account);
+        accountStatusRegistry.statusChanged(accountId, AccountStatus.FROZEN);
     }
 
     public void unlockAccount(UUID accountId) {
         Account account = findAccountById(accountId);
         account.setStatus(AccountStatus.ACTIVE);
         accountRepository.save(account);
+        accountStatusRegistry.statusChanged(accountId, AccountStatus.ACTIVE);
     }
 
     public void freezeAccount(UUID accountId) {
@@ -45,24 +52,28 @@ public class AccountLocking {
         unlockAccount(accountId);
     }
 
+    // Answered from the status registry once it is loaded; unknown accounts are then reported as not frozen
     public boolean isAccountFrozen(UUID accountId) {
+        if (accountStatusRegistry.isLoaded()) {
+            return accountStatusRegistry.inactiveStatus(accountId).orElse(AccountStatus.ACTIVE) == AccountStatus.FROZEN;
+        }
         return isAccountLocked(accountId);
     }
 
     public boolean isAccountActive(UUID accountId) {
-        Account account = findAccountById(accountId);
-        return account.getStatus() == AccountStatus.ACTIVE;
+        return findStatusById(accountId) == AccountStatus.ACTIVE;
     }
 
+    // The status registry does not keep closed accounts, so this always reads the row
     public boolean isAccountClosed(UUID accountId) {
-        Account account = findAccountById(accountId);
-        return account.getStatus() == AccountStatus.CLOSED;
+        return findStatusById(accountId) == AccountStatus.CLOSED;
     }
 
     public void closeAccount(UUID accountId) {
         Account account = findAccountById(accountId);
         account.setStatus(AccountStatus.CLOSED);
         accountRepository.save(account);
+        accountStatusRegistry.statusChanged(accountId, AccountStatus.CLOSED);
     }
 
     public Account getAccount(UUID accountId) {
@@ -0,0 +1,25 @@
+package dev.dini.account.service.component;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Next unreserved account number serial of one branch. Instances reserve serials in blocks by
+ * moving {@code nextSerial} forward, so a serial is handed out once across all instances.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "account_number_blocks")
+public class AccountNumberBlock {
+
+    @Id
+    private Integer branchCode;
+
+    private Long nextSerial;
+}
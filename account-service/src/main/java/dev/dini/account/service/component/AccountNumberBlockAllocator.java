@@ -0,0 +1,63 @@
+package dev.dini.account.service.component;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Reserves blocks of account number serials per branch in account_number_blocks.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountNumberBlockAllocator {
+
+    private static final String RESERVE_SQL =
+            "INSERT INTO account_number_blocks (branch_code, next_serial) VALUES (:branch, :firstSerial + :size) " +
+                    "ON CONFLICT (branch_code) DO UPDATE SET next_serial = account_number_blocks.next_serial + :size " +
+                    "RETURNING next_serial";
+
+    private static final String ADVANCE_SQL =
+            "INSERT INTO account_number_blocks (branch_code, next_serial) VALUES (:branch, :nextSerial) " +
+                    "ON CONFLICT (branch_code) DO UPDATE " +
+                    "SET next_serial = GREATEST(account_number_blocks.next_serial, EXCLUDED.next_serial)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Commits on its own, so a block is never handed out twice even when the account that needed it
+     * rolls back; its serials are then simply skipped.
+     *
+     * @return The end (exclusive) of the reserved block; it starts {@code size} serials earlier
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(int branchCode, long firstSerial, int size) {
+        Long end = jdbcTemplate.queryForObject(RESERVE_SQL, new MapSqlParameterSource()
+                .addValue("branch", branchCode)
+                .addValue("firstSerial", firstSerial)
+                .addValue("size", size), Long.class);
+        if (end == null) {
+            throw new IllegalStateException("No account number block reserved for branch " + branchCode);
+        }
+        return end;
+    }
+
+    /**
+     * Makes sure no block reserved from now on starts below the given next serial of each branch. Pass
+     * the branches in a fixed order, so two callers cannot deadlock on them.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void advance(Map<Integer, Long> nextSerialByBranch) {
+        SqlParameterSource[] batch = nextSerialByBranch.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("branch", entry.getKey())
+                        .addValue("nextSerial", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(ADVANCE_SQL, batch);
+    }
+}
@@ -1,20 +1,52 @@
 package dev.dini.account.service.component;
 
-import dev.dini.account.service.account.AccountRepository;
 import dev.dini.account.service.account.AccountType;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Hands out account numbers of the form TYPE-BRANCH-SERIAL-CHECK, e.g. S-417-100023-7. Serials come
+ * from blocks reserved per branch in account_number_blocks, so a number is unique without probing
+ * the accounts table; the unique index on account_number backs that up. Numbers assigned elsewhere, such
+ * as those kept by an import, have to be passed to {@link #skipPast(Collection)} before they can be relied on.
+ */
 @Component
 @RequiredArgsConstructor
 public class AccountNumberGenerator {
 
     private static final Logger logger = LoggerFactory.getLogger(AccountNumberGenerator.class);
-    private final AccountRepository accountRepository;
+
+    // 3-digit branch codes and 6-digit serials
+    static final int FIRST_BRANCH = 100;
+    static final int BRANCH_LIMIT = 1000;
+    static final long FIRST_SERIAL = 100_000;
+    static final long SERIAL_LIMIT = 1_000_000;
+
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("[A-Z]+-(\\d{3})-(\\d{6})-\\d");
+
+    private final AccountNumberBlockAllocator accountNumberBlockAllocator;
+
+    @Value("${account.number.block-size:100}")
+    private int blockSize = 100;
+
+    // Branches tried before giving up when the ones drawn have run out of serials
+    @Value("${account.number.max-branch-attempts:20}")
+    private int maxBranchAttempts = 20;
+
+    // Current block, guarded by this
+    private int branchCode;
+    private long nextSerial;
+    private long blockEnd;
 
     // Method to encode the account type into the account number
     private String encodeAccountType(AccountType accountType) {
@@ -32,60 +64,97 @@ public class AccountNumberGenerator {
         }
     }
 
-    // Method to generate a random 3-4 digit branch or region code (e.g., based on the branch)
-    private String generateBranchCode() {
-        int branchCode = ThreadLocalRandom.current().nextInt(100, 1000); // 3-digit branch code
-        return String.format("%03d", branchCode);
-    }
-
-    // Luhn algorithm to generate check digit for account number validation
-    private int generateCheckDigit(String accountNumber) {
+    // Luhn check digit of the branch and serial digits, to be appended after them
+    static int checkDigit(long digits) {
         int sum = 0;
-        boolean alternate = false;
-        for (int i = accountNumber.length() - 1; i >= 0; i--) {
-            int n = Integer.parseInt(accountNumber.substring(i, i + 1));
-            if (alternate) {
+        boolean doubled = true;
+        for (long rest = digits; rest > 0; rest /= 10) {
+            int n = (int) (rest % 10);
+            if (doubled) {
                 n *= 2;
                 if (n > 9) {
                     n -= 9;
                 }
             }
             sum += n;
-            alternate = !alternate;
+            doubled = !doubled;
         }
         return (10 - (sum % 10)) % 10;
     }
 
-    // Generates a random account number with the account type, branch code, and check digit
-    public String generateAccountNumber(AccountType accountType) {
-        String accountTypeCode = encodeAccountType(accountType);
-        String branchCode = generateBranchCode();
-        int randomNumber = ThreadLocalRandom.current().nextInt(100000, 999999); // 6-digit random number
-        String partialAccountNumber = accountTypeCode + "-" + branchCode + "-" + randomNumber;
-
-        // Generate check digit and append to account number
-        int checkDigit = generateCheckDigit(partialAccountNumber.replace("-", ""));
-        return partialAccountNumber + "-" + checkDigit;
-    }
-
-    // Ensures the generated account number is unique by checking the repository
+    /**
+     * Takes the next serial of the current block; only every {@code block-size}th call reserves a new
+     * block, with one statement.
+     */
     public String generateUniqueAccountNumber(AccountType accountType) {
-        String accountNumber;
-        int attempts = 0;
+        int branch;
+        long serial;
+        synchronized (this) {
+            if (nextSerial >= blockEnd) {
+                reserveBlock();
+            }
+            branch = branchCode;
+            serial = nextSerial++;
+        }
+        return format(encodeAccountType(accountType), branch, serial);
+    }
 
-        do {
-            accountNumber = generateAccountNumber(accountType);
-            attempts++;
+    static String format(String accountTypeCode, int branch, long serial) {
+        return new StringBuilder(16)
+                .append(accountTypeCode).append('-')
+                .append(branch).append('-')
+                .append(serial).append('-')
+                .append(checkDigit(branch * SERIAL_LIMIT + serial))
+                .toString();
+    }
 
-            // Break if we've tried too many times to avoid infinite loops
-            if (attempts > 100) {
-                logger.error("Unable to generate a unique account number after 100 attempts.");
-                throw new RuntimeException("Unable to generate a unique account number.");
+    /**
+     * Moves the branches of the given numbers past their serials in account_number_blocks, and drops the
+     * current block when it may cover one of them. Numbers in another format can never be generated and
+     * are ignored.
+     */
+    public void skipPast(Collection<String> accountNumbers) {
+        Map<Integer, Long> nextSerials = new TreeMap<>();
+        for (String accountNumber : accountNumbers) {
+            Matcher matcher = ACCOUNT_NUMBER.matcher(accountNumber);
+            if (matcher.matches()) {
+                nextSerials.merge(Integer.parseInt(matcher.group(1)), Long.parseLong(matcher.group(2)) + 1, Math::max);
+            }
+        }
+        if (nextSerials.isEmpty()) {
+            return;
+        }
+        accountNumberBlockAllocator.advance(nextSerials);
+        synchronized (this) {
+            Long next = nextSerials.get(branchCode);
+            if (next != null && next > nextSerial) {
+                nextSerial = blockEnd;
             }
+        }
+    }
 
-        } while (accountRepository.existsByAccountNumber(accountNumber));
+    /**
+     * Drops the rest of the current block, so the next number comes from a newly reserved one. For a
+     * number that turned out to be taken anyway, e.g. kept by an import on another instance.
+     */
+    public synchronized void skipBlock() {
+        nextSerial = blockEnd;
+    }
 
-        logger.info("Generated unique account number: {}", accountNumber);
-        return accountNumber;
+    private void reserveBlock() {
+        for (int attempt = 0; attempt < maxBranchAttempts; attempt++) {
+            int branch = ThreadLocalRandom.current().nextInt(FIRST_BRANCH, BRANCH_LIMIT);
+            long end = accountNumberBlockAllocator.reserve(branch, FIRST_SERIAL, blockSize);
+            long start = end - blockSize;
+            if (start < SERIAL_LIMIT) {
+                branchCode = branch;
+                nextSerial = start;
+                blockEnd = Math.min(end, SERIAL_LIMIT);
+                logger.debug("Reserved account number serials {}..{} of branch {}", start, blockEnd - 1, branch);
+                return;
+            }
+        }
+        logger.error("Unable to reserve account number serials after {} branches", maxBranchAttempts);
+        throw new IllegalStateException("Unable to generate a unique account number.");
     }
 }
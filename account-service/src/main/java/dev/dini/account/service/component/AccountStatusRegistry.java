@@ -0,0 +1,152 @@
+package dev.dini.account.service.component;
+
+import dev.dini.account.service.account.AccountStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of the accounts that are FROZEN or LOCKED, with their status. Active accounts, nearly
+ * all of them, are simply absent, so checking an account costs one hash lookup and no query. CLOSED
+ * accounts are left out too: closing is final, so they only accumulate and would make every reload
+ * re-read a set that grows forever; the row itself is checked for them. Status
+ * changes made here are applied when they commit; changes made by other instances are picked up by
+ * the periodic reload, so a status can be up to one refresh interval stale. Callers that move money
+ * must still rely on the database for the final word.
+ */
+@Component
+public class AccountStatusRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountStatusRegistry.class);
+
+    private static final String INACTIVE_ACCOUNTS_SQL =
+            "SELECT account_id, status FROM accounts WHERE status IN ('" + AccountStatus.FROZEN.name() + "', '" +
+                    AccountStatus.LOCKED.name() + "')";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private volatile Map<UUID, AccountStatus> inactive = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    // Local changes, kept so a reload that read the table before they committed does not undo them
+    private final Map<UUID, Change> recentChanges = new ConcurrentHashMap<>();
+
+    public AccountStatusRegistry(NamedParameterJdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("account.status.inactive", this, registry -> registry.inactive.size())
+                .description("Accounts known to be frozen or locked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return Whether the account is known to be frozen or locked; false for active, closed and unknown accounts
+     */
+    public boolean isInactive(UUID accountId) {
+        return inactive.containsKey(accountId);
+    }
+
+    /**
+     * @return The status of a frozen or locked account, empty for active, closed and unknown accounts
+     */
+    public Optional<AccountStatus> inactiveStatus(UUID accountId) {
+        return Optional.ofNullable(inactive.get(accountId));
+    }
+
+    // False until the first load finished; until then an empty registry says nothing
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void statusChanged(UUID accountId, AccountStatus status) {
+        statusChanged(List.of(accountId), status);
+    }
+
+    /**
+     * Records a status change once the surrounding transaction commits, or now outside of one.
+     */
+    public void statusChanged(Collection<UUID> accountIds, AccountStatus status) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(accountIds, status);
+            return;
+        }
+        List<UUID> ids = List.copyOf(accountIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(ids, status);
+            }
+        });
+    }
+
+    /**
+     * Records a status change that has already committed, for callers running in an afterCommit hook,
+     * where a further synchronization would never run.
+     */
+    public void apply(Collection<UUID> accountIds, AccountStatus status) {
+        long now = System.nanoTime();
+        Map<UUID, AccountStatus> current = inactive;
+        for (UUID accountId : accountIds) {
+            recentChanges.put(accountId, new Change(status, now));
+            put(current, accountId, status);
+        }
+    }
+
+    /**
+     * Reloads every frozen or locked account with one query over the partial index on those statuses.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${account.status.registry.refresh-ms:10000}",
+            fixedDelayString = "${account.status.registry.refresh-ms:10000}")
+    public void reload() {
+        long started = System.nanoTime();
+        Map<UUID, AccountStatus> fresh = new ConcurrentHashMap<>();
+        jdbcTemplate.getJdbcTemplate().query(INACTIVE_ACCOUNTS_SQL, (RowCallbackHandler) rs ->
+                fresh.put(rs.getObject("account_id", UUID.class), AccountStatus.valueOf(rs.getString("status"))));
+        replayChangesSince(fresh, started);
+        inactive = fresh;
+        // Changes applied to the old map while swapping
+        replayChangesSince(fresh, started);
+        recentChanges.values().removeIf(change -> change.at() - started < 0);
+        if (!loaded) {
+            logger.info("Loaded {} inactive accounts", fresh.size());
+        }
+        loaded = true;
+    }
+
+    private void replayChangesSince(Map<UUID, AccountStatus> target, long since) {
+        recentChanges.forEach((accountId, change) -> {
+            if (change.at() - since >= 0) {
+                put(target, accountId, change.status());
+            }
+        });
+    }
+
+    private static void put(Map<UUID, AccountStatus> target, UUID accountId, AccountStatus status) {
+        if (status == AccountStatus.FROZEN || status == AccountStatus.LOCKED) {
+            target.put(accountId, status);
+        } else {
+            target.remove(accountId);
+        }
+    }
+
+    private record Change(AccountStatus status, long at) {
+    }
+}
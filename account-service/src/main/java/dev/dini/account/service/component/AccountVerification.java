@@ -1,6 +1,5 @@
 package dev.dini.account.service.component;
 
-import dev.dini.account.service.account.Account;
 import dev.dini.account.service.account.AccountRepository;
 import dev.dini.account.service.account.AccountStatus;
 import dev.dini.account.service.account.AccountType;
@@ -22,8 +21,12 @@ public class AccountVerification {
 
     private final AccountRepository accountRepository;
 
-    private Account getAccount(UUID accountId) {
-        return accountRepository.findById(accountId).orElseThrow(() -> new AccountNotFoundException(accountId));
+    private AccountStatus getStatus(UUID accountId) {
+        return accountRepository.findStatusByAccountId(accountId).orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    private AccountType getAccountType(UUID accountId) {
+        return accountRepository.findAccountTypeByAccountId(accountId).orElseThrow(() -> new AccountNotFoundException(accountId));
     }
 
     // Verifying account existence
@@ -33,13 +36,14 @@ public class AccountVerification {
 
     public void verifyAccountExists(UUID accountId) {
         logger.info("Verifying account exists: {}", accountId);
-        getAccount(accountId); // Reuse the getAccount method for exception throwing
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
     }
 
     // Verifying account-type
     public boolean isAccountTypeValid(UUID accountId, AccountType accountType) {
-        Account account = getAccount(accountId); // Fetch the account once and use it
-        return account.getAccountType().equals(accountType);
+        return getAccountType(accountId) == accountType;
     }
 
     public void verifyAccountType(UUID accountId, AccountType accountType) {
@@ -51,8 +55,7 @@ public class AccountVerification {
 
     // Verifying account status (Active)
     public boolean isAccountActive(UUID accountId) {
-        Account account = getAccount(accountId); // Fetch the account once and use it
-        return account.getStatus() == AccountStatus.ACTIVE;
+        return getStatus(accountId) == AccountStatus.ACTIVE;
     }
 
     public void verifyAccountActive(UUID accountId) {
@@ -3,7 +3,11 @@ package dev.dini.account.service.customer;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @FeignClient(name = "customer-service", url = "${application.config.customer-url}")
@@ -11,4 +15,8 @@ public interface CustomerServiceClient {
 
     @GetMapping("/api/v1/customers/{customerId}")
     CustomerDTO getCustomerById(@PathVariable("customerId") UUID customerId);
+
+    // The subset of the given customer ids that exist, in one call
+    @PostMapping("/api/v1/customers/exists")
+    List<UUID> findExistingCustomerIds(@RequestBody Collection<UUID> customerIds);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package dev.dini.account.service.dto;
+
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.account.AccountType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountImportRecordDTO {
+    private UUID customerId;
+    private String accountName;
+    private AccountType accountType;
+    private AccountStatus status;             // Defaults to ACTIVE
+    private String accountNumber;             // Kept when migrated, generated when empty
+    private BigDecimal balance;               // Opening balance, defaults to zero
+    private boolean overdraftProtection;
+    private BigDecimal overdraftLimit;
+    private BigDecimal transactionLimit;
+}
@@ -0,0 +1,14 @@
+package dev.dini.account.service.dto;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountImportRejectionDTO {
+    private long index;                   // Position of the record in the file, header excluded
+    private UUID customerId;
+    private String reason;
+}
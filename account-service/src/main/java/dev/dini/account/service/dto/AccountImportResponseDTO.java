@@ -0,0 +1,19 @@
+package dev.dini.account.service.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountImportResponseDTO {
+    private long total;
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private String error;                 // Set when the file could not be read to the end
+    // Up to account.import.max-reported-rejections of them
+    private List<AccountImportRejectionDTO> rejections = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package dev.dini.account.service.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountInterestPreviewDTO {
+    private UUID accountId;
+    private BigDecimal balance;
+    private BigDecimal annualRate;
+    private BigDecimal projectedInterest;
+    private BigDecimal projectedBalance;
+}
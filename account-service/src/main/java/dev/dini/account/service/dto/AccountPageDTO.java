@@ -0,0 +1,16 @@
+package dev.dini.account.service.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountPageDTO {
+    private List<AccountSummaryDTO> accounts;
+    // Pass back as afterId for the next page; null on the last page
+    private UUID nextAfterId;
+}
@@ -0,0 +1,25 @@
+package dev.dini.account.service.dto;
+
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.account.AccountType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One account in a listing or export; the holders and internal bookkeeping columns are left out
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountSummaryDTO {
+    private UUID accountId;
+    private UUID customerId;
+    private String accountNumber;
+    private String accountName;
+    private AccountType accountType;
+    private AccountStatus status;
+    private BigDecimal balance;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package dev.dini.account.service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuditEventDTO {
+    private Long id;
+    private UUID accountId;
+    private String event;
+    private String details;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,17 @@
+package dev.dini.account.service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuditEventPageDTO {
+    private List<AuditEventDTO> events;
+    // Pass both back as beforeTimestamp and beforeId for the next page; null on the last page
+    private LocalDateTime nextBeforeTimestamp;
+    private Long nextBeforeId;
+}
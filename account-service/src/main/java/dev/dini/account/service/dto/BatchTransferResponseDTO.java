@@ -0,0 +1,17 @@
+package dev.dini.account.service.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferResponseDTO {
+    private int total;
+    private int applied;
+    private int rejected;
+    private String error;                 // Set when the body could not be read to the end
+    private List<BatchTransferResultDTO> results = new ArrayList<>();
+}
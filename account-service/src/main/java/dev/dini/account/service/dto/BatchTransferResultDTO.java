@@ -0,0 +1,19 @@
+package dev.dini.account.service.dto;
+
+import dev.dini.account.service.transaction.BatchTransferStatus;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferResultDTO {
+    private int index;                    // Position of the transfer in the request body
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private BigDecimal amount;
+    private BatchTransferStatus status;
+    private String reason;                // Why the transfer was rejected, null when applied
+}
@@ -0,0 +1,18 @@
+package dev.dini.account.service.dto;
+
+import dev.dini.account.service.account.AccountStatus;
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkStatusChangeRequestDTO {
+    // Either the accounts to change or a customer whose accounts are all changed
+    private List<UUID> accountIds;
+    private UUID customerId;
+    private AccountStatus status;
+}
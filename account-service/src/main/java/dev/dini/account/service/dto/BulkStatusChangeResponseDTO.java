@@ -0,0 +1,19 @@
+package dev.dini.account.service.dto;
+
+import dev.dini.account.service.account.AccountStatus;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeResponseDTO {
+    private AccountStatus status;
+    private int changed;
+    private List<UUID> changedAccountIds = new ArrayList<>();
+    // Requested ids that are unknown, closed or already in the status
+    private List<UUID> unchangedAccountIds = new ArrayList<>();
+}
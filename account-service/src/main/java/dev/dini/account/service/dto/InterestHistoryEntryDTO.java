@@ -0,0 +1,16 @@
+package dev.dini.account.service.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InterestHistoryEntryDTO {
+    private Long id;
+    private BigDecimal interestAmount;
+    private LocalDateTime timestamp;
+}
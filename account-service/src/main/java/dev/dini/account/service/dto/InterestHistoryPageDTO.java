@@ -0,0 +1,19 @@
+package dev.dini.account.service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InterestHistoryPageDTO {
+    private UUID accountId;
+    private List<InterestHistoryEntryDTO> entries;
+    // Pass both back as beforeTimestamp and beforeId for the next page; null on the last page
+    private LocalDateTime nextBeforeTimestamp;
+    private Long nextBeforeId;
+}
@@ -0,0 +1,17 @@
+package dev.dini.account.service.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InterestPeriodTotalDTO {
+    private int year;
+    // Null for the whole year
+    private Integer month;
+    private BigDecimal totalInterest;
+    private long postings;
+}
@@ -0,0 +1,22 @@
+package dev.dini.account.service.dto;
+
+import dev.dini.account.service.interest.CompoundingMode;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InterestPreviewRequestDTO {
+    // Either the accounts to project or a customer whose accounts are all projected
+    private List<UUID> accountIds;
+    private UUID customerId;
+    private int horizonDays;
+    private CompoundingMode compounding;
+    // Defaults to today
+    private LocalDate startDate;
+}
@@ -0,0 +1,18 @@
+package dev.dini.account.service.dto;
+
+import dev.dini.account.service.interest.CompoundingMode;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InterestPreviewResponseDTO {
+    private LocalDate startDate;
+    private int horizonDays;
+    private CompoundingMode compounding;
+    private List<AccountInterestPreviewDTO> accounts;
+}
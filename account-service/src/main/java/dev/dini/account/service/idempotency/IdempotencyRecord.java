@@ -0,0 +1,33 @@
+package dev.dini.account.service.idempotency;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+
+    // Endpoint scope and client key, e.g. "account-transfer:6f1c..."
+    @Id
+    private String idempotencyKey;
+
+    private String requestFingerprint;
+
+    @Enumerated(EnumType.STRING)
+    private IdempotencyStatus status;
+
+    private Integer responseStatus;
+
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,6 @@
+package dev.dini.account.service.idempotency;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
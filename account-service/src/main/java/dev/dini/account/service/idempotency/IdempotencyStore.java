@@ -0,0 +1,209 @@
+package dev.dini.account.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored response for a repeated Idempotency-Key instead of executing the request again.
+ * Completed responses are kept in a bounded in-memory cache in front of the idempotency_keys table,
+ * the table is what makes a key survive restarts and work across instances.
+ * <p>
+ * Transaction-Service carries a copy of this package, since the services share no library module. The two
+ * copies differ only in package names; change them together, and the idempotency_keys migrations
+ * of both services with them.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, StoredResponse> cache;
+
+    private final Counter cacheHits;
+    private final Counter storeHits;
+    private final Counter executions;
+    private final Counter conflicts;
+    private final Counter mismatches;
+    private final Counter expired;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${idempotency.cache.max-size:10000}") long maxCacheSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxCacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+
+        this.cacheHits = outcome(meterRegistry, "cache_hit");
+        this.storeHits = outcome(meterRegistry, "store_hit");
+        this.executions = outcome(meterRegistry, "executed");
+        this.conflicts = outcome(meterRegistry, "in_progress");
+        this.mismatches = outcome(meterRegistry, "key_reused");
+        this.expired = Counter.builder("idempotency.keys.expired")
+                .description("Idempotency keys removed from the store after their TTL")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the action once per (scope, key). A repeat with the same request gets the first response back,
+     * a repeat with a different request gets 422, and a repeat while the first is still running gets 409.
+     * Without a key the action simply runs.
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, String request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        String id = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        StoredResponse cached = cache.getIfPresent(id);
+        if (cached != null) {
+            cacheHits.increment();
+            return replay(cached, fingerprint, bodyType);
+        }
+
+        if (!reserve(id, fingerprint)) {
+            Optional<IdempotencyRecord> existing = repository.findById(id);
+            if (existing.isEmpty() || existing.get().getStatus() != IdempotencyStatus.COMPLETED) {
+                conflicts.increment();
+                logger.info("Request with idempotency key {} is already in progress", id);
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            IdempotencyRecord record = existing.get();
+            StoredResponse stored = new StoredResponse(record.getRequestFingerprint(),
+                    record.getResponseStatus(), record.getResponseBody());
+            cache.put(id, stored);
+            storeHits.increment();
+            return replay(stored, fingerprint, bodyType);
+        }
+
+        executions.increment();
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // Failed requests did not happen, so the client may retry them with the same key
+            repository.release(id);
+            throw e;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            repository.release(id);
+            return response;
+        }
+
+        String body = serialize(response.getBody());
+        repository.complete(id, response.getStatusCode().value(), body);
+        cache.put(id, new StoredResponse(fingerprint, response.getStatusCode().value(), body));
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int removed = repository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            expired.increment(removed);
+            logger.info("Purged {} expired idempotency keys", removed);
+        }
+    }
+
+    private boolean reserve(String id, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.reserve(id, fingerprint, now, now.plus(ttl)) == 1) {
+            return true;
+        }
+        // An expired key the purge has not reached yet behaves as if it were already gone
+        if (repository.deleteIfExpired(id, now) == 1) {
+            expired.increment();
+            return repository.reserve(id, fingerprint, now, now.plus(ttl)) == 1;
+        }
+        return false;
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> bodyType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            mismatches.increment();
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(deserialize(stored.body(), bodyType));
+    }
+
+    private String serialize(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store idempotent response", e);
+        }
+    }
+
+    private <T> T deserialize(String body, Class<T> bodyType) {
+        if (body == null || bodyType == Void.class) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, bodyType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not replay idempotent response", e);
+        }
+    }
+
+    private static String fingerprint(String request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    record StoredResponse(String fingerprint, int status, String body) {
+    }
+}
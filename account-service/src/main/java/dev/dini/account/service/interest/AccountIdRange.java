@@ -0,0 +1,31 @@
+package dev.dini.account.service.interest;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A slice of the account-id space, {@code [start, end)} in PostgreSQL uuid order.
+ *
+ * @param end Exclusive upper bound, null for the last range
+ */
+public record AccountIdRange(UUID start, UUID end) {
+
+    /**
+     * Split the UUID space into {@code count} equal ranges of the leading 64 bits, compared unsigned as
+     * PostgreSQL orders uuid values. Random account ids spread evenly over them.
+     */
+    public static List<AccountIdRange> split(int count) {
+        BigInteger space = BigInteger.ONE.shiftLeft(64);
+        List<AccountIdRange> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID start = new UUID(space.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count)).longValue(), 0L);
+            UUID end = i == count - 1
+                    ? null
+                    : new UUID(space.multiply(BigInteger.valueOf(i + 1)).divide(BigInteger.valueOf(count)).longValue(), 0L);
+            ranges.add(new AccountIdRange(start, end));
+        }
+        return ranges;
+    }
+}
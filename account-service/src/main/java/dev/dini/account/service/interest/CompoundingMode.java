@@ -0,0 +1,12 @@
+package dev.dini.account.service.interest;
+
+/**
+ * How often accrued interest is added to the balance in an interest preview.
+ */
+public enum CompoundingMode {
+    // Interest never earns interest
+    SIMPLE,
+    DAILY,
+    // Credited at the end of each calendar month, like the monthly interest run
+    MONTHLY
+}
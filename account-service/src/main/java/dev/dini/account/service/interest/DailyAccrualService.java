@@ -0,0 +1,168 @@
+package dev.dini.account.service.interest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Daily interest accrual. Each account carries a running accrual in {@code interest_accruals}; the
+ * daily pass only re-prices accounts updated since the last pass, partition by partition in
+ * parallel, and the monthly posting credits what has accrued.
+ */
+@Service
+public class DailyAccrualService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyAccrualService.class);
+
+    private final InterestAccrualProcessor interestAccrualProcessor;
+    private final InterestAccrualWatermarkRepository watermarkRepository;
+    private final InterestRateProvider interestRateProvider;
+
+    private final Counter accountsRepriced;
+    private final Timer partitionTimer;
+
+    // Accruals are only posted in ACCRUED mode, so there is nothing to keep up to date otherwise
+    @Value("${interest.run.mode:CHUNKED}")
+    private InterestPostingMode postingMode = InterestPostingMode.CHUNKED;
+
+    @Value("${interest.accrual.partitions:16}")
+    private int partitions = 16;
+
+    @Value("${interest.accrual.workers:4}")
+    private int workers = 4;
+
+    @Value("${interest.accrual.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    // Re-scans this far behind the watermark to catch updates that committed after the last pass read them
+    @Value("${interest.accrual.watermark-overlap:PT5M}")
+    private Duration watermarkOverlap = Duration.ofMinutes(5);
+
+    public DailyAccrualService(InterestAccrualProcessor interestAccrualProcessor,
+                               InterestAccrualWatermarkRepository watermarkRepository,
+                               InterestRateProvider interestRateProvider,
+                               MeterRegistry meterRegistry) {
+        this.interestAccrualProcessor = interestAccrualProcessor;
+        this.watermarkRepository = watermarkRepository;
+        this.interestRateProvider = interestRateProvider;
+        this.accountsRepriced = Counter.builder("interest.accrual.accounts")
+                .description("Accounts whose daily accrual was re-priced")
+                .register(meterRegistry);
+        this.partitionTimer = Timer.builder("interest.accrual.partition")
+                .description("Time to accrue one account-id partition")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${interest.accrual.cron:0 15 0 * * ?}")
+    public void accrueDaily() {
+        if (postingMode != InterestPostingMode.ACCRUED) {
+            return;
+        }
+        accrue(LocalDate.now());
+    }
+
+    /**
+     * Settle accruals up to {@code accrualDate} for every account that changed and re-price it.
+     * Accounts that did not change keep accruing their daily amount without being touched.
+     */
+    public AccrualSummary accrue(LocalDate accrualDate) {
+        InterestRateTable rates = interestRateProvider.current();
+        if (rates.accountTypes().isEmpty()) {
+            logger.warn("No interest rates configured, skipping interest accrual for {}", accrualDate);
+            return new AccrualSummary(0, 0);
+        }
+        LocalDateTime cutoff = LocalDateTime.now();
+        List<AccountIdRange> ranges = AccountIdRange.split(partitions);
+        AtomicLong repriced = new AtomicLong();
+        AtomicInteger threadNo = new AtomicInteger();
+        logger.info("Accruing interest for {} over {} partitions with {} workers", accrualDate, ranges.size(), workers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, ranges.size()),
+                task -> new Thread(task, "interest-accrual-" + threadNo.incrementAndGet()));
+        int failedPartitions = 0;
+        try {
+            List<Future<?>> futures = new ArrayList<>(ranges.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                int partitionNo = i;
+                futures.add(executor.submit(() -> partitionTimer.record(
+                        () -> accruePartition(partitionNo, ranges.get(partitionNo), rates, accrualDate, cutoff, repriced))));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failedPartitions++;
+                    logger.error("Interest accrual partition failed for {}, it will be caught up on the next pass", accrualDate, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interest accrual for {} interrupted", accrualDate);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Interest accrual for {} finished: {} accounts re-priced, {} failed partitions",
+                accrualDate, repriced.get(), failedPartitions);
+        return new AccrualSummary(repriced.get(), failedPartitions);
+    }
+
+    private void accruePartition(int partitionNo, AccountIdRange range, InterestRateTable rates, LocalDate accrualDate,
+                                 LocalDateTime cutoff, AtomicLong repriced) {
+        InterestAccrualWatermark watermark = watermarkRepository.findById(partitionNo)
+                .orElseGet(() -> new InterestAccrualWatermark(partitionNo));
+        int fingerprint = rates.fingerprint();
+        // A first pass or a rate change re-prices the whole partition and stops accruals that lost their rate
+        LocalDateTime since = watermark.getLastUpdatedAt() != null && Integer.valueOf(fingerprint).equals(watermark.getRatesFingerprint())
+                ? watermark.getLastUpdatedAt().minus(watermarkOverlap)
+                : null;
+
+        if (since == null) {
+            int stopped = interestAccrualProcessor.stopUnrated(range, rates, accrualDate);
+            if (stopped > 0) {
+                logger.info("Stopped the accrual of {} accounts in partition {} that no longer earn interest", stopped, partitionNo);
+            }
+        }
+
+        UUID after = null;
+        InterestAccrualProcessor.ChunkResult result;
+        do {
+            result = interestAccrualProcessor.accrueChunk(range, after, since, rates, accrualDate, chunkSize);
+            after = result.lastAccountId();
+            accountsRepriced.increment(result.read());
+            repriced.addAndGet(result.read());
+        } while (!result.completed());
+
+        watermark.setLastUpdatedAt(cutoff);
+        watermark.setRatesFingerprint(fingerprint);
+        watermark.setUpdatedAt(LocalDateTime.now());
+        try {
+            watermarkRepository.save(watermark);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance recorded the partition first; its pass covered the same accounts
+            logger.info("Accrual watermark of partition {} was recorded concurrently", partitionNo);
+        }
+    }
+
+    public record AccrualSummary(long accountsRepriced, int failedPartitions) {
+    }
+}
@@ -0,0 +1,39 @@
+package dev.dini.account.service.interest;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running interest accrual of one account. Interest up to {@code accruedThrough} (exclusive) is
+ * summed in {@code accruedTotal}; from then on the account accrues {@code dailyAmount} a day until
+ * its balance or rate changes, so unchanged accounts need no daily write.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "interest_accruals")
+public class InterestAccrual {
+
+    @Id
+    private UUID accountId;
+
+    @Column(precision = 19, scale = 10)
+    private BigDecimal dailyAmount;
+
+    @Column(precision = 19, scale = 10)
+    private BigDecimal accruedTotal;
+
+    private LocalDate accruedThrough;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,139 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Re-prices the daily accrual of one keyset page of accounts in a single DB transaction: one page
+ * read and one batched upsert that first settles what the old daily amount earned up to
+ * {@code accrualDate} and then switches the account to its new daily amount.
+ */
+@Component
+@RequiredArgsConstructor
+public class InterestAccrualProcessor {
+
+    private static final BigDecimal DAYS_PER_YEAR = BigDecimal.valueOf(365);
+
+    // Re-running for the same date settles zero days, so a repeated or concurrent pass is harmless
+    private static final String UPSERT_ACCRUAL_SQL =
+            "INSERT INTO interest_accruals (account_id, daily_amount, accrued_total, accrued_through, updated_at) " +
+                    "VALUES (?, ?, 0, ?, ?) " +
+                    "ON CONFLICT (account_id) DO UPDATE SET " +
+                    "accrued_total = interest_accruals.accrued_total + interest_accruals.daily_amount " +
+                    "* GREATEST(EXCLUDED.accrued_through - interest_accruals.accrued_through, 0), " +
+                    "accrued_through = GREATEST(interest_accruals.accrued_through, EXCLUDED.accrued_through), " +
+                    "daily_amount = EXCLUDED.daily_amount, updated_at = EXCLUDED.updated_at";
+
+    // Settles what an account of a type that no longer earns interest accrued up to the change and stops
+    // its accrual; a balance that no longer reaches a tier is re-priced to zero by accrueChunk instead
+    private static final String STOP_UNRATED_SQL =
+            "UPDATE interest_accruals i SET " +
+                    "accrued_total = i.accrued_total + i.daily_amount * GREATEST(CAST(:accrualDate AS date) - i.accrued_through, 0), " +
+                    "accrued_through = GREATEST(i.accrued_through, CAST(:accrualDate AS date)), daily_amount = 0, updated_at = :now " +
+                    "FROM accounts a WHERE a.account_id = i.account_id AND i.daily_amount > 0 AND a.account_type NOT IN (:types) " +
+                    "AND i.account_id >= :start";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param after       Last account of the previous page, null to start at the range start
+     * @param since       Only accounts updated after this are re-priced; null re-prices the whole range
+     * @param accrualDate First day the new daily amounts apply to
+     * @return Fewer than {@code chunkSize} rows read means the range is done
+     */
+    @Transactional
+    public ChunkResult accrueChunk(AccountIdRange range, UUID after, LocalDateTime since, InterestRateTable rates,
+                                   LocalDate accrualDate, int chunkSize) {
+        List<AccountBalance> page = readPage(range, after, since, rates, chunkSize);
+        if (!page.isEmpty()) {
+            Date date = Date.valueOf(accrualDate);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> args = new ArrayList<>(page.size());
+            for (AccountBalance account : page) {
+                BigDecimal daily = dailyInterest(account.balance(), rates.rateFor(account.accountType(), account.balance()));
+                args.add(new Object[]{account.accountId(), daily, date, now});
+            }
+            jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_ACCRUAL_SQL, args);
+        }
+        UUID last = page.isEmpty() ? after : page.get(page.size() - 1).accountId();
+        return new ChunkResult(page.size(), last, page.size() < chunkSize);
+    }
+
+    /**
+     * Stops the accrual of every account in the range whose type has no rate in {@code rates}.
+     *
+     * @param accrualDate First day the account no longer accrues
+     * @return The number of accruals stopped
+     */
+    @Transactional
+    public int stopUnrated(AccountIdRange range, InterestRateTable rates, LocalDate accrualDate) {
+        StringBuilder sql = new StringBuilder(STOP_UNRATED_SQL);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accrualDate", Date.valueOf(accrualDate))
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("types", rates.accountTypes().stream().map(AccountType::name).toList())
+                .addValue("start", range.start());
+        if (range.end() != null) {
+            sql.append(" AND i.account_id < :end");
+            params.addValue("end", range.end());
+        }
+        return jdbcTemplate.update(sql.toString(), params);
+    }
+
+    // Actual/365, kept at ten decimals so adding up a month of days does not drift
+    static BigDecimal dailyInterest(BigDecimal balance, BigDecimal annualRate) {
+        if (balance == null || annualRate == null || balance.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return balance.multiply(annualRate).divide(DAYS_PER_YEAR, 10, RoundingMode.HALF_UP);
+    }
+
+    private List<AccountBalance> readPage(AccountIdRange range, UUID after, LocalDateTime since, InterestRateTable rates, int chunkSize) {
+        // Stripe credits do not touch accounts.updated_at, so striped accounts are always re-priced. Both sides
+        // of the OR have an index (idx_accounts_updated_at, idx_accounts_striped), so the pass does not scan accounts
+        StringBuilder sql = new StringBuilder(
+                "SELECT a.account_id, a.account_type, a.balance + COALESCE((SELECT SUM(s.balance) FROM account_balance_stripes s " +
+                        "WHERE s.account_id = a.account_id), 0) AS balance FROM accounts a WHERE a.account_type IN (:types)");
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", chunkSize)
+                .addValue("types", rates.accountTypes().stream().map(AccountType::name).toList());
+        if (after != null) {
+            sql.append(" AND a.account_id > :after");
+            params.addValue("after", after);
+        } else {
+            sql.append(" AND a.account_id >= :start");
+            params.addValue("start", range.start());
+        }
+        if (range.end() != null) {
+            sql.append(" AND a.account_id < :end");
+            params.addValue("end", range.end());
+        }
+        if (since != null) {
+            sql.append(" AND (a.updated_at > :since OR a.balance_stripes > 0)");
+            params.addValue("since", Timestamp.valueOf(since));
+        }
+        sql.append(" ORDER BY a.account_id LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) ->
+                new AccountBalance(rs.getObject("account_id", UUID.class), AccountType.valueOf(rs.getString("account_type")), rs.getBigDecimal("balance")));
+    }
+
+    private record AccountBalance(UUID accountId, AccountType accountType, BigDecimal balance) {
+    }
+
+    public record ChunkResult(int read, UUID lastAccountId, boolean completed) {
+    }
+}
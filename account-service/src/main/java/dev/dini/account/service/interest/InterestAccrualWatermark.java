@@ -0,0 +1,34 @@
+package dev.dini.account.service.interest;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far the daily accrual has got in one account-id partition: accounts updated after
+ * {@code lastUpdatedAt} are re-priced on the next run. A changed {@code ratesFingerprint} forces a
+ * full pass, since every daily amount depends on the rate table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "interest_accrual_watermarks")
+public class InterestAccrualWatermark {
+
+    @Id
+    private Integer partitionNo;
+
+    private LocalDateTime lastUpdatedAt;
+    private Integer ratesFingerprint;
+    private LocalDateTime updatedAt;
+
+    public InterestAccrualWatermark(int partitionNo) {
+        this.partitionNo = partitionNo;
+    }
+}
@@ -0,0 +1,6 @@
+package dev.dini.account.service.interest;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface InterestAccrualWatermarkRepository extends JpaRepository<InterestAccrualWatermark, Integer> {
+}
@@ -2,21 +2,23 @@ package dev.dini.account.service.interest;
 
 import dev.dini.account.service.account.Account;
 import dev.dini.account.service.account.AccountRepository;
-import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.component.AccountBalanceCache;
 import dev.dini.account.service.dto.InterestCalculationRequestDTO;
 import dev.dini.account.service.dto.InterestCalculationResponseDTO;
 import dev.dini.account.service.exception.AccountNotFoundException;
-import dev.dini.account.service.notification.AccountNotificationService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,11 +29,14 @@ public class InterestCalculationService {
     private static final Logger logger = LoggerFactory.getLogger(InterestCalculationService.class);
 
     private final AccountRepository accountRepository;
-    private final AccountNotificationService accountNotificationService;
     private final InterestHistoryRepository interestHistoryRepository;
+    private final AccountBalanceCache accountBalanceCache;
+    private final InterestRunService interestRunService;
+    private final InterestRateProvider interestRateProvider;
+    private final InterestHistoryRollupWriter interestHistoryRollupWriter;
 
-    @Value("${interest.rate}")
-    private BigDecimal interestRate;
+    @Value("${interest.run.mode:CHUNKED}")
+    private InterestPostingMode postingMode = InterestPostingMode.CHUNKED;
 
     public InterestCalculationResponseDTO calculateInterest(InterestCalculationRequestDTO request) {
         UUID accountId = request.getAccountId();
@@ -40,12 +45,13 @@ public class InterestCalculationService {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
 
-        BigDecimal interestRate = getInterestRateForAccount(account);
+        BigDecimal interestRate = interestRateProvider.rateFor(account.getAccountType(), account.getBalance());
         BigDecimal interestAmount = account.getBalance().multiply(interestRate);
 
         // Updating the account balance with the calculated interest
         account.setBalance(account.getBalance().add(interestAmount));
         accountRepository.save(account);
+        accountBalanceCache.evict(accountId);
 
         logger.info("Interest calculated successfully for account ID: {}. Interest amount: {}", accountId, interestAmount);
 
@@ -53,24 +59,12 @@ public class InterestCalculationService {
         return new InterestCalculationResponseDTO(accountId, interestAmount);
     }
 
-    private BigDecimal getInterestRateForAccount(Account account) {
-        // Example logic for determining interest rate based on account type
-        switch (account.getAccountType()) {
-            case SAVINGS:
-                return new BigDecimal("0.03"); // 3% interest rate for savings accounts
-            case CHECKING:
-                return new BigDecimal("0.01"); // 1% interest rate for checking accounts
-            default:
-                return BigDecimal.ZERO;
-        }
-    }
-
     // Helper method to calculate interest
     private BigDecimal calculateInterestAmount(Account account) {
-        if (account.getBalance() != null && interestRate != null) {
-            return account.getBalance().multiply(interestRate);
+        if (account.getBalance() != null) {
+            return account.getBalance().multiply(interestRateProvider.rateFor(account.getAccountType(), account.getBalance()));
         } else {
-            logger.warn("Account ID: {} has a null balance or interest rate", account.getAccountId());
+            logger.warn("Account ID: {} has a null balance", account.getAccountId());
             return BigDecimal.ZERO;
         }
     }
@@ -79,26 +73,39 @@ public class InterestCalculationService {
     public void applyInterest() {
         logger.info("Applying interest to all eligible accounts");
 
-        List<Account> savingsAccounts = accountRepository.findByAccountType(AccountType.SAVINGS);
-        for (Account account : savingsAccounts) {
-            try {
-                BigDecimal interest = calculateInterestAmount(account).divide(BigDecimal.valueOf(12), RoundingMode.HALF_UP);
-                BigDecimal oldBalance = account.getBalance();
-                BigDecimal newBalance = oldBalance.add(interest);
-
-                // Log before updating the account
-                logInterestHistory(account, interest);
-
-                account.setBalance(newBalance);
-                accountRepository.save(account);
-
-                // Notify the customer
-                accountNotificationService.sendInterestAppliedNotification(account, interest);
+        // One run per month: the same job firing on another instance joins it, and ranges left
+        // unfinished are picked up by resumeIncompleteRuns
+        String runId = YearMonth.now().toString();
+        InterestRateTable rates = interestRateProvider.current();
+        InterestRunService.RunSummary summary = switch (postingMode) {
+            case SET_BASED -> interestRunService.runSetBased(runId, rates.tiers());
+            case ACCRUED -> interestRunService.runAccrued(runId, LocalDate.now().withDayOfMonth(1));
+            case CHUNKED -> interestRunService.run(runId, rates);
+        };
+        if (summary.failedRanges() > 0) {
+            logger.warn("Interest run {} left {} ranges unfinished", summary.runId(), summary.failedRanges());
+        }
+    }
 
-                logger.info("Interest applied to Account ID: {}, Old Balance: {}, Interest: {}, New Balance: {}",
-                        account.getAccountId(), oldBalance, interest, newBalance);
-            } catch (Exception e) {
-                logger.error("Error applying interest to Account ID: {}", account.getAccountId(), e);
+    /**
+     * Finishes chunked runs that a crash, a restart or a failed range left incomplete; otherwise they
+     * would wait for a monthly job that only ever starts the current month. Ranges are claimed by
+     * lease, so one still being worked on elsewhere is skipped until its lease expires. A resumed run
+     * uses the current rate table.
+     */
+    @Scheduled(initialDelayString = "${interest.run.resume-initial-delay-ms:60000}",
+            fixedDelayString = "${interest.run.resume-delay-ms:300000}")
+    public void resumeIncompleteRuns() {
+        List<String> runIds = interestRunService.incompleteRunIds();
+        if (runIds.isEmpty()) {
+            return;
+        }
+        InterestRateTable rates = interestRateProvider.current();
+        for (String runId : runIds) {
+            logger.info("Resuming incomplete interest run {}", runId);
+            InterestRunService.RunSummary summary = interestRunService.run(runId, rates);
+            if (summary.failedRanges() > 0) {
+                logger.warn("Interest run {} still has {} ranges unfinished", summary.runId(), summary.failedRanges());
             }
         }
     }
@@ -108,25 +115,16 @@ public class InterestCalculationService {
         return calculateInterestAmount(account);
     }
 
+    // History row and rollups commit together
+    @Transactional
     public void logInterestHistory(Account account, BigDecimal interestAmount) {
         InterestHistory interestHistory = new InterestHistory();
         interestHistory.setAccountId(account.getAccountId());  // Use account ID (UUID)
         interestHistory.setInterestAmount(interestAmount);
         interestHistory.setTimestamp(LocalDateTime.now());
         interestHistoryRepository.save(interestHistory);
-    }
-
-    private BigDecimal calculateCompoundInterestAmount(Account account) {
-        BigDecimal monthlyRate = interestRate.divide(BigDecimal.valueOf(12), RoundingMode.HALF_UP);
-        return account.getBalance().multiply(monthlyRate);
-    }
-
-    private BigDecimal getDynamicInterestRate(Account account) {
-        if (account.getBalance().compareTo(new BigDecimal("10000")) > 0) {
-            return new BigDecimal("0.05"); // 5% for high-balance accounts
-        } else {
-            return interestRate; // Default interest rate
-        }
+        interestHistoryRollupWriter.addAll(List.of(new InterestChunkProcessor.Credit(account.getAccountId(), interestAmount)),
+                interestHistory.getTimestamp());
     }
 
     public BigDecimal previewInterestApplication(Account account) {
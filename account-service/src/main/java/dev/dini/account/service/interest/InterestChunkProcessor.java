@@ -0,0 +1,138 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.component.AccountBalanceCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies monthly interest to one keyset page of interest-earning accounts in a single DB transaction:
+ * one locking page read, one batched balance update, batched interest_history and rollup inserts
+ * and the checkpoint update, so a chunk is either fully applied and recorded or not at all.
+ */
+@Component
+@RequiredArgsConstructor
+public class InterestChunkProcessor {
+
+    private static final BigDecimal MONTHS_PER_YEAR = BigDecimal.valueOf(12);
+
+    private static final String APPLY_INTEREST_SQL =
+            "UPDATE accounts SET balance = balance + ?, updated_at = ?, version = COALESCE(version, 0) + 1 WHERE account_id = ?";
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO interest_history (account_id, interest_amount, timestamp) VALUES (?, ?, ?)";
+
+    // Guarded by the owner, so a worker whose lease was taken over rolls its chunk back
+    private static final String UPDATE_CHECKPOINT_SQL =
+            "UPDATE interest_run_checkpoints SET last_account_id = :lastAccountId, processed = processed + :processed, " +
+                    "completed = :completed, lease_until = :leaseUntil, updated_at = :updatedAt " +
+                    "WHERE run_id = :runId AND range_no = :rangeNo AND owner = :owner";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AccountBalanceCache accountBalanceCache;
+    private final InterestHistoryRollupWriter interestHistoryRollupWriter;
+
+    /**
+     * @param checkpoint The claimed range; its owner must still hold the lease
+     * @param rates      Yearly rates by account type and balance; a twelfth is applied
+     * @param lease      How long the lease is extended by
+     * @return The accounts credited in this chunk; fewer than {@code chunkSize} rows read means the range is done
+     * @throws IllegalStateException If the range has been taken over by another worker
+     */
+    @Transactional
+    public ChunkResult applyChunk(InterestRunCheckpoint checkpoint, int chunkSize, InterestRateTable rates, Duration lease) {
+        List<AccountBalance> page = lockPage(checkpoint, chunkSize, rates);
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+
+        List<Credit> credits = new ArrayList<>(page.size());
+        List<Object[]> updateArgs = new ArrayList<>(page.size());
+        List<Object[]> historyArgs = new ArrayList<>(page.size());
+        for (AccountBalance account : page) {
+            BigDecimal interest = monthlyInterest(account.balance(), rates.rateFor(account.accountType(), account.balance()));
+            if (interest.signum() > 0) {
+                credits.add(new Credit(account.accountId(), interest));
+                updateArgs.add(new Object[]{interest, timestamp, account.accountId()});
+                historyArgs.add(new Object[]{account.accountId(), interest, timestamp});
+            }
+        }
+        if (!credits.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(APPLY_INTEREST_SQL, updateArgs);
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_HISTORY_SQL, historyArgs);
+            interestHistoryRollupWriter.addAll(credits, now);
+            accountBalanceCache.evictAll(credits.stream().map(Credit::accountId).toList());
+        }
+
+        boolean completed = page.size() < chunkSize;
+        UUID lastAccountId = page.isEmpty() ? checkpoint.getLastAccountId() : page.get(page.size() - 1).accountId();
+        LocalDateTime leaseUntil = now.plus(lease);
+        int updated = jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, new MapSqlParameterSource()
+                .addValue("lastAccountId", lastAccountId)
+                .addValue("processed", page.size())
+                .addValue("completed", completed)
+                .addValue("leaseUntil", Timestamp.valueOf(leaseUntil))
+                .addValue("updatedAt", timestamp)
+                .addValue("runId", checkpoint.getId().getRunId())
+                .addValue("rangeNo", checkpoint.getId().getRangeNo())
+                .addValue("owner", checkpoint.getOwner()));
+        if (updated == 0) {
+            throw new IllegalStateException("Interest range " + checkpoint.getId() + " was taken over by another worker");
+        }
+
+        checkpoint.setLastAccountId(lastAccountId);
+        checkpoint.setProcessed(checkpoint.getProcessed() + page.size());
+        checkpoint.setCompleted(completed);
+        checkpoint.setLeaseUntil(leaseUntil);
+        return new ChunkResult(page.size(), credits, completed);
+    }
+
+    static BigDecimal monthlyInterest(BigDecimal balance, BigDecimal annualRate) {
+        if (balance == null || annualRate == null || balance.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        // Rounded once to the cent, half to even; this exact amount is credited and recorded in interest_history
+        return balance.multiply(annualRate).divide(MONTHS_PER_YEAR, 2, RoundingMode.HALF_EVEN);
+    }
+
+    private List<AccountBalance> lockPage(InterestRunCheckpoint checkpoint, int chunkSize, InterestRateTable rates) {
+        StringBuilder sql = new StringBuilder("SELECT account_id, account_type, balance FROM accounts WHERE account_type IN (:types)");
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", chunkSize)
+                .addValue("types", rates.accountTypes().stream().map(AccountType::name).toList());
+        if (checkpoint.getLastAccountId() != null) {
+            sql.append(" AND account_id > :after");
+            params.addValue("after", checkpoint.getLastAccountId());
+        } else {
+            sql.append(" AND account_id >= :start");
+            params.addValue("start", checkpoint.getRangeStart());
+        }
+        if (checkpoint.getRangeEnd() != null) {
+            sql.append(" AND account_id < :end");
+            params.addValue("end", checkpoint.getRangeEnd());
+        }
+        sql.append(" ORDER BY account_id LIMIT :limit FOR UPDATE");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) ->
+                new AccountBalance(rs.getObject("account_id", UUID.class), AccountType.valueOf(rs.getString("account_type")), rs.getBigDecimal("balance")));
+    }
+
+    private record AccountBalance(UUID accountId, AccountType accountType, BigDecimal balance) {
+    }
+
+    public record Credit(UUID accountId, BigDecimal interest) {
+    }
+
+    public record ChunkResult(int read, List<Credit> credits, boolean completed) {
+    }
+}
@@ -14,7 +14,8 @@ import java.util.UUID;
 @Table(name = "interest_history")
 public class InterestHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // Identity so the interest run can batch-insert rows over plain JDBC
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private UUID accountId;
@@ -1,10 +1,24 @@
 package dev.dini.account.service.interest;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface InterestHistoryRepository extends JpaRepository<InterestHistory, Long> {
-    List<InterestHistory> findByAccountId(UUID accountId);
+
+    // Keyset pages, newest first, served from idx_interest_history_account_timestamp_id
+    @Query(value = "SELECT * FROM interest_history WHERE account_id = :accountId " +
+            "ORDER BY timestamp DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<InterestHistory> findLatestPage(@Param("accountId") UUID accountId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM interest_history WHERE account_id = :accountId " +
+            "AND (timestamp, id) < (:timestamp, :id) ORDER BY timestamp DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<InterestHistory> findPageBefore(@Param("accountId") UUID accountId,
+                                         @Param("timestamp") LocalDateTime timestamp,
+                                         @Param("id") long id,
+                                         @Param("limit") int limit);
 }
@@ -0,0 +1,31 @@
+package dev.dini.account.service.interest;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Interest credited to an account per month and per year, kept up to date by
+ * {@link InterestHistoryRollupWriter} as interest_history rows are written, so statements do not
+ * have to add up the history.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "interest_history_rollups")
+public class InterestHistoryRollup {
+
+    @EmbeddedId
+    private InterestHistoryRollupId id;
+
+    private BigDecimal totalInterest;
+    private long postings;
+    private LocalDateTime updatedAt;
+}
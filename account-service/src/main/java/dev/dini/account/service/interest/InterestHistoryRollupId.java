@@ -0,0 +1,20 @@
+package dev.dini.account.service.interest;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class InterestHistoryRollupId implements Serializable {
+    private UUID accountId;
+    private int periodYear;
+    // 1-12 for a month, 0 for the whole year
+    private int periodMonth;
+}
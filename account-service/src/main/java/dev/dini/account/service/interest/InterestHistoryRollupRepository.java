@@ -0,0 +1,15 @@
+package dev.dini.account.service.interest;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface InterestHistoryRollupRepository extends JpaRepository<InterestHistoryRollup, InterestHistoryRollupId> {
+
+    // Month rows and the year total of one year
+    List<InterestHistoryRollup> findByIdAccountIdAndIdPeriodYearOrderByIdPeriodMonth(UUID accountId, int periodYear);
+
+    // Pass YEAR_TOTAL for the yearly totals
+    List<InterestHistoryRollup> findByIdAccountIdAndIdPeriodMonthOrderByIdPeriodYearDesc(UUID accountId, int periodMonth);
+}
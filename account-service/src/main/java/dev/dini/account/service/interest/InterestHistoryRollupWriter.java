@@ -0,0 +1,72 @@
+package dev.dini.account.service.interest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds interest to the month and year rows of interest_history_rollups. Every writer of
+ * interest_history calls it in the same transaction as the history insert, so the rollups never
+ * disagree with the history.
+ */
+@Component
+@RequiredArgsConstructor
+public class InterestHistoryRollupWriter {
+
+    // Period month of the whole-year row
+    public static final int YEAR_TOTAL = 0;
+
+    private static final String ON_CONFLICT_ADD =
+            " ON CONFLICT (account_id, period_year, period_month) DO UPDATE SET " +
+                    "total_interest = interest_history_rollups.total_interest + EXCLUDED.total_interest, " +
+                    "postings = interest_history_rollups.postings + EXCLUDED.postings, updated_at = EXCLUDED.updated_at";
+
+    private static final String ADD_SQL =
+            "INSERT INTO interest_history_rollups (account_id, period_year, period_month, total_interest, postings, updated_at) " +
+                    "VALUES (?, ?, ?, ?, 1, ?), (?, ?, " + YEAR_TOTAL + ", ?, 1, ?)" + ON_CONFLICT_ADD;
+
+    // The month row and the year row of every account posted at :postedAt, from its history rows
+    private static final String ADD_POSTED_SQL =
+            "INSERT INTO interest_history_rollups (account_id, period_year, period_month, total_interest, postings, updated_at) " +
+                    "SELECT h.account_id, :year, p.period_month, SUM(h.interest_amount), COUNT(*), :postedAt " +
+                    "FROM interest_history h CROSS JOIN (VALUES (:month), (" + YEAR_TOTAL + ")) AS p(period_month) " +
+                    "WHERE h.timestamp = :postedAt GROUP BY h.account_id, p.period_month" + ON_CONFLICT_ADD;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Rolls up history rows written one by one or in a JDBC batch, all at {@code postedAt}.
+     */
+    public void addAll(List<InterestChunkProcessor.Credit> credits, LocalDateTime postedAt) {
+        if (credits.isEmpty()) {
+            return;
+        }
+        int year = postedAt.getYear();
+        int month = postedAt.getMonthValue();
+        Timestamp timestamp = Timestamp.valueOf(postedAt);
+        List<Object[]> args = new ArrayList<>(credits.size());
+        for (InterestChunkProcessor.Credit credit : credits) {
+            args.add(new Object[]{credit.accountId(), year, month, credit.interest(), timestamp,
+                    credit.accountId(), year, credit.interest(), timestamp});
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(ADD_SQL, args);
+    }
+
+    /**
+     * Rolls up every history row a set-based posting wrote at {@code postedAt} in one statement.
+     *
+     * @return The number of rollup rows written, two per account
+     */
+    public int addPosted(LocalDateTime postedAt) {
+        return jdbcTemplate.update(ADD_POSTED_SQL, new MapSqlParameterSource()
+                .addValue("year", postedAt.getYear())
+                .addValue("month", postedAt.getMonthValue())
+                .addValue("postedAt", Timestamp.valueOf(postedAt)));
+    }
+}
@@ -0,0 +1,84 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.dto.InterestHistoryEntryDTO;
+import dev.dini.account.service.dto.InterestHistoryPageDTO;
+import dev.dini.account.service.dto.InterestPeriodTotalDTO;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads an account's interest history a page at a time, newest first, and its per-month and
+ * per-year totals from the rollups. Both read a bounded number of rows however long the history is.
+ */
+@Service
+@RequiredArgsConstructor
+public class InterestHistoryService {
+
+    private final AccountRepository accountRepository;
+    private final InterestHistoryRepository interestHistoryRepository;
+    private final InterestHistoryRollupRepository interestHistoryRollupRepository;
+
+    @Value("${interest.history.max-page-size:200}")
+    private int maxPageSize = 200;
+
+    /**
+     * @param beforeTimestamp Cursor from the previous page, together with {@code beforeId}; both null for the first page
+     */
+    @Transactional(readOnly = true)
+    public InterestHistoryPageDTO getHistory(UUID accountId, LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        if ((beforeTimestamp == null) != (beforeId == null)) {
+            throw new IllegalArgumentException("beforeTimestamp and beforeId must be given together");
+        }
+        requireAccount(accountId);
+
+        // One row more than asked for tells whether there is a next page
+        List<InterestHistory> rows = beforeTimestamp == null
+                ? interestHistoryRepository.findLatestPage(accountId, limit + 1)
+                : interestHistoryRepository.findPageBefore(accountId, beforeTimestamp, beforeId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<InterestHistoryEntryDTO> entries = new ArrayList<>(Math.min(rows.size(), limit));
+        for (InterestHistory row : rows.subList(0, Math.min(rows.size(), limit))) {
+            entries.add(new InterestHistoryEntryDTO(row.getId(), row.getInterestAmount(), row.getTimestamp()));
+        }
+        InterestHistoryEntryDTO last = hasMore ? entries.get(entries.size() - 1) : null;
+        return new InterestHistoryPageDTO(accountId, entries,
+                last != null ? last.getTimestamp() : null, last != null ? last.getId() : null);
+    }
+
+    /**
+     * @param year The year whose months and total are wanted, null for the total of every year
+     */
+    @Transactional(readOnly = true)
+    public List<InterestPeriodTotalDTO> getTotals(UUID accountId, Integer year) {
+        requireAccount(accountId);
+        List<InterestHistoryRollup> rollups = year != null
+                ? interestHistoryRollupRepository.findByIdAccountIdAndIdPeriodYearOrderByIdPeriodMonth(accountId, year)
+                : interestHistoryRollupRepository.findByIdAccountIdAndIdPeriodMonthOrderByIdPeriodYearDesc(accountId, InterestHistoryRollupWriter.YEAR_TOTAL);
+        List<InterestPeriodTotalDTO> totals = new ArrayList<>(rollups.size());
+        for (InterestHistoryRollup rollup : rollups) {
+            int month = rollup.getId().getPeriodMonth();
+            totals.add(new InterestPeriodTotalDTO(rollup.getId().getPeriodYear(),
+                    month == InterestHistoryRollupWriter.YEAR_TOTAL ? null : month,
+                    rollup.getTotalInterest(), rollup.getPostings()));
+        }
+        return totals;
+    }
+
+    private void requireAccount(UUID accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+    }
+}
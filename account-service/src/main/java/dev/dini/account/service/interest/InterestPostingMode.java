@@ -0,0 +1,12 @@
+package dev.dini.account.service.interest;
+
+/**
+ * How the monthly interest job posts: {@code CHUNKED} walks the accounts in checkpointed pages,
+ * {@code SET_BASED} credits every account with one statement per rate tier, {@code ACCRUED} credits
+ * what {@link DailyAccrualService} accrued over the month.
+ */
+public enum InterestPostingMode {
+    CHUNKED,
+    SET_BASED,
+    ACCRUED
+}
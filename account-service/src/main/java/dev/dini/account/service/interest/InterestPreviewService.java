@@ -0,0 +1,216 @@
+package dev.dini.account.service.interest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.dini.account.service.account.AccountInterestView;
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.dto.AccountInterestPreviewDTO;
+import dev.dini.account.service.dto.InterestPreviewRequestDTO;
+import dev.dini.account.service.dto.InterestPreviewResponseDTO;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Side-effect-free interest projections. Accounts are read through a projection, projected in
+ * memory and nothing is written, so a preview never touches a balance or the interest history.
+ * The rate is the tier of the starting balance and stays fixed over the horizon. Projections are
+ * cached per account version and balance, so asking again for an unchanged account costs only the
+ * account read.
+ */
+@Service
+public class InterestPreviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestPreviewService.class);
+
+    private static final double DAYS_PER_YEAR = 365;
+
+    private final AccountRepository accountRepository;
+    private final InterestRateProvider interestRateProvider;
+    private final Cache<PreviewKey, Projection> cache;
+
+    @Value("${interest.preview.max-horizon-days:3650}")
+    private int maxHorizonDays = 3650;
+
+    @Value("${interest.preview.max-accounts:500}")
+    private int maxAccounts = 500;
+
+    public InterestPreviewService(AccountRepository accountRepository,
+                                  InterestRateProvider interestRateProvider,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${interest.preview.cache.max-size:100000}") long maxSize,
+                                  @Value("${interest.preview.cache.ttl:PT10M}") Duration ttl) {
+        this.accountRepository = accountRepository;
+        this.interestRateProvider = interestRateProvider;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "interest.preview");
+    }
+
+    @Transactional(readOnly = true)
+    public InterestPreviewResponseDTO preview(InterestPreviewRequestDTO request) {
+        validate(request);
+        CompoundingMode compounding = request.getCompounding() != null ? request.getCompounding() : CompoundingMode.MONTHLY;
+        LocalDate startDate = request.getStartDate() != null ? request.getStartDate() : LocalDate.now();
+        int horizonDays = request.getHorizonDays();
+        List<AccountInterestView> accounts = loadAccounts(request);
+
+        InterestRateTable rates = interestRateProvider.current();
+        int fingerprint = rates.fingerprint();
+        Map<UUID, Projection> projections = new HashMap<>();
+        List<AccountInterestView> misses = new ArrayList<>();
+        for (AccountInterestView account : accounts) {
+            Projection cached = cache.getIfPresent(key(account, horizonDays, compounding, startDate, fingerprint));
+            if (cached != null) {
+                projections.put(account.accountId(), cached);
+            } else {
+                misses.add(account);
+            }
+        }
+        if (!misses.isEmpty()) {
+            projectAll(misses, rates, startDate, horizonDays, compounding, fingerprint, projections);
+        }
+        logger.info("Previewed interest over {} days ({}) for {} accounts, {} projected",
+                horizonDays, compounding, accounts.size(), misses.size());
+
+        List<AccountInterestPreviewDTO> results = new ArrayList<>(accounts.size());
+        for (AccountInterestView account : accounts) {
+            Projection projection = projections.get(account.accountId());
+            BigDecimal balance = account.balance() != null ? account.balance() : BigDecimal.ZERO;
+            results.add(new AccountInterestPreviewDTO(account.accountId(), balance, projection.annualRate(),
+                    projection.interest(), balance.add(projection.interest())));
+        }
+        return new InterestPreviewResponseDTO(startDate, horizonDays, compounding, results);
+    }
+
+    private void validate(InterestPreviewRequestDTO request) {
+        boolean byAccounts = request.getAccountIds() != null && !request.getAccountIds().isEmpty();
+        if (byAccounts == (request.getCustomerId() != null)) {
+            throw new IllegalArgumentException("Either accountIds or customerId must be given");
+        }
+        if (request.getHorizonDays() < 1 || request.getHorizonDays() > maxHorizonDays) {
+            throw new IllegalArgumentException("Horizon must be between 1 and " + maxHorizonDays + " days");
+        }
+        if (byAccounts && request.getAccountIds().size() > maxAccounts) {
+            throw new IllegalArgumentException("At most " + maxAccounts + " accounts can be previewed at once");
+        }
+    }
+
+    private List<AccountInterestView> loadAccounts(InterestPreviewRequestDTO request) {
+        if (request.getCustomerId() != null) {
+            List<AccountInterestView> accounts = accountRepository.findInterestViewsByCustomerId(request.getCustomerId());
+            if (accounts.size() > maxAccounts) {
+                throw new IllegalArgumentException("At most " + maxAccounts + " accounts can be previewed at once");
+            }
+            return accounts;
+        }
+        Set<UUID> accountIds = new LinkedHashSet<>(request.getAccountIds());
+        Map<UUID, AccountInterestView> found = new HashMap<>();
+        for (AccountInterestView account : accountRepository.findInterestViewsByAccountIds(accountIds)) {
+            found.put(account.accountId(), account);
+        }
+        // Answer in the order the accounts were asked for
+        List<AccountInterestView> accounts = new ArrayList<>(accountIds.size());
+        for (UUID accountId : accountIds) {
+            AccountInterestView account = found.get(accountId);
+            if (account == null) {
+                throw new AccountNotFoundException(accountId);
+            }
+            accounts.add(account);
+        }
+        return accounts;
+    }
+
+    private void projectAll(List<AccountInterestView> accounts, InterestRateTable rates, LocalDate startDate,
+                            int horizonDays, CompoundingMode compounding, int fingerprint, Map<UUID, Projection> projections) {
+        int n = accounts.size();
+        BigDecimal[] annualRates = new BigDecimal[n];
+        double[] balances = new double[n];
+        double[] dailyRates = new double[n];
+        for (int i = 0; i < n; i++) {
+            AccountInterestView account = accounts.get(i);
+            annualRates[i] = rates.rateFor(account.accountType(), account.balance());
+            // Negative balances do not earn interest, the same as the interest runs
+            balances[i] = account.balance() != null && account.balance().signum() > 0 ? account.balance().doubleValue() : 0;
+            dailyRates[i] = annualRates[i].doubleValue() / DAYS_PER_YEAR;
+        }
+
+        double[] interest = project(balances, dailyRates, startDate, horizonDays, compounding);
+
+        for (int i = 0; i < n; i++) {
+            AccountInterestView account = accounts.get(i);
+            Projection projection = new Projection(annualRates[i], BigDecimal.valueOf(interest[i]).setScale(2, RoundingMode.HALF_UP));
+            cache.put(key(account, horizonDays, compounding, startDate, fingerprint), projection);
+            projections.put(account.accountId(), projection);
+        }
+    }
+
+    /**
+     * Projects all accounts together, one pass per day over flat arrays, so the per-day work is a
+     * tight loop the JIT can vectorize. Interest accrued but not yet credited at the end of the
+     * horizon is included in the result.
+     *
+     * @param dailyRates Annual rate / 365 per account
+     * @return Interest earned per account over {@code horizonDays} days from {@code startDate}
+     */
+    static double[] project(double[] balances, double[] dailyRates, LocalDate startDate, int horizonDays,
+                            CompoundingMode compounding) {
+        int n = balances.length;
+        double[] principal = balances.clone();
+        double[] accrued = new double[n];
+        LocalDate date = startDate;
+        for (int day = 0; day < horizonDays; day++) {
+            for (int i = 0; i < n; i++) {
+                accrued[i] += principal[i] * dailyRates[i];
+            }
+            date = date.plusDays(1);
+            boolean credit = compounding == CompoundingMode.DAILY
+                    || compounding == CompoundingMode.MONTHLY && date.getDayOfMonth() == 1;
+            if (credit) {
+                for (int i = 0; i < n; i++) {
+                    principal[i] += accrued[i];
+                    accrued[i] = 0;
+                }
+            }
+        }
+        double[] interest = new double[n];
+        for (int i = 0; i < n; i++) {
+            interest[i] = principal[i] + accrued[i] - balances[i];
+        }
+        return interest;
+    }
+
+    private static PreviewKey key(AccountInterestView account, int horizonDays, CompoundingMode compounding,
+                                  LocalDate startDate, int ratesFingerprint) {
+        return new PreviewKey(account.accountId(), account.version(), account.balance(), horizonDays, compounding,
+                startDate, ratesFingerprint);
+    }
+
+    // The balance is part of the key because stripe credits change it without bumping the version
+    private record PreviewKey(UUID accountId, Integer version, BigDecimal balance, int horizonDays,
+                              CompoundingMode compounding, LocalDate startDate, int ratesFingerprint) {
+    }
+
+    private record Projection(BigDecimal annualRate, BigDecimal interest) {
+    }
+}
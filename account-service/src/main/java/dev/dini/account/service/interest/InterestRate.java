@@ -0,0 +1,32 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the interest rate table: {@code annualRate} applies to balances of {@code accountType}
+ * from {@code minBalance} up to the next tier's floor.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "interest_rate_tiers")
+public class InterestRate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private AccountType accountType;
+
+    private BigDecimal minBalance;
+    private BigDecimal annualRate;
+
+    public InterestRateTier toTier() {
+        return new InterestRateTier(accountType, minBalance, null, annualRate);
+    }
+}
@@ -0,0 +1,72 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Holds the current {@link InterestRateTable}. Tiers come from the interest_rate_tiers table when it
+ * has rows and from {@code interest.rates.table} (local or config-server) otherwise. A refresh builds
+ * a new table off to the side and publishes it with one volatile write, so lookups never see a
+ * half-updated table and never lock.
+ */
+@Component
+public class InterestRateProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestRateProvider.class);
+
+    static final String TABLE_PROPERTY = "interest.rates.table";
+    // The per-type rates the interest service has always paid; other account types only earn interest once configured
+    static final String DEFAULT_TABLE = "SAVINGS:0=0.03,CHECKING:0=0.01";
+
+    private final InterestRateRepository interestRateRepository;
+    private final Environment environment;
+
+    private volatile InterestRateTable table;
+
+    public InterestRateProvider(InterestRateRepository interestRateRepository, Environment environment) {
+        this.interestRateRepository = interestRateRepository;
+        this.environment = environment;
+        this.table = InterestRateTable.parse(environment.getProperty(TABLE_PROPERTY, DEFAULT_TABLE));
+    }
+
+    public InterestRateTable current() {
+        return table;
+    }
+
+    public BigDecimal rateFor(AccountType accountType, BigDecimal balance) {
+        return table.rateFor(accountType, balance);
+    }
+
+    /**
+     * Reloads the tiers and swaps the table if they changed. A failed load keeps the current table.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${interest.rates.refresh-ms:60000}")
+    public void refresh() {
+        InterestRateTable loaded;
+        try {
+            loaded = load();
+        } catch (RuntimeException e) {
+            logger.error("Failed to reload interest rates, keeping {}", table, e);
+            return;
+        }
+        if (!loaded.equals(table)) {
+            table = loaded;
+            logger.info("Interest rates updated to {}", loaded);
+        }
+    }
+
+    private InterestRateTable load() {
+        List<InterestRate> rows = interestRateRepository.findAll();
+        if (!rows.isEmpty()) {
+            return InterestRateTable.of(rows.stream().map(InterestRate::toTier).toList());
+        }
+        return InterestRateTable.parse(environment.getProperty(TABLE_PROPERTY, DEFAULT_TABLE));
+    }
+}
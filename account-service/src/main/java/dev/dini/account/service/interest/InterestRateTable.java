@@ -0,0 +1,170 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable balance-tiered rate table. Tier floors and rates are kept in plain arrays indexed by
+ * account type ordinal, so a lookup is an array access plus a binary search over a handful of
+ * floors and allocates nothing. Instances are swapped whole by {@link InterestRateProvider}.
+ */
+public final class InterestRateTable {
+
+    private static final AccountType[] TYPES = AccountType.values();
+
+    public static final InterestRateTable EMPTY = new InterestRateTable(new BigDecimal[TYPES.length][], new BigDecimal[TYPES.length][]);
+
+    // floors[type] ascending, rates[type][i] applies from floors[type][i] up to floors[type][i + 1]
+    private final BigDecimal[][] floors;
+    private final BigDecimal[][] rates;
+
+    private InterestRateTable(BigDecimal[][] floors, BigDecimal[][] rates) {
+        this.floors = floors;
+        this.rates = rates;
+    }
+
+    /**
+     * @throws IllegalArgumentException If a tier has a negative floor or rate, or two tiers of a type share a floor
+     */
+    public static InterestRateTable of(List<InterestRateTier> tiers) {
+        BigDecimal[][] floors = new BigDecimal[TYPES.length][];
+        BigDecimal[][] rates = new BigDecimal[TYPES.length][];
+        for (AccountType type : TYPES) {
+            List<InterestRateTier> ofType = new ArrayList<>();
+            for (InterestRateTier tier : tiers) {
+                if (tier.accountType() == type) {
+                    validate(tier);
+                    ofType.add(tier);
+                }
+            }
+            if (ofType.isEmpty()) {
+                continue;
+            }
+            ofType.sort(Comparator.comparing(InterestRateTier::minBalance));
+            floors[type.ordinal()] = new BigDecimal[ofType.size()];
+            rates[type.ordinal()] = new BigDecimal[ofType.size()];
+            for (int i = 0; i < ofType.size(); i++) {
+                if (i > 0 && ofType.get(i).minBalance().compareTo(ofType.get(i - 1).minBalance()) == 0) {
+                    throw new IllegalArgumentException("Duplicate " + type + " interest tier at " + ofType.get(i).minBalance());
+                }
+                floors[type.ordinal()][i] = ofType.get(i).minBalance();
+                rates[type.ordinal()][i] = ofType.get(i).annualRate();
+            }
+        }
+        return new InterestRateTable(floors, rates);
+    }
+
+    /**
+     * Parses the {@code interest.rates.table} format: {@code TYPE:floor=rate|floor=rate,TYPE:floor=rate},
+     * e.g. {@code SAVINGS:0=0.03|10000=0.05,CHECKING:0=0.01}.
+     */
+    public static InterestRateTable parse(String spec) {
+        List<InterestRateTier> tiers = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            return EMPTY;
+        }
+        for (String typeSpec : spec.split(",")) {
+            String[] typeAndTiers = typeSpec.trim().split(":", 2);
+            if (typeAndTiers.length != 2) {
+                throw new IllegalArgumentException("Malformed interest rate entry: " + typeSpec);
+            }
+            AccountType type = AccountType.valueOf(typeAndTiers[0].trim());
+            for (String tierSpec : typeAndTiers[1].split("\\|")) {
+                String[] floorAndRate = tierSpec.trim().split("=", 2);
+                if (floorAndRate.length != 2) {
+                    throw new IllegalArgumentException("Malformed interest rate tier: " + tierSpec);
+                }
+                tiers.add(new InterestRateTier(type, new BigDecimal(floorAndRate[0].trim()), null, new BigDecimal(floorAndRate[1].trim())));
+            }
+        }
+        return of(tiers);
+    }
+
+    private static void validate(InterestRateTier tier) {
+        if (tier.minBalance() == null || tier.minBalance().signum() < 0) {
+            throw new IllegalArgumentException("Interest tier floor must be zero or more: " + tier);
+        }
+        if (tier.annualRate() == null || tier.annualRate().signum() < 0) {
+            throw new IllegalArgumentException("Interest rate must be zero or more: " + tier);
+        }
+    }
+
+    /**
+     * @return The annual rate for the balance, zero for types without tiers and balances below the lowest floor
+     */
+    public BigDecimal rateFor(AccountType accountType, BigDecimal balance) {
+        if (accountType == null || balance == null) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal[] typeFloors = floors[accountType.ordinal()];
+        if (typeFloors == null) {
+            return BigDecimal.ZERO;
+        }
+        int index = Arrays.binarySearch(typeFloors, balance);
+        // Not an exact floor: binarySearch returns -(insertion point) - 1 and the tier is the one before it
+        int tier = index >= 0 ? index : -index - 2;
+        return tier < 0 ? BigDecimal.ZERO : rates[accountType.ordinal()][tier];
+    }
+
+    /**
+     * @return The account types that earn interest under this table
+     */
+    public Set<AccountType> accountTypes() {
+        Set<AccountType> types = EnumSet.noneOf(AccountType.class);
+        for (AccountType type : TYPES) {
+            if (floors[type.ordinal()] != null) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * @return Every tier with its exclusive upper bound filled in, for set-based posting
+     */
+    public List<InterestRateTier> tiers() {
+        List<InterestRateTier> tiers = new ArrayList<>();
+        for (AccountType type : TYPES) {
+            BigDecimal[] typeFloors = floors[type.ordinal()];
+            if (typeFloors == null) {
+                continue;
+            }
+            for (int i = 0; i < typeFloors.length; i++) {
+                BigDecimal max = i + 1 < typeFloors.length ? typeFloors[i + 1] : null;
+                tiers.add(new InterestRateTier(type, typeFloors[i], max, rates[type.ordinal()][i]));
+            }
+        }
+        return Collections.unmodifiableList(tiers);
+    }
+
+    /**
+     * Hash of the tiers that, unlike {@link #hashCode}, is the same across JVMs and restarts, so it
+     * can be stored to detect rate changes.
+     */
+    public int fingerprint() {
+        return tiers().toString().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof InterestRateTable table && tiers().equals(table.tiers());
+    }
+
+    @Override
+    public int hashCode() {
+        return tiers().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "InterestRateTable" + tiers();
+    }
+}
@@ -0,0 +1,13 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+
+import java.math.BigDecimal;
+
+/**
+ * Annual rate paid on balances of {@code accountType} in {@code [minBalance, maxBalance)}.
+ *
+ * @param maxBalance Exclusive upper bound, null for the open-ended top tier
+ */
+public record InterestRateTier(AccountType accountType, BigDecimal minBalance, BigDecimal maxBalance, BigDecimal annualRate) {
+}
@@ -0,0 +1,49 @@
+package dev.dini.account.service.interest;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of one account-id range of an interest run. {@code lastAccountId} is the last account
+ * whose interest has been committed, so a restarted run resumes right after it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "interest_run_checkpoints")
+public class InterestRunCheckpoint {
+
+    @EmbeddedId
+    private InterestRunCheckpointId id;
+
+    // Inclusive lower bound of the range
+    private UUID rangeStart;
+
+    // Exclusive upper bound, null for the last range
+    private UUID rangeEnd;
+
+    private UUID lastAccountId;
+    private long processed;
+    private boolean completed;
+
+    // Worker currently holding the range; another worker may take it over once the lease has run out
+    private String owner;
+    private LocalDateTime leaseUntil;
+
+    private LocalDateTime updatedAt;
+
+    public InterestRunCheckpoint(String runId, int rangeNo, UUID rangeStart, UUID rangeEnd) {
+        this.id = new InterestRunCheckpointId(runId, rangeNo);
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
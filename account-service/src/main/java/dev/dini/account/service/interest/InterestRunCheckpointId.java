@@ -0,0 +1,17 @@
+package dev.dini.account.service.interest;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class InterestRunCheckpointId implements Serializable {
+    private String runId;
+    private int rangeNo;
+}
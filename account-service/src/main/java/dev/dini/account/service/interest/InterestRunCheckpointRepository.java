@@ -0,0 +1,29 @@
+package dev.dini.account.service.interest;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InterestRunCheckpointRepository extends JpaRepository<InterestRunCheckpoint, InterestRunCheckpointId> {
+
+    List<InterestRunCheckpoint> findByIdRunIdOrderByIdRangeNo(String runId);
+
+    // Runs with a range still to finish, oldest first
+    @Query("select distinct c.id.runId from InterestRunCheckpoint c where c.completed = false order by c.id.runId")
+    List<String> findIncompleteRunIds();
+
+    // Takes a range unless another worker holds an unexpired lease on it
+    @Transactional
+    @Modifying
+    @Query("update InterestRunCheckpoint c set c.owner = :owner, c.leaseUntil = :leaseUntil " +
+            "where c.id = :id and c.completed = false and (c.leaseUntil is null or c.leaseUntil < :now)")
+    int claim(@Param("id") InterestRunCheckpointId id,
+              @Param("owner") String owner,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,239 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.notification.AccountNotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the monthly interest posting as a restartable batch job. The account-id space is split into
+ * fixed ranges whose progress is checkpointed per chunk in {@code interest_run_checkpoints}; ranges
+ * are worked on in parallel and a re-run with the same run id only picks up what is left.
+ */
+@Service
+public class InterestRunService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestRunService.class);
+
+    private final InterestRunCheckpointRepository checkpointRepository;
+    private final InterestChunkProcessor interestChunkProcessor;
+    private final SetBasedInterestPoster setBasedInterestPoster;
+    private final AccountNotificationService accountNotificationService;
+
+    private final Counter accountsProcessed;
+    private final Counter accountsCredited;
+    private final Timer chunkTimer;
+    private volatile double accountsPerSecond;
+
+    @Value("${interest.run.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${interest.run.workers:4}")
+    private int workers = 4;
+
+    @Value("${interest.run.ranges:16}")
+    private int ranges = 16;
+
+    @Value("${interest.run.lease:PT5M}")
+    private Duration lease = Duration.ofMinutes(5);
+
+    public InterestRunService(InterestRunCheckpointRepository checkpointRepository,
+                              InterestChunkProcessor interestChunkProcessor,
+                              SetBasedInterestPoster setBasedInterestPoster,
+                              AccountNotificationService accountNotificationService,
+                              MeterRegistry meterRegistry) {
+        this.checkpointRepository = checkpointRepository;
+        this.interestChunkProcessor = interestChunkProcessor;
+        this.setBasedInterestPoster = setBasedInterestPoster;
+        this.accountNotificationService = accountNotificationService;
+        this.accountsProcessed = Counter.builder("interest.run.accounts")
+                .description("Savings accounts read by the interest run")
+                .register(meterRegistry);
+        this.accountsCredited = Counter.builder("interest.run.credited")
+                .description("Accounts that were credited interest")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("interest.run.chunk")
+                .description("Time to apply one interest chunk")
+                .register(meterRegistry);
+        Gauge.builder("interest.run.accounts.per.second", this, service -> service.accountsPerSecond)
+                .description("Throughput of the current or last interest run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Apply a month of interest to every account earning interest under {@code rates} and not yet
+     * covered by {@code runId}.
+     *
+     * @param runId Identifies the posting period, e.g. "2025-01"; re-running it resumes instead of paying twice
+     */
+    public RunSummary run(String runId, InterestRateTable rates) {
+        if (rates.accountTypes().isEmpty()) {
+            logger.warn("No interest rates configured, skipping interest run {}", runId);
+            return new RunSummary(runId, 0, 0, 0);
+        }
+        List<InterestRunCheckpoint> pending = new ArrayList<>();
+        for (InterestRunCheckpoint checkpoint : checkpointsFor(runId)) {
+            if (!checkpoint.isCompleted()) {
+                pending.add(checkpoint);
+            }
+        }
+        if (pending.isEmpty()) {
+            logger.info("Interest run {} is already complete", runId);
+            return new RunSummary(runId, 0, 0, 0);
+        }
+
+        String owner = UUID.randomUUID().toString();
+        AtomicLong processed = new AtomicLong();
+        AtomicLong credited = new AtomicLong();
+        AtomicInteger threadNo = new AtomicInteger();
+        long started = System.nanoTime();
+        logger.info("Starting interest run {} over {} pending ranges with {} workers", runId, pending.size(), workers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, pending.size()),
+                task -> new Thread(task, "interest-run-" + threadNo.incrementAndGet()));
+        int failedRanges = 0;
+        try {
+            List<Future<?>> futures = new ArrayList<>(pending.size());
+            for (InterestRunCheckpoint checkpoint : pending) {
+                futures.add(executor.submit(() -> processRange(checkpoint, owner, rates, processed, credited, started)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failedRanges++;
+                    logger.error("Interest range failed in run {}, the incomplete-run resume picks it up from its checkpoint once its lease expires",
+                            runId, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interest run {} interrupted", runId);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double seconds = Math.max((System.nanoTime() - started) / 1e9, 1e-3);
+        accountsPerSecond = processed.get() / seconds;
+        logger.info("Interest run {} finished: {} accounts read, {} credited, {} failed ranges, {} accounts/sec",
+                runId, processed.get(), credited.get(), failedRanges, Math.round(accountsPerSecond));
+        return new RunSummary(runId, processed.get(), credited.get(), failedRanges);
+    }
+
+    /**
+     * @return Ids of the chunked runs that still have ranges to finish, oldest first
+     */
+    public List<String> incompleteRunIds() {
+        return checkpointRepository.findIncompleteRunIds();
+    }
+
+    /**
+     * Post a month of interest in one transaction with a statement per rate tier, then notify the
+     * credited accounts from the history rows it wrote. Shares the run ids of {@link #run}, so a
+     * month is posted once whichever mode picks it up.
+     */
+    public RunSummary runSetBased(String runId, List<InterestRateTier> tiers) {
+        // Microseconds, as PostgreSQL stores them, so the history rows can be found again by timestamp
+        LocalDateTime postedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        long started = System.nanoTime();
+        return notifyPosted(runId, setBasedInterestPoster.post(runId, tiers, postedAt), postedAt, started);
+    }
+
+    /**
+     * Post what the daily accrual has accumulated up to {@code periodEnd} (exclusive), then notify
+     * the credited accounts. Shares the run ids of {@link #run}.
+     */
+    public RunSummary runAccrued(String runId, LocalDate periodEnd) {
+        LocalDateTime postedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        long started = System.nanoTime();
+        return notifyPosted(runId, setBasedInterestPoster.postAccrued(runId, periodEnd, postedAt), postedAt, started);
+    }
+
+    private RunSummary notifyPosted(String runId, OptionalLong posted, LocalDateTime postedAt, long started) {
+        if (posted.isEmpty()) {
+            return new RunSummary(runId, 0, 0, 0);
+        }
+
+        long credited = posted.getAsLong();
+        accountsProcessed.increment(credited);
+        accountsCredited.increment(credited);
+        accountsPerSecond = credited / Math.max((System.nanoTime() - started) / 1e9, 1e-3);
+        logger.info("Interest run {} posted set-based to {} accounts, {} accounts/sec", runId, credited, Math.round(accountsPerSecond));
+
+        setBasedInterestPoster.forEachPosted(postedAt, credit ->
+                accountNotificationService.sendInterestAppliedNotification(credit.accountId(), credit.interest()));
+        return new RunSummary(runId, credited, credited, 0);
+    }
+
+    private void processRange(InterestRunCheckpoint checkpoint, String owner, InterestRateTable rates,
+                              AtomicLong processed, AtomicLong credited, long started) {
+        LocalDateTime now = LocalDateTime.now();
+        if (checkpointRepository.claim(checkpoint.getId(), owner, now.plus(lease), now) == 0) {
+            logger.info("Interest range {} is held by another worker, skipping", checkpoint.getId());
+            return;
+        }
+        // Re-read after claiming: a previous owner may have advanced the range since it was listed
+        InterestRunCheckpoint claimed = checkpointRepository.findById(checkpoint.getId()).orElseThrow();
+
+        InterestChunkProcessor.ChunkResult result;
+        do {
+            result = chunkTimer.record(() -> interestChunkProcessor.applyChunk(claimed, chunkSize, rates, lease));
+            accountsProcessed.increment(result.read());
+            accountsCredited.increment(result.credits().size());
+            credited.addAndGet(result.credits().size());
+            long total = processed.addAndGet(result.read());
+            accountsPerSecond = total / Math.max((System.nanoTime() - started) / 1e9, 1e-3);
+
+            // The chunk is committed at this point
+            for (InterestChunkProcessor.Credit credit : result.credits()) {
+                accountNotificationService.sendInterestAppliedNotification(credit.accountId(), credit.interest());
+            }
+        } while (!result.completed());
+    }
+
+    private List<InterestRunCheckpoint> checkpointsFor(String runId) {
+        List<InterestRunCheckpoint> checkpoints = checkpointRepository.findByIdRunIdOrderByIdRangeNo(runId);
+        if (checkpoints.isEmpty()) {
+            try {
+                checkpoints = checkpointRepository.saveAll(ranges(runId, ranges));
+            } catch (DataIntegrityViolationException e) {
+                // Another instance started the same run first
+                checkpoints = checkpointRepository.findByIdRunIdOrderByIdRangeNo(runId);
+            }
+        }
+        return checkpoints;
+    }
+
+    static List<InterestRunCheckpoint> ranges(String runId, int count) {
+        List<AccountIdRange> ranges = AccountIdRange.split(count);
+        List<InterestRunCheckpoint> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new InterestRunCheckpoint(runId, i, ranges.get(i).start(), ranges.get(i).end()));
+        }
+        return result;
+    }
+
+    public record RunSummary(String runId, long accountsRead, long accountsCredited, int failedRanges) {
+    }
+}
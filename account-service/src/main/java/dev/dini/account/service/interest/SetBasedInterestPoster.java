@@ -0,0 +1,175 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.component.AccountBalanceCache;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Posts a month of interest with one statement per rate tier, or one statement over the daily
+ * accruals, instead of a read and a write per account. Each statement credits the tier's accounts and inserts their interest_history rows
+ * together, one more statement rolls those rows up by month and year, and the whole posting commits or rolls back as one.
+ */
+@Component
+@RequiredArgsConstructor
+public class SetBasedInterestPoster {
+
+    private static final Logger logger = LoggerFactory.getLogger(SetBasedInterestPoster.class);
+
+    // Marks the period as posted; conflicts with an earlier posting or a chunked run of the same month
+    private static final String CLAIM_RUN_SQL =
+            "INSERT INTO interest_run_checkpoints (run_id, range_no, range_start, processed, completed, owner, updated_at) " +
+                    "VALUES (:runId, 0, :rangeStart, 0, TRUE, 'set-based', :postedAt) ON CONFLICT DO NOTHING";
+
+    private static final String RECORD_RUN_SQL =
+            "UPDATE interest_run_checkpoints SET processed = :processed WHERE run_id = :runId AND range_no = 0";
+
+    // Interest is computed from the pre-update balance in the sub-select and handed to the history insert;
+    // rounded to the cent half to even, as InterestChunkProcessor.monthlyInterest does
+    private static final String POST_TIER_SQL =
+            "WITH credited AS (" +
+                    "UPDATE accounts a SET balance = a.balance + c.interest, updated_at = :postedAt, version = COALESCE(a.version, 0) + 1 " +
+                    "FROM (SELECT account_id, round_half_even(balance * :rate / 12, 2) AS interest FROM accounts " +
+                    "WHERE account_type = :accountType AND balance >= :minBalance%s) c " +
+                    "WHERE a.account_id = c.account_id AND c.interest > 0 " +
+                    "RETURNING a.account_id, c.interest) " +
+                    "INSERT INTO interest_history (account_id, interest_amount, timestamp) " +
+                    "SELECT account_id, interest, :postedAt FROM credited";
+
+    // Credits what each account accrued up to the period end in whole cents, rounded half to even like the
+    // other modes. The sub-cent remainder is carried: it becomes the account's accrued_total for the next period.
+    private static final String POST_ACCRUED_SQL =
+            "WITH accruing AS (" +
+                    "SELECT account_id, accrued_total + daily_amount * (CAST(:periodEnd AS date) - accrued_through) AS accrued " +
+                    "FROM interest_accruals WHERE accrued_through <= :periodEnd FOR UPDATE), " +
+                    "due AS (" +
+                    "SELECT account_id, GREATEST(round_half_even(accrued, 2), 0) AS interest, " +
+                    "accrued - GREATEST(round_half_even(accrued, 2), 0) AS remainder FROM accruing), " +
+                    "settled AS (" +
+                    "UPDATE interest_accruals i SET accrued_total = due.remainder, " +
+                    "accrued_through = :periodEnd, updated_at = :postedAt FROM due WHERE i.account_id = due.account_id), " +
+                    "credited AS (" +
+                    "UPDATE accounts a SET balance = a.balance + due.interest, updated_at = :postedAt, version = COALESCE(a.version, 0) + 1 " +
+                    "FROM due WHERE a.account_id = due.account_id AND due.interest > 0 " +
+                    "RETURNING a.account_id, due.interest) " +
+                    "INSERT INTO interest_history (account_id, interest_amount, timestamp) " +
+                    "SELECT account_id, interest, :postedAt FROM credited";
+
+    private static final String POSTED_SQL =
+            "SELECT account_id, interest_amount FROM interest_history WHERE timestamp = :postedAt";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AccountBalanceCache accountBalanceCache;
+    private final InterestHistoryRollupWriter interestHistoryRollupWriter;
+
+    /**
+     * @param postedAt Timestamp written to every history row of this posting, at microsecond precision
+     * @return The number of accounts credited, empty if {@code runId} was already posted or is being run chunked
+     */
+    @Transactional
+    public OptionalLong post(String runId, List<InterestRateTier> tiers, LocalDateTime postedAt) {
+        Timestamp timestamp = Timestamp.valueOf(postedAt);
+        if (!claim(runId, timestamp)) {
+            return OptionalLong.empty();
+        }
+
+        long credited = 0;
+        for (InterestRateTier tier : postingOrder(tiers)) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("rate", tier.annualRate())
+                    .addValue("accountType", tier.accountType().name())
+                    .addValue("minBalance", tier.minBalance())
+                    .addValue("postedAt", timestamp);
+            String upperBound = "";
+            if (tier.maxBalance() != null) {
+                upperBound = " AND balance < :maxBalance";
+                params.addValue("maxBalance", tier.maxBalance());
+            }
+            int rows = jdbcTemplate.update(POST_TIER_SQL.formatted(upperBound), params);
+            logger.info("Posted {} interest at {} to {} accounts from balance {}",
+                    tier.accountType(), tier.annualRate(), rows, tier.minBalance());
+            credited += rows;
+        }
+
+        interestHistoryRollupWriter.addPosted(postedAt);
+        recordRun(runId, credited);
+        return OptionalLong.of(credited);
+    }
+
+    /**
+     * Credits the daily accruals summed up to {@code periodEnd} (exclusive) in one statement.
+     *
+     * @return The number of accounts credited, empty if {@code runId} was already posted
+     */
+    @Transactional
+    public OptionalLong postAccrued(String runId, LocalDate periodEnd, LocalDateTime postedAt) {
+        Timestamp timestamp = Timestamp.valueOf(postedAt);
+        if (!claim(runId, timestamp)) {
+            return OptionalLong.empty();
+        }
+
+        long credited = jdbcTemplate.update(POST_ACCRUED_SQL, new MapSqlParameterSource()
+                .addValue("periodEnd", Date.valueOf(periodEnd))
+                .addValue("postedAt", timestamp));
+        logger.info("Posted accrued interest up to {} to {} accounts", periodEnd, credited);
+
+        interestHistoryRollupWriter.addPosted(postedAt);
+        recordRun(runId, credited);
+        return OptionalLong.of(credited);
+    }
+
+    /**
+     * Streams the history rows written by the posting at {@code postedAt}.
+     */
+    @Transactional(readOnly = true)
+    public void forEachPosted(LocalDateTime postedAt, Consumer<InterestChunkProcessor.Credit> consumer) {
+        jdbcTemplate.query(POSTED_SQL, new MapSqlParameterSource("postedAt", Timestamp.valueOf(postedAt)),
+                (RowCallbackHandler) rs -> consumer.accept(
+                        new InterestChunkProcessor.Credit(rs.getObject("account_id", UUID.class), rs.getBigDecimal("interest_amount"))));
+    }
+
+    private boolean claim(String runId, Timestamp postedAt) {
+        int claimed = jdbcTemplate.update(CLAIM_RUN_SQL, new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("rangeStart", new UUID(0L, 0L))
+                .addValue("postedAt", postedAt));
+        if (claimed == 0) {
+            logger.info("Interest for {} has already been posted", runId);
+            return false;
+        }
+        return true;
+    }
+
+    private void recordRun(String runId, long credited) {
+        jdbcTemplate.update(RECORD_RUN_SQL, new MapSqlParameterSource()
+                .addValue("processed", credited)
+                .addValue("runId", runId));
+        accountBalanceCache.clear();
+    }
+
+    /**
+     * Highest tier first: a balance only grows when credited, so an account posted in one tier can
+     * never fall into a tier that is still to run.
+     */
+    static List<InterestRateTier> postingOrder(List<InterestRateTier> tiers) {
+        List<InterestRateTier> ordered = new ArrayList<>(tiers);
+        ordered.sort(Comparator.comparing(InterestRateTier::minBalance, Comparator.reverseOrder()));
+        return ordered;
+    }
+}
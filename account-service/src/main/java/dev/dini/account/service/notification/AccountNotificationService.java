@@ -2,17 +2,57 @@ package dev.dini.account.service.notification;
 
 import dev.dini.account.service.account.Account;
 import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * Hands notifications to {@link NotificationPublisher}, the ones of a {@link NotificationEventType}
+ * through {@link NotificationCoalescer}. Inside a transaction they are queued once it commits, so a
+ * rolled back change never notifies anyone. Notifications of bulk changes and interest runs wait for
+ * room in the publisher queue rather than being dropped when it is full.
+ */
 @Service
+@RequiredArgsConstructor
 public class AccountNotificationService {
 
+    private final NotificationPublisher notificationPublisher;
+    private final NotificationCoalescer notificationCoalescer;
+
+    @Value("${notification.type:EMAIL}")
+    private String notificationType = "EMAIL";
+
     public void sendNotification(UUID accountId, String message) {
-        // Here, you could expand this logic to integrate with a messaging system (email, SMS, etc.)
-        System.out.println("Sending notification: " + message);
+        NotificationMessage notification = toMessage(accountId, message);
+        afterCommit(() -> notificationPublisher.enqueue(notification));
+    }
+
+    /**
+     * Sends only the last of the notifications of {@code type} made for the account within the
+     * coalescing window.
+     */
+    public void sendNotification(UUID accountId, NotificationEventType type, String message) {
+        NotificationMessage notification = toMessage(accountId, message);
+        afterCommit(() -> notificationCoalescer.submit(type, notification));
+    }
+
+    public void sendNotifications(Collection<UUID> accountIds, String message) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        List<NotificationMessage> notifications = new ArrayList<>(accountIds.size());
+        for (UUID accountId : accountIds) {
+            notifications.add(toMessage(accountId, message));
+        }
+        afterCommit(() -> notificationPublisher.putAll(notifications));
     }
 
     public void sendAccountCreationNotification(@NotNull UUID customerId, UUID accountId) {
@@ -24,15 +64,36 @@ public class AccountNotificationService {
     }
 
     public void sendInterestAppliedNotification(Account account, BigDecimal interest) {
-        // Correctly use account.getAccountId() instead of accountId
-        sendNotification(account.getAccountId(), "Interest of " + interest + " applied to account: " + account.getAccountId());
+        sendInterestAppliedNotification(account.getAccountId(), interest);
+    }
+
+    public void sendInterestAppliedNotification(UUID accountId, BigDecimal interest) {
+        NotificationMessage notification = toMessage(accountId, "Interest of " + interest + " applied to account: " + accountId);
+        afterCommit(() -> notificationPublisher.put(notification));
     }
 
     public void sendOverdraftProtectionNotification(@NotNull UUID customerId, UUID accountId, boolean enabled) {
-        sendNotification(accountId, "Overdraft protection " + (enabled ? "enabled" : "disabled") + " for customer: " + customerId + ", Account ID: " + accountId);
+        sendNotification(accountId, NotificationEventType.OVERDRAFT_PROTECTION, "Overdraft protection " + (enabled ? "enabled" : "disabled") + " for customer: " + customerId + ", Account ID: " + accountId);
     }
 
     public void sendTransactionLimitNotification(@NotNull UUID customerId, UUID accountId, BigDecimal limit) {
-        sendNotification(accountId, "Transaction limit set to " + limit + " for customer: " + customerId + ", Account ID: " + accountId);
+        sendNotification(accountId, NotificationEventType.TRANSACTION_LIMIT, "Transaction limit set to " + limit + " for customer: " + customerId + ", Account ID: " + accountId);
+    }
+
+    private NotificationMessage toMessage(UUID accountId, String message) {
+        return new NotificationMessage(String.valueOf(accountId), notificationType, message, accountId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,40 @@
+package dev.dini.account.service.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Stand-in for the broker: keeps the last {@code notification.in-memory.max-retained} published
+ * notifications so local runs and tests can see what would have been sent.
+ */
+@Component
+public class InMemoryNotificationTransport implements NotificationTransport {
+
+    private final Deque<NotificationMessage> published = new ArrayDeque<>();
+
+    @Value("${notification.in-memory.max-retained:10000}")
+    private int maxRetained = 10000;
+
+    @Override
+    public synchronized void publish(List<NotificationMessage> batch) {
+        for (NotificationMessage message : batch) {
+            if (published.size() >= maxRetained) {
+                published.removeFirst();
+            }
+            published.addLast(message);
+        }
+    }
+
+    public synchronized List<NotificationMessage> published() {
+        return new ArrayList<>(published);
+    }
+
+    public synchronized void clear() {
+        published.clear();
+    }
+}
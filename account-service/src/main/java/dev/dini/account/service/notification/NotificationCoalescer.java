@@ -0,0 +1,123 @@
+package dev.dini.account.service.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds repeated notifications of the same change to the same account into one. The first notification
+ * for an account and {@link NotificationEventType} opens a window of {@code notification.coalesce.window-ms};
+ * later ones in the window only replace the message. When the window ends the last message is sent,
+ * with the number of changes it stands for when there was more than one. Notifications are therefore
+ * delayed by at most the window. Past {@code notification.coalesce.max-pending} open windows,
+ * notifications are sent straight away.
+ */
+@Component
+public class NotificationCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    private final NotificationPublisher notificationPublisher;
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final Counter coalesced;
+
+    @Value("${notification.coalesce.window-ms:2000}")
+    private long windowMs = 2000;
+
+    @Value("${notification.coalesce.max-pending:100000}")
+    private int maxPending = 100000;
+
+    public NotificationCoalescer(NotificationPublisher notificationPublisher, MeterRegistry meterRegistry) {
+        this.notificationPublisher = notificationPublisher;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.coalesced = Counter.builder("notification.coalesced")
+                .description("Notifications folded into a later one for the same account and change")
+                .register(meterRegistry);
+    }
+
+    public void submit(NotificationEventType type, NotificationMessage message) {
+        if (windowMs <= 0) {
+            notificationPublisher.enqueue(message);
+            return;
+        }
+        Key key = new Key(message.getAccountId(), type);
+        boolean[] opened = new boolean[1];
+        boolean[] bypass = new boolean[1];
+        pending.compute(key, (k, current) -> {
+            if (current != null) {
+                current.latest = message;
+                current.count++;
+                return current;
+            }
+            if (pending.size() >= maxPending) {
+                bypass[0] = true;
+                return null;
+            }
+            opened[0] = true;
+            return new Pending(message);
+        });
+        if (bypass[0]) {
+            notificationPublisher.enqueue(message);
+        } else if (opened[0]) {
+            scheduler.schedule(() -> flush(key), windowMs, TimeUnit.MILLISECONDS);
+        } else {
+            coalesced.increment();
+        }
+    }
+
+    void flush(Key key) {
+        Pending window = pending.remove(key);
+        if (window == null) {
+            return;
+        }
+        NotificationMessage latest = window.latest;
+        if (window.count > 1) {
+            latest = new NotificationMessage(latest.getRecipient(), latest.getType(),
+                    latest.getMessage() + " (final state after " + window.count + " changes)", latest.getAccountId());
+        }
+        notificationPublisher.enqueue(latest);
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        if (!pending.isEmpty()) {
+            logger.info("Sending {} coalesced notifications at shutdown", pending.size());
+        }
+        for (Key key : pending.keySet()) {
+            flush(key);
+        }
+    }
+
+    record Key(UUID accountId, NotificationEventType type) {
+    }
+
+    private static final class Pending {
+        private NotificationMessage latest;
+        private int count = 1;
+
+        private Pending(NotificationMessage first) {
+            this.latest = first;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package dev.dini.account.service.notification;
+
+/**
+ * Kinds of account change whose notifications {@link NotificationCoalescer} folds together. Freezing,
+ * unfreezing and closing share {@code ACCOUNT_STATUS}, so only the status an account ends up in is sent.
+ */
+public enum NotificationEventType {
+    ACCOUNT_STATUS,
+    TRANSACTION_LIMIT,
+    OVERDRAFT_PROTECTION
+}
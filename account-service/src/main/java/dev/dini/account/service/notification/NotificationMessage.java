@@ -0,0 +1,22 @@
+package dev.dini.account.service.notification;
+
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Wire form of a notification, field for field the Notification Service's NotificationRequest.
+ * account-service holds no contact details, so the recipient is the account ID for the Notification
+ * Service to resolve.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NotificationMessage {
+    private String recipient;
+    // EMAIL, SMS or PUSH_NOTIFICATION
+    private String type;
+    private String message;
+    private UUID accountId;
+}
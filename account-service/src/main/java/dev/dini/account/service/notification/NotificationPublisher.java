@@ -0,0 +1,223 @@
+package dev.dini.account.service.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends notifications from a bounded in-process queue on one background thread, in batches that the
+ * transport confirms as a whole. Request threads only offer to the queue, so no request waits on the
+ * broker. Batch producers such as bulk status changes and interest runs {@link #put} instead and wait
+ * up to {@code notification.put-timeout-ms} for room, which slows them to the pace of the broker.
+ * <p>
+ * A notification that still does not fit is dropped and counted in {@code notification.dropped};
+ * drops are logged at most once per {@code notification.drop-log-interval-ms}. A batch that keeps
+ * failing is retried {@code notification.max-attempts} times and then dropped the same way. A batch
+ * retried after a lost confirm may be delivered twice.
+ */
+@Component
+public class NotificationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPublisher.class);
+
+    private final NotificationTransport transport;
+    private final BlockingQueue<NotificationMessage> queue;
+    private final Counter published;
+    private final Counter dropped;
+
+    @Value("${notification.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${notification.poll-ms:100}")
+    private long pollMs = 100;
+
+    @Value("${notification.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${notification.retry-backoff-ms:1000}")
+    private long retryBackoffMs = 1000;
+
+    @Value("${notification.put-timeout-ms:5000}")
+    private long putTimeoutMs = 5000;
+
+    @Value("${notification.drop-log-interval-ms:10000}")
+    private long dropLogIntervalMs = 10000;
+
+    private final AtomicLong droppedSinceLog = new AtomicLong();
+    private final AtomicLong nextDropLogAt = new AtomicLong(System.nanoTime());
+
+    private volatile Thread publisherThread;
+    private volatile boolean running;
+    // Set once a put has waited the whole timeout, so later puts drop at once until the queue takes one again
+    private volatile boolean stalled;
+
+    @Autowired
+    public NotificationPublisher(RabbitNotificationTransport rabbitTransport,
+                                 InMemoryNotificationTransport inMemoryTransport,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.transport:RABBIT}") NotificationTransportType transportType,
+                                 @Value("${notification.queue-capacity:10000}") int queueCapacity) {
+        this(transportType == NotificationTransportType.IN_MEMORY ? inMemoryTransport : rabbitTransport,
+                meterRegistry, queueCapacity);
+        logger.info("Publishing notifications through {}", transportType);
+    }
+
+    NotificationPublisher(NotificationTransport transport, MeterRegistry meterRegistry, int queueCapacity) {
+        this.transport = transport;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.published = Counter.builder("notification.published")
+                .description("Notifications confirmed by the transport")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notification.dropped")
+                .description("Notifications dropped because the queue was full or publishing kept failing")
+                .register(meterRegistry);
+        Gauge.builder("notification.queue.size", queue, BlockingQueue::size)
+                .description("Notifications waiting to be published")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the notification without blocking, for request threads.
+     */
+    public void enqueue(NotificationMessage message) {
+        if (!queue.offer(message)) {
+            drop(message);
+        }
+    }
+
+    /**
+     * Queues the notification for a batch producer, waiting up to {@code notification.put-timeout-ms}
+     * for room. Once a put has timed out the publisher is taken to be stuck and later puts drop without
+     * waiting, until the queue has room again.
+     */
+    public void put(NotificationMessage message) {
+        if (queue.offer(message)) {
+            stalled = false;
+            return;
+        }
+        if (!stalled) {
+            try {
+                if (queue.offer(message, putTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                stalled = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drop(message);
+    }
+
+    public void putAll(Collection<NotificationMessage> messages) {
+        for (NotificationMessage message : messages) {
+            put(message);
+        }
+    }
+
+    private void drop(NotificationMessage message) {
+        dropped.increment();
+        long count = droppedSinceLog.incrementAndGet();
+        long now = System.nanoTime();
+        long logAt = nextDropLogAt.get();
+        if (now - logAt >= 0 && nextDropLogAt.compareAndSet(logAt, now + TimeUnit.MILLISECONDS.toNanos(dropLogIntervalMs))) {
+            count = droppedSinceLog.getAndSet(0);
+            logger.warn("Notification queue full, dropped {} notifications since the last report, the latest for account ID: {}",
+                    count, message.getAccountId());
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        Thread publisher = new Thread(this::run, "account-notifications");
+        publisher.setDaemon(true);
+        publisherThread = publisher;
+        publisher.start();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                NotificationMessage first = queue.poll(pollMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    publishBatch(first);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Notification publisher failed", e);
+            }
+        }
+    }
+
+    /**
+     * Publishes one batch of what is queued. Only the publisher thread, or the shutdown after it has
+     * stopped, may call this.
+     *
+     * @return The number of notifications taken from the queue
+     */
+    int flush() {
+        NotificationMessage first = queue.poll();
+        return first == null ? 0 : publishBatch(first);
+    }
+
+    private int publishBatch(NotificationMessage first) {
+        List<NotificationMessage> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transport.publish(batch);
+                published.increment(batch.size());
+                return batch.size();
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    dropped.increment(batch.size());
+                    logger.error("Failed to publish {} notifications after {} attempts, dropping them", batch.size(), attempt, e);
+                    return batch.size();
+                }
+                logger.warn("Failed to publish {} notifications, attempt {} of {}", batch.size(), attempt, maxAttempts, e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(retryBackoffMs * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    dropped.increment(batch.size());
+                    logger.error("Interrupted while retrying, dropped {} notifications", batch.size());
+                    return batch.size();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        Thread publisher = publisherThread;
+        if (publisher != null) {
+            publisher.join(TimeUnit.SECONDS.toMillis(10));
+            if (publisher.isAlive()) {
+                logger.warn("Notification publisher still busy at shutdown, {} notifications not sent", queue.size());
+                return;
+            }
+        }
+        while (flush() > 0) {
+            // Send whatever was queued before the publisher stopped
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package dev.dini.account.service.notification;
+
+import java.util.List;
+
+public interface NotificationTransport {
+
+    /**
+     * Sends the batch and returns once all of it has been accepted.
+     *
+     * @throws RuntimeException If any message may not have been accepted; the whole batch is then retried
+     */
+    void publish(List<NotificationMessage> batch);
+}
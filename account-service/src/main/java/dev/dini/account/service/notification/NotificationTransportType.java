@@ -0,0 +1,11 @@
+package dev.dini.account.service.notification;
+
+/**
+ * Where {@link NotificationPublisher} sends notifications: {@code RABBIT} publishes to the Notification
+ * Service's exchange, {@code IN_MEMORY} keeps them in {@link InMemoryNotificationTransport} for local
+ * runs and tests without a broker.
+ */
+public enum NotificationTransportType {
+    RABBIT,
+    IN_MEMORY
+}
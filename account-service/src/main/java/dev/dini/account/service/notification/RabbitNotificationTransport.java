@@ -0,0 +1,72 @@
+package dev.dini.account.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateConfigurer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes a batch to the notification exchange on one channel and waits for the broker to confirm
+ * all of it at once. Needs {@code spring.rabbitmq.publisher-confirm-type: simple}.
+ * <p>
+ * Uses its own template with a JSON converter, leaving the auto-configured {@link RabbitTemplate}
+ * as it is for everyone else. Messages carry the logical type id {@value #TYPE_ID} rather than a
+ * class name, and the Notification Service maps that id to its NotificationRequest.
+ */
+@Component
+public class RabbitNotificationTransport implements NotificationTransport {
+
+    static final String TYPE_ID = "notification";
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${notification.rabbit.exchange:notification-exchange}")
+    private String exchange = "notification-exchange";
+
+    @Value("${notification.rabbit.routing-key:notification-routing-key}")
+    private String routingKey = "notification-routing-key";
+
+    @Value("${notification.rabbit.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs = 5000;
+
+    @Autowired
+    public RabbitNotificationTransport(ConnectionFactory connectionFactory,
+                                       RabbitTemplateConfigurer rabbitTemplateConfigurer,
+                                       ObjectMapper objectMapper) {
+        this(new RabbitTemplate());
+        rabbitTemplateConfigurer.configure(rabbitTemplate, connectionFactory);
+        rabbitTemplate.setMessageConverter(messageConverter(objectMapper));
+    }
+
+    RabbitNotificationTransport(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    static MessageConverter messageConverter(ObjectMapper objectMapper) {
+        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+        typeMapper.setIdClassMapping(Map.of(TYPE_ID, NotificationMessage.class));
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
+    }
+
+    @Override
+    public void publish(List<NotificationMessage> batch) {
+        rabbitTemplate.invoke(operations -> {
+            for (NotificationMessage message : batch) {
+                operations.convertAndSend(exchange, routingKey, message);
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+    }
+}
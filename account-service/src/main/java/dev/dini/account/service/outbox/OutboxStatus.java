@@ -0,0 +1,7 @@
+package dev.dini.account.service.outbox;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
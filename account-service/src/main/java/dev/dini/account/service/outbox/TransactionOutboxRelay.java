@@ -0,0 +1,117 @@
+package dev.dini.account.service.outbox;
+
+import dev.dini.account.service.transaction.TransactionDTO;
+import dev.dini.account.service.transaction.TransactionFeignClient;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains {@code transaction_outbox} to Transaction-Service outside of any business transaction.
+ * Delivery is at-least-once: a row whose call succeeded but whose status update was lost is sent again.
+ * Every attempt carries the row id as its Idempotency-Key, so Transaction-Service records a redelivered
+ * row only once.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionOutboxRelay.class);
+
+    private final TransactionOutboxService transactionOutboxService;
+    private final TransactionFeignClient transactionFeignClient;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${outbox.relay.max-batches-per-run:50}")
+    private int maxBatchesPerRun = 50;
+
+    @Value("${outbox.relay.lease:PT1M}")
+    private Duration lease = Duration.ofMinutes(1);
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    @Value("${outbox.relay.initial-backoff:PT1S}")
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    @Value("${outbox.relay.max-backoff:PT10M}")
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    @Value("${outbox.retention:P1D}")
+    private Duration retention = Duration.ofDays(1);
+
+    @Scheduled(fixedDelayString = "${outbox.relay.fixed-delay-ms:500}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            if (relayBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claim and deliver one batch.
+     *
+     * @return The number of rows claimed
+     */
+    public int relayBatch() {
+        List<TransactionOutbox> batch = transactionOutboxService.claimBatch(batchSize, lease);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (TransactionOutbox event : batch) {
+            try {
+                transactionFeignClient.createTransaction(idempotencyKey(event), new TransactionDTO(
+                        event.getFromAccountId(), event.getToAccountId(), event.getAmount()));
+                delivered.add(event.getId());
+            } catch (Exception e) {
+                handleFailure(event, e);
+            }
+        }
+        transactionOutboxService.markSent(delivered);
+
+        logger.info("Relayed {} of {} outbox transactions", delivered.size(), batch.size());
+        return batch.size();
+    }
+
+    static String idempotencyKey(TransactionOutbox event) {
+        return "transaction-outbox-" + event.getId();
+    }
+
+    private void handleFailure(TransactionOutbox event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            logger.error("Giving up on outbox transaction ID: {} after {} attempts", event.getId(), attempts, e);
+            transactionOutboxService.recordFailure(event, OutboxStatus.FAILED, null, e.getMessage());
+            return;
+        }
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(attempts));
+        logger.warn("Failed to relay outbox transaction ID: {} (attempt {}), retrying at {}", event.getId(), attempts, nextAttemptAt, e);
+        transactionOutboxService.recordFailure(event, OutboxStatus.PENDING, nextAttemptAt, e.getMessage());
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 0 * * * ?}")
+    public void purgeSent() {
+        int purged = transactionOutboxService.purgeSent(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            logger.info("Purged {} relayed outbox transactions", purged);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.dini.account.service.outbox;
+
+import dev.dini.account.service.transaction.TransactionDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final TransactionOutboxRepository transactionOutboxRepository;
+
+    /**
+     * Record a transaction for Transaction-Service in the caller's transaction, so it is
+     * only relayed if the balance changes commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(TransactionDTO transactionDTO) {
+        TransactionOutbox event = new TransactionOutbox();
+        event.setFromAccountId(transactionDTO.getFromAccountId());
+        event.setToAccountId(transactionDTO.getToAccountId());
+        event.setAmount(transactionDTO.getAmount());
+        event.setStatus(OutboxStatus.PENDING);
+        event.setNextAttemptAt(LocalDateTime.now());
+        transactionOutboxRepository.save(event);
+    }
+
+    /**
+     * Lock up to {@code batchSize} due rows and push their next attempt out by {@code lease}.
+     * If the relay dies before reporting back, the rows become due again once the lease expires.
+     */
+    @Transactional
+    public List<TransactionOutbox> claimBatch(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionOutbox> batch = transactionOutboxRepository.findDueForUpdate(now, batchSize);
+        LocalDateTime leaseExpiry = now.plus(lease);
+        batch.forEach(event -> event.setNextAttemptAt(leaseExpiry));
+        return batch;
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            transactionOutboxRepository.markSent(ids, LocalDateTime.now());
+        }
+    }
+
+    @Transactional
+    public void recordFailure(TransactionOutbox event, OutboxStatus status, LocalDateTime nextAttemptAt, String error) {
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        transactionOutboxRepository.recordFailure(event.getId(), status, event.getAttempts() + 1, nextAttemptAt, lastError);
+    }
+
+    @Transactional
+    public int purgeSent(LocalDateTime sentBefore) {
+        return transactionOutboxRepository.deleteSentBefore(sentBefore);
+    }
+}
@@ -14,7 +14,11 @@ public class OverdraftProtectionValidator {
      * @return true if overdraft protection is allowed, false otherwise.
      */
     public boolean isOverdraftProtectionAllowed(Account account) {
+        return isOverdraftProtectionAllowed(account.getAccountType());
+    }
+
+    public boolean isOverdraftProtectionAllowed(AccountType accountType) {
         // Example logic: Only "CHECKING" type accounts can have overdraft protection
-        return AccountType.CHECKING.equals(account.getAccountType());
+        return AccountType.CHECKING.equals(accountType);
     }
 }
@@ -3,65 +3,99 @@ package dev.dini.account.service.overdraft;
 
 import dev.dini.account.service.account.Account;
 import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.account.AccountValidationView;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.exception.AccountInactiveException;
 import dev.dini.account.service.exception.InsufficientFundsException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class OverdraftService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OverdraftService.class);
+
     private final AccountRepository accountRepository;
     private final OverdraftProtectionValidator overdraftProtectionValidator;
+    private final AccountBalanceCache accountBalanceCache;
 
-    public OverdraftService(AccountRepository accountRepository, OverdraftProtectionValidator overdraftProtectionValidator) {
+    public OverdraftService(AccountRepository accountRepository, OverdraftProtectionValidator overdraftProtectionValidator,
+                            AccountBalanceCache accountBalanceCache) {
         this.accountRepository = accountRepository;
         this.overdraftProtectionValidator = overdraftProtectionValidator;
+        this.accountBalanceCache = accountBalanceCache;
     }
 
     /**
-     * Check if the account has sufficient funds to process a withdrawal.
+     * Withdraw from the account, taking overdraft for whatever the balance does not cover where the
+     * account type allows overdraft and protection is on. The whole amount is debited by one guarded
+     * update on the account row, see {@link #debit}. Overdraft in use shows as a negative balance.
      *
-     * @param accountId The ID of the account to check
+     * @param accountId The ID of the account to withdraw from
      * @param amount    The amount to withdraw
+     * @throws AccountInactiveException   If the account is frozen, locked or closed
+     * @throws IllegalStateException      If the amount exceeds the transaction limit of the account
      * @throws InsufficientFundsException If insufficient funds and overdraft is not available.
      */
-    public void validateWithdrawal(UUID accountId, BigDecimal amount) {
-        Optional<Account> accountOpt = accountRepository.findById(accountId);
+    @Transactional
+    public void withdraw(UUID accountId, BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive");
+        }
+        Optional<AccountValidationView> accountOpt = accountRepository.findValidationViewByAccountId(accountId);
         if (accountOpt.isEmpty()) {
             throw new IllegalArgumentException("Account not found.");
         }
 
-        Account account = accountOpt.get();
-        BigDecimal accountBalance = account.getBalance();
-
-        // Ensure that the account type supports overdraft protection
-        if (!overdraftProtectionValidator.isOverdraftProtectionAllowed(account)) {
-            throw new IllegalArgumentException("Overdraft protection is not allowed for this account type.");
+        AccountValidationView account = accountOpt.get();
+        if (account.status() != AccountStatus.ACTIVE) {
+            throw new AccountInactiveException(accountId);
+        }
+        BigDecimal transactionLimit = account.transactionLimit();
+        if (transactionLimit != null && transactionLimit.signum() > 0 && amount.compareTo(transactionLimit) > 0) {
+            logger.warn("Amount {} exceeds the transaction limit {} of account ID: {}", amount, transactionLimit, accountId);
+            throw new IllegalStateException("Transaction limit exceeded");
         }
 
-        // Check if the account has enough balance for the withdrawal
-        if (accountBalance.compareTo(amount) < 0) {
-            if (account.getOverdraftLimit().compareTo(BigDecimal.ZERO) <= 0) {
-                // If no overdraft protection is available, throw exception
-                throw new InsufficientFundsException(accountId);
-            }
-
-            // Calculate the available overdraft amount
-            BigDecimal totalAvailableFunds = accountBalance.add(account.getOverdraftLimit());
+        if (!debit(accountId, amount, permittedOverdraft(account), LocalDateTime.now())) {
+            logger.warn("Insufficient funds in account ID: {} for amount: {}", accountId, amount);
+            throw new InsufficientFundsException(accountId);
+        }
+        accountBalanceCache.evict(accountId);
+    }
 
-            if (totalAvailableFunds.compareTo(amount) < 0) {
-                throw new InsufficientFundsException(accountId);
-            }
+    /**
+     * The guarded debit withdrawals and transfers both go through: one update that re-checks the live
+     * row, so concurrent debits can never take more than the balance and the overdraft between them.
+     * Overdraft is only used while the row still has overdraft protection on, and never beyond the
+     * row's own limit. Callers evict the cached balance.
+     *
+     * @param overdraft The overdraft the caller permits, zero to debit the balance alone
+     * @return false if the account does not exist or cannot cover the amount
+     */
+    public boolean debit(UUID accountId, BigDecimal amount, BigDecimal overdraft, LocalDateTime now) {
+        int updated = overdraft.signum() > 0
+                ? accountRepository.debitWithinOverdraft(accountId, amount, overdraft, now)
+                : accountRepository.debitIfSufficient(accountId, amount, now);
+        return updated == 1;
+    }
 
-            // Deduct from the overdraft limit if necessary
-            BigDecimal overdraftUsed = amount.subtract(accountBalance);
-            account.setOverdraftLimit(account.getOverdraftLimit().subtract(overdraftUsed));
-            accountRepository.save(account); // Update the account with the new overdraft limit
+    private BigDecimal permittedOverdraft(AccountValidationView account) {
+        if (account.overdraftProtection()
+                && account.overdraftLimit() != null
+                && overdraftProtectionValidator.isOverdraftProtectionAllowed(account.accountType())) {
+            return account.overdraftLimit().max(BigDecimal.ZERO);
         }
+        return BigDecimal.ZERO;
     }
 
     /**
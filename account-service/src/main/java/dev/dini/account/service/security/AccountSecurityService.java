@@ -2,31 +2,54 @@ package dev.dini.account.service.security;
 
 import dev.dini.account.service.account.AccountRepository;
 import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountStatusRegistry;
+import dev.dini.account.service.dto.BulkStatusChangeRequestDTO;
+import dev.dini.account.service.dto.BulkStatusChangeResponseDTO;
 import dev.dini.account.service.exception.AccountNotFoundException;
 import dev.dini.account.service.account.Account;
 import dev.dini.account.service.account.AccountStatus;
 import dev.dini.account.service.notification.AccountNotificationService;
+import dev.dini.account.service.notification.NotificationEventType;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AccountSecurityService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AccountSecurityService.class);
+
     private final AccountRepository accountRepository;
     private final AccountAuditService accountAuditService;
     private final AccountNotificationService accountNotificationService;
+    private final AccountStatusBulkUpdater accountStatusBulkUpdater;
+    private final AccountStatusEventPublisher accountStatusEventPublisher;
+    private final AccountStatusRegistry accountStatusRegistry;
+
+    @Value("${account.status.bulk.max-accounts:50000}")
+    private int maxBulkAccounts = 50000;
 
     public void freezeAccount(UUID accountId) {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
         account.setStatus(AccountStatus.FROZEN);
         accountRepository.save(account);
+        accountStatusRegistry.statusChanged(accountId, AccountStatus.FROZEN);
         accountAuditService.logAccountEvent(accountId, "Account Status", "Frozen");
-        accountNotificationService.sendNotification(accountId, "Account Frozen");
+        accountNotificationService.sendNotification(accountId, NotificationEventType.ACCOUNT_STATUS, "Account Frozen");
     }
 
     public void unfreezeAccount(UUID accountId) {
@@ -34,8 +57,51 @@ public class AccountSecurityService {
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
         account.setStatus(AccountStatus.ACTIVE);
         accountRepository.save(account);
+        accountStatusRegistry.statusChanged(accountId, AccountStatus.ACTIVE);
         accountAuditService.logAccountEvent(accountId, "Account Status", "Unfrozen");
-        accountNotificationService.sendNotification(accountId, "Account Unfrozen");
+        accountNotificationService.sendNotification(accountId, NotificationEventType.ACCOUNT_STATUS, "Account Unfrozen");
+    }
+
+    /**
+     * Moves the given accounts, or all accounts of a customer, to a status with one set-based update.
+     * Closed accounts and accounts already in the status are skipped. Audit events and notifications
+     * for the changed accounts are published in batches after the commit.
+     */
+    @Transactional
+    public BulkStatusChangeResponseDTO changeStatus(BulkStatusChangeRequestDTO request) {
+        AccountStatus status = request.getStatus();
+        if (status == null || status == AccountStatus.CLOSED) {
+            throw new IllegalArgumentException("Bulk status must be one of ACTIVE, FROZEN or LOCKED");
+        }
+        boolean byIds = request.getAccountIds() != null && !request.getAccountIds().isEmpty();
+        if (byIds == (request.getCustomerId() != null)) {
+            throw new IllegalArgumentException("Either accountIds or customerId must be given");
+        }
+        Set<UUID> requested = byIds ? new LinkedHashSet<>(request.getAccountIds()) : Set.of();
+        if (requested.size() > maxBulkAccounts) {
+            throw new IllegalArgumentException("At most " + maxBulkAccounts + " accounts can be changed at once");
+        }
+
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> changed = byIds
+                ? accountStatusBulkUpdater.updateByIds(requested, status, now)
+                : accountStatusBulkUpdater.updateByCustomer(request.getCustomerId(), status, now);
+        // Registry, audit events and notifications all follow the commit
+        accountStatusEventPublisher.publishAfterCommit(changed, status);
+
+        List<UUID> unchanged = new ArrayList<>();
+        if (byIds && changed.size() < requested.size()) {
+            Set<UUID> changedSet = new HashSet<>(changed);
+            for (UUID accountId : requested) {
+                if (!changedSet.contains(accountId)) {
+                    unchanged.add(accountId);
+                }
+            }
+        }
+        logger.info("Changed {} accounts to {} in {} ms, {} unchanged", changed.size(), status,
+                (System.nanoTime() - started) / 1_000_000, unchanged.size());
+        return new BulkStatusChangeResponseDTO(status, changed.size(), changed, unchanged);
     }
 
     public void setTransactionLimit(UUID accountId, BigDecimal limit) {
@@ -44,7 +110,7 @@ public class AccountSecurityService {
         account.setTransactionLimit(limit);
         accountRepository.save(account);
         accountAuditService.logAccountEvent(accountId, "Transaction Limit", "Set to: " + limit);
-        accountNotificationService.sendNotification(accountId, "Transaction Limit Set to: " + limit);
+        accountNotificationService.sendNotification(accountId, NotificationEventType.TRANSACTION_LIMIT, "Transaction Limit Set to: " + limit);
     }
 
     public void setOverdraftProtection(UUID accountId, boolean enabled) {
@@ -53,7 +119,7 @@ public class AccountSecurityService {
         account.setOverdraftProtection(enabled);
         accountRepository.save(account);
         accountAuditService.logAccountEvent(accountId, "Overdraft Protection", "Enabled: " + enabled);
-        accountNotificationService.sendNotification(accountId, "Overdraft Protection " + (enabled ? "Enabled" : "Disabled"));
+        accountNotificationService.sendNotification(accountId, NotificationEventType.OVERDRAFT_PROTECTION, "Overdraft Protection " + (enabled ? "Enabled" : "Disabled"));
     }
 
     public void closeAccount(UUID accountId) {
@@ -61,8 +127,9 @@ public class AccountSecurityService {
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
         account.setStatus(AccountStatus.CLOSED);
         accountRepository.save(account);
+        accountStatusRegistry.statusChanged(accountId, AccountStatus.CLOSED);
         accountAuditService.logAccountEvent(accountId, "Account Status", "Closed");
-        accountNotificationService.sendNotification(accountId, "Account Closed");
+        accountNotificationService.sendNotification(accountId, NotificationEventType.ACCOUNT_STATUS, "Account Closed");
     }
 
     private Account findAccountById(UUID accountId) {
@@ -71,20 +138,23 @@ public class AccountSecurityService {
     }
 
     public boolean isAccountLocked(UUID accountId) {
-        Account account = findAccountById(accountId);
-        return account.getStatus() == AccountStatus.FROZEN;
+        AccountStatus status = accountRepository.findStatusByAccountId(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        return status == AccountStatus.FROZEN;
     }
 
     public void lockAccount(UUID accountId) {
         Account account = findAccountById(accountId);
         account.setStatus(AccountStatus.FROZEN);
         accountRepository.save(account);
+        accountStatusRegistry.statusChanged(accountId, AccountStatus.FROZEN);
     }
 
     public void unlockAccount(UUID accountId) {
         Account account = findAccountById(accountId);
         account.setStatus(AccountStatus.ACTIVE);
         accountRepository.save(account);
+        accountStatusRegistry.statusChanged(accountId, AccountStatus.ACTIVE);
     }
 
 }
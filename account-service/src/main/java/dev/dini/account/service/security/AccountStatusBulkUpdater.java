@@ -0,0 +1,59 @@
+package dev.dini.account.service.security;
+
+import dev.dini.account.service.account.AccountStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Changes the status of many accounts with one UPDATE each. Accounts that are closed or already in the
+ * target status are left alone, so the returned ids are exactly the accounts whose status changed.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountStatusBulkUpdater {
+
+    private static final String SET_STATUS =
+            "UPDATE accounts SET status = ?, version = COALESCE(version, 0) + 1, updated_at = ? ";
+
+    private static final String CHANGEABLE =
+            " AND status <> ? AND status <> '" + AccountStatus.CLOSED.name() + "' RETURNING account_id";
+
+    private static final String BY_IDS_SQL = SET_STATUS + "WHERE account_id = ANY(?)" + CHANGEABLE;
+
+    private static final String BY_CUSTOMER_SQL = SET_STATUS + "WHERE customer_id = ?" + CHANGEABLE;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<UUID> updateByIds(Collection<UUID> accountIds, AccountStatus status, LocalDateTime updatedAt) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(BY_IDS_SQL);
+            ps.setString(1, status.name());
+            ps.setTimestamp(2, Timestamp.valueOf(updatedAt));
+            ps.setArray(3, connection.createArrayOf("uuid", accountIds.toArray()));
+            ps.setString(4, status.name());
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    public List<UUID> updateByCustomer(UUID customerId, AccountStatus status, LocalDateTime updatedAt) {
+        return jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(BY_CUSTOMER_SQL);
+            ps.setString(1, status.name());
+            ps.setTimestamp(2, Timestamp.valueOf(updatedAt));
+            ps.setObject(3, customerId);
+            ps.setString(4, status.name());
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+}
@@ -0,0 +1,101 @@
+package dev.dini.account.service.security;
+
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountStatusRegistry;
+import dev.dini.account.service.notification.AccountNotificationService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a bulk status change to the {@link AccountStatusRegistry} and writes its audit events and
+ * notifications, in batches on a background thread, once the change has committed. A rolled back
+ * change publishes nothing and leaves the registry as it was.
+ */
+@Component
+public class AccountStatusEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountStatusEventPublisher.class);
+
+    private final AccountAuditService accountAuditService;
+    private final AccountNotificationService accountNotificationService;
+    private final AccountStatusRegistry accountStatusRegistry;
+    private final ExecutorService executor;
+
+    @Value("${account.status.bulk.event-batch-size:500}")
+    private int batchSize = 500;
+
+    public AccountStatusEventPublisher(AccountAuditService accountAuditService,
+                                       AccountNotificationService accountNotificationService,
+                                       AccountStatusRegistry accountStatusRegistry) {
+        this.accountAuditService = accountAuditService;
+        this.accountNotificationService = accountNotificationService;
+        this.accountStatusRegistry = accountStatusRegistry;
+        this.executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "account-status-events"));
+    }
+
+    public void publishAfterCommit(List<UUID> accountIds, AccountStatus status) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(accountIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(ids, status);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed(ids, status);
+            }
+        });
+    }
+
+    // The registry is updated on the committing thread, so its next transfer already sees the change
+    private void committed(List<UUID> accountIds, AccountStatus status) {
+        accountStatusRegistry.apply(accountIds, status);
+        executor.execute(() -> publish(accountIds, status));
+    }
+
+    void publish(List<UUID> accountIds, AccountStatus status) {
+        String change = describe(status);
+        for (int from = 0; from < accountIds.size(); from += batchSize) {
+            List<UUID> batch = accountIds.subList(from, Math.min(from + batchSize, accountIds.size()));
+            try {
+                accountAuditService.logAccountEvents(batch, "Account Status", change);
+                accountNotificationService.sendNotifications(batch, "Account " + change);
+            } catch (RuntimeException e) {
+                logger.error("Failed to publish status change to {} for {} accounts", status, batch.size(), e);
+            }
+        }
+    }
+
+    // Same wording as the single-account freeze and unfreeze
+    static String describe(AccountStatus status) {
+        return switch (status) {
+            case ACTIVE -> "Unfrozen";
+            case FROZEN -> "Frozen";
+            case LOCKED -> "Locked";
+            case CLOSED -> "Closed";
+        };
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Account status events still pending at shutdown");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.dini.account.service.stripe;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * One sub-balance of a striped account. Credits land on a stripe instead of the main
+ * {@code accounts} row and are folded back into it by {@link StripedBalanceCompactor}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "account_balance_stripes")
+public class AccountBalanceStripe {
+
+    @EmbeddedId
+    private AccountBalanceStripeId id;
+
+    private BigDecimal balance;
+}
@@ -0,0 +1,18 @@
+package dev.dini.account.service.stripe;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class AccountBalanceStripeId implements Serializable {
+    private UUID accountId;
+    private int stripeNo;
+}
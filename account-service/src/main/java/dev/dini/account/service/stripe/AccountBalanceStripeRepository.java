@@ -0,0 +1,33 @@
+package dev.dini.account.service.stripe;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface AccountBalanceStripeRepository extends JpaRepository<AccountBalanceStripe, AccountBalanceStripeId> {
+
+    // Picks the stripe as hash mod the account's current stripe count; matches nothing once striping is turned off
+    @Modifying
+    @Query(value = "UPDATE account_balance_stripes SET balance = balance + :amount " +
+            "WHERE account_id = :accountId AND stripe_no = MOD(:hash, " +
+            "(SELECT NULLIF(a.balance_stripes, 0) FROM accounts a WHERE a.account_id = :accountId))", nativeQuery = true)
+    int creditStripe(@Param("accountId") UUID accountId, @Param("hash") int hash, @Param("amount") BigDecimal amount);
+
+    @Query("select coalesce(sum(s.balance), 0) from AccountBalanceStripe s where s.id.accountId = :accountId")
+    BigDecimal sumBalance(@Param("accountId") UUID accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountBalanceStripe s where s.id.accountId = :accountId order by s.id.stripeNo")
+    List<AccountBalanceStripe> findByAccountIdForUpdate(@Param("accountId") UUID accountId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from AccountBalanceStripe s where s.id.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") UUID accountId);
+}
@@ -0,0 +1,36 @@
+package dev.dini.account.service.stripe;
+
+import dev.dini.account.service.account.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class StripedBalanceCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripedBalanceCompactor.class);
+
+    private final AccountRepository accountRepository;
+    private final StripedBalanceService stripedBalanceService;
+
+    // Each account is compacted in its own short transaction so stripe locks are held briefly
+    @Scheduled(fixedDelayString = "${balance.stripes.compact-interval-ms:5000}")
+    public void compactAll() {
+        for (UUID accountId : accountRepository.findStripedAccountIds()) {
+            try {
+                BigDecimal moved = stripedBalanceService.compact(accountId);
+                if (moved.signum() != 0) {
+                    logger.debug("Compacted {} from balance stripes into account ID: {}", moved, accountId);
+                }
+            } catch (Exception e) {
+                logger.error("Error compacting balance stripes for account ID: {}", accountId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package dev.dini.account.service.stripe;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Striped balance mode for hot accounts such as merchant settlement accounts. Credits are spread
+ * over N stripe rows so concurrent credits do not all queue on the main row; debits still go
+ * against the main row, so striped credits only become spendable after compaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class StripedBalanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripedBalanceService.class);
+
+    public static final int MAX_STRIPES = 64;
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceStripeRepository accountBalanceStripeRepository;
+    private final AccountAuditService accountAuditService;
+    private final AccountBalanceCache accountBalanceCache;
+
+    /**
+     * Credit one stripe of {@code accountId}, chosen by the hash of the paying account.
+     *
+     * @return false if the account is not (or no longer) striped
+     */
+    public boolean creditStripe(UUID accountId, UUID sourceAccountId, BigDecimal amount) {
+        int hash = sourceAccountId.hashCode() & Integer.MAX_VALUE;
+        if (accountBalanceStripeRepository.creditStripe(accountId, hash, amount) == 1) {
+            accountBalanceCache.evict(accountId);
+            return true;
+        }
+        return false;
+    }
+
+    public BigDecimal getStripedBalance(UUID accountId) {
+        return accountBalanceStripeRepository.sumBalance(accountId);
+    }
+
+    /**
+     * Change the number of stripes of an account; 0 turns striping off. Outstanding stripe
+     * balances are folded into the main row first.
+     */
+    @Transactional
+    public void setStripes(UUID accountId, int stripes) {
+        if (stripes < 0 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("Stripe count must be between 0 and " + MAX_STRIPES);
+        }
+        if (accountRepository.lockByAccountId(accountId).isEmpty()) {
+            throw new AccountNotFoundException(accountId);
+        }
+
+        compact(accountId);
+        accountBalanceStripeRepository.deleteByAccountId(accountId);
+
+        List<AccountBalanceStripe> rows = new ArrayList<>(stripes);
+        for (int stripeNo = 0; stripeNo < stripes; stripeNo++) {
+            rows.add(new AccountBalanceStripe(new AccountBalanceStripeId(accountId, stripeNo), BigDecimal.ZERO));
+        }
+        accountBalanceStripeRepository.saveAll(rows);
+
+        accountRepository.updateBalanceStripes(accountId, stripes, LocalDateTime.now());
+        accountAuditService.logAccountEvent(accountId, "SET_BALANCE_STRIPES", "Balance stripes set to " + stripes);
+        logger.info("Balance stripes for account ID: {} set to {}", accountId, stripes);
+    }
+
+    /**
+     * Fold every stripe of the account back into the main balance. The main row is locked before the
+     * stripes, the same order as a transfer that credits a stripe while holding the row, so the two
+     * cannot deadlock.
+     *
+     * @return The amount moved to the main row
+     */
+    @Transactional
+    public BigDecimal compact(UUID accountId) {
+        if (accountRepository.lockByAccountId(accountId).isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        List<AccountBalanceStripe> stripes = accountBalanceStripeRepository.findByAccountIdForUpdate(accountId);
+        BigDecimal total = BigDecimal.ZERO;
+        for (AccountBalanceStripe stripe : stripes) {
+            if (stripe.getBalance().signum() != 0) {
+                total = total.add(stripe.getBalance());
+                stripe.setBalance(BigDecimal.ZERO);
+            }
+        }
+        if (total.signum() != 0) {
+            accountBalanceStripeRepository.saveAll(stripes);
+            accountRepository.credit(accountId, total, LocalDateTime.now());
+            accountBalanceCache.evict(accountId);
+        }
+        return total;
+    }
+}
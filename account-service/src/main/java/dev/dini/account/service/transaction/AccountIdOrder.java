@@ -0,0 +1,24 @@
+package dev.dini.account.service.transaction;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Orders account ids the same way PostgreSQL orders {@code uuid} values (unsigned, byte by byte),
+ * so row locks taken in this order match locks taken by {@code ORDER BY account_id} queries.
+ */
+public final class AccountIdOrder {
+
+    public static final Comparator<UUID> DATABASE_ORDER = AccountIdOrder::compare;
+
+    private AccountIdOrder() {
+    }
+
+    public static int compare(UUID left, UUID right) {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        if (result != 0) {
+            return result;
+        }
+        return Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,95 @@
+package dev.dini.account.service.transaction;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import dev.dini.account.service.overdraft.OverdraftService;
+import dev.dini.account.service.stripe.StripedBalanceService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves money between two accounts with guarded single-statement updates instead of
+ * loading and saving the entities, so concurrent transfers on the same account queue on
+ * the row lock rather than failing with optimistic lock conflicts.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountTransferEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountTransferEngine.class);
+
+    private final AccountRepository accountRepository;
+    private final StripedBalanceService stripedBalanceService;
+    private final AccountBalanceCache accountBalanceCache;
+    private final OverdraftService overdraftService;
+
+    /**
+     * Debit {@code fromAccountId} and credit {@code toAccountId} in one transaction.
+     * Rows are touched in {@link AccountIdOrder#DATABASE_ORDER} so two opposite transfers
+     * cannot deadlock each other.
+     *
+     * @throws AccountNotFoundException If either account does not exist
+     * @throws IllegalStateException    If the source account has insufficient funds
+     */
+    @Transactional
+    public void transfer(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+        transfer(fromAccountId, toAccountId, amount, BigDecimal.ZERO);
+    }
+
+    /**
+     * Same as {@link #transfer(UUID, UUID, BigDecimal)}, but the source balance may go down to
+     * {@code -overdraft}; {@link TransferValidator} decides how much overdraft an account may use.
+     */
+    @Transactional
+    public void transfer(UUID fromAccountId, UUID toAccountId, BigDecimal amount, BigDecimal overdraft) {
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot transfer funds to the same account");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (AccountIdOrder.compare(fromAccountId, toAccountId) < 0) {
+            debit(fromAccountId, amount, overdraft, now);
+            credit(toAccountId, fromAccountId, amount, now);
+        } else {
+            credit(toAccountId, fromAccountId, amount, now);
+            debit(fromAccountId, amount, overdraft, now);
+        }
+        accountBalanceCache.evictAll(List.of(fromAccountId, toAccountId));
+    }
+
+    private void debit(UUID accountId, BigDecimal amount, BigDecimal overdraft, LocalDateTime now) {
+        if (!overdraftService.debit(accountId, amount, overdraft, now)) {
+            if (!accountRepository.existsById(accountId)) {
+                throw new AccountNotFoundException(accountId);
+            }
+            logger.warn("Insufficient funds in account ID: {} for amount: {}", accountId, amount);
+            throw new IllegalStateException("Insufficient funds");
+        }
+    }
+
+    // Striped accounts take credits on a stripe row; striping may be toggled between the two statements, hence the retry
+    private void credit(UUID accountId, UUID sourceAccountId, BigDecimal amount, LocalDateTime now) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (accountRepository.creditIfUnstriped(accountId, amount, now) == 1
+                    || stripedBalanceService.creditStripe(accountId, sourceAccountId, amount)) {
+                return;
+            }
+        }
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        throw new IllegalStateException("Could not credit account ID: " + accountId);
+    }
+}
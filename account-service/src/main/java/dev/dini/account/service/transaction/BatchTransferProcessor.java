@@ -0,0 +1,184 @@
+package dev.dini.account.service.transaction;
+
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.account.AccountValidationView;
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.dto.BatchTransferResultDTO;
+import dev.dini.account.service.dto.FundTransferRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Applies one chunk of a bulk transfer in a single DB transaction: one locking read for every
+ * account in the chunk, one batched balance update per touched account, one batched outbox insert.
+ * Each transfer goes through the {@link TransferValidator} rules against the locked rows, so status,
+ * source type, transaction limit and overdraft are those of the row as it is, not of a cache.
+ * <p>
+ * Balance stripes: debits are checked against the main balance only, as the guarded debit of
+ * {@link AccountTransferEngine} does, and credits go straight to the main row. Stripes only exist to
+ * spread credits off a contended main row, and the chunk already holds that row locked, so a striped
+ * account needs no special handling here; credits already on its stripes are folded in by the compactor.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchTransferProcessor {
+
+    private static final String LOCK_ACCOUNTS_SQL =
+            "SELECT account_id, status, account_type, transaction_limit, balance, overdraft_protection, overdraft_limit " +
+                    "FROM accounts WHERE account_id IN (:ids) ORDER BY account_id FOR UPDATE";
+
+    // Main row of striped accounts too, see the class comment
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE accounts SET balance = balance + ?, updated_at = ?, version = COALESCE(version, 0) + 1 WHERE account_id = ?";
+
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO transaction_outbox (from_account_id, to_account_id, amount, status, attempts, next_attempt_at, created_at) " +
+                    "VALUES (?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AccountAuditService accountAuditService;
+    private final AccountBalanceCache accountBalanceCache;
+    private final VelocityLimiter velocityLimiter;
+    private final TransferValidator transferValidator;
+
+    /**
+     * @param transfers  The transfers of this chunk, in request order
+     * @param firstIndex Position of the first transfer in the whole request
+     * @return One result per transfer, in the same order
+     */
+    @Transactional
+    public List<BatchTransferResultDTO> applyChunk(List<FundTransferRequestDTO> transfers, int firstIndex) {
+        Set<UUID> accountIds = new HashSet<>();
+        for (FundTransferRequestDTO transfer : transfers) {
+            if (transfer.getFromAccountId() != null && transfer.getToAccountId() != null) {
+                accountIds.add(transfer.getFromAccountId());
+                accountIds.add(transfer.getToAccountId());
+            }
+        }
+
+        Map<UUID, AccountValidationView> accounts = accountIds.isEmpty() ? Map.of() : lockAccounts(accountIds);
+        ChunkPlan plan = plan(transfers, firstIndex, accounts);
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        if (!plan.deltas().isEmpty()) {
+            List<Object[]> deltaArgs = new ArrayList<>(plan.deltas().size());
+            plan.deltas().forEach((accountId, delta) -> deltaArgs.add(new Object[]{delta, timestamp, accountId}));
+            jdbcTemplate.getJdbcTemplate().batchUpdate(APPLY_DELTA_SQL, deltaArgs);
+            accountBalanceCache.evictAll(plan.deltas().keySet());
+        }
+
+        List<Object[]> outboxArgs = new ArrayList<>();
+        for (BatchTransferResultDTO result : plan.results()) {
+            if (result.getStatus() == BatchTransferStatus.APPLIED) {
+                outboxArgs.add(new Object[]{result.getFromAccountId(), result.getToAccountId(), result.getAmount(), timestamp, timestamp});
+            }
+        }
+        if (!outboxArgs.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_OUTBOX_SQL, outboxArgs);
+        }
+
+        plan.appliedPerSource().forEach((accountId, count) ->
+                accountAuditService.logAccountEvent(accountId, "BATCH_TRANSFER", count + " transfers applied"));
+        return plan.results();
+    }
+
+    private Map<UUID, AccountValidationView> lockAccounts(Set<UUID> accountIds) {
+        Map<UUID, AccountValidationView> accounts = new HashMap<>(accountIds.size() * 2);
+        jdbcTemplate.query(LOCK_ACCOUNTS_SQL, new MapSqlParameterSource("ids", accountIds), rs -> {
+            UUID accountId = rs.getObject("account_id", UUID.class);
+            String status = rs.getString("status");
+            String accountType = rs.getString("account_type");
+            accounts.put(accountId, new AccountValidationView(accountId,
+                    status != null ? AccountStatus.valueOf(status) : null,
+                    accountType != null ? AccountType.valueOf(accountType) : null,
+                    rs.getBigDecimal("transaction_limit"),
+                    rs.getBigDecimal("balance"),
+                    rs.getBoolean("overdraft_protection"),
+                    rs.getBigDecimal("overdraft_limit")));
+        });
+        return accounts;
+    }
+
+    /**
+     * Decide every transfer of the chunk against the locked rows. Transfers are grouped by source
+     * account and each group is applied in request order against a running balance, which may go
+     * down to the overdraft the source is permitted.
+     */
+    ChunkPlan plan(List<FundTransferRequestDTO> transfers, int firstIndex, Map<UUID, AccountValidationView> accounts) {
+        Map<UUID, BigDecimal> balances = new HashMap<>(accounts.size() * 2);
+        accounts.forEach((accountId, account) -> balances.put(accountId, account.balance()));
+        BatchTransferResultDTO[] results = new BatchTransferResultDTO[transfers.size()];
+        Map<UUID, List<Integer>> bySource = new LinkedHashMap<>();
+
+        for (int i = 0; i < transfers.size(); i++) {
+            FundTransferRequestDTO transfer = transfers.get(i);
+            results[i] = new BatchTransferResultDTO(firstIndex + i, transfer.getFromAccountId(),
+                    transfer.getToAccountId(), transfer.getAmount(), BatchTransferStatus.REJECTED, null);
+            String invalid = validate(transfer, accounts);
+            if (invalid != null) {
+                results[i].setReason(invalid);
+            } else {
+                bySource.computeIfAbsent(transfer.getFromAccountId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<UUID, BigDecimal> deltas = new TreeMap<>(AccountIdOrder.DATABASE_ORDER);
+        Map<UUID, Integer> appliedPerSource = new LinkedHashMap<>();
+        bySource.forEach((sourceId, positions) -> {
+            for (int position : positions) {
+                FundTransferRequestDTO transfer = transfers.get(position);
+                BigDecimal amount = transfer.getAmount();
+                BigDecimal sourceBalance = balances.get(sourceId);
+                if (sourceBalance.add(transferValidator.permittedOverdraft(accounts.get(sourceId))).compareTo(amount) < 0) {
+                    results[position].setReason("INSUFFICIENT_FUNDS");
+                    continue;
+                }
+                if (velocityLimiter.tryAcquire(sourceId, amount).isPresent()) {
+                    results[position].setReason("VELOCITY_LIMIT");
+                    continue;
+                }
+                balances.put(sourceId, sourceBalance.subtract(amount));
+                balances.merge(transfer.getToAccountId(), amount, BigDecimal::add);
+                deltas.merge(sourceId, amount.negate(), BigDecimal::add);
+                deltas.merge(transfer.getToAccountId(), amount, BigDecimal::add);
+                appliedPerSource.merge(sourceId, 1, Integer::sum);
+                results[position].setStatus(BatchTransferStatus.APPLIED);
+            }
+        });
+        deltas.values().removeIf(delta -> delta.signum() == 0);
+
+        return new ChunkPlan(Arrays.asList(results), deltas, appliedPerSource);
+    }
+
+    private String validate(FundTransferRequestDTO transfer, Map<UUID, AccountValidationView> accounts) {
+        if (transfer.getFromAccountId() == null || transfer.getToAccountId() == null || transfer.getAmount() == null) {
+            return "MISSING_FIELDS";
+        }
+        if (transfer.getAmount().signum() <= 0) {
+            return "INVALID_AMOUNT";
+        }
+        if (transfer.getFromAccountId().equals(transfer.getToAccountId())) {
+            return "SAME_ACCOUNT";
+        }
+        AccountValidationView source = accounts.get(transfer.getFromAccountId());
+        AccountValidationView target = accounts.get(transfer.getToAccountId());
+        if (source == null || target == null) {
+            return "ACCOUNT_NOT_FOUND";
+        }
+        return transferValidator.rejectionReason(source, target, transfer.getAmount());
+    }
+
+    record ChunkPlan(List<BatchTransferResultDTO> results, Map<UUID, BigDecimal> deltas, Map<UUID, Integer> appliedPerSource) {
+    }
+}
@@ -0,0 +1,91 @@
+package dev.dini.account.service.transaction;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dini.account.service.dto.BatchTransferResponseDTO;
+import dev.dini.account.service.dto.BatchTransferResultDTO;
+import dev.dini.account.service.dto.FundTransferRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BatchTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchTransferService.class);
+
+    private final BatchTransferProcessor batchTransferProcessor;
+    private final ObjectMapper objectMapper;
+
+    @Value("${transfer.batch.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /**
+     * Stream transfers from a JSON array or newline-delimited JSON body and apply them chunk by chunk.
+     * Each chunk commits on its own, so the per-item results say exactly which transfers went through
+     * even when a later chunk fails or the body turns out to be malformed part way through.
+     */
+    public BatchTransferResponseDTO transfer(InputStream body) {
+        BatchTransferResponseDTO response = new BatchTransferResponseDTO();
+        List<FundTransferRequestDTO> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (MappingIterator<FundTransferRequestDTO> transfers =
+                     objectMapper.readerFor(FundTransferRequestDTO.class).readValues(body)) {
+            while (transfers.hasNextValue()) {
+                chunk.add(transfers.nextValue());
+                if (chunk.size() == chunkSize) {
+                    applyChunk(chunk, index, response);
+                    index += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Bulk transfer body could not be read after {} transfers", index + chunk.size(), e);
+            response.setError("Malformed transfer at position " + (index + chunk.size()) + ": " + e.getMessage());
+        }
+
+        // Transfers read before a malformed entry are still applied
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, index, response);
+        }
+
+        logger.info("Bulk transfer finished: {} transfers, {} applied, {} rejected",
+                response.getTotal(), response.getApplied(), response.getRejected());
+        return response;
+    }
+
+    private void applyChunk(List<FundTransferRequestDTO> chunk, int firstIndex, BatchTransferResponseDTO response) {
+        List<BatchTransferResultDTO> results;
+        try {
+            results = batchTransferProcessor.applyChunk(chunk, firstIndex);
+        } catch (RuntimeException e) {
+            // The chunk's transaction rolled back as a whole, keep going with the next one
+            logger.error("Bulk transfer chunk starting at position {} failed", firstIndex, e);
+            results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                FundTransferRequestDTO transfer = chunk.get(i);
+                results.add(new BatchTransferResultDTO(firstIndex + i, transfer.getFromAccountId(),
+                        transfer.getToAccountId(), transfer.getAmount(), BatchTransferStatus.REJECTED, "CHUNK_FAILED"));
+            }
+        }
+
+        for (BatchTransferResultDTO result : results) {
+            if (result.getStatus() == BatchTransferStatus.APPLIED) {
+                response.setApplied(response.getApplied() + 1);
+            } else {
+                response.setRejected(response.getRejected() + 1);
+            }
+        }
+        response.setTotal(response.getTotal() + results.size());
+        response.getResults().addAll(results);
+    }
+}
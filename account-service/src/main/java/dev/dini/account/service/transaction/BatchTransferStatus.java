@@ -0,0 +1,6 @@
+package dev.dini.account.service.transaction;
+
+public enum BatchTransferStatus {
+    APPLIED,
+    REJECTED
+}
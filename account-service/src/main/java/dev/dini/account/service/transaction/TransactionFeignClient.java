@@ -1,13 +1,17 @@
 package dev.dini.account.service.transaction;
 
+import dev.dini.account.service.idempotency.IdempotencyStore;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 @FeignClient(name = "transaction-service",
         url = "${application.config.transaction-url}")
 public interface TransactionFeignClient {
 
+    // Transaction-Service answers a repeated Idempotency-Key with the first response instead of a second transaction
     @PostMapping("/transactions")
-    void createTransaction(@RequestBody TransactionDTO transactionDTO);
+    void createTransaction(@RequestHeader(IdempotencyStore.HEADER) String idempotencyKey,
+                           @RequestBody TransactionDTO transactionDTO);
 }
@@ -1,9 +1,8 @@
 package dev.dini.account.service.transaction;
 
-import dev.dini.account.service.account.Account;
-import dev.dini.account.service.account.AccountRepository;
 import dev.dini.account.service.audit.AccountAuditService;
-import dev.dini.account.service.exception.AccountNotFoundException;
+import dev.dini.account.service.outbox.TransactionOutboxService;
+import dev.dini.account.service.overdraft.OverdraftService;
 import dev.dini.account.service.security.AccountSecurityService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -20,10 +19,13 @@ public class TransactionService {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
 
-    private final AccountRepository accountRepository;
-    private final TransactionFeignClient transactionFeignClient;
+    private final TransferValidator transferValidator;
+    private final AccountTransferEngine accountTransferEngine;
+    private final TransactionOutboxService transactionOutboxService;
     private final AccountAuditService accountAuditService;
     private final AccountSecurityService accountSecurityService;
+    private final VelocityLimiter velocityLimiter;
+    private final OverdraftService overdraftService;
 
     @Transactional
     public void transferFunds(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
@@ -34,24 +36,14 @@ public class TransactionService {
             throw new IllegalArgumentException("Transaction data cannot be null");
         }
 
-        // Retrieve accounts to validate balances and existence
-        Account fromAccount = accountRepository.findById(fromAccountId)
-                .orElseThrow(() -> new AccountNotFoundException(fromAccountId));
-        Account toAccount = accountRepository.findById(toAccountId)
-                .orElseThrow(() -> new AccountNotFoundException(toAccountId));
+        // One query for both accounts: status, type, transaction limit and overdraft rules
+        BigDecimal overdraft = transferValidator.validate(fromAccountId, toAccountId, amount);
 
-        // Validate funds in the 'from' account
-        if (fromAccount.getBalance().compareTo(amount) < 0) {
-            throw new IllegalStateException("Insufficient funds");
-        }
-
-        // Update balances
-        fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
-        toAccount.setBalance(toAccount.getBalance().add(amount));
+        // In-memory per-minute/hour/day limits of the source account; given back if this transaction rolls back
+        velocityLimiter.acquire(fromAccountId, amount);
 
-        // Save updated accounts
-        accountRepository.save(fromAccount);
-        accountRepository.save(toAccount);
+        // Debit and credit with guarded updates; the debit re-checks funds atomically
+        accountTransferEngine.transfer(fromAccountId, toAccountId, amount, overdraft);
 
         // Create a transaction DTO
         TransactionDTO transactionDTO = new TransactionDTO();
@@ -59,8 +51,8 @@ public class TransactionService {
         transactionDTO.setToAccountId(toAccountId);
         transactionDTO.setAmount(amount);
 
-        // Call the external Transaction Service using Feign Client to log the transaction
-        transactionFeignClient.createTransaction(transactionDTO);
+        // Queue the transaction for Transaction-Service in this DB transaction; the outbox relay delivers it after commit
+        transactionOutboxService.enqueue(transactionDTO);
 
         // Log the transaction event in the audit log
         accountAuditService.logAccountEvent(fromAccountId, "PROCESS_TRANSACTION", "Transaction processed successfully");
@@ -68,6 +60,26 @@ public class TransactionService {
         logger.info("Transaction processed successfully from account ID: {} to account ID: {} with amount: {}", fromAccountId, toAccountId, amount);
     }
 
+    @Transactional
+    public void withdraw(UUID accountId, BigDecimal amount) {
+        logger.info("Processing withdrawal from account ID: {} with amount: {}", accountId, amount);
+
+        if (accountId == null || amount == null) {
+            logger.error("Withdrawal data cannot be null");
+            throw new IllegalArgumentException("Withdrawal data cannot be null");
+        }
+
+        // The same per-account limits as transfers; given back if this transaction rolls back
+        velocityLimiter.acquire(accountId, amount);
+
+        // Status, transaction limit and one guarded debit that may use the account's overdraft
+        overdraftService.withdraw(accountId, amount);
+
+        accountAuditService.logAccountEvent(accountId, "WITHDRAWAL", "Withdrawal processed successfully");
+
+        logger.info("Withdrawal processed successfully from account ID: {} with amount: {}", accountId, amount);
+    }
+
     public void setTransactionLimit(UUID accountId, BigDecimal limit) {
         accountSecurityService.setTransactionLimit(accountId, limit);
     }
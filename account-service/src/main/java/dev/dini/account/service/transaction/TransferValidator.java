@@ -0,0 +1,150 @@
+package dev.dini.account.service.transaction;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.account.AccountValidationView;
+import dev.dini.account.service.component.AccountStatusRegistry;
+import dev.dini.account.service.exception.AccountInactiveException;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import dev.dini.account.service.exception.InsufficientFundsException;
+import dev.dini.account.service.overdraft.OverdraftProtectionValidator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pre-validates a transfer against one snapshot of both accounts, fetched in a single query,
+ * instead of a findById per check. The guarded debit in {@link AccountTransferEngine} remains
+ * the authority on funds; this only rejects transfers that are bound to fail or not allowed.
+ * Accounts the {@link AccountStatusRegistry} knows to be frozen or locked are rejected before the
+ * query; closed accounts are rejected on the status the query reads.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransferValidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferValidator.class);
+
+    private final AccountRepository accountRepository;
+    private final OverdraftProtectionValidator overdraftProtectionValidator;
+    private final AccountStatusRegistry accountStatusRegistry;
+
+    // Account types money cannot be transferred out of
+    @Value("${transfer.validation.blocked-source-types:FIXED_DEPOSIT,LOAN}")
+    private Set<AccountType> blockedSourceTypes = Set.of(AccountType.FIXED_DEPOSIT, AccountType.LOAN);
+
+    /**
+     * @return The overdraft the debit may use, zero unless the balance alone does not cover the amount
+     * @throws AccountNotFoundException   If either account does not exist
+     * @throws AccountInactiveException   If either account is frozen, locked or closed
+     * @throws IllegalStateException      If the source account type cannot send transfers or the amount exceeds its transaction limit
+     * @throws InsufficientFundsException If balance plus any permitted overdraft does not cover the amount
+     */
+    public BigDecimal validate(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+        rejectKnownInactive(fromAccountId);
+        rejectKnownInactive(toAccountId);
+        List<AccountValidationView> views = accountRepository.findValidationViewsByAccountIds(List.of(fromAccountId, toAccountId));
+        AccountValidationView source = find(views, fromAccountId);
+        AccountValidationView target = find(views, toAccountId);
+
+        verifyActive(source);
+        verifyActive(target);
+        verifySourceType(source);
+        verifyTransactionLimit(source, amount);
+        return verifyFunds(source, amount);
+    }
+
+    private static AccountValidationView find(List<AccountValidationView> views, UUID accountId) {
+        for (AccountValidationView view : views) {
+            if (view.accountId().equals(accountId)) {
+                return view;
+            }
+        }
+        logger.error("Account with ID {} not found", accountId);
+        throw new AccountNotFoundException(accountId);
+    }
+
+    private void rejectKnownInactive(UUID accountId) {
+        if (accountStatusRegistry.isInactive(accountId)) {
+            logger.error("Account ID: {} is {}", accountId, accountStatusRegistry.inactiveStatus(accountId).orElse(null));
+            throw new AccountInactiveException(accountId);
+        }
+    }
+
+    private static void verifyActive(AccountValidationView account) {
+        if (account.status() != AccountStatus.ACTIVE) {
+            logger.error("Account ID: {} is {}", account.accountId(), account.status());
+            throw new AccountInactiveException(account.accountId());
+        }
+    }
+
+    /**
+     * The rules of {@link #validate} that do not depend on funds, applied to rows the caller has
+     * already read, such as the rows a bulk transfer chunk holds locked.
+     *
+     * @return Why the transfer is not allowed, null if it is
+     */
+    String rejectionReason(AccountValidationView source, AccountValidationView target, BigDecimal amount) {
+        if (source.status() != AccountStatus.ACTIVE || target.status() != AccountStatus.ACTIVE) {
+            return "ACCOUNT_INACTIVE";
+        }
+        if (blockedSourceTypes.contains(source.accountType())) {
+            return "SOURCE_TYPE_NOT_ALLOWED";
+        }
+        if (exceedsTransactionLimit(source, amount)) {
+            return "TRANSACTION_LIMIT";
+        }
+        return null;
+    }
+
+    /**
+     * @return The overdraft the source may take its balance down to, zero without overdraft protection
+     */
+    BigDecimal permittedOverdraft(AccountValidationView source) {
+        if (source.overdraftProtection()
+                && source.overdraftLimit() != null
+                && overdraftProtectionValidator.isOverdraftProtectionAllowed(source.accountType())) {
+            return source.overdraftLimit();
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private void verifySourceType(AccountValidationView source) {
+        if (blockedSourceTypes.contains(source.accountType())) {
+            logger.error("Account ID: {} of type {} cannot send transfers", source.accountId(), source.accountType());
+            throw new IllegalStateException("Transfers from " + source.accountType() + " accounts are not allowed");
+        }
+    }
+
+    private static void verifyTransactionLimit(AccountValidationView source, BigDecimal amount) {
+        if (exceedsTransactionLimit(source, amount)) {
+            logger.warn("Amount {} exceeds the transaction limit {} of account ID: {}", amount, source.transactionLimit(), source.accountId());
+            throw new IllegalStateException("Transaction limit exceeded");
+        }
+    }
+
+    private BigDecimal verifyFunds(AccountValidationView source, BigDecimal amount) {
+        if (source.balance().compareTo(amount) >= 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal overdraft = permittedOverdraft(source);
+        if (source.balance().add(overdraft).compareTo(amount) < 0) {
+            logger.warn("Insufficient funds in account ID: {} for amount: {}", source.accountId(), amount);
+            throw new InsufficientFundsException(source.accountId());
+        }
+        return overdraft;
+    }
+
+    private static boolean exceedsTransactionLimit(AccountValidationView source, BigDecimal amount) {
+        BigDecimal limit = source.transactionLimit();
+        return limit != null && limit.signum() > 0 && amount.compareTo(limit) > 0;
+    }
+}
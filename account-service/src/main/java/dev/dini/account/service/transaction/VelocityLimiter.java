@@ -0,0 +1,308 @@
+package dev.dini.account.service.transaction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory sliding-window limits on how many transfers, and how much money, an account may send per
+ * minute, hour and day. Each account keeps one ring of per-bucket amounts and counts per window
+ * (60 x 1s, 60 x 1min, 24 x 1h) plus running totals, so a check is a few array writes under one of
+ * a fixed set of stripe locks and never a query. The windows are rebuilt from the last day of
+ * transaction_outbox on startup, which is why outbox.retention must stay at least a day.
+ * Limits hold per instance.
+ */
+@Component
+public class VelocityLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(VelocityLimiter.class);
+
+    // Amounts are kept as longs in units of 0.0001, the scale of transaction_outbox.amount that the windows are
+    // rebuilt from; balances are NUMERIC(38, 2), so any amount that can be debited fits without rounding
+    private static final int AMOUNT_SCALE = 4;
+
+    private static final long SECOND = 1_000;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+
+    private static final String RECENT_TRANSFERS_SQL =
+            "SELECT from_account_id, amount, created_at FROM transaction_outbox WHERE created_at >= :since";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Counter rejected;
+    private final Map<UUID, Windows> accounts = new ConcurrentHashMap<>();
+    private final Object[] stripes;
+
+    @Value("${transfer.velocity.enabled:true}")
+    private boolean enabled = true;
+
+    // 0 turns a limit off; all are off unless configured, bulk payroll sources send thousands a minute
+    @Value("${transfer.velocity.minute.max-count:0}")
+    private long minuteMaxCount = 0;
+
+    @Value("${transfer.velocity.minute.max-amount:0}")
+    private BigDecimal minuteMaxAmount = BigDecimal.ZERO;
+
+    @Value("${transfer.velocity.hour.max-count:0}")
+    private long hourMaxCount = 0;
+
+    @Value("${transfer.velocity.hour.max-amount:0}")
+    private BigDecimal hourMaxAmount = BigDecimal.ZERO;
+
+    @Value("${transfer.velocity.day.max-count:0}")
+    private long dayMaxCount = 0;
+
+    @Value("${transfer.velocity.day.max-amount:0}")
+    private BigDecimal dayMaxAmount = BigDecimal.ZERO;
+
+    public VelocityLimiter(NamedParameterJdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${transfer.velocity.stripes:64}") int stripeCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rejected = Counter.builder("transfer.velocity.rejected")
+                .description("Transfers rejected by a velocity limit")
+                .register(meterRegistry);
+        this.stripes = new Object[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Counts the transfer against the source account's windows.
+     *
+     * @throws IllegalStateException If the transfer would exceed a velocity limit
+     */
+    public void acquire(UUID accountId, BigDecimal amount) {
+        Optional<String> exceeded = tryAcquire(accountId, amount);
+        if (exceeded.isPresent()) {
+            logger.warn("Transfer of {} from account ID: {} exceeds the {}", amount, accountId, exceeded.get());
+            throw new IllegalStateException("Velocity limit exceeded: " + exceeded.get());
+        }
+    }
+
+    /**
+     * Counts the transfer against the account's windows unless it would exceed a limit. Inside a
+     * transaction the transfer is taken off the windows again if the transaction rolls back.
+     *
+     * @return The limit the transfer would exceed, empty when it was counted
+     */
+    public Optional<String> tryAcquire(UUID accountId, BigDecimal amount) {
+        if (!active()) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        long units = toUnits(amount);
+        Optional<String> exceeded = tryAcquire(accountId, units, now);
+        if (exceeded.isPresent()) {
+            rejected.increment();
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(accountId, units, now);
+                    }
+                }
+            });
+        }
+        return exceeded;
+    }
+
+    Optional<String> tryAcquire(UUID accountId, long units, long now) {
+        synchronized (stripe(accountId)) {
+            Windows windows = accounts.computeIfAbsent(accountId, id -> new Windows(now));
+            windows.advance(now);
+            String exceeded = windows.minute.exceeded(units, minuteMaxCount, toUnits(minuteMaxAmount), "per-minute limit");
+            if (exceeded == null) {
+                exceeded = windows.hour.exceeded(units, hourMaxCount, toUnits(hourMaxAmount), "per-hour limit");
+            }
+            if (exceeded == null) {
+                exceeded = windows.day.exceeded(units, dayMaxCount, toUnits(dayMaxAmount), "per-day limit");
+            }
+            if (exceeded != null) {
+                return Optional.of(exceeded);
+            }
+            windows.add(now, units, 1);
+            return Optional.empty();
+        }
+    }
+
+    void release(UUID accountId, long units, long at) {
+        synchronized (stripe(accountId)) {
+            Windows windows = accounts.get(accountId);
+            if (windows != null) {
+                windows.add(at, -units, -1);
+            }
+        }
+    }
+
+    // Counts a transfer without checking the limits, for the rebuild
+    void record(UUID accountId, long units, long at, long now) {
+        synchronized (stripe(accountId)) {
+            Windows windows = accounts.computeIfAbsent(accountId, id -> new Windows(now));
+            windows.add(at, units, 1);
+        }
+    }
+
+    /**
+     * Reloads the last day of transfers so a restart does not reset the windows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!active()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long[] loaded = new long[1];
+        jdbcTemplate.query(RECENT_TRANSFERS_SQL, new MapSqlParameterSource("since", new Timestamp(now - DAY)),
+                (RowCallbackHandler) rs -> {
+                    record(rs.getObject("from_account_id", UUID.class), toUnits(rs.getBigDecimal("amount")),
+                            rs.getTimestamp("created_at").getTime(), now);
+                    loaded[0]++;
+                });
+        logger.info("Rebuilt transfer velocity windows from {} transfers of {} accounts", loaded[0], accounts.size());
+    }
+
+    /**
+     * Drops accounts that have not sent anything for a day.
+     */
+    @Scheduled(fixedDelayString = "${transfer.velocity.sweep-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<UUID, Windows>> it = accounts.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, Windows> entry = it.next();
+            synchronized (stripe(entry.getKey())) {
+                entry.getValue().advance(now);
+                if (entry.getValue().day.count == 0) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    // Nothing is tracked while every limit is off
+    private boolean active() {
+        return enabled && (minuteMaxCount > 0 || hourMaxCount > 0 || dayMaxCount > 0
+                || minuteMaxAmount.signum() > 0 || hourMaxAmount.signum() > 0 || dayMaxAmount.signum() > 0);
+    }
+
+    int trackedAccounts() {
+        return accounts.size();
+    }
+
+    private Object stripe(UUID accountId) {
+        int hash = accountId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    static long toUnits(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(AMOUNT_SCALE, RoundingMode.UP).unscaledValue().longValueExact();
+    }
+
+    private static final class Windows {
+        private final Ring minute;
+        private final Ring hour;
+        private final Ring day;
+
+        private Windows(long now) {
+            this.minute = new Ring(60, SECOND, now);
+            this.hour = new Ring(60, MINUTE, now);
+            this.day = new Ring(24, HOUR, now);
+        }
+
+        void advance(long now) {
+            minute.advance(now / minute.bucketMillis);
+            hour.advance(now / hour.bucketMillis);
+            day.advance(now / day.bucketMillis);
+        }
+
+        void add(long at, long units, int count) {
+            minute.add(at / minute.bucketMillis, units, count);
+            hour.add(at / hour.bucketMillis, units, count);
+            day.add(at / day.bucketMillis, units, count);
+        }
+    }
+
+    /**
+     * One window: bucket {@code slot % buckets} holds the transfers of time slot {@code slot}, for the
+     * {@code buckets} slots up to and including {@code lastSlot}.
+     */
+    private static final class Ring {
+        private final long bucketMillis;
+        private final long[] amounts;
+        private final int[] counts;
+        private long lastSlot;
+        private long amount;
+        private long count;
+
+        private Ring(int buckets, long bucketMillis, long now) {
+            this.bucketMillis = bucketMillis;
+            this.amounts = new long[buckets];
+            this.counts = new int[buckets];
+            this.lastSlot = now / bucketMillis;
+        }
+
+        // Empties the buckets of the slots that slid out of the window
+        void advance(long slot) {
+            if (slot <= lastSlot) {
+                return;
+            }
+            long steps = Math.min(slot - lastSlot, amounts.length);
+            for (long s = slot - steps + 1; s <= slot; s++) {
+                int bucket = (int) (s % amounts.length);
+                amount -= amounts[bucket];
+                count -= counts[bucket];
+                amounts[bucket] = 0;
+                counts[bucket] = 0;
+            }
+            lastSlot = slot;
+        }
+
+        void add(long slot, long units, int transfers) {
+            if (slot > lastSlot) {
+                advance(slot);
+            } else if (slot <= lastSlot - amounts.length) {
+                // Already out of the window
+                return;
+            }
+            int bucket = (int) (slot % amounts.length);
+            amounts[bucket] += units;
+            counts[bucket] += transfers;
+            amount += units;
+            count += transfers;
+        }
+
+        String exceeded(long units, long maxCount, long maxUnits, String name) {
+            if (maxCount > 0 && count + 1 > maxCount) {
+                return name + " of " + maxCount + " transfers";
+            }
+            if (maxUnits > 0 && amount + units > maxUnits) {
+                return name + " of " + BigDecimal.valueOf(maxUnits, AMOUNT_SCALE).stripTrailingZeros().toPlainString();
+            }
+            return null;
+        }
+    }
+}
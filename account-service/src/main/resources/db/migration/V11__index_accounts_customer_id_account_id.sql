@@ -0,0 +1,3 @@
+-- Bulk status changes and the customer lookups select accounts by customer; customer account pages walk
+-- account_id within a customer
+CREATE INDEX IF NOT EXISTS idx_accounts_customer_id_account_id ON accounts (customer_id, account_id);
@@ -0,0 +1,2 @@
+-- The account status registry reloads the few accounts that are FROZEN or LOCKED
+CREATE INDEX IF NOT EXISTS idx_accounts_frozen_or_locked ON accounts (account_id) WHERE status IN ('FROZEN', 'LOCKED');
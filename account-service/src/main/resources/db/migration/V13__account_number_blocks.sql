@@ -0,0 +1,8 @@
+-- Account numbers are strings like S-417-100023-7 and must be unique
+CREATE UNIQUE INDEX IF NOT EXISTS ux_accounts_account_number ON accounts (account_number);
+
+-- Next unreserved serial per branch; instances reserve serials from it in blocks
+CREATE TABLE IF NOT EXISTS account_number_blocks (
+    branch_code INTEGER PRIMARY KEY,
+    next_serial BIGINT NOT NULL
+);
@@ -0,0 +1,9 @@
+-- Append-only audit trail, written in multi-row batches by the audit writer
+CREATE TABLE IF NOT EXISTS account_audit (
+    id BIGSERIAL PRIMARY KEY,
+    account_id UUID,
+    event VARCHAR(255),
+    details TEXT,
+    occurred_at TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_account_audit_account_occurred_at ON account_audit (account_id, occurred_at);
@@ -0,0 +1,42 @@
+-- account_audit becomes range-partitioned by month. Monthly partitions are named account_audit_YYYY_MM;
+-- AuditPartitionMaintainer creates the coming months and detaches the ones past retention.
+ALTER TABLE account_audit RENAME TO account_audit_unpartitioned;
+ALTER SEQUENCE IF EXISTS account_audit_id_seq RENAME TO account_audit_unpartitioned_id_seq;
+DROP INDEX IF EXISTS idx_account_audit_account_occurred_at;
+
+-- The partition key has to be part of the primary key
+CREATE TABLE account_audit (
+    id BIGSERIAL,
+    account_id UUID,
+    event VARCHAR(255),
+    details TEXT,
+    occurred_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (occurred_at, id)
+) PARTITION BY RANGE (occurred_at);
+
+-- Created on every partition; audit pages walk them newest first
+CREATE INDEX idx_account_audit_account_occurred_at ON account_audit (account_id, occurred_at DESC, id DESC);
+CREATE INDEX idx_account_audit_event_occurred_at ON account_audit (event, occurred_at DESC, id DESC);
+
+-- Only catches rows outside every monthly partition, which the maintainer keeps created ahead
+CREATE TABLE account_audit_default PARTITION OF account_audit DEFAULT;
+
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR month IN
+        SELECT generate_series(date_trunc('month', COALESCE((SELECT min(occurred_at) FROM account_audit_unpartitioned), now())),
+                               date_trunc('month', now()) + INTERVAL '3 months',
+                               INTERVAL '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF account_audit FOR VALUES FROM (%L) TO (%L)',
+                       'account_audit_' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+
+INSERT INTO account_audit (id, account_id, event, details, occurred_at)
+SELECT id, account_id, event, details, COALESCE(occurred_at, now()) FROM account_audit_unpartitioned;
+SELECT setval('account_audit_id_seq', COALESCE((SELECT max(id) FROM account_audit), 0) + 1, false);
+
+DROP TABLE account_audit_unpartitioned;
@@ -0,0 +1,10 @@
+-- Blocks started every branch at serial 100000, so they could hand out numbers that accounts created or
+-- imported before account_number_blocks existed already hold. Start each branch past its highest serial.
+INSERT INTO account_number_blocks (branch_code, next_serial)
+SELECT CAST(split_part(account_number, '-', 2) AS INTEGER),
+       MAX(CAST(split_part(account_number, '-', 3) AS BIGINT)) + 1
+FROM accounts
+WHERE account_number ~ '^[A-Z]+-[0-9]{3}-[0-9]{6}-[0-9]$'
+GROUP BY 1
+ON CONFLICT (branch_code) DO UPDATE
+    SET next_serial = GREATEST(account_number_blocks.next_serial, EXCLUDED.next_serial);
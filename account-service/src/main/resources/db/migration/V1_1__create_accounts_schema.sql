@@ -0,0 +1,49 @@
+-- V1 created a placeholder accounts table (id SERIAL, user_id) that never matched the Account entity.
+-- Databases run with ddl-auto: create or validate already hold the entity's accounts table, with real
+-- data where validate was used; those are kept as they are. Only the placeholder is replaced, and only
+-- while it is empty, since nothing ever wrote to it.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'accounts' AND column_name = 'user_id')
+        AND NOT EXISTS (SELECT 1 FROM information_schema.columns
+                        WHERE table_schema = current_schema() AND table_name = 'accounts' AND column_name = 'account_id') THEN
+        IF EXISTS (SELECT 1 FROM accounts) THEN
+            RAISE EXCEPTION 'accounts is the V1 placeholder table but holds rows; move them before migrating';
+        END IF;
+        DROP TABLE accounts;
+    END IF;
+END $$;
+
+-- V1's trigger on the entity's table, where V1 ran against an existing one
+DROP TRIGGER IF EXISTS update_accounts_updated_at ON accounts;
+
+-- The Account entity's final shape, column types as Hibernate generated them for existing databases.
+-- Follows the unapplied "-- V3__alter_account_id_to_uuid.sql" draft, minus its balance >= 0 check, which
+-- overdrafts break.
+CREATE TABLE IF NOT EXISTS accounts (
+    account_id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    customer_id UUID NOT NULL,
+    account_name VARCHAR(255),
+    account_number VARCHAR(255),
+    balance NUMERIC(38, 2) NOT NULL,
+    account_type VARCHAR(255),
+    status VARCHAR(255),
+    overdraft_protection BOOLEAN NOT NULL,
+    transaction_limit NUMERIC(38, 2) NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    overdraft_limit NUMERIC(38, 2),
+    balance_stripes INTEGER NOT NULL DEFAULT 0,
+    version INTEGER
+);
+
+-- Columns added since the baseline entity, for accounts tables that already existed
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS balance_stripes INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS account_holders (
+    account_id UUID NOT NULL,
+    customer_id UUID NOT NULL,
+    PRIMARY KEY (account_id, customer_id),
+    CONSTRAINT fk_account_holders_account FOREIGN KEY (account_id) REFERENCES accounts (account_id) ON DELETE CASCADE
+);
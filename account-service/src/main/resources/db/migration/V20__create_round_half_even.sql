@@ -0,0 +1,9 @@
+-- ROUND(numeric, n) rounds halves away from zero; the chunked interest run rounds them to even in Java.
+-- Set-based postings round with this instead, so both modes credit the same cents.
+CREATE OR REPLACE FUNCTION round_half_even(value NUMERIC, places INTEGER) RETURNS NUMERIC
+    LANGUAGE sql IMMUTABLE STRICT AS
+$$
+SELECT ROUND(CASE WHEN ABS(scaled - TRUNC(scaled)) = 0.5 THEN TRUNC(scaled) + MOD(TRUNC(scaled), 2) ELSE ROUND(scaled) END
+                 / POWER(10::numeric, places), places)
+FROM (SELECT value * POWER(10::numeric, places) AS scaled) s
+$$;
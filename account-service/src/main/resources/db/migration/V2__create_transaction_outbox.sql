@@ -0,0 +1,16 @@
+CREATE TABLE transaction_outbox (
+                                    id BIGSERIAL PRIMARY KEY,
+                                    from_account_id UUID NOT NULL,
+                                    to_account_id UUID NOT NULL,
+                                    amount NUMERIC(19, 4) NOT NULL,
+                                    status VARCHAR(50) NOT NULL,
+                                    attempts INTEGER NOT NULL DEFAULT 0,
+                                    next_attempt_at TIMESTAMP,
+                                    created_at TIMESTAMP,
+                                    sent_at TIMESTAMP,
+                                    last_error VARCHAR(255)
+);
+
+-- The relay only ever scans pending rows that are due
+CREATE INDEX idx_transaction_outbox_pending ON transaction_outbox (next_attempt_at, id)
+    WHERE status = 'PENDING';
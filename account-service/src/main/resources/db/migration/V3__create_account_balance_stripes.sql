@@ -0,0 +1,13 @@
+-- accounts.balance_stripes is part of the accounts schema (V1.1)
+CREATE TABLE account_balance_stripes (
+                                         account_id UUID NOT NULL,
+                                         stripe_no INTEGER NOT NULL,
+                                         balance NUMERIC(19, 4) NOT NULL DEFAULT 0,
+                                         PRIMARY KEY (account_id, stripe_no),
+                                         CONSTRAINT fk_account_balance_stripes_account FOREIGN KEY (account_id)
+                                             REFERENCES accounts (account_id)
+                                             ON DELETE CASCADE
+);
+
+-- Lets the compactor find striped accounts without scanning every account
+CREATE INDEX idx_accounts_balance_stripes ON accounts (account_id) WHERE balance_stripes > 0;
@@ -0,0 +1,11 @@
+CREATE TABLE idempotency_keys (
+                                  idempotency_key VARCHAR(255) PRIMARY KEY,
+                                  request_fingerprint VARCHAR(64) NOT NULL,
+                                  status VARCHAR(20) NOT NULL,
+                                  response_status INTEGER,
+                                  response_body TEXT,
+                                  created_at TIMESTAMP NOT NULL,
+                                  expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
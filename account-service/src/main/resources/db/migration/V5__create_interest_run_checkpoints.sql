@@ -0,0 +1,36 @@
+CREATE TABLE IF NOT EXISTS interest_history (
+                                                id BIGSERIAL PRIMARY KEY,
+                                                account_id UUID NOT NULL,
+                                                interest_amount NUMERIC(19, 4) NOT NULL,
+                                                timestamp TIMESTAMP NOT NULL
+);
+
+-- An interest_history created by Hibernate for the baseline entity takes its ids from interest_history_seq;
+-- the entity now uses an identity column, continuing after the ids already taken
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = 'interest_history' AND column_name = 'id'
+                     AND (is_identity = 'YES' OR column_default IS NOT NULL)) THEN
+        ALTER TABLE interest_history ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+        PERFORM setval(pg_get_serial_sequence('interest_history', 'id'),
+                       (SELECT COALESCE(MAX(id), 0) + 1 FROM interest_history), false);
+    END IF;
+END $$;
+
+CREATE TABLE interest_run_checkpoints (
+                                          run_id VARCHAR(64) NOT NULL,
+                                          range_no INTEGER NOT NULL,
+                                          range_start UUID NOT NULL,
+                                          range_end UUID,
+                                          last_account_id UUID,
+                                          processed BIGINT NOT NULL DEFAULT 0,
+                                          completed BOOLEAN NOT NULL DEFAULT FALSE,
+                                          owner VARCHAR(64),
+                                          lease_until TIMESTAMP,
+                                          updated_at TIMESTAMP,
+                                          PRIMARY KEY (run_id, range_no)
+);
+
+-- Keyset pages of the interest run walk savings accounts in account_id order
+CREATE INDEX idx_accounts_type_account_id ON accounts (account_type, account_id);
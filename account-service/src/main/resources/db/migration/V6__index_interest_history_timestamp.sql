@@ -0,0 +1,2 @@
+-- The set-based interest posting reads its history rows back by timestamp to send notifications
+CREATE INDEX idx_interest_history_timestamp ON interest_history (timestamp);
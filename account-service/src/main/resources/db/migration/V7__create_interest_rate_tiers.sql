@@ -0,0 +1,8 @@
+CREATE TABLE interest_rate_tiers (
+                                     id BIGSERIAL PRIMARY KEY,
+                                     account_type VARCHAR(50) NOT NULL,
+                                     min_balance NUMERIC(19, 4) NOT NULL,
+                                     annual_rate NUMERIC(9, 6) NOT NULL,
+                                     CONSTRAINT uq_interest_rate_tiers_floor UNIQUE (account_type, min_balance),
+                                     CONSTRAINT ck_interest_rate_tiers_non_negative CHECK (min_balance >= 0 AND annual_rate >= 0)
+);
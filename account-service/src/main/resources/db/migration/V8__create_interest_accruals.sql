@@ -0,0 +1,22 @@
+CREATE TABLE interest_accruals (
+                                   account_id UUID PRIMARY KEY,
+                                   daily_amount NUMERIC(19, 10) NOT NULL,
+                                   accrued_total NUMERIC(19, 10) NOT NULL DEFAULT 0,
+                                   accrued_through DATE NOT NULL,
+                                   updated_at TIMESTAMP
+);
+
+CREATE TABLE interest_accrual_watermarks (
+                                             partition_no INTEGER PRIMARY KEY,
+                                             last_updated_at TIMESTAMP,
+                                             rates_fingerprint INTEGER,
+                                             updated_at TIMESTAMP
+);
+
+-- The daily accrual only reads accounts changed since its last pass, selected on updated_at alone so the
+-- index serves it; accounts that never had it set count as changed when they were created
+UPDATE accounts SET updated_at = COALESCE(created_at, now()) WHERE updated_at IS NULL;
+ALTER TABLE accounts ALTER COLUMN updated_at SET NOT NULL;
+CREATE INDEX idx_accounts_updated_at ON accounts (updated_at);
+-- ...and every striped account, whose stripe credits leave updated_at alone
+CREATE INDEX idx_accounts_striped ON accounts (account_id) WHERE balance_stripes > 0;
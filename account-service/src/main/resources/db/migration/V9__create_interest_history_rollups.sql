@@ -0,0 +1,13 @@
+-- History pages walk one account's rows newest first
+CREATE INDEX idx_interest_history_account_timestamp_id ON interest_history (account_id, timestamp DESC, id DESC);
+
+-- Interest per account per month (period_month 1-12) and per year (period_month 0)
+CREATE TABLE interest_history_rollups (
+                                          account_id UUID NOT NULL,
+                                          period_year INTEGER NOT NULL,
+                                          period_month INTEGER NOT NULL,
+                                          total_interest NUMERIC(19, 4) NOT NULL,
+                                          postings BIGINT NOT NULL,
+                                          updated_at TIMESTAMP,
+                                          PRIMARY KEY (account_id, period_year, period_month)
+);
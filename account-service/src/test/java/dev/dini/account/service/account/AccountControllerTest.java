@@ -1,8 +1,17 @@
 package dev.dini.account.service.account;
 
+import dev.dini.account.service.dto.AccountImportResponseDTO;
+import dev.dini.account.service.dto.AccountPageDTO;
 import dev.dini.account.service.dto.AccountRequestDTO;
 import dev.dini.account.service.dto.AccountResponseDTO;
+import dev.dini.account.service.dto.AuditEventPageDTO;
+import dev.dini.account.service.dto.BatchTransferResponseDTO;
+import dev.dini.account.service.dto.BulkStatusChangeRequestDTO;
+import dev.dini.account.service.dto.BulkStatusChangeResponseDTO;
 import dev.dini.account.service.dto.CreateAccountRequestDTO;
+import dev.dini.account.service.dto.InterestPreviewRequestDTO;
+import dev.dini.account.service.dto.InterestPreviewResponseDTO;
+import dev.dini.account.service.idempotency.IdempotencyStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -12,12 +21,22 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class AccountControllerTest {
@@ -25,6 +44,9 @@ public class AccountControllerTest {
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
     @InjectMocks
     private AccountController accountController;
 
@@ -100,9 +122,51 @@ public class AccountControllerTest {
         UUID toAccountId = UUID.randomUUID();
         BigDecimal amount = BigDecimal.TEN;
 
-        ResponseEntity<Void> response = accountController.transferFunds(fromAccountId, toAccountId, amount);
+        when(idempotencyStore.execute(eq("account-transfer"), eq("key-1"), any(), eq(Void.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ResponseEntity<Void>>>getArgument(4).get());
+
+        ResponseEntity<Void> response = accountController.transferFunds(fromAccountId, toAccountId, amount, "key-1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(accountService).transferFunds(fromAccountId, toAccountId, amount);
+    }
+
+    @Test
+    void withdraw_withValidData_returnsOk() {
+        UUID accountId = UUID.randomUUID();
+        BigDecimal amount = BigDecimal.TEN;
+
+        when(idempotencyStore.execute(eq("account-withdrawal"), eq("key-1"), any(), eq(Void.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ResponseEntity<Void>>>getArgument(4).get());
+
+        ResponseEntity<Void> response = accountController.withdraw(accountId, amount, "key-1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(accountService).withdraw(accountId, amount);
+    }
+
+    @Test
+    void transferFundsBatch_withStreamedBody_returnsPerItemResults() {
+        InputStream body = new ByteArrayInputStream("[]".getBytes());
+        BatchTransferResponseDTO responseDTO = new BatchTransferResponseDTO();
+        when(accountService.transferFundsBatch(body)).thenReturn(responseDTO);
+
+        ResponseEntity<BatchTransferResponseDTO> response = accountController.transferFundsBatch(body);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(responseDTO, response.getBody());
+    }
+
+    @Test
+    void importAccounts_withCsvBody_importsAsCsv() {
+        InputStream body = new ByteArrayInputStream("customerId,accountType\n".getBytes());
+        AccountImportResponseDTO responseDTO = new AccountImportResponseDTO();
+        when(accountService.importAccounts(body, AccountImportFormat.CSV)).thenReturn(responseDTO);
+
+        ResponseEntity<AccountImportResponseDTO> response = accountController.importAccounts("text/csv; charset=UTF-8", body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(responseDTO, response.getBody());
     }
 
     @Test
@@ -146,6 +210,20 @@ public class AccountControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
 
+    @Test
+    void changeStatus_withAccountIds_returnsChangedAccounts() {
+        UUID accountId = UUID.randomUUID();
+        BulkStatusChangeRequestDTO request = BulkStatusChangeRequestDTO.builder()
+                .accountIds(List.of(accountId)).status(AccountStatus.FROZEN).build();
+        BulkStatusChangeResponseDTO result = new BulkStatusChangeResponseDTO(AccountStatus.FROZEN, 1, List.of(accountId), List.of());
+        when(accountService.changeStatus(request)).thenReturn(result);
+
+        ResponseEntity<BulkStatusChangeResponseDTO> response = accountController.changeStatus(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
     @Test
     void addAccountHolder_withValidData_returnsOk() {
         UUID accountId = UUID.randomUUID();
@@ -187,4 +265,54 @@ public class AccountControllerTest {
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void previewInterest_withValidRequest_returnsProjection() {
+        InterestPreviewRequestDTO request = InterestPreviewRequestDTO.builder()
+                .customerId(UUID.randomUUID()).horizonDays(365).build();
+        InterestPreviewResponseDTO preview = new InterestPreviewResponseDTO();
+        when(accountService.previewInterest(request)).thenReturn(preview);
+
+        ResponseEntity<InterestPreviewResponseDTO> response = accountController.previewInterest(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(preview, response.getBody());
+    }
+
+    @Test
+    void getAuditEvents_withAccountAndCursor_returnsPage() {
+        UUID accountId = UUID.randomUUID();
+        LocalDateTime cursor = LocalDateTime.parse("2025-02-01T00:00");
+        AuditEventPageDTO page = new AuditEventPageDTO(List.of(), null, null);
+        when(accountService.getAuditEvents(accountId, "Account Status", null, null, cursor, 20L, 50)).thenReturn(page);
+
+        ResponseEntity<AuditEventPageDTO> response = accountController.getAuditEvents(accountId, "Account Status", null, null, cursor, 20L, 50);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void getAccountPageByCustomerId_withCursor_returnsPage() {
+        UUID customerId = UUID.randomUUID();
+        UUID afterId = UUID.randomUUID();
+        AccountPageDTO page = new AccountPageDTO(List.of(), null);
+        when(accountService.getAccountPage(customerId, afterId, 100)).thenReturn(page);
+
+        ResponseEntity<AccountPageDTO> response = accountController.getAccountPageByCustomerId(customerId, afterId, 100);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void exportAccounts_streamsEveryAccount() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ResponseEntity<StreamingResponseBody> response = accountController.exportAccounts();
+        response.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(accountService).exportAccounts(isNull(), eq(out));
+    }
+}
@@ -0,0 +1,74 @@
+package dev.dini.account.service.account;
+
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountStatusRegistry;
+import dev.dini.account.service.dto.AccountImportRecordDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountImportProcessorTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AccountAuditService accountAuditService;
+
+    @Mock
+    private AccountStatusRegistry accountStatusRegistry;
+
+    private AccountImportProcessor accountImportProcessor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        accountImportProcessor = new AccountImportProcessor(namedJdbcTemplate, accountAuditService, accountStatusRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertChunkWritesOneBatchAndReportsTakenNumbers() {
+        UUID customerId = UUID.randomUUID();
+        AccountImportProcessor.NewAccount active = new AccountImportProcessor.NewAccount(UUID.randomUUID(), "C-100-100000-8",
+                AccountImportRecordDTO.builder().customerId(customerId).accountType(AccountType.CHECKING).build());
+        AccountImportProcessor.NewAccount frozen = new AccountImportProcessor.NewAccount(UUID.randomUUID(), "S-100-100001-6",
+                AccountImportRecordDTO.builder().customerId(customerId).accountType(AccountType.SAVINGS)
+                        .status(AccountStatus.FROZEN).balance(new BigDecimal("12.34")).build());
+        AccountImportProcessor.NewAccount taken = new AccountImportProcessor.NewAccount(UUID.randomUUID(), "LEGACY-1",
+                AccountImportRecordDTO.builder().customerId(customerId).accountType(AccountType.SAVINGS).build());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, Statement.SUCCESS_NO_INFO, 0});
+
+        boolean[] inserted = accountImportProcessor.insertChunk(List.of(active, frozen, taken));
+
+        assertArrayEquals(new boolean[]{true, true, false}, inserted);
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT (account_number) DO NOTHING"), args.capture());
+        Object[] row = args.getValue().get(1);
+        assertEquals(frozen.accountId(), row[0]);
+        assertEquals(new BigDecimal("12.34"), row[4]);
+        assertEquals("FROZEN", row[6]);
+        assertEquals("ACTIVE", args.getValue().get(0)[6]);
+        assertEquals(BigDecimal.ZERO, args.getValue().get(0)[4]);
+        verify(accountAuditService).logAccountEvents(List.of(active.accountId(), frozen.accountId()), "IMPORT_ACCOUNT", "Account imported");
+        verify(accountStatusRegistry).statusChanged(List.of(frozen.accountId()), AccountStatus.FROZEN);
+        verifyNoMoreInteractions(accountStatusRegistry);
+    }
+}
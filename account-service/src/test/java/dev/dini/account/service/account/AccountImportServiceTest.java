@@ -0,0 +1,184 @@
+package dev.dini.account.service.account;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dini.account.service.component.AccountNumberGenerator;
+import dev.dini.account.service.customer.CustomerServiceClient;
+import dev.dini.account.service.dto.AccountImportRejectionDTO;
+import dev.dini.account.service.dto.AccountImportResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountImportServiceTest {
+
+    @Mock
+    private AccountImportProcessor accountImportProcessor;
+
+    @Mock
+    private CustomerServiceClient customerServiceClient;
+
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountImportService accountImportService;
+
+    private final UUID customer = UUID.randomUUID();
+    private final UUID unknownCustomer = UUID.randomUUID();
+    private final List<List<AccountImportProcessor.NewAccount>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        accountImportService = new AccountImportService(accountImportProcessor, customerServiceClient,
+                accountNumberGenerator, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(accountImportService, "chunkSize", 2);
+        when(customerServiceClient.findExistingCustomerIds(any())).thenAnswer(invocation ->
+                ((Collection<UUID>) invocation.getArgument(0)).stream().filter(customer::equals).toList());
+        when(accountNumberGenerator.generateUniqueAccountNumber(any())).thenReturn("C-100-100000-8", "C-100-100001-6", "C-100-100002-4");
+        when(accountImportProcessor.insertChunk(anyList())).thenAnswer(invocation -> {
+            List<AccountImportProcessor.NewAccount> chunk = invocation.getArgument(0);
+            chunks.add(List.copyOf(chunk));
+            boolean[] inserted = new boolean[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                inserted[i] = !"TAKEN".equals(chunk.get(i).accountNumber());
+            }
+            return inserted;
+        });
+    }
+
+    @Test
+    void csvRecordsAreImportedInChunksWithOneCustomerCheckEach() {
+        String csv = "customerId,accountName,accountType,status,balance,overdraftProtection,accountNumber\n" +
+                customer + ",\"Main, everyday\",CHECKING,,100.50,true,\n" +
+                customer + ",Savings,SAVINGS,FROZEN,0,false,LEGACY-1\n" +
+                "\n" +
+                customer + ",Third,CHECKING,,,,\n";
+
+        AccountImportResponseDTO response = accountImportService.importAccounts(body(csv), AccountImportFormat.CSV);
+
+        assertEquals(3, response.getTotal());
+        assertEquals(3, response.getImported());
+        assertEquals(List.of(2, 1), chunks.stream().map(List::size).toList());
+        AccountImportProcessor.NewAccount first = chunks.get(0).get(0);
+        assertEquals("Main, everyday", first.record().getAccountName());
+        assertEquals(new BigDecimal("100.50"), first.record().getBalance());
+        assertTrue(first.record().isOverdraftProtection());
+        assertEquals("C-100-100000-8", first.accountNumber());
+        assertEquals("LEGACY-1", chunks.get(0).get(1).accountNumber());
+        assertEquals(AccountStatus.FROZEN, chunks.get(0).get(1).record().getStatus());
+        verify(customerServiceClient, times(2)).findExistingCustomerIds(any());
+        verify(accountNumberGenerator, times(2)).generateUniqueAccountNumber(AccountType.CHECKING);
+        assertEquals(3.0, meterRegistry.get("account.import.imported").counter().count());
+    }
+
+    @Test
+    void keptAccountNumbersAreSkippedBeforeNumbersAreGenerated() {
+        String ndjson = "{\"customerId\":\"" + customer + "\",\"accountType\":\"CHECKING\"}\n" +
+                "{\"customerId\":\"" + customer + "\",\"accountType\":\"SAVINGS\",\"accountNumber\":\"S-100-100000-1\"}\n";
+
+        accountImportService.importAccounts(body(ndjson), AccountImportFormat.JSON);
+
+        InOrder inOrder = inOrder(accountNumberGenerator);
+        inOrder.verify(accountNumberGenerator).skipPast(List.of("S-100-100000-1"));
+        inOrder.verify(accountNumberGenerator).generateUniqueAccountNumber(AccountType.CHECKING);
+    }
+
+    @Test
+    void invalidRecordsAreReportedAndTheRestImported() {
+        String ndjson = "{\"customerId\":\"" + customer + "\",\"accountType\":\"CHECKING\"}\n" +
+                "{\"customerId\":\"" + customer + "\",\"accountType\":\"NO_SUCH_TYPE\"}\n" +
+                "{\"customerId\":\"" + unknownCustomer + "\",\"accountType\":\"SAVINGS\"}\n" +
+                "{\"accountType\":\"SAVINGS\"}\n" +
+                "{\"customerId\":\"" + customer + "\",\"accountType\":\"SAVINGS\",\"balance\":-1}\n" +
+                "{\"customerId\":\"" + customer + "\",\"accountType\":\"SAVINGS\",\"accountNumber\":\"TAKEN\"}\n";
+
+        AccountImportResponseDTO response = accountImportService.importAccounts(body(ndjson), AccountImportFormat.JSON);
+
+        assertEquals(6, response.getTotal());
+        assertEquals(1, response.getImported());
+        assertEquals(5, response.getRejected());
+        List<String> reasons = response.getRejections().stream()
+                .sorted((a, b) -> Long.compare(a.getIndex(), b.getIndex()))
+                .map(rejection -> rejection.getIndex() + ":" + rejection.getReason().split(":")[0])
+                .toList();
+        assertEquals(List.of("1:INVALID_RECORD", "2:CUSTOMER_NOT_FOUND", "3:MISSING_FIELDS", "4:NEGATIVE_BALANCE",
+                "5:DUPLICATE_ACCOUNT_NUMBER"), reasons);
+    }
+
+    @Test
+    void aFailedChunkIsRejectedAsAWholeAndTheImportGoesOn() {
+        doThrow(new RuntimeException("deadlock"))
+                .doAnswer(invocation -> new boolean[]{true})
+                .when(accountImportProcessor).insertChunk(anyList());
+        String ndjson = ("{\"customerId\":\"" + customer + "\",\"accountType\":\"CHECKING\"}\n").repeat(3);
+
+        AccountImportResponseDTO response = accountImportService.importAccounts(body(ndjson), AccountImportFormat.JSON);
+
+        assertEquals(1, response.getImported());
+        assertEquals(List.of("CHUNK_FAILED", "CHUNK_FAILED"),
+                response.getRejections().stream().map(AccountImportRejectionDTO::getReason).toList());
+    }
+
+    @Test
+    void customerServiceFailureRejectsTheChunk() {
+        doThrow(new RuntimeException("unavailable")).when(customerServiceClient).findExistingCustomerIds(any());
+
+        AccountImportResponseDTO response = accountImportService.importAccounts(
+                body("[{\"customerId\":\"" + customer + "\",\"accountType\":\"CHECKING\"}]"), AccountImportFormat.JSON);
+
+        assertEquals("CUSTOMER_CHECK_FAILED", response.getRejections().get(0).getReason());
+        verifyNoInteractions(accountImportProcessor);
+    }
+
+    @Test
+    void recordsBeforeAMalformedOneAreStillImported() {
+        String ndjson = "{\"customerId\":\"" + customer + "\",\"accountType\":\"CHECKING\"}\n{\"customerId\":";
+
+        AccountImportResponseDTO response = accountImportService.importAccounts(body(ndjson), AccountImportFormat.JSON);
+
+        assertEquals(1, response.getImported());
+        assertNotNull(response.getError());
+    }
+
+    @Test
+    void csvQuotesAreUnescaped() throws Exception {
+        assertEquals(List.of("a", "say \"hi\", ok", ""), AccountImportService.splitCsvLine("a,\"say \"\"hi\"\", ok\",", 1));
+        assertThrows(java.io.IOException.class, () -> AccountImportService.splitCsvLine("\"open", 1));
+    }
+
+    @Test
+    void rejectionsCanBeCapped() {
+        ReflectionTestUtils.setField(accountImportService, "maxReportedRejections", 1);
+        String ndjson = "{\"accountType\":\"CHECKING\"}\n".repeat(3);
+
+        AccountImportResponseDTO response = accountImportService.importAccounts(body(ndjson), AccountImportFormat.JSON);
+
+        assertEquals(3, response.getRejected());
+        assertEquals(1, response.getRejections().size());
+        verify(customerServiceClient, never()).findExistingCustomerIds(any());
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -88,9 +88,7 @@ class AccountInfoServiceTest {
     @Test
     void checkAccountStatus_withValidAccountId_returnsStatus() {
         UUID accountId = UUID.randomUUID();
-        Account account = new Account();
-        account.setStatus(AccountStatus.ACTIVE);
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findStatusByAccountId(accountId)).thenReturn(Optional.of(AccountStatus.ACTIVE));
 
         AccountStatus result = accountInfoService.checkAccountStatus(accountId);
 
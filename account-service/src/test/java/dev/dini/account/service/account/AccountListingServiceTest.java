@@ -0,0 +1,130 @@
+package dev.dini.account.service.account;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.dini.account.service.dto.AccountPageDTO;
+import dev.dini.account.service.dto.AccountSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountListingServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AccountListingService accountListingService;
+
+    private final UUID customerId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        accountListingService = new AccountListingService(namedJdbcTemplate, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pageReadsOneRowMoreThanTheLimitAndReturnsACursor() {
+        AccountSummaryDTO first = summary();
+        AccountSummaryDTO second = summary();
+        when(namedJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(first, second, summary()));
+
+        AccountPageDTO page = accountListingService.getPage(customerId, null, 2);
+
+        assertEquals(List.of(first, second), page.getAccounts());
+        assertEquals(second.getAccountId(), page.getNextAfterId());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedJdbcTemplate).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("customer_id = :customerId"));
+        assertFalse(sql.getValue().contains(":afterId"));
+        assertTrue(sql.getValue().endsWith("ORDER BY account_id LIMIT :limit"));
+        assertEquals(3, params.getValue().getValue("limit"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void lastPageOfAllAccountsHasNoCursor() {
+        UUID afterId = UUID.randomUUID();
+        when(namedJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of(summary()));
+
+        AccountPageDTO page = accountListingService.getPage(null, afterId, 2);
+
+        assertNull(page.getNextAfterId());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(namedJdbcTemplate).query(sql.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
+        assertFalse(sql.getValue().contains("customer_id ="));
+        assertTrue(sql.getValue().contains("account_id > :afterId"));
+    }
+
+    @Test
+    void invalidPageSizesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> accountListingService.getPage(customerId, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> accountListingService.getPage(customerId, null, 501));
+        verifyNoInteractions(namedJdbcTemplate);
+    }
+
+    @Test
+    void exportWritesOneJsonLinePerRowThroughAFetchSizeCursor() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("account_id", UUID.class)).thenReturn(accountId);
+        when(rs.getObject("customer_id", UUID.class)).thenReturn(customerId);
+        when(rs.getString("account_type")).thenReturn("SAVINGS");
+        when(rs.getString("status")).thenReturn("ACTIVE");
+        when(rs.getBigDecimal("balance")).thenReturn(new BigDecimal("10.0000"));
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        doAnswer(invocation -> {
+            ((PreparedStatementCreator) invocation.getArgument(0)).createPreparedStatement(connection);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = accountListingService.export(customerId, out);
+
+        assertEquals(2, written);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"accountId\":\"" + accountId + "\""));
+        assertTrue(lines[0].contains("\"accountType\":\"SAVINGS\""));
+        verify(statement).setFetchSize(1000);
+        verify(statement).setObject(1, customerId);
+        verify(connection).prepareStatement(contains("WHERE customer_id = ?"));
+    }
+
+    private AccountSummaryDTO summary() {
+        return AccountSummaryDTO.builder().accountId(UUID.randomUUID()).customerId(customerId).build();
+    }
+}
@@ -1,23 +1,29 @@
 package dev.dini.account.service.account;
 
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountNumberGenerator;
+import dev.dini.account.service.customer.CustomerDTO;
 import dev.dini.account.service.customer.CustomerServiceClient;
 import dev.dini.account.service.dto.AccountRequestDTO;
 import dev.dini.account.service.dto.CreateAccountRequestDTO;
 import dev.dini.account.service.exception.AccountNotFoundException;
+import dev.dini.account.service.mapper.AccountMapper;
+import dev.dini.account.service.notification.AccountNotificationService;
 import dev.dini.account.service.security.AccountSecurityService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class AccountManagementServiceTest {
 
@@ -30,6 +36,21 @@ class AccountManagementServiceTest {
     @Mock
     private CustomerServiceClient customerServiceClient;
 
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountMapper accountMapper;
+
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Mock
+    private AccountAuditService accountAuditService;
+
+    @Mock
+    private AccountNotificationService accountNotificationService;
+
     @InjectMocks
     private AccountManagementService accountManagementService;
 
@@ -57,6 +78,39 @@ class AccountManagementServiceTest {
         assertThrows(IllegalArgumentException.class, () -> accountManagementService.createAccount(requestDTO));
     }
 
+    @Test
+    void createAccount_withTakenAccountNumber_retriesFromANewBlock() {
+        CreateAccountRequestDTO requestDTO = new CreateAccountRequestDTO();
+        requestDTO.setCustomerId(UUID.randomUUID());
+        requestDTO.setAccountType(AccountType.SAVINGS);
+        CustomerDTO customer = new CustomerDTO();
+        customer.setCustomerId(requestDTO.getCustomerId());
+        when(customerServiceClient.getCustomerById(any(UUID.class))).thenReturn(customer);
+        when(accountMapper.toAccountFromCreateRequest(requestDTO)).thenReturn(new Account());
+        when(accountNumberGenerator.generateUniqueAccountNumber(AccountType.SAVINGS)).thenReturn("S-417-100023-7", "S-512-100000-2");
+        when(accountRepository.save(any(Account.class)))
+                .thenThrow(new DataIntegrityViolationException("ux_accounts_account_number"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Account created = accountManagementService.createAccount(requestDTO);
+
+        assertEquals("S-512-100000-2", created.getAccountNumber());
+        verify(accountNumberGenerator).skipBlock();
+    }
+
+    @Test
+    void createAccount_givesUpAfterRepeatedlyTakenAccountNumbers() {
+        CreateAccountRequestDTO requestDTO = new CreateAccountRequestDTO();
+        requestDTO.setCustomerId(UUID.randomUUID());
+        requestDTO.setAccountType(AccountType.SAVINGS);
+        when(customerServiceClient.getCustomerById(any(UUID.class))).thenReturn(new CustomerDTO());
+        when(accountMapper.toAccountFromCreateRequest(requestDTO)).thenReturn(new Account());
+        when(accountRepository.save(any(Account.class))).thenThrow(new DataIntegrityViolationException("ux_accounts_account_number"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> accountManagementService.createAccount(requestDTO));
+        verify(accountRepository, times(3)).save(any(Account.class));
+    }
+
     @Test
     void updateAccount_withNonExistentAccountId_throwsException() {
         UUID accountId = UUID.randomUUID();
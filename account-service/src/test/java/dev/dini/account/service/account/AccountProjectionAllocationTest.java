@@ -0,0 +1,117 @@
+package dev.dini.account.service.account;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Allocation benchmark for the validation lookups: bytes allocated per call when a status check
+ * materialises the whole Account row versus the status projection or the transfer validation view. Only
+ * the JVM-side objects each query forces are modelled (decoded column values, the entity with its
+ * holder set, the loaded-state snapshot Hibernate keeps for dirty checking); Hibernate's own
+ * bookkeeping per managed entity comes on top of the entity figure.
+ */
+class AccountProjectionAllocationTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int CALLS = 200_000;
+
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+
+    // Keeps results reachable so the JIT cannot drop the allocations
+    private static volatile Object sink;
+
+    @Test
+    void projectionsAllocateLessPerCallThanEntityHydration() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean,
+                "Thread allocation counters are not available on this JVM");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+
+        double entity = bytesPerCall(threads, () -> hydrateEntity().map(Account::getStatus));
+        double status = bytesPerCall(threads, AccountProjectionAllocationTest::statusProjection);
+        double validation = bytesPerCall(threads, AccountProjectionAllocationTest::validationProjection);
+
+        System.out.printf("Bytes allocated per lookup: full entity %.0f, status projection %.0f, validation view %.0f%n",
+                entity, status, validation);
+        assertTrue(status * 4 < entity, "status projection should allocate a fraction of the entity");
+        assertTrue(validation * 2 < entity, "validation view should allocate well below the entity");
+    }
+
+    private static double bytesPerCall(com.sun.management.ThreadMXBean threads, Supplier<Object> lookup) {
+        for (int i = 0; i < WARMUP; i++) {
+            sink = lookup.get();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < CALLS; i++) {
+            sink = lookup.get();
+        }
+        return (double) (threads.getCurrentThreadAllocatedBytes() - before) / CALLS;
+    }
+
+    // findById: every column is decoded, the entity and its holder set are built and a snapshot is kept
+    private static Optional<Account> hydrateEntity() {
+        Object[] row = {
+                new UUID(ACCOUNT_ID.getMostSignificantBits(), ACCOUNT_ID.getLeastSignificantBits()),
+                new UUID(CUSTOMER_ID.getMostSignificantBits(), CUSTOMER_ID.getLeastSignificantBits()),
+                new String("Everyday account"),
+                new String("4000123412341234"),
+                new BigDecimal("1250.50"),
+                AccountType.valueOf(new String("CHECKING")),
+                AccountStatus.valueOf(new String("ACTIVE")),
+                Boolean.FALSE,
+                new BigDecimal("5000.00"),
+                LocalDateTime.of(2024, 1, 1, 9, 30),
+                LocalDateTime.of(2024, 6, 1, 9, 30),
+                new BigDecimal("0.00"),
+                0,
+                Integer.valueOf(7)
+        };
+        Account account = new Account();
+        account.setAccountId((UUID) row[0]);
+        account.setCustomerId((UUID) row[1]);
+        account.setAccountName((String) row[2]);
+        account.setAccountNumber((String) row[3]);
+        account.setBalance((BigDecimal) row[4]);
+        account.setAccountType((AccountType) row[5]);
+        account.setStatus((AccountStatus) row[6]);
+        account.setOverdraftProtection((Boolean) row[7]);
+        account.setTransactionLimit((BigDecimal) row[8]);
+        account.setCreatedAt((LocalDateTime) row[9]);
+        account.setUpdatedAt((LocalDateTime) row[10]);
+        account.setOverdraftLimit((BigDecimal) row[11]);
+        account.setBalanceStripes((Integer) row[12]);
+        account.setVersion((Integer) row[13]);
+        account.setAccountHolders(new HashSet<>());
+        Object[] loadedState = row.clone();
+        sink = loadedState;
+        return Optional.of(account);
+    }
+
+    // findStatusByAccountId: one column
+    private static Object statusProjection() {
+        return Optional.of(AccountStatus.valueOf(new String("ACTIVE")));
+    }
+
+    // findValidationViewByAccountId: the validation columns into a record, no snapshot
+    private static Object validationProjection() {
+        return Optional.of(new AccountValidationView(
+                new UUID(ACCOUNT_ID.getMostSignificantBits(), ACCOUNT_ID.getLeastSignificantBits()),
+                AccountStatus.valueOf(new String("ACTIVE")),
+                AccountType.valueOf(new String("CHECKING")),
+                new BigDecimal("5000.00"),
+                new BigDecimal("1250.50"),
+                false,
+                new BigDecimal("0.00")));
+    }
+}
@@ -4,6 +4,7 @@ import dev.dini.account.service.dto.*;
 import dev.dini.account.service.exception.AccountNotFoundException;
 import dev.dini.account.service.exception.InsufficientFundsException;
 import dev.dini.account.service.interest.InterestCalculationService;
+import dev.dini.account.service.interest.InterestPreviewService;
 import dev.dini.account.service.transaction.TransactionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,9 @@ class AccountServiceImplTest {
     @Mock
     private InterestCalculationService interestCalculationService;
 
+    @Mock
+    private InterestPreviewService interestPreviewService;
+
     @InjectMocks
     private AccountServiceImpl accountServiceImpl;
 
@@ -336,4 +340,20 @@ class AccountServiceImplTest {
         verify(interestCalculationService, times(1)).calculateInterest(request);
         assertEquals(response, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void previewInterestDelegatesToThePreviewService() {
+        // Given
+        InterestPreviewRequestDTO request = InterestPreviewRequestDTO.builder()
+                .customerId(UUID.randomUUID()).horizonDays(30).build();
+        InterestPreviewResponseDTO response = new InterestPreviewResponseDTO();
+        when(interestPreviewService.preview(request)).thenReturn(response);
+
+        // When
+        InterestPreviewResponseDTO result = accountServiceImpl.previewInterest(request);
+
+        // Then
+        assertEquals(response, result);
+        verifyNoInteractions(interestCalculationService);
+    }
+}
@@ -0,0 +1,98 @@
+package dev.dini.account.service.audit;
+
+import dev.dini.account.service.dto.AuditEventDTO;
+import dev.dini.account.service.dto.AuditEventPageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountAuditQueryServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AccountAuditQueryService accountAuditQueryService;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void firstPageOfAnAccountReadsOneRowMoreAndReturnsACursor() {
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of(
+                event(30, "2025-03-01T00:00"), event(20, "2025-02-01T00:00"), event(10, "2025-01-01T00:00")));
+
+        AuditEventPageDTO page = accountAuditQueryService.findEvents(accountId, null, null, null, null, null, 2);
+
+        assertEquals(List.of(30L, 20L), page.getEvents().stream().map(AuditEventDTO::getId).toList());
+        assertEquals(LocalDateTime.parse("2025-02-01T00:00"), page.getNextBeforeTimestamp());
+        assertEquals(20L, page.getNextBeforeId());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("account_id = :accountId"));
+        assertFalse(sql.getValue().contains(":from"));
+        assertTrue(sql.getValue().endsWith("ORDER BY occurred_at DESC, id DESC LIMIT :limit"));
+        assertEquals(3, params.getValue().getValue("limit"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filtersAndCursorBoundTheTimeRange() {
+        LocalDateTime from = LocalDateTime.parse("2025-01-01T00:00");
+        LocalDateTime to = LocalDateTime.parse("2025-04-01T00:00");
+        LocalDateTime cursor = LocalDateTime.parse("2025-02-01T00:00");
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of(event(10, "2025-01-01T00:00")));
+
+        AuditEventPageDTO page = accountAuditQueryService.findEvents(null, "Account Status", from, to, cursor, 20L, 2);
+
+        assertNull(page.getNextBeforeTimestamp());
+        assertNull(page.getNextBeforeId());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertFalse(sql.getValue().contains("account_id ="));
+        assertTrue(sql.getValue().contains("event = :event"));
+        assertTrue(sql.getValue().contains("occurred_at >= :from AND occurred_at < :to"));
+        assertTrue(sql.getValue().contains("(occurred_at, id) < (:beforeTimestamp, :beforeId)"));
+        assertEquals(Timestamp.valueOf(from), params.getValue().getValue("from"));
+        assertEquals(Timestamp.valueOf(cursor), params.getValue().getValue("beforeTimestamp"));
+    }
+
+    @Test
+    void invalidQueriesAreRejected() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class, () -> accountAuditQueryService.findEvents(accountId, null, null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> accountAuditQueryService.findEvents(accountId, null, null, null, null, null, 501));
+        assertThrows(IllegalArgumentException.class, () -> accountAuditQueryService.findEvents(accountId, null, null, null, now, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> accountAuditQueryService.findEvents(null, "Account Status", null, null, null, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> accountAuditQueryService.findEvents(null, null, now, now, null, null, 10));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private AuditEventDTO event(long id, String occurredAt) {
+        return new AuditEventDTO(id, accountId, "UPDATE_ACCOUNT", "Account updated", LocalDateTime.parse(occurredAt));
+    }
+}
@@ -0,0 +1,117 @@
+package dev.dini.account.service.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountAuditServiceTest {
+
+    @Mock
+    private AccountAuditWriter accountAuditWriter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountAuditService accountAuditService;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        // The writer thread is not started, the tests flush by hand
+        accountAuditService = new AccountAuditService(accountAuditWriter, meterRegistry, 4);
+        ReflectionTestUtils.setField(accountAuditService, "offerTimeoutMs", 1L);
+        ReflectionTestUtils.setField(accountAuditService, "retryBackoffMs", 0L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eventsAreWrittenInBatches() {
+        ReflectionTestUtils.setField(accountAuditService, "batchSize", 3);
+        accountAuditService.logAccountEvents(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()), "Account Status", "Frozen");
+        accountAuditService.logAccountEvent(accountId, "CREATE_ACCOUNT", "New account created");
+
+        assertEquals(3, accountAuditService.flush());
+        assertEquals(1, accountAuditService.flush());
+        assertEquals(0, accountAuditService.flush());
+
+        ArgumentCaptor<List<AccountAuditEntry>> batches = ArgumentCaptor.forClass(List.class);
+        verify(accountAuditWriter, times(2)).write(batches.capture());
+        assertEquals(accountId, batches.getAllValues().get(1).get(0).accountId());
+        assertEquals(4.0, meterRegistry.get("audit.events.written").counter().count());
+    }
+
+    @Test
+    void eventsOfATransactionAreBufferedOnlyWhenItCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            accountAuditService.logAccountEvent(accountId, "CREATE_ACCOUNT", "New account created");
+            assertEquals(0, accountAuditService.flush());
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, accountAuditService.flush());
+    }
+
+    @Test
+    void eventsBeyondAFullBufferAreDroppedAndCounted() {
+        for (int i = 0; i < 6; i++) {
+            accountAuditService.logAccountEvent(accountId, "UPDATE_ACCOUNT", "Account updated");
+        }
+
+        assertEquals(2.0, meterRegistry.get("audit.events.dropped").counter().count());
+        assertEquals(4.0, meterRegistry.get("audit.buffer.size").gauge().value());
+    }
+
+    @Test
+    void aBatchThatKeepsFailingIsDroppedAfterTheLastAttempt() {
+        doThrow(new IllegalStateException("database down")).when(accountAuditWriter).write(anyList());
+        accountAuditService.logAccountEvent(accountId, "UPDATE_ACCOUNT", "Account updated");
+
+        assertEquals(1, accountAuditService.flush());
+
+        verify(accountAuditWriter, times(3)).write(anyList());
+        assertEquals(1.0, meterRegistry.get("audit.events.dropped").counter().count());
+        assertEquals(0, accountAuditService.flush());
+    }
+
+    @Test
+    void aFailedWriteIsRetried() {
+        doThrow(new IllegalStateException("database down")).doNothing().when(accountAuditWriter).write(anyList());
+        accountAuditService.logAccountEvent(accountId, "UPDATE_ACCOUNT", "Account updated");
+
+        accountAuditService.flush();
+
+        verify(accountAuditWriter, times(2)).write(anyList());
+        assertEquals(1.0, meterRegistry.get("audit.events.written").counter().count());
+        assertEquals(0.0, meterRegistry.get("audit.events.dropped").counter().count());
+    }
+
+    @Test
+    void shutdownWritesWhatIsStillBuffered() throws Exception {
+        accountAuditService.start();
+        accountAuditService.logAccountEvent(accountId, "CREATE_ACCOUNT", "New account created");
+
+        accountAuditService.shutdown();
+
+        verify(accountAuditWriter).write(anyList());
+    }
+}
@@ -0,0 +1,61 @@
+package dev.dini.account.service.audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountAuditWriterTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AccountAuditWriter accountAuditWriter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        accountAuditWriter = new AccountAuditWriter(namedJdbcTemplate);
+    }
+
+    @Test
+    void writeInsertsTheBatchWithOneMultiRowStatement() {
+        UUID accountId = UUID.randomUUID();
+        LocalDateTime at = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+        accountAuditWriter.write(List.of(
+                new AccountAuditEntry(accountId, "CREATE_ACCOUNT", "New account created", at),
+                new AccountAuditEntry(UUID.randomUUID(), "UPDATE_ACCOUNT", "Account updated", at)));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(sql.capture(), args.capture());
+        assertTrue(sql.getValue().endsWith("VALUES (?, ?, ?, ?), (?, ?, ?, ?)"));
+        assertEquals(8, args.getValue().length);
+        assertEquals(accountId, args.getValue()[0]);
+        assertEquals(Timestamp.valueOf(at), args.getValue()[3]);
+    }
+
+    @Test
+    void writeWithoutEntriesWritesNothing() {
+        accountAuditWriter.write(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,107 @@
+package dev.dini.account.service.audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditPartitionMaintainerTest {
+
+    private static final YearMonth MARCH_2025 = YearMonth.of(2025, 3);
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet lockResult;
+
+    @Mock
+    private ResultSet partitions;
+
+    private AuditPartitionMaintainer auditPartitionMaintainer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> ((ConnectionCallback<?>) invocation.getArgument(0)).doInConnection(connection));
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(startsWith("SELECT pg_try_advisory_lock"))).thenReturn(lockResult);
+        when(statement.executeQuery(contains("pg_inherits"))).thenReturn(partitions);
+        when(lockResult.next()).thenReturn(true);
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        auditPartitionMaintainer = new AuditPartitionMaintainer(namedJdbcTemplate);
+        ReflectionTestUtils.setField(auditPartitionMaintainer, "monthsAhead", 2);
+        ReflectionTestUtils.setField(auditPartitionMaintainer, "retentionMonths", 12);
+    }
+
+    @Test
+    void createsMissingMonthsAheadAndDetachesExpiredOnes() throws SQLException {
+        when(partitions.next()).thenReturn(true, true, true, false);
+        when(partitions.getString(1)).thenReturn("account_audit_default", "account_audit_2024_03", "account_audit_2025_03");
+
+        auditPartitionMaintainer.maintain(MARCH_2025);
+
+        verify(statement, never()).execute(contains("account_audit_2025_03 PARTITION OF"));
+        verify(statement).execute("CREATE TABLE IF NOT EXISTS account_audit_2025_04 PARTITION OF account_audit"
+                + " FOR VALUES FROM ('2025-04-01') TO ('2025-05-01')");
+        verify(statement).execute(contains("account_audit_2025_05 PARTITION OF"));
+        verify(statement).execute("ALTER TABLE account_audit DETACH PARTITION account_audit_2024_03");
+        verify(statement, never()).execute(contains("DETACH PARTITION account_audit_default"));
+        verify(statement).execute(startsWith("SELECT pg_advisory_unlock"));
+    }
+
+    @Test
+    void aFailedStatementDoesNotStopTheOthers() throws SQLException {
+        when(partitions.next()).thenReturn(false);
+        when(statement.execute(contains("account_audit_2025_03 PARTITION OF"))).thenThrow(new SQLException("overlaps default"));
+
+        auditPartitionMaintainer.maintain(MARCH_2025);
+
+        verify(statement).execute(contains("account_audit_2025_05 PARTITION OF"));
+        verify(statement).execute(startsWith("SELECT pg_advisory_unlock"));
+    }
+
+    @Test
+    void doesNothingWhileAnotherInstanceHoldsTheLock() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(false);
+
+        auditPartitionMaintainer.maintain(MARCH_2025);
+
+        verify(statement, never()).executeQuery(contains("pg_inherits"));
+        verify(statement, never()).execute(anyString());
+    }
+
+    @Test
+    void partitionNamesRoundTrip() {
+        assertEquals("account_audit_2025_03", AuditPartitionMaintainer.partitionName(MARCH_2025));
+        assertEquals(Optional.of(MARCH_2025), AuditPartitionMaintainer.partitionMonth("account_audit_2025_03"));
+        assertEquals(Optional.empty(), AuditPartitionMaintainer.partitionMonth("account_audit_default"));
+    }
+}
@@ -0,0 +1,82 @@
+package dev.dini.account.service.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer(5).capacity());
+        assertEquals(8, new AuditRingBuffer(8).capacity());
+    }
+
+    @Test
+    void offerFailsWhenFullAndDrainFreesTheSlots() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(entry("e" + i)));
+        }
+        assertFalse(buffer.offer(entry("e4")));
+
+        List<AccountAuditEntry> drained = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(drained, 3));
+        assertEquals(List.of("e0", "e1", "e2"), drained.stream().map(AccountAuditEntry::event).toList());
+
+        assertTrue(buffer.offer(entry("e4")));
+        drained.clear();
+        assertEquals(2, buffer.drainTo(drained, 10));
+        assertEquals(List.of("e3", "e4"), drained.stream().map(AccountAuditEntry::event).toList());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void concurrentProducersLoseNothing() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    AccountAuditEntry entry = entry(producer + ":" + i);
+                    while (!buffer.offer(entry)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<String> seen = new HashSet<>();
+        List<AccountAuditEntry> batch = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            batch.clear();
+            buffer.drainTo(batch, 256);
+            for (AccountAuditEntry entry : batch) {
+                assertTrue(seen.add(entry.event()), "drained twice: " + entry.event());
+            }
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(0, buffer.size());
+    }
+
+    private static AccountAuditEntry entry(String event) {
+        return new AccountAuditEntry(UUID.randomUUID(), event, "details", LocalDateTime.now());
+    }
+}
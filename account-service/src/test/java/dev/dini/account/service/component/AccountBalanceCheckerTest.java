@@ -0,0 +1,130 @@
+package dev.dini.account.service.component;
+
+import dev.dini.account.service.account.Account;
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountBalanceCheckerTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private MeterRegistry meterRegistry;
+    private AccountBalanceCache accountBalanceCache;
+    private AccountBalanceChecker accountBalanceChecker;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        accountBalanceCache = new AccountBalanceCache(meterRegistry, 2, Duration.ofMinutes(1));
+        accountBalanceChecker = new AccountBalanceChecker(accountRepository, accountBalanceCache);
+        accountId = UUID.randomUUID();
+    }
+
+    @Test
+    void getAccountBalanceLoadsOnceThenServesFromCache() {
+        when(accountRepository.findTotalBalanceByAccountId(accountId)).thenReturn(Optional.of(BigDecimal.TEN));
+
+        assertEquals(BigDecimal.TEN, accountBalanceChecker.getAccountBalance(accountId));
+        assertEquals(BigDecimal.TEN, accountBalanceChecker.getAccountBalance(accountId));
+
+        verify(accountRepository, times(1)).findTotalBalanceByAccountId(accountId);
+        verify(accountRepository, never()).findById(any());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "account.balance").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "account.balance").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void getAccountBalanceDoesNotCacheUnknownAccounts() {
+        when(accountRepository.findTotalBalanceByAccountId(accountId)).thenReturn(Optional.empty());
+
+        assertEquals(BigDecimal.ZERO, accountBalanceChecker.getAccountBalance(accountId));
+        assertEquals(BigDecimal.ZERO, accountBalanceChecker.getAccountBalance(accountId));
+
+        verify(accountRepository, times(2)).findTotalBalanceByAccountId(accountId);
+    }
+
+    @Test
+    void updateAccountBalanceEvictsCachedBalance() {
+        Account account = new Account();
+        account.setAccountId(accountId);
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findTotalBalanceByAccountId(accountId))
+                .thenReturn(Optional.of(BigDecimal.TEN), Optional.of(BigDecimal.ONE));
+
+        accountBalanceChecker.getAccountBalance(accountId);
+        accountBalanceChecker.updateAccountBalance(accountId, BigDecimal.ONE);
+
+        assertEquals(BigDecimal.ONE, accountBalanceChecker.getAccountBalance(accountId));
+    }
+
+    @Test
+    void evictInsideTransactionEvictsAgainAfterCompletion() {
+        when(accountRepository.findTotalBalanceByAccountId(accountId))
+                .thenReturn(Optional.of(BigDecimal.TEN), Optional.of(BigDecimal.ONE));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            accountBalanceCache.evict(accountId);
+            // A concurrent reader caches the balance that is still committed
+            accountBalanceChecker.getAccountBalance(accountId);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(BigDecimal.ONE, accountBalanceChecker.getAccountBalance(accountId));
+    }
+
+    @Test
+    void cacheIsBoundedAndCountsEvictions() {
+        for (int i = 0; i < 50; i++) {
+            UUID id = UUID.randomUUID();
+            when(accountRepository.findTotalBalanceByAccountId(id)).thenReturn(Optional.of(BigDecimal.ONE));
+            accountBalanceChecker.getAccountBalance(id);
+        }
+        accountBalanceCache.cleanUp();
+
+        assertTrue(meterRegistry.get("cache.size").tag("cache", "account.balance").gauge().value() <= 2);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "account.balance").functionCounter().count() > 0);
+    }
+
+    @Test
+    void hasSufficientBalanceReadsMainBalanceWithoutLoadingAccount() {
+        when(accountRepository.findBalanceByAccountId(accountId)).thenReturn(Optional.of(BigDecimal.TEN));
+
+        assertTrue(accountBalanceChecker.hasSufficientBalance(accountId, BigDecimal.ONE));
+        assertFalse(accountBalanceChecker.hasSufficientBalance(accountId, BigDecimal.valueOf(11)));
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    void hasSufficientBalanceThrowsForUnknownAccount() {
+        when(accountRepository.findBalanceByAccountId(accountId)).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> accountBalanceChecker.hasSufficientBalance(accountId, BigDecimal.ONE));
+    }
+}
@@ -0,0 +1,138 @@
+package dev.dini.account.service.component;
+
+import dev.dini.account.service.account.AccountType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class AccountNumberGeneratorTest {
+
+    @Mock
+    private AccountNumberBlockAllocator accountNumberBlockAllocator;
+
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        accountNumberGenerator = new AccountNumberGenerator(accountNumberBlockAllocator);
+        ReflectionTestUtils.setField(accountNumberGenerator, "blockSize", 10);
+    }
+
+    @Test
+    void checkDigitIsTheLuhnDigit() {
+        assertEquals(3, AccountNumberGenerator.checkDigit(7992739871L));
+        assertEquals(AccountNumberGenerator.checkDigit(417100023L), Character.getNumericValue(
+                AccountNumberGenerator.format("S", 417, 100023).charAt(13)));
+        assertEquals("S-417-100023-" + AccountNumberGenerator.checkDigit(417100023L),
+                AccountNumberGenerator.format("S", 417, 100023));
+    }
+
+    @Test
+    void numbersComeFromReservedBlocksWithOneReservationPerBlock() {
+        when(accountNumberBlockAllocator.reserve(anyInt(), eq(AccountNumberGenerator.FIRST_SERIAL), eq(10)))
+                .thenReturn(100_010L, 100_020L);
+
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 15; i++) {
+            String number = accountNumberGenerator.generateUniqueAccountNumber(AccountType.CHECKING);
+            assertTrue(number.startsWith("C-"), number);
+            assertTrue(hasValidCheckDigit(number), number);
+            numbers.add(number.substring(2));
+        }
+
+        assertEquals(15, numbers.size());
+        verify(accountNumberBlockAllocator, times(2)).reserve(anyInt(), anyLong(), anyInt());
+    }
+
+    @Test
+    void exhaustedBranchesAreSkipped() {
+        when(accountNumberBlockAllocator.reserve(anyInt(), anyLong(), anyInt()))
+                .thenReturn(AccountNumberGenerator.SERIAL_LIMIT + 10, AccountNumberGenerator.SERIAL_LIMIT + 5);
+
+        String number = accountNumberGenerator.generateUniqueAccountNumber(AccountType.SAVINGS);
+
+        // The second branch still had 5 serials below the limit
+        assertTrue(number.contains("-999995-"), number);
+        verify(accountNumberBlockAllocator, times(2)).reserve(anyInt(), anyLong(), anyInt());
+    }
+
+    @Test
+    void noBranchWithSerialsLeftIsAnError() {
+        ReflectionTestUtils.setField(accountNumberGenerator, "maxBranchAttempts", 3);
+        when(accountNumberBlockAllocator.reserve(anyInt(), anyLong(), anyInt())).thenReturn(AccountNumberGenerator.SERIAL_LIMIT + 10);
+
+        assertThrows(IllegalStateException.class, () -> accountNumberGenerator.generateUniqueAccountNumber(AccountType.SAVINGS));
+        verify(accountNumberBlockAllocator, times(3)).reserve(anyInt(), anyLong(), anyInt());
+    }
+
+    @Test
+    void skipPastAdvancesTheBranchesOfKeptNumbers() {
+        accountNumberGenerator.skipPast(List.of("S-417-100023-7", "C-417-100500-1", "B-120-999998-0", "LEGACY-42"));
+
+        verify(accountNumberBlockAllocator).advance(Map.of(417, 100_501L, 120, 999_999L));
+    }
+
+    @Test
+    void skipPastDropsTheCurrentBlockWhenAKeptNumberMayBeInIt() {
+        when(accountNumberBlockAllocator.reserve(anyInt(), anyLong(), anyInt())).thenReturn(100_010L, 100_030L);
+        String first = accountNumberGenerator.generateUniqueAccountNumber(AccountType.SAVINGS);
+        String branch = first.split("-")[1];
+
+        accountNumberGenerator.skipPast(List.of("S-" + branch + "-100005-0"));
+        String next = accountNumberGenerator.generateUniqueAccountNumber(AccountType.SAVINGS);
+
+        assertTrue(next.contains("-100020-"), next);
+        verify(accountNumberBlockAllocator, times(2)).reserve(anyInt(), anyLong(), anyInt());
+    }
+
+    @Test
+    void skipPastIgnoresNumbersItCannotGenerate() {
+        accountNumberGenerator.skipPast(List.of("ACC-0001", ""));
+
+        verifyNoInteractions(accountNumberBlockAllocator);
+    }
+
+    @Test
+    void skipBlockReservesANewBlock() {
+        when(accountNumberBlockAllocator.reserve(anyInt(), anyLong(), anyInt())).thenReturn(100_010L, 100_020L);
+        accountNumberGenerator.generateUniqueAccountNumber(AccountType.CHECKING);
+
+        accountNumberGenerator.skipBlock();
+        String next = accountNumberGenerator.generateUniqueAccountNumber(AccountType.CHECKING);
+
+        assertTrue(next.contains("-100010-"), next);
+        verify(accountNumberBlockAllocator, times(2)).reserve(anyInt(), anyLong(), anyInt());
+    }
+
+    // Luhn validation over the digits of the number, check digit included
+    private static boolean hasValidCheckDigit(String accountNumber) {
+        int sum = 0;
+        boolean doubled = false;
+        for (int i = accountNumber.length() - 1; i >= 0; i--) {
+            char c = accountNumber.charAt(i);
+            if (!Character.isDigit(c)) {
+                continue;
+            }
+            int n = c - '0';
+            if (doubled) {
+                n = n * 2 > 9 ? n * 2 - 9 : n * 2;
+            }
+            sum += n;
+            doubled = !doubled;
+        }
+        return sum % 10 == 0;
+    }
+}
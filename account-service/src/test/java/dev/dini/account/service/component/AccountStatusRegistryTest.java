@@ -0,0 +1,127 @@
+package dev.dini.account.service.component;
+
+import dev.dini.account.service.account.AccountStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountStatusRegistryTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountStatusRegistry accountStatusRegistry;
+
+    private final UUID frozen = UUID.randomUUID();
+    private final UUID locked = UUID.randomUUID();
+    private final UUID closed = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        meterRegistry = new SimpleMeterRegistry();
+        accountStatusRegistry = new AccountStatusRegistry(namedJdbcTemplate, meterRegistry);
+    }
+
+    @Test
+    void reloadKeepsOnlyFrozenAndLockedAccounts() throws Exception {
+        givenInactiveAccounts(frozen, AccountStatus.FROZEN, locked, AccountStatus.LOCKED);
+
+        accountStatusRegistry.reload();
+
+        assertTrue(accountStatusRegistry.isLoaded());
+        assertEquals(Optional.of(AccountStatus.FROZEN), accountStatusRegistry.inactiveStatus(frozen));
+        assertEquals(Optional.of(AccountStatus.LOCKED), accountStatusRegistry.inactiveStatus(locked));
+        assertFalse(accountStatusRegistry.isInactive(UUID.randomUUID()));
+        assertEquals(2.0, meterRegistry.get("account.status.inactive").gauge().value());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowCallbackHandler.class));
+        assertTrue(sql.getValue().contains("IN ('FROZEN', 'LOCKED')"), sql.getValue());
+    }
+
+    @Test
+    void closedAccountsAreNotKept() {
+        accountStatusRegistry.statusChanged(closed, AccountStatus.FROZEN);
+        accountStatusRegistry.statusChanged(closed, AccountStatus.CLOSED);
+
+        assertFalse(accountStatusRegistry.isInactive(closed));
+        assertEquals(Optional.empty(), accountStatusRegistry.inactiveStatus(closed));
+    }
+
+    @Test
+    void statusChangesApplyOnlyWhenTheyCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            accountStatusRegistry.statusChanged(frozen, AccountStatus.FROZEN);
+            assertFalse(accountStatusRegistry.isInactive(frozen));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(accountStatusRegistry.isInactive(frozen));
+        accountStatusRegistry.statusChanged(List.of(frozen), AccountStatus.ACTIVE);
+        assertFalse(accountStatusRegistry.isInactive(frozen));
+    }
+
+    @Test
+    void aReloadThatReadTheTableBeforeALocalChangeDoesNotUndoIt() throws Exception {
+        UUID unfrozen = UUID.randomUUID();
+        ResultSet unfrozenRow = row(unfrozen, AccountStatus.FROZEN);
+        doAnswer(invocation -> {
+            // The table is read, then both changes commit before the reload swaps its map in
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(unfrozenRow);
+            accountStatusRegistry.statusChanged(frozen, AccountStatus.FROZEN);
+            accountStatusRegistry.statusChanged(unfrozen, AccountStatus.ACTIVE);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        accountStatusRegistry.reload();
+
+        assertTrue(accountStatusRegistry.isInactive(frozen));
+        assertFalse(accountStatusRegistry.isInactive(unfrozen));
+    }
+
+    private void givenInactiveAccounts(UUID first, AccountStatus firstStatus, UUID second, AccountStatus secondStatus) throws Exception {
+        ResultSet firstRow = row(first, firstStatus);
+        ResultSet secondRow = row(second, secondStatus);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(firstRow);
+            handler.processRow(secondRow);
+            return null;
+        }).when(jdbcTemplate).query(contains("status IN ('FROZEN', 'LOCKED')"), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet row(UUID accountId, AccountStatus status) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("account_id", UUID.class)).thenReturn(accountId);
+        when(rs.getString("status")).thenReturn(status.name());
+        return rs;
+    }
+}
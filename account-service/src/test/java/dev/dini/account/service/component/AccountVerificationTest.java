@@ -0,0 +1,76 @@
+package dev.dini.account.service.component;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.exception.AccountInactiveException;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import dev.dini.account.service.exception.InvalidAccountTypeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AccountVerificationTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountVerification accountVerification;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        accountId = UUID.randomUUID();
+    }
+
+    @Test
+    void isAccountActiveReadsStatusProjection() {
+        when(accountRepository.findStatusByAccountId(accountId)).thenReturn(Optional.of(AccountStatus.ACTIVE));
+
+        assertTrue(accountVerification.isAccountActive(accountId));
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    void verifyAccountActiveThrowsForFrozenAccount() {
+        when(accountRepository.findStatusByAccountId(accountId)).thenReturn(Optional.of(AccountStatus.FROZEN));
+
+        assertThrows(AccountInactiveException.class, () -> accountVerification.verifyAccountActive(accountId));
+    }
+
+    @Test
+    void verifyAccountTypeReadsTypeProjection() {
+        when(accountRepository.findAccountTypeByAccountId(accountId)).thenReturn(Optional.of(AccountType.CHECKING));
+
+        accountVerification.verifyAccountType(accountId, AccountType.CHECKING);
+        assertThrows(InvalidAccountTypeException.class,
+                () -> accountVerification.verifyAccountType(accountId, AccountType.SAVINGS));
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    void verifyAccountExistsThrowsForUnknownAccount() {
+        when(accountRepository.existsById(accountId)).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class, () -> accountVerification.verifyAccountExists(accountId));
+    }
+
+    @Test
+    void isAccountActiveThrowsForUnknownAccount() {
+        when(accountRepository.findStatusByAccountId(accountId)).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> accountVerification.isAccountActive(accountId));
+    }
+}
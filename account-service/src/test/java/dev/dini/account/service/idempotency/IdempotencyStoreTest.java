@@ -0,0 +1,165 @@
+package dev.dini.account.service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private MeterRegistry meterRegistry;
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyStore = new IdempotencyStore(repository, new ObjectMapper(), meterRegistry, Duration.ofHours(24), 100);
+    }
+
+    @Test
+    void execute_withoutKey_runsActionWithoutTouchingStore() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<Void> response = idempotencyStore.execute("account-transfer", null, "a|b|10", Void.class, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok().build();
+        });
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, calls.get());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void execute_repeatedKey_replaysFromCacheWithoutRunningActionAgain() {
+        when(repository.reserve(eq("account-transfer:k1"), anyString(), any(), any())).thenReturn(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<Map> response = idempotencyStore.execute("account-transfer", "k1", "a|b|10", Map.class, () -> {
+                calls.incrementAndGet();
+                return ResponseEntity.ok(Map.of("applied", true));
+            });
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(Map.of("applied", true), response.getBody());
+        }
+
+        assertEquals(1, calls.get());
+        verify(repository).complete(eq("account-transfer:k1"), eq(200), eq("{\"applied\":true}"));
+        assertEquals(2.0, meterRegistry.counter("idempotency.requests", "outcome", "cache_hit").count());
+    }
+
+    @Test
+    void execute_keyCompletedByAnotherInstance_replaysFromTable() {
+        when(repository.reserve(anyString(), anyString(), any(), any())).thenReturn(0);
+        when(repository.deleteIfExpired(anyString(), any())).thenReturn(0);
+        String fingerprint = storedFingerprint("a|b|10");
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey("account-transfer:k1");
+        record.setRequestFingerprint(fingerprint);
+        record.setStatus(IdempotencyStatus.COMPLETED);
+        record.setResponseStatus(200);
+        when(repository.findById("account-transfer:k1")).thenReturn(Optional.of(record));
+
+        ResponseEntity<Void> response = idempotencyStore.execute("account-transfer", "k1", "a|b|10", Void.class,
+                () -> fail("action must not run for a completed key"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_keyStillInProgress_returnsConflict() {
+        when(repository.reserve(anyString(), anyString(), any(), any())).thenReturn(0);
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        when(repository.findById("account-transfer:k1")).thenReturn(Optional.of(record));
+
+        ResponseEntity<Void> response = idempotencyStore.execute("account-transfer", "k1", "a|b|10", Void.class,
+                () -> fail("action must not run while the key is in progress"));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void execute_keyReusedForDifferentRequest_returnsUnprocessableEntity() {
+        when(repository.reserve(anyString(), anyString(), any(), any())).thenReturn(1);
+        idempotencyStore.execute("account-transfer", "k1", "a|b|10", Void.class, () -> ResponseEntity.ok().build());
+
+        ResponseEntity<Void> response = idempotencyStore.execute("account-transfer", "k1", "a|b|99", Void.class,
+                () -> fail("action must not run for a reused key"));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+    }
+
+    @Test
+    void execute_actionFails_releasesKeySoClientCanRetry() {
+        when(repository.reserve(anyString(), anyString(), any(), any())).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute("account-transfer", "k1", "a|b|10",
+                Void.class, () -> {
+                    throw new IllegalStateException("Insufficient funds");
+                }));
+
+        verify(repository).release("account-transfer:k1");
+        verify(repository, never()).complete(anyString(), anyInt(), any());
+    }
+
+    @Test
+    void execute_expiredKeyNotYetPurged_isReservedAgain() {
+        when(repository.reserve(anyString(), anyString(), any(), any())).thenReturn(0, 1);
+        when(repository.deleteIfExpired(eq("account-transfer:k1"), any(LocalDateTime.class))).thenReturn(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyStore.execute("account-transfer", "k1", "a|b|10", Void.class, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok().build();
+        });
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.counter("idempotency.keys.expired").count());
+    }
+
+    @Test
+    void purgeExpired_countsRemovedKeys() {
+        when(repository.deleteExpired(any(LocalDateTime.class))).thenReturn(5);
+
+        idempotencyStore.purgeExpired();
+
+        assertEquals(5.0, meterRegistry.counter("idempotency.keys.expired").count());
+    }
+
+    private String storedFingerprint(String request) {
+        String[] captured = new String[1];
+        IdempotencyRecordRepository capturing = mock(IdempotencyRecordRepository.class);
+        when(capturing.reserve(anyString(), anyString(), any(), any())).thenAnswer(invocation -> {
+            captured[0] = invocation.getArgument(1);
+            return 1;
+        });
+        new IdempotencyStore(capturing, new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofHours(1), 10)
+                .execute("scope", "key", request, Void.class, () -> ResponseEntity.ok().build());
+        return captured[0];
+    }
+}
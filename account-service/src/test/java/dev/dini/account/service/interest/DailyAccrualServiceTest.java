@@ -0,0 +1,124 @@
+package dev.dini.account.service.interest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DailyAccrualServiceTest {
+
+    private static final InterestRateTable RATES = InterestRateTable.parse("SAVINGS:0=0.03");
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private InterestAccrualProcessor interestAccrualProcessor;
+
+    @Mock
+    private InterestAccrualWatermarkRepository watermarkRepository;
+
+    @Mock
+    private InterestRateProvider interestRateProvider;
+
+    private MeterRegistry meterRegistry;
+    private DailyAccrualService dailyAccrualService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        dailyAccrualService = new DailyAccrualService(interestAccrualProcessor, watermarkRepository, interestRateProvider, meterRegistry);
+        ReflectionTestUtils.setField(dailyAccrualService, "partitions", 2);
+        when(interestRateProvider.current()).thenReturn(RATES);
+        when(watermarkRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(interestAccrualProcessor.accrueChunk(any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(new InterestAccrualProcessor.ChunkResult(0, null, true));
+    }
+
+    @Test
+    void firstPassRepricesEveryPartitionInFullAndRecordsWatermarks() {
+        LocalDateTime before = LocalDateTime.now();
+
+        DailyAccrualService.AccrualSummary summary = dailyAccrualService.accrue(TODAY);
+
+        assertEquals(0, summary.failedPartitions());
+        verify(interestAccrualProcessor, times(2)).accrueChunk(any(), isNull(), isNull(), eq(RATES), eq(TODAY), anyInt());
+        ArgumentCaptor<InterestAccrualWatermark> saved = ArgumentCaptor.forClass(InterestAccrualWatermark.class);
+        verify(watermarkRepository, times(2)).save(saved.capture());
+        for (InterestAccrualWatermark watermark : saved.getAllValues()) {
+            assertFalse(watermark.getLastUpdatedAt().isBefore(before));
+            assertEquals(RATES.fingerprint(), watermark.getRatesFingerprint());
+        }
+        assertEquals(2, meterRegistry.get("interest.accrual.partition").timer().count());
+    }
+
+    @Test
+    void laterPassesOnlyReadAccountsChangedSinceTheWatermark() {
+        LocalDateTime last = LocalDateTime.of(2025, 3, 9, 0, 15);
+        when(watermarkRepository.findById(anyInt())).thenAnswer(invocation -> Optional.of(watermark(invocation.getArgument(0), last, RATES.fingerprint())));
+        UUID next = UUID.randomUUID();
+        when(interestAccrualProcessor.accrueChunk(any(), isNull(), any(), any(), any(), anyInt()))
+                .thenReturn(new InterestAccrualProcessor.ChunkResult(1000, next, false));
+        when(interestAccrualProcessor.accrueChunk(any(), eq(next), any(), any(), any(), anyInt()))
+                .thenReturn(new InterestAccrualProcessor.ChunkResult(10, next, true));
+
+        DailyAccrualService.AccrualSummary summary = dailyAccrualService.accrue(TODAY);
+
+        assertEquals(2020, summary.accountsRepriced());
+        verify(interestAccrualProcessor, times(2)).accrueChunk(any(), isNull(), eq(last.minusMinutes(5)), eq(RATES), eq(TODAY), anyInt());
+        verify(interestAccrualProcessor, never()).stopUnrated(any(), any(), any());
+        assertEquals(2020.0, meterRegistry.get("interest.accrual.accounts").counter().count());
+    }
+
+    @Test
+    void rateChangeForcesAFullPass() {
+        LocalDateTime last = LocalDateTime.of(2025, 3, 9, 0, 15);
+        int oldFingerprint = InterestRateTable.parse("SAVINGS:0=0.02").fingerprint();
+        when(watermarkRepository.findById(anyInt())).thenAnswer(invocation -> Optional.of(watermark(invocation.getArgument(0), last, oldFingerprint)));
+
+        dailyAccrualService.accrue(TODAY);
+
+        verify(interestAccrualProcessor, times(2)).accrueChunk(any(), isNull(), isNull(), any(), any(), anyInt());
+        verify(interestAccrualProcessor, times(2)).stopUnrated(any(), eq(RATES), eq(TODAY));
+    }
+
+    @Test
+    void failedPartitionKeepsItsWatermark() {
+        when(interestAccrualProcessor.accrueChunk(any(), any(), any(), any(), any(), anyInt()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(new InterestAccrualProcessor.ChunkResult(0, null, true));
+
+        DailyAccrualService.AccrualSummary summary = dailyAccrualService.accrue(TODAY);
+
+        assertEquals(1, summary.failedPartitions());
+        verify(watermarkRepository, times(1)).save(any());
+    }
+
+    @Test
+    void scheduledPassOnlyRunsInAccruedMode() {
+        dailyAccrualService.accrueDaily();
+        verifyNoInteractions(interestAccrualProcessor);
+
+        ReflectionTestUtils.setField(dailyAccrualService, "postingMode", InterestPostingMode.ACCRUED);
+        dailyAccrualService.accrueDaily();
+        verify(interestAccrualProcessor, times(2)).accrueChunk(any(), any(), any(), any(), eq(LocalDate.now()), anyInt());
+    }
+
+    private static InterestAccrualWatermark watermark(int partitionNo, LocalDateTime lastUpdatedAt, int fingerprint) {
+        InterestAccrualWatermark watermark = new InterestAccrualWatermark(partitionNo);
+        watermark.setLastUpdatedAt(lastUpdatedAt);
+        watermark.setRatesFingerprint(fingerprint);
+        return watermark;
+    }
+}
@@ -0,0 +1,128 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InterestAccrualProcessorTest {
+
+    private static final InterestRateTable RATES = InterestRateTable.parse("SAVINGS:0=0.0365");
+    private static final AccountIdRange RANGE = new AccountIdRange(new UUID(0L, 0L), null);
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private InterestAccrualProcessor interestAccrualProcessor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        interestAccrualProcessor = new InterestAccrualProcessor(namedJdbcTemplate);
+    }
+
+    @Test
+    void dailyInterestIsActualOver365() {
+        assertEquals(0, new BigDecimal("0.1").compareTo(InterestAccrualProcessor.dailyInterest(new BigDecimal("1000"), new BigDecimal("0.0365"))));
+        assertEquals(0, BigDecimal.ZERO.compareTo(InterestAccrualProcessor.dailyInterest(new BigDecimal("-1000"), new BigDecimal("0.0365"))));
+        assertEquals(10, InterestAccrualProcessor.dailyInterest(new BigDecimal("1234.56"), new BigDecimal("0.03")).scale());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void accrueChunkUpsertsTheNewDailyAmountOfEveryChangedAccount() throws Exception {
+        UUID first = new UUID(1L, 1L);
+        UUID second = new UUID(2L, 2L);
+        page(List.of(first, second), List.of(new BigDecimal("1000"), new BigDecimal("2000")));
+
+        InterestAccrualProcessor.ChunkResult result = interestAccrualProcessor.accrueChunk(
+                RANGE, null, LocalDateTime.of(2025, 3, 9, 0, 15), RATES, TODAY, 2);
+
+        assertEquals(new InterestAccrualProcessor.ChunkResult(2, second, false), result);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT (account_id) DO UPDATE"), rows.capture());
+        assertEquals(first, rows.getValue().get(0)[0]);
+        assertEquals(0, new BigDecimal("0.1").compareTo((BigDecimal) rows.getValue().get(0)[1]));
+        assertEquals(0, new BigDecimal("0.2").compareTo((BigDecimal) rows.getValue().get(1)[1]));
+        assertEquals(Date.valueOf(TODAY), rows.getValue().get(0)[2]);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(namedJdbcTemplate).query(sql.capture(), any(SqlParameterSource.class), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("(a.updated_at > :since OR a.balance_stripes > 0)"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void accrueChunkReadsTheWholeRangeWithoutAWatermark() throws Exception {
+        page(List.of(), List.of());
+
+        InterestAccrualProcessor.ChunkResult result = interestAccrualProcessor.accrueChunk(RANGE, null, null, RATES, TODAY, 100);
+
+        assertTrue(result.completed());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedJdbcTemplate).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertFalse(sql.getValue().contains(":since"));
+        assertFalse(sql.getValue().contains(":end"));
+        assertEquals(List.of("SAVINGS"), params.getValue().getValue("types"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void stopUnratedSettlesAndStopsAccrualsOfTypesWithoutARate() {
+        AccountIdRange range = new AccountIdRange(new UUID(0L, 0L), new UUID(Long.MIN_VALUE, 0L));
+        when(namedJdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(3);
+
+        assertEquals(3, interestAccrualProcessor.stopUnrated(range, RATES, TODAY));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedJdbcTemplate).update(sql.capture(), params.capture());
+        assertTrue(sql.getValue().contains("daily_amount = 0"));
+        assertTrue(sql.getValue().contains("a.account_type NOT IN (:types)"));
+        assertTrue(sql.getValue().contains("i.account_id < :end"));
+        assertEquals(List.of("SAVINGS"), params.getValue().getValue("types"));
+        assertEquals(Date.valueOf(TODAY), params.getValue().getValue("accrualDate"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void page(List<UUID> accountIds, List<BigDecimal> balances) throws Exception {
+        int[] row = {0};
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getObject("account_id", UUID.class)).thenAnswer(invocation -> accountIds.get(row[0]));
+        when(resultSet.getString("account_type")).thenReturn(AccountType.SAVINGS.name());
+        when(resultSet.getBigDecimal("balance")).thenAnswer(invocation -> balances.get(row[0]));
+        when(namedJdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(2);
+            List<Object> rows = new ArrayList<>();
+            for (row[0] = 0; row[0] < accountIds.size(); row[0]++) {
+                rows.add(mapper.mapRow(resultSet, row[0]));
+            }
+            return rows;
+        });
+    }
+}
@@ -3,17 +3,21 @@ package dev.dini.account.service.interest;
 import dev.dini.account.service.account.Account;
 import dev.dini.account.service.account.AccountRepository;
 import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.component.AccountBalanceCache;
 import dev.dini.account.service.dto.InterestCalculationRequestDTO;
 import dev.dini.account.service.dto.InterestCalculationResponseDTO;
 import dev.dini.account.service.exception.AccountNotFoundException;
-import dev.dini.account.service.notification.AccountNotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,11 +31,20 @@ class InterestCalculationServiceTest {
     private AccountRepository accountRepository;
 
     @Mock
-    private AccountNotificationService accountNotificationService;
+    private InterestRunService interestRunService;
+
+    @Mock
+    private InterestRateProvider interestRateProvider;
 
     @Mock
     private InterestHistoryRepository interestHistoryRepository;
 
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
+
+    @Mock
+    private InterestHistoryRollupWriter interestHistoryRollupWriter;
+
     @InjectMocks
     private InterestCalculationService interestCalculationService;
 
@@ -46,6 +59,11 @@ class InterestCalculationServiceTest {
         account.setAccountId(accountId);
         account.setBalance(BigDecimal.valueOf(1000));
         account.setAccountType(AccountType.SAVINGS);
+
+        InterestRateTable rates = InterestRateTable.parse("SAVINGS:0=0.03|10000=0.05,CHECKING:0=0.01");
+        when(interestRateProvider.current()).thenReturn(rates);
+        when(interestRateProvider.rateFor(any(), any()))
+                .thenAnswer(invocation -> rates.rateFor(invocation.getArgument(0), invocation.getArgument(1)));
     }
 
     @Test
@@ -57,6 +75,7 @@ class InterestCalculationServiceTest {
 
         verify(accountRepository).save(account);
         assertEquals(0, BigDecimal.valueOf(30.00).compareTo(response.getInterestAmount()));
+        verify(accountBalanceCache).evict(accountId);
     }
 
     @Test
@@ -69,12 +88,65 @@ class InterestCalculationServiceTest {
 
     @Test
     void applyInterestSuccessfully() {
-        when(accountRepository.findByAccountType(AccountType.SAVINGS)).thenReturn(List.of(account));
+        when(interestRunService.run(anyString(), any())).thenReturn(new InterestRunService.RunSummary("run", 1, 1, 0));
 
         interestCalculationService.applyInterest();
 
-        verify(accountRepository).save(account);
-        verify(accountNotificationService).sendInterestAppliedNotification(eq(account), any(BigDecimal.class));
+        verify(interestRunService).run(YearMonth.now().toString(), interestRateProvider.current());
+        verify(accountRepository, never()).findByAccountType(any());
+    }
+
+    @Test
+    void applyInterestUsesSetBasedPostingWhenConfigured() {
+        ReflectionTestUtils.setField(interestCalculationService, "postingMode", InterestPostingMode.SET_BASED);
+        when(interestRunService.runSetBased(anyString(), anyList())).thenReturn(new InterestRunService.RunSummary("run", 1, 1, 0));
+
+        interestCalculationService.applyInterest();
+
+        verify(interestRunService).runSetBased(YearMonth.now().toString(), interestRateProvider.current().tiers());
+        verify(interestRunService, never()).run(anyString(), any());
+    }
+
+    @Test
+    void applyInterestPostsAccrualsUpToTheFirstOfTheMonthInAccruedMode() {
+        ReflectionTestUtils.setField(interestCalculationService, "postingMode", InterestPostingMode.ACCRUED);
+        when(interestRunService.runAccrued(anyString(), any())).thenReturn(new InterestRunService.RunSummary("run", 1, 1, 0));
+
+        interestCalculationService.applyInterest();
+
+        verify(interestRunService).runAccrued(YearMonth.now().toString(), LocalDate.now().withDayOfMonth(1));
+        verify(interestRunService, never()).run(anyString(), any());
+    }
+
+    @Test
+    void resumeIncompleteRunsFinishesEveryRunLeftWithUnfinishedRanges() {
+        when(interestRunService.incompleteRunIds()).thenReturn(List.of("2025-01", "2025-02"));
+        when(interestRunService.run(anyString(), any())).thenReturn(new InterestRunService.RunSummary("run", 1, 1, 0));
+
+        interestCalculationService.resumeIncompleteRuns();
+
+        verify(interestRunService).run("2025-01", interestRateProvider.current());
+        verify(interestRunService).run("2025-02", interestRateProvider.current());
+    }
+
+    @Test
+    void resumeIncompleteRunsDoesNothingWhenEveryRunIsComplete() {
+        when(interestRunService.incompleteRunIds()).thenReturn(List.of());
+
+        interestCalculationService.resumeIncompleteRuns();
+
+        verify(interestRunService, never()).run(anyString(), any());
+    }
+
+    @Test
+    void calculateInterestUsesTheRateOfTheBalanceTier() {
+        account.setBalance(BigDecimal.valueOf(20000));
+        InterestCalculationRequestDTO request = new InterestCalculationRequestDTO(accountId);
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+
+        InterestCalculationResponseDTO response = interestCalculationService.calculateInterest(request);
+
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(response.getInterestAmount()));
     }
 
     @Test
@@ -84,6 +156,7 @@ class InterestCalculationServiceTest {
         interestCalculationService.logInterestHistory(account, interestAmount);
 
         verify(interestHistoryRepository).save(any(InterestHistory.class));
+        verify(interestHistoryRollupWriter).addAll(eq(List.of(new InterestChunkProcessor.Credit(accountId, interestAmount))), any(LocalDateTime.class));
     }
 
     @Test
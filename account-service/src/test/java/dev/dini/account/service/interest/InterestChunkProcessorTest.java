@@ -0,0 +1,154 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.component.AccountBalanceCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InterestChunkProcessorTest {
+
+    private static final BigDecimal RATE = new BigDecimal("0.12");
+    private static final InterestRateTable RATES = InterestRateTable.of(List.of(
+            new InterestRateTier(AccountType.SAVINGS, BigDecimal.ZERO, null, RATE),
+            new InterestRateTier(AccountType.CHECKING, BigDecimal.ZERO, null, new BigDecimal("0.06"))));
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
+
+    @Mock
+    private InterestHistoryRollupWriter interestHistoryRollupWriter;
+
+    private InterestChunkProcessor interestChunkProcessor;
+    private InterestRunCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        interestChunkProcessor = new InterestChunkProcessor(namedJdbcTemplate, accountBalanceCache, interestHistoryRollupWriter);
+        checkpoint = new InterestRunCheckpoint("2025-01", 0, new UUID(0L, 0L), new UUID(Long.MIN_VALUE, 0L));
+        checkpoint.setOwner("worker-1");
+    }
+
+    @Test
+    void monthlyInterestIsATwelfthOfTheAnnualRate() {
+        assertEquals(0, new BigDecimal("10.00").compareTo(InterestChunkProcessor.monthlyInterest(new BigDecimal("1000.00"), RATE)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(InterestChunkProcessor.monthlyInterest(new BigDecimal("-50.00"), RATE)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(InterestChunkProcessor.monthlyInterest(null, RATE)));
+    }
+
+    @Test
+    void monthlyInterestIsRoundedToTheCentHalfToEven() {
+        assertEquals(new BigDecimal("10.00"), InterestChunkProcessor.monthlyInterest(new BigDecimal("1000.50"), RATE));
+        assertEquals(new BigDecimal("10.02"), InterestChunkProcessor.monthlyInterest(new BigDecimal("1001.50"), RATE));
+        assertEquals(new BigDecimal("0.00"), InterestChunkProcessor.monthlyInterest(new BigDecimal("0.40"), RATE));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyChunkBatchesUpdatesAndHistoryAndAdvancesTheCheckpoint() throws Exception {
+        UUID first = new UUID(1L, 1L);
+        UUID second = new UUID(2L, 2L);
+        UUID empty = new UUID(3L, 3L);
+        page(List.of(first, second, empty), List.of(new BigDecimal("1000.00"), new BigDecimal("500.00"), BigDecimal.ZERO));
+        when(namedJdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+
+        InterestChunkProcessor.ChunkResult result = interestChunkProcessor.applyChunk(checkpoint, 3, RATES, Duration.ofMinutes(5));
+
+        assertEquals(3, result.read());
+        assertFalse(result.completed());
+        assertEquals(List.of(first, second), result.credits().stream().map(InterestChunkProcessor.Credit::accountId).toList());
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("UPDATE accounts"), updates.capture());
+        assertEquals(2, updates.getValue().size());
+        ArgumentCaptor<List<Object[]>> history = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO interest_history"), history.capture());
+        assertEquals(2, history.getValue().size());
+        // The balance is credited exactly what the history records
+        assertEquals(new BigDecimal("10.00"), updates.getValue().get(0)[0]);
+        assertEquals(new BigDecimal("10.00"), history.getValue().get(0)[1]);
+        assertEquals(new BigDecimal("5.00"), updates.getValue().get(1)[0]);
+        assertEquals(new BigDecimal("5.00"), history.getValue().get(1)[1]);
+        verify(interestHistoryRollupWriter).addAll(eq(result.credits()), any(LocalDateTime.class));
+        verify(accountBalanceCache).evictAll(List.of(first, second));
+        assertEquals(empty, checkpoint.getLastAccountId());
+        assertEquals(3, checkpoint.getProcessed());
+    }
+
+    @Test
+    void applyChunkOnlyPagesThroughAccountTypesWithRates() throws Exception {
+        page(List.of(), List.of());
+        when(namedJdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+
+        interestChunkProcessor.applyChunk(checkpoint, 500, RATES, Duration.ofMinutes(5));
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedJdbcTemplate).query(contains("account_type IN (:types)"), params.capture(), any(RowMapper.class));
+        assertEquals(List.of("SAVINGS", "CHECKING"), params.getValue().getValue("types"));
+    }
+
+    @Test
+    void applyChunkCompletesTheRangeOnAShortPage() throws Exception {
+        page(List.of(), List.of());
+        when(namedJdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+
+        InterestChunkProcessor.ChunkResult result = interestChunkProcessor.applyChunk(checkpoint, 500, RATES, Duration.ofMinutes(5));
+
+        assertTrue(result.completed());
+        assertTrue(checkpoint.isCompleted());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void applyChunkFailsWhenTheRangeWasTakenOver() throws Exception {
+        page(List.of(new UUID(1L, 1L)), List.of(new BigDecimal("1000.00")));
+        when(namedJdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(0);
+
+        assertThrows(IllegalStateException.class,
+                () -> interestChunkProcessor.applyChunk(checkpoint, 500, RATES, Duration.ofMinutes(5)));
+        assertNull(checkpoint.getLastAccountId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void page(List<UUID> accountIds, List<BigDecimal> balances) throws Exception {
+        int[] row = {0};
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getObject("account_id", UUID.class)).thenAnswer(invocation -> accountIds.get(row[0]));
+        when(resultSet.getString("account_type")).thenReturn(AccountType.SAVINGS.name());
+        when(resultSet.getBigDecimal("balance")).thenAnswer(invocation -> balances.get(row[0]));
+        when(namedJdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(2);
+            List<Object> rows = new ArrayList<>();
+            for (row[0] = 0; row[0] < accountIds.size(); row[0]++) {
+                rows.add(mapper.mapRow(resultSet, row[0]));
+            }
+            return rows;
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package dev.dini.account.service.interest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InterestHistoryRollupWriterTest {
+
+    private static final LocalDateTime POSTED_AT = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private InterestHistoryRollupWriter interestHistoryRollupWriter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        interestHistoryRollupWriter = new InterestHistoryRollupWriter(namedJdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addAllUpsertsTheMonthAndTheYearOfEveryCreditInOneBatch() {
+        UUID accountId = UUID.randomUUID();
+
+        interestHistoryRollupWriter.addAll(List.of(
+                new InterestChunkProcessor.Credit(accountId, new BigDecimal("7.5000")),
+                new InterestChunkProcessor.Credit(UUID.randomUUID(), BigDecimal.ONE)), POSTED_AT);
+
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT (account_id, period_year, period_month)"), args.capture());
+        assertEquals(2, args.getValue().size());
+        assertArrayEquals(new Object[]{accountId, 2025, 2, new BigDecimal("7.5000"), Timestamp.valueOf(POSTED_AT),
+                accountId, 2025, new BigDecimal("7.5000"), Timestamp.valueOf(POSTED_AT)}, args.getValue().get(0));
+    }
+
+    @Test
+    void addAllWithoutCreditsWritesNothing() {
+        interestHistoryRollupWriter.addAll(List.of(), POSTED_AT);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void addPostedRollsUpAPostingFromItsHistoryRows() {
+        interestHistoryRollupWriter.addPosted(POSTED_AT);
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedJdbcTemplate).update(contains("FROM interest_history h"), params.capture());
+        assertEquals(2025, params.getValue().getValue("year"));
+        assertEquals(2, params.getValue().getValue("month"));
+        assertEquals(Timestamp.valueOf(POSTED_AT), params.getValue().getValue("postedAt"));
+    }
+}
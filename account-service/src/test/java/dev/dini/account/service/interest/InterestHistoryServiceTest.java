@@ -0,0 +1,123 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.dto.InterestHistoryPageDTO;
+import dev.dini.account.service.dto.InterestPeriodTotalDTO;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InterestHistoryServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private InterestHistoryRepository interestHistoryRepository;
+
+    @Mock
+    private InterestHistoryRollupRepository interestHistoryRollupRepository;
+
+    @InjectMocks
+    private InterestHistoryService interestHistoryService;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(accountRepository.existsById(accountId)).thenReturn(true);
+    }
+
+    @Test
+    void firstPageReadsOneRowMoreThanTheLimitAndReturnsACursor() {
+        when(interestHistoryRepository.findLatestPage(accountId, 3)).thenReturn(List.of(
+                history(30, "2025-03-01T00:00"), history(20, "2025-02-01T00:00"), history(10, "2025-01-01T00:00")));
+
+        InterestHistoryPageDTO page = interestHistoryService.getHistory(accountId, null, null, 2);
+
+        assertEquals(List.of(30L, 20L), page.getEntries().stream().map(entry -> entry.getId()).toList());
+        assertEquals(LocalDateTime.parse("2025-02-01T00:00"), page.getNextBeforeTimestamp());
+        assertEquals(20L, page.getNextBeforeId());
+        verify(interestHistoryRepository, never()).findPageBefore(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void nextPageContinuesBeforeTheCursorAndEndsWithoutOne() {
+        LocalDateTime cursor = LocalDateTime.parse("2025-02-01T00:00");
+        when(interestHistoryRepository.findPageBefore(accountId, cursor, 20L, 3)).thenReturn(List.of(history(10, "2025-01-01T00:00")));
+
+        InterestHistoryPageDTO page = interestHistoryService.getHistory(accountId, cursor, 20L, 2);
+
+        assertEquals(1, page.getEntries().size());
+        assertNull(page.getNextBeforeTimestamp());
+        assertNull(page.getNextBeforeId());
+    }
+
+    @Test
+    void invalidPagesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> interestHistoryService.getHistory(accountId, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> interestHistoryService.getHistory(accountId, null, null, 201));
+        assertThrows(IllegalArgumentException.class, () -> interestHistoryService.getHistory(accountId, LocalDateTime.now(), null, 10));
+        verifyNoInteractions(interestHistoryRepository);
+    }
+
+    @Test
+    void unknownAccountIsReported() {
+        UUID unknown = UUID.randomUUID();
+
+        assertThrows(AccountNotFoundException.class, () -> interestHistoryService.getHistory(unknown, null, null, 10));
+        assertThrows(AccountNotFoundException.class, () -> interestHistoryService.getTotals(unknown, null));
+    }
+
+    @Test
+    void totalsOfAYearComeFromItsRollupRows() {
+        when(interestHistoryRollupRepository.findByIdAccountIdAndIdPeriodYearOrderByIdPeriodMonth(accountId, 2025)).thenReturn(List.of(
+                rollup(2025, 0, "15.0000", 2), rollup(2025, 1, "7.5000", 1), rollup(2025, 2, "7.5000", 1)));
+
+        List<InterestPeriodTotalDTO> totals = interestHistoryService.getTotals(accountId, 2025);
+
+        assertEquals(new InterestPeriodTotalDTO(2025, null, new BigDecimal("15.0000"), 2), totals.get(0));
+        assertEquals(new InterestPeriodTotalDTO(2025, 1, new BigDecimal("7.5000"), 1), totals.get(1));
+        verifyNoInteractions(interestHistoryRepository);
+    }
+
+    @Test
+    void totalsWithoutAYearAreTheYearlyRows() {
+        when(interestHistoryRollupRepository.findByIdAccountIdAndIdPeriodMonthOrderByIdPeriodYearDesc(accountId, InterestHistoryRollupWriter.YEAR_TOTAL))
+                .thenReturn(List.of(rollup(2025, 0, "15.0000", 2), rollup(2024, 0, "80.0000", 12)));
+
+        List<InterestPeriodTotalDTO> totals = interestHistoryService.getTotals(accountId, null);
+
+        assertEquals(List.of(2025, 2024), totals.stream().map(InterestPeriodTotalDTO::getYear).toList());
+        assertNull(totals.get(1).getMonth());
+    }
+
+    private InterestHistory history(long id, String timestamp) {
+        InterestHistory history = new InterestHistory();
+        history.setId(id);
+        history.setAccountId(accountId);
+        history.setInterestAmount(BigDecimal.ONE);
+        history.setTimestamp(LocalDateTime.parse(timestamp));
+        return history;
+    }
+
+    private InterestHistoryRollup rollup(int year, int month, String total, long postings) {
+        InterestHistoryRollup rollup = new InterestHistoryRollup();
+        rollup.setId(new InterestHistoryRollupId(accountId, year, month));
+        rollup.setTotalInterest(new BigDecimal(total));
+        rollup.setPostings(postings);
+        return rollup;
+    }
+}
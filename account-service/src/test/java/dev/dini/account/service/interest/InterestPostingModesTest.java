@@ -0,0 +1,127 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.support.PostgresRepositoryTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Posts the same month to the same accounts once chunked and once set-based and compares what each
+ * credits, and checks what the accrued posting credits and carries. Every posting runs in a transaction
+ * that is rolled back, so they start from the same balances and leave the shared database as it was.
+ */
+@Import({InterestChunkProcessor.class, SetBasedInterestPoster.class, InterestHistoryRollupWriter.class})
+class InterestPostingModesTest extends PostgresRepositoryTest {
+
+    private static final InterestRateTable RATES = InterestRateTable.parse("SAVINGS:0=0.12|10000=0.0365,CHECKING:0=0.01");
+
+    // Halves of a cent both ways, amounts under half a cent and balances in each tier
+    private static final List<String> BALANCES = List.of(
+            "1000.50", "1001.50", "0.40", "0.50", "123.45", "9999.99", "10000.00", "12345.67", "98765.43", "7.77");
+
+    @Autowired
+    private InterestChunkProcessor interestChunkProcessor;
+
+    @Autowired
+    private SetBasedInterestPoster setBasedInterestPoster;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private AccountBalanceCache accountBalanceCache;
+
+    @Test
+    void chunkedAndSetBasedPostingsCreditTheSameAmounts() {
+        List<UUID> accountIds = BALANCES.stream()
+                .flatMap(balance -> List.of(
+                        createAccount(AccountType.SAVINGS, new BigDecimal(balance), BigDecimal.ZERO).getAccountId(),
+                        createAccount(AccountType.CHECKING, new BigDecimal(balance), BigDecimal.ZERO).getAccountId()).stream())
+                .toList();
+
+        Map<UUID, BigDecimal> chunked = rolledBack(() -> {
+            String runId = "modes-chunked-" + UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO interest_run_checkpoints (run_id, range_no, range_start, processed, completed, owner, updated_at) " +
+                    "VALUES (:runId, 0, :rangeStart, 0, FALSE, 'test', now())", new MapSqlParameterSource()
+                    .addValue("runId", runId)
+                    .addValue("rangeStart", new UUID(0L, 0L)));
+            InterestRunCheckpoint checkpoint = new InterestRunCheckpoint(runId, 0, new UUID(0L, 0L), null);
+            checkpoint.setOwner("test");
+            while (!interestChunkProcessor.applyChunk(checkpoint, 1000, RATES, Duration.ofMinutes(5)).completed()) {
+                // Next page of the one range
+            }
+            return postedTo(accountIds);
+        });
+        Map<UUID, BigDecimal> setBased = rolledBack(() -> {
+            setBasedInterestPoster.post("modes-set-based-" + UUID.randomUUID(), RATES.tiers(), LocalDateTime.now());
+            return postedTo(accountIds);
+        });
+
+        assertEquals(accountIds.size() - 4, chunked.size());
+        assertEquals(chunked, setBased);
+    }
+
+    @Test
+    void accruedPostingCreditsWholeCentsAndCarriesTheRemainder() {
+        UUID accountId = createAccount(AccountType.SAVINGS, new BigDecimal("1000.00"), BigDecimal.ZERO).getAccountId();
+        LocalDate periodEnd = LocalDate.of(2025, 3, 1);
+
+        rolledBack(() -> {
+            jdbcTemplate.update("INSERT INTO interest_accruals (account_id, daily_amount, accrued_total, accrued_through, updated_at) " +
+                    "VALUES (:accountId, 0.0012345678, 1.23, :accruedThrough, now())", new MapSqlParameterSource()
+                    .addValue("accountId", accountId)
+                    .addValue("accruedThrough", Date.valueOf(periodEnd.minusDays(1))));
+
+            setBasedInterestPoster.postAccrued("modes-accrued-" + UUID.randomUUID(), periodEnd, LocalDateTime.now());
+
+            // 1.23 plus one more day of 0.0012345678 accrued; 1.23 is credited and the sub-cent rest carried
+            assertEquals(Map.of(accountId, new BigDecimal("1.23")), postedTo(List.of(accountId)));
+            assertEquals(0, new BigDecimal("1001.23").compareTo(balanceOf(accountId)));
+            assertEquals(0, new BigDecimal("0.0012345678").compareTo(jdbcTemplate.queryForObject(
+                    "SELECT accrued_total FROM interest_accruals WHERE account_id = :accountId",
+                    new MapSqlParameterSource("accountId", accountId), BigDecimal.class)));
+            return null;
+        });
+    }
+
+    private Map<UUID, BigDecimal> rolledBack(Supplier<Map<UUID, BigDecimal>> posting) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            status.setRollbackOnly();
+            return posting.get();
+        });
+    }
+
+    // Normalised to the cent, so a 10.00 written as 10.0000 still compares equal
+    private Map<UUID, BigDecimal> postedTo(List<UUID> accountIds) {
+        Map<UUID, BigDecimal> posted = new HashMap<>();
+        jdbcTemplate.query("SELECT account_id, interest_amount FROM interest_history WHERE account_id IN (:ids)",
+                new MapSqlParameterSource("ids", accountIds),
+                (RowCallbackHandler) rs -> posted.merge(rs.getObject("account_id", UUID.class),
+                        rs.getBigDecimal("interest_amount").setScale(2), BigDecimal::add));
+        return posted;
+    }
+}
@@ -0,0 +1,191 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountInterestView;
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.dto.AccountInterestPreviewDTO;
+import dev.dini.account.service.dto.InterestPreviewRequestDTO;
+import dev.dini.account.service.dto.InterestPreviewResponseDTO;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class InterestPreviewServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private InterestRateProvider interestRateProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InterestPreviewService interestPreviewService;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(interestRateProvider.current()).thenReturn(InterestRateTable.parse("SAVINGS:0=0.0365|10000=0.05,CHECKING:0=0.01"));
+        interestPreviewService = new InterestPreviewService(accountRepository, interestRateProvider, meterRegistry, 1000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void simpleInterestNeverCompounds() {
+        accounts(view(accountId, "1000", 1));
+
+        AccountInterestPreviewDTO preview = preview(365, CompoundingMode.SIMPLE);
+
+        assertEquals(new BigDecimal("0.0365"), preview.getAnnualRate());
+        assertEquals(new BigDecimal("36.50"), preview.getProjectedInterest());
+        assertEquals(new BigDecimal("1036.50"), preview.getProjectedBalance());
+    }
+
+    @Test
+    void dailyCompoundingEarnsMoreThanMonthlyWhichEarnsMoreThanSimple() {
+        double[] balances = {1000};
+        double[] dailyRates = {0.0365 / 365};
+
+        double simple = InterestPreviewService.project(balances, dailyRates, START, 365, CompoundingMode.SIMPLE)[0];
+        double monthly = InterestPreviewService.project(balances, dailyRates, START, 365, CompoundingMode.MONTHLY)[0];
+        double daily = InterestPreviewService.project(balances, dailyRates, START, 365, CompoundingMode.DAILY)[0];
+
+        assertEquals(36.5, simple, 1e-9);
+        assertEquals(1000 * (Math.pow(1.0001, 365) - 1), daily, 1e-6);
+        assertTrue(simple < monthly && monthly < daily);
+    }
+
+    @Test
+    void monthlyCompoundingCreditsAtMonthEndOnly() {
+        double[] balances = {1000};
+        double[] dailyRates = {0.0001};
+
+        // 31 days of January are credited on 1 February, the two February days accrue on the larger balance
+        double interest = InterestPreviewService.project(balances, dailyRates, START, 33, CompoundingMode.MONTHLY)[0];
+
+        assertEquals(3.1 + 1003.1 * 0.0002, interest, 1e-9);
+    }
+
+    @Test
+    void projectsManyAccountsInOnePassInRequestOrder() {
+        UUID checking = UUID.randomUUID();
+        UUID rich = UUID.randomUUID();
+        when(accountRepository.findInterestViewsByAccountIds(anyCollection())).thenReturn(List.of(
+                view(rich, "20000", 3), view(accountId, "1000", 1),
+                new AccountInterestView(checking, AccountType.CHECKING, new BigDecimal("500"), 2)));
+
+        InterestPreviewResponseDTO response = interestPreviewService.preview(InterestPreviewRequestDTO.builder()
+                .accountIds(List.of(accountId, checking, rich)).horizonDays(365).compounding(CompoundingMode.SIMPLE)
+                .startDate(START).build());
+
+        List<AccountInterestPreviewDTO> accounts = response.getAccounts();
+        assertEquals(List.of(accountId, checking, rich), accounts.stream().map(AccountInterestPreviewDTO::getAccountId).toList());
+        assertEquals(new BigDecimal("5.00"), accounts.get(1).getProjectedInterest());
+        assertEquals(new BigDecimal("1000.00"), accounts.get(2).getProjectedInterest());
+    }
+
+    @Test
+    void previewNeverWrites() {
+        accounts(view(accountId, "1000", 1));
+
+        preview(90, CompoundingMode.DAILY);
+
+        verify(accountRepository).findInterestViewsByAccountIds(anyCollection());
+        verifyNoMoreInteractions(accountRepository);
+    }
+
+    @Test
+    void repeatedPreviewOfAnUnchangedAccountIsServedFromTheCache() {
+        accounts(view(accountId, "1000", 1));
+
+        AccountInterestPreviewDTO first = preview(365, CompoundingMode.MONTHLY);
+        AccountInterestPreviewDTO second = preview(365, CompoundingMode.MONTHLY);
+
+        assertEquals(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "interest.preview").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void aNewAccountVersionIsProjectedAgain() {
+        accounts(view(accountId, "1000", 1));
+        AccountInterestPreviewDTO before = preview(365, CompoundingMode.SIMPLE);
+
+        accounts(view(accountId, "2000", 2));
+        AccountInterestPreviewDTO after = preview(365, CompoundingMode.SIMPLE);
+
+        assertEquals(new BigDecimal("36.50"), before.getProjectedInterest());
+        assertEquals(new BigDecimal("73.00"), after.getProjectedInterest());
+        assertEquals(0.0, meterRegistry.get("cache.gets").tag("cache", "interest.preview").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void negativeBalancesEarnNothing() {
+        accounts(view(accountId, "-250", 1));
+
+        AccountInterestPreviewDTO preview = preview(365, CompoundingMode.DAILY);
+
+        assertEquals(new BigDecimal("0.00"), preview.getProjectedInterest());
+        assertEquals(new BigDecimal("-250.00"), preview.getProjectedBalance());
+    }
+
+    @Test
+    void customerPreviewCoversAllTheirAccounts() {
+        UUID customerId = UUID.randomUUID();
+        when(accountRepository.findInterestViewsByCustomerId(customerId)).thenReturn(List.of(view(accountId, "1000", 1)));
+
+        InterestPreviewResponseDTO response = interestPreviewService.preview(InterestPreviewRequestDTO.builder()
+                .customerId(customerId).horizonDays(30).build());
+
+        assertEquals(1, response.getAccounts().size());
+        assertEquals(CompoundingMode.MONTHLY, response.getCompounding());
+        verify(accountRepository, never()).findInterestViewsByAccountIds(anyCollection());
+    }
+
+    @Test
+    void unknownAccountIsReported() {
+        accounts();
+
+        assertThrows(AccountNotFoundException.class, () -> preview(30, CompoundingMode.SIMPLE));
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> interestPreviewService.preview(InterestPreviewRequestDTO.builder()
+                .horizonDays(30).build()));
+        assertThrows(IllegalArgumentException.class, () -> interestPreviewService.preview(InterestPreviewRequestDTO.builder()
+                .accountIds(List.of(accountId)).customerId(UUID.randomUUID()).horizonDays(30).build()));
+        assertThrows(IllegalArgumentException.class, () -> preview(0, CompoundingMode.SIMPLE));
+        assertThrows(IllegalArgumentException.class, () -> preview(3651, CompoundingMode.SIMPLE));
+        verifyNoInteractions(accountRepository);
+    }
+
+    private void accounts(AccountInterestView... views) {
+        when(accountRepository.findInterestViewsByAccountIds(anyCollection())).thenReturn(List.of(views));
+    }
+
+    private AccountInterestPreviewDTO preview(int horizonDays, CompoundingMode compounding) {
+        return interestPreviewService.preview(InterestPreviewRequestDTO.builder()
+                .accountIds(List.of(accountId)).horizonDays(horizonDays).compounding(compounding).startDate(START).build())
+                .getAccounts().get(0);
+    }
+
+    private static AccountInterestView view(UUID accountId, String balance, int version) {
+        return new AccountInterestView(accountId, AccountType.SAVINGS, new BigDecimal(balance), version);
+    }
+}
@@ -0,0 +1,106 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InterestRateProviderTest {
+
+    @Mock
+    private InterestRateRepository interestRateRepository;
+
+    private MockEnvironment environment;
+    private InterestRateProvider interestRateProvider;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        environment = new MockEnvironment().withProperty(InterestRateProvider.TABLE_PROPERTY, "SAVINGS:0=0.02");
+        interestRateProvider = new InterestRateProvider(interestRateRepository, environment);
+    }
+
+    @Test
+    void startsFromTheConfiguredTable() {
+        assertEquals(new BigDecimal("0.02"), interestRateProvider.rateFor(AccountType.SAVINGS, BigDecimal.TEN));
+    }
+
+    @Test
+    void defaultsToTheSavingsAndCheckingRates() {
+        InterestRateProvider withoutConfig = new InterestRateProvider(interestRateRepository, new MockEnvironment());
+
+        assertEquals(new BigDecimal("0.03"), withoutConfig.rateFor(AccountType.SAVINGS, new BigDecimal("50000")));
+        assertEquals(new BigDecimal("0.01"), withoutConfig.rateFor(AccountType.CHECKING, new BigDecimal("50000")));
+        assertEquals(Set.of(AccountType.SAVINGS, AccountType.CHECKING), Set.copyOf(withoutConfig.current().accountTypes()));
+    }
+
+    @Test
+    void applicationYamlShipsTheDefaultTable() throws Exception {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                .load("application.yaml", new ClassPathResource("application.yaml"));
+
+        assertEquals(InterestRateProvider.DEFAULT_TABLE, sources.get(0).getProperty(InterestRateProvider.TABLE_PROPERTY));
+    }
+
+    @Test
+    void refreshPrefersDatabaseTiers() {
+        when(interestRateRepository.findAll()).thenReturn(List.of(rate(AccountType.SAVINGS, "0", "0.04")));
+
+        interestRateProvider.refresh();
+
+        assertEquals(new BigDecimal("0.04"), interestRateProvider.rateFor(AccountType.SAVINGS, BigDecimal.TEN));
+    }
+
+    @Test
+    void refreshPicksUpChangedConfigurationWhenTheDatabaseHasNoTiers() {
+        when(interestRateRepository.findAll()).thenReturn(List.of());
+        InterestRateTable before = interestRateProvider.current();
+
+        environment.setProperty(InterestRateProvider.TABLE_PROPERTY, "SAVINGS:0=0.02|5000=0.03");
+        interestRateProvider.refresh();
+
+        // The old table is untouched; readers holding it keep a consistent view
+        assertEquals(new BigDecimal("0.02"), before.rateFor(AccountType.SAVINGS, new BigDecimal("6000")));
+        assertEquals(new BigDecimal("0.03"), interestRateProvider.rateFor(AccountType.SAVINGS, new BigDecimal("6000")));
+    }
+
+    @Test
+    void refreshKeepsTheCurrentTableWhenLoadingFails() {
+        InterestRateTable before = interestRateProvider.current();
+        when(interestRateRepository.findAll()).thenReturn(List.of(rate(AccountType.SAVINGS, "0", "-1")));
+
+        interestRateProvider.refresh();
+
+        assertSame(before, interestRateProvider.current());
+    }
+
+    @Test
+    void refreshDoesNotSwapAnUnchangedTable() {
+        InterestRateTable before = interestRateProvider.current();
+        when(interestRateRepository.findAll()).thenReturn(List.of());
+
+        interestRateProvider.refresh();
+
+        assertSame(before, interestRateProvider.current());
+    }
+
+    private static InterestRate rate(AccountType accountType, String minBalance, String annualRate) {
+        InterestRate rate = new InterestRate();
+        rate.setAccountType(accountType);
+        rate.setMinBalance(new BigDecimal(minBalance));
+        rate.setAnnualRate(new BigDecimal(annualRate));
+        return rate;
+    }
+}
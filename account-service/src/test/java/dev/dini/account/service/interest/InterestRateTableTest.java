@@ -0,0 +1,82 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterestRateTableTest {
+
+    private final InterestRateTable table = InterestRateTable.parse("SAVINGS:0=0.03|10000=0.05|100000=0.06,CHECKING:0=0.01");
+
+    @Test
+    void rateForPicksTheTierWhoseFloorIsAtOrBelowTheBalance() {
+        assertEquals(new BigDecimal("0.03"), table.rateFor(AccountType.SAVINGS, new BigDecimal("9999.99")));
+        assertEquals(new BigDecimal("0.05"), table.rateFor(AccountType.SAVINGS, new BigDecimal("10000.00")));
+        assertEquals(new BigDecimal("0.05"), table.rateFor(AccountType.SAVINGS, new BigDecimal("99999.9999")));
+        assertEquals(new BigDecimal("0.06"), table.rateFor(AccountType.SAVINGS, new BigDecimal("5000000")));
+        assertEquals(new BigDecimal("0.01"), table.rateFor(AccountType.CHECKING, BigDecimal.ONE));
+    }
+
+    @Test
+    void rateForIsZeroOutsideTheTable() {
+        assertEquals(BigDecimal.ZERO, table.rateFor(AccountType.LOAN, BigDecimal.TEN));
+        assertEquals(BigDecimal.ZERO, table.rateFor(AccountType.SAVINGS, new BigDecimal("-1")));
+        assertEquals(BigDecimal.ZERO, table.rateFor(AccountType.SAVINGS, null));
+        assertEquals(BigDecimal.ZERO, InterestRateTable.EMPTY.rateFor(AccountType.SAVINGS, BigDecimal.TEN));
+    }
+
+    @Test
+    void tiersCarryTheNextFloorAsUpperBound() {
+        List<InterestRateTier> tiers = table.tiers();
+
+        assertEquals(List.of(
+                new InterestRateTier(AccountType.SAVINGS, new BigDecimal("0"), new BigDecimal("10000"), new BigDecimal("0.03")),
+                new InterestRateTier(AccountType.SAVINGS, new BigDecimal("10000"), new BigDecimal("100000"), new BigDecimal("0.05")),
+                new InterestRateTier(AccountType.SAVINGS, new BigDecimal("100000"), null, new BigDecimal("0.06")),
+                new InterestRateTier(AccountType.CHECKING, new BigDecimal("0"), null, new BigDecimal("0.01"))), tiers);
+        assertEquals(Set.of(AccountType.SAVINGS, AccountType.CHECKING), table.accountTypes());
+    }
+
+    @Test
+    void ofSortsTiersAndRejectsInvalidOnes() {
+        InterestRateTable unordered = InterestRateTable.of(List.of(
+                new InterestRateTier(AccountType.SAVINGS, new BigDecimal("10000"), null, new BigDecimal("0.05")),
+                new InterestRateTier(AccountType.SAVINGS, BigDecimal.ZERO, null, new BigDecimal("0.03"))));
+        assertEquals(new BigDecimal("0.03"), unordered.rateFor(AccountType.SAVINGS, BigDecimal.ONE));
+
+        assertThrows(IllegalArgumentException.class, () -> InterestRateTable.parse("SAVINGS:0=0.03|0.00=0.04"));
+        assertThrows(IllegalArgumentException.class, () -> InterestRateTable.parse("SAVINGS:0=-0.01"));
+        assertThrows(IllegalArgumentException.class, () -> InterestRateTable.parse("SAVINGS"));
+        assertThrows(IllegalArgumentException.class, () -> InterestRateTable.parse("UNKNOWN:0=0.01"));
+    }
+
+    @Test
+    void rateLookupDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean,
+                "Thread allocation counters are not available on this JVM");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        BigDecimal[] balances = {new BigDecimal("12.50"), new BigDecimal("25000"), new BigDecimal("250000"), new BigDecimal("9999.99")};
+
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < 100_000; i++) {
+            sum = table.rateFor(AccountType.SAVINGS, balances[i & 3]);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 1_000_000; i++) {
+            sum = table.rateFor(AccountType.SAVINGS, balances[i & 3]);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertNotNull(sum);
+        // Allows for the counter's own bookkeeping, far below one object per lookup
+        assertTrue(allocated < 100_000, "rate lookups allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,216 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.notification.AccountNotificationService;
+import dev.dini.account.service.transaction.AccountIdOrder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InterestRunServiceTest {
+
+    private static final BigDecimal RATE = new BigDecimal("0.12");
+    private static final InterestRateTable RATES =
+            InterestRateTable.of(List.of(new InterestRateTier(AccountType.SAVINGS, BigDecimal.ZERO, null, RATE)));
+
+    @Mock
+    private InterestRunCheckpointRepository checkpointRepository;
+
+    @Mock
+    private InterestChunkProcessor interestChunkProcessor;
+
+    @Mock
+    private SetBasedInterestPoster setBasedInterestPoster;
+
+    @Mock
+    private AccountNotificationService accountNotificationService;
+
+    private MeterRegistry meterRegistry;
+    private InterestRunService interestRunService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        interestRunService = new InterestRunService(checkpointRepository, interestChunkProcessor,
+                setBasedInterestPoster, accountNotificationService, meterRegistry);
+    }
+
+    @Test
+    void rangesCoverTheWholeIdSpaceInDatabaseOrder() {
+        List<InterestRunCheckpoint> ranges = InterestRunService.ranges("2025-01", 16);
+
+        assertEquals(16, ranges.size());
+        assertEquals(new UUID(0L, 0L), ranges.get(0).getRangeStart());
+        assertNull(ranges.get(15).getRangeEnd());
+        for (int i = 0; i < 15; i++) {
+            assertEquals(i, ranges.get(i).getId().getRangeNo());
+            assertEquals(ranges.get(i).getRangeEnd(), ranges.get(i + 1).getRangeStart());
+            assertTrue(AccountIdOrder.compare(ranges.get(i).getRangeStart(), ranges.get(i).getRangeEnd()) < 0);
+        }
+        // The upper half of the space starts with the sign bit set
+        assertEquals(Long.MIN_VALUE, ranges.get(8).getRangeStart().getMostSignificantBits());
+    }
+
+    @Test
+    void runCreatesCheckpointsOnFirstStart() {
+        when(checkpointRepository.findByIdRunIdOrderByIdRangeNo("2025-01")).thenReturn(List.of());
+        when(checkpointRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        interestRunService.run("2025-01", RATES);
+
+        verify(checkpointRepository).saveAll(argThat(ranges -> ((List<?>) ranges).size() == 16));
+    }
+
+    @Test
+    void runReloadsCheckpointsWhenAnotherInstanceCreatedThem() {
+        InterestRunCheckpoint done = completed(new InterestRunCheckpoint("2025-01", 0, new UUID(0L, 0L), null));
+        when(checkpointRepository.findByIdRunIdOrderByIdRangeNo("2025-01")).thenReturn(List.of(), List.of(done));
+        when(checkpointRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        InterestRunService.RunSummary summary = interestRunService.run("2025-01", RATES);
+
+        assertEquals(0, summary.accountsRead());
+        verifyNoInteractions(interestChunkProcessor);
+    }
+
+    @Test
+    void runResumesOnlyUnfinishedRangesAndNotifiesAfterEachChunk() {
+        List<InterestRunCheckpoint> ranges = InterestRunService.ranges("2025-01", 2);
+        completed(ranges.get(0));
+        InterestRunCheckpoint pending = ranges.get(1);
+        UUID accountId = UUID.randomUUID();
+        when(checkpointRepository.findByIdRunIdOrderByIdRangeNo("2025-01")).thenReturn(ranges);
+        when(checkpointRepository.claim(eq(pending.getId()), anyString(), any(), any())).thenReturn(1);
+        when(checkpointRepository.findById(pending.getId())).thenReturn(Optional.of(pending));
+        when(interestChunkProcessor.applyChunk(eq(pending), anyInt(), eq(RATES), any()))
+                .thenReturn(new InterestChunkProcessor.ChunkResult(500,
+                                List.of(new InterestChunkProcessor.Credit(accountId, BigDecimal.TEN)), false),
+                        new InterestChunkProcessor.ChunkResult(3, List.of(), true));
+
+        InterestRunService.RunSummary summary = interestRunService.run("2025-01", RATES);
+
+        assertEquals(503, summary.accountsRead());
+        assertEquals(1, summary.accountsCredited());
+        assertEquals(0, summary.failedRanges());
+        verify(checkpointRepository, never()).claim(eq(ranges.get(0).getId()), anyString(), any(), any());
+        verify(interestChunkProcessor, times(2)).applyChunk(eq(pending), anyInt(), eq(RATES), any());
+        verify(accountNotificationService).sendInterestAppliedNotification(accountId, BigDecimal.TEN);
+        assertEquals(503.0, meterRegistry.get("interest.run.accounts").counter().count());
+        assertEquals(1.0, meterRegistry.get("interest.run.credited").counter().count());
+        assertEquals(2, meterRegistry.get("interest.run.chunk").timer().count());
+        assertTrue(meterRegistry.get("interest.run.accounts.per.second").gauge().value() > 0);
+    }
+
+    @Test
+    void runDoesNothingWithoutRates() {
+        InterestRunService.RunSummary summary = interestRunService.run("2025-01", InterestRateTable.EMPTY);
+
+        assertEquals(0, summary.accountsRead());
+        verifyNoInteractions(checkpointRepository, interestChunkProcessor);
+    }
+
+    @Test
+    void runSkipsRangesLeasedByAnotherWorker() {
+        List<InterestRunCheckpoint> ranges = InterestRunService.ranges("2025-01", 2);
+        when(checkpointRepository.findByIdRunIdOrderByIdRangeNo("2025-01")).thenReturn(ranges);
+        when(checkpointRepository.claim(any(), anyString(), any(), any())).thenReturn(0);
+
+        InterestRunService.RunSummary summary = interestRunService.run("2025-01", RATES);
+
+        assertEquals(0, summary.failedRanges());
+        verifyNoInteractions(interestChunkProcessor);
+    }
+
+    @Test
+    void runCountsFailedRangesAndCarriesOnWithTheOthers() {
+        List<InterestRunCheckpoint> ranges = InterestRunService.ranges("2025-01", 2);
+        when(checkpointRepository.findByIdRunIdOrderByIdRangeNo("2025-01")).thenReturn(ranges);
+        when(checkpointRepository.claim(any(), anyString(), any(), any())).thenReturn(1);
+        when(checkpointRepository.findById(ranges.get(0).getId())).thenReturn(Optional.of(ranges.get(0)));
+        when(checkpointRepository.findById(ranges.get(1).getId())).thenReturn(Optional.of(ranges.get(1)));
+        when(interestChunkProcessor.applyChunk(eq(ranges.get(0)), anyInt(), any(), any()))
+                .thenThrow(new IllegalStateException("taken over"));
+        when(interestChunkProcessor.applyChunk(eq(ranges.get(1)), anyInt(), any(), any()))
+                .thenReturn(new InterestChunkProcessor.ChunkResult(1, List.of(), true));
+
+        InterestRunService.RunSummary summary = interestRunService.run("2025-01", RATES);
+
+        assertEquals(1, summary.failedRanges());
+        assertEquals(1, summary.accountsRead());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runSetBasedNotifiesFromThePostedHistoryRows() {
+        UUID accountId = UUID.randomUUID();
+        List<InterestRateTier> tiers = List.of(new InterestRateTier(AccountType.SAVINGS, BigDecimal.ZERO, null, RATE));
+        when(setBasedInterestPoster.post(eq("2025-01"), eq(tiers), any())).thenReturn(OptionalLong.of(2));
+        doAnswer(invocation -> {
+            Consumer<InterestChunkProcessor.Credit> consumer = invocation.getArgument(1);
+            consumer.accept(new InterestChunkProcessor.Credit(accountId, BigDecimal.TEN));
+            return null;
+        }).when(setBasedInterestPoster).forEachPosted(any(), any());
+
+        InterestRunService.RunSummary summary = interestRunService.runSetBased("2025-01", tiers);
+
+        assertEquals(2, summary.accountsCredited());
+        ArgumentCaptor<LocalDateTime> postedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(setBasedInterestPoster).post(eq("2025-01"), eq(tiers), postedAt.capture());
+        assertEquals(0, postedAt.getValue().getNano() % 1000);
+        verify(setBasedInterestPoster).forEachPosted(eq(postedAt.getValue()), any());
+        verify(accountNotificationService).sendInterestAppliedNotification(accountId, BigDecimal.TEN);
+        assertEquals(2.0, meterRegistry.get("interest.run.credited").counter().count());
+        verifyNoInteractions(interestChunkProcessor);
+    }
+
+    @Test
+    void runSetBasedSkipsAMonthThatWasAlreadyPosted() {
+        when(setBasedInterestPoster.post(anyString(), anyList(), any())).thenReturn(OptionalLong.empty());
+
+        InterestRunService.RunSummary summary = interestRunService.runSetBased("2025-01", List.of());
+
+        assertEquals(0, summary.accountsCredited());
+        verify(setBasedInterestPoster, never()).forEachPosted(any(), any());
+        verifyNoInteractions(accountNotificationService);
+    }
+
+    @Test
+    void runAccruedPostsUpToThePeriodEndAndNotifies() {
+        UUID accountId = UUID.randomUUID();
+        LocalDate periodEnd = LocalDate.of(2025, 2, 1);
+        when(setBasedInterestPoster.postAccrued(eq("2025-01"), eq(periodEnd), any())).thenReturn(OptionalLong.of(1));
+        doAnswer(invocation -> {
+            Consumer<InterestChunkProcessor.Credit> consumer = invocation.getArgument(1);
+            consumer.accept(new InterestChunkProcessor.Credit(accountId, BigDecimal.ONE));
+            return null;
+        }).when(setBasedInterestPoster).forEachPosted(any(), any());
+
+        InterestRunService.RunSummary summary = interestRunService.runAccrued("2025-01", periodEnd);
+
+        assertEquals(1, summary.accountsCredited());
+        verify(accountNotificationService).sendInterestAppliedNotification(accountId, BigDecimal.ONE);
+    }
+
+    private static InterestRunCheckpoint completed(InterestRunCheckpoint checkpoint) {
+        checkpoint.setCompleted(true);
+        return checkpoint;
+    }
+}
@@ -0,0 +1,117 @@
+package dev.dini.account.service.interest;
+
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.component.AccountBalanceCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SetBasedInterestPosterTest {
+
+    private static final LocalDateTime POSTED_AT = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
+
+    @Mock
+    private InterestHistoryRollupWriter interestHistoryRollupWriter;
+
+    private SetBasedInterestPoster setBasedInterestPoster;
+
+    private final InterestRateTier low = new InterestRateTier(AccountType.SAVINGS, BigDecimal.ZERO, new BigDecimal("10000"), new BigDecimal("0.03"));
+    private final InterestRateTier high = new InterestRateTier(AccountType.SAVINGS, new BigDecimal("10000"), null, new BigDecimal("0.05"));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        setBasedInterestPoster = new SetBasedInterestPoster(jdbcTemplate, accountBalanceCache, interestHistoryRollupWriter);
+    }
+
+    @Test
+    void postIssuesOneStatementPerTierWhateverTheNumberOfAccounts() {
+        when(jdbcTemplate.update(contains("INSERT INTO interest_run_checkpoints"), any(SqlParameterSource.class))).thenReturn(1);
+        when(jdbcTemplate.update(contains("WITH credited"), any(SqlParameterSource.class))).thenReturn(250_000, 1_750_000);
+
+        OptionalLong credited = setBasedInterestPoster.post("2025-01", List.of(low, high), POSTED_AT);
+
+        assertEquals(OptionalLong.of(2_000_000), credited);
+        // Claim, one statement per tier, the rollups and the run record: 5 round trips for two million accounts
+        verify(jdbcTemplate, times(4)).update(anyString(), any(SqlParameterSource.class));
+        verify(interestHistoryRollupWriter).addPosted(POSTED_AT);
+        verify(accountBalanceCache).clear();
+    }
+
+    @Test
+    void postRunsTheHighestTierFirstAndBoundsTheOthers() {
+        when(jdbcTemplate.update(contains("INSERT INTO interest_run_checkpoints"), any(SqlParameterSource.class))).thenReturn(1);
+
+        setBasedInterestPoster.post("2025-01", List.of(low, high), POSTED_AT);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(4)).update(sql.capture(), params.capture());
+        assertFalse(sql.getAllValues().get(1).contains(":maxBalance"));
+        assertEquals(new BigDecimal("0.05"), params.getAllValues().get(1).getValue("rate"));
+        assertTrue(sql.getAllValues().get(2).contains("balance < :maxBalance"));
+        assertEquals(new BigDecimal("0.03"), params.getAllValues().get(2).getValue("rate"));
+        assertEquals("SAVINGS", params.getAllValues().get(2).getValue("accountType"));
+    }
+
+    @Test
+    void postSkipsAMonthThatWasAlreadyPosted() {
+        when(jdbcTemplate.update(contains("INSERT INTO interest_run_checkpoints"), any(SqlParameterSource.class))).thenReturn(0);
+
+        assertTrue(setBasedInterestPoster.post("2025-01", List.of(low, high), POSTED_AT).isEmpty());
+
+        verify(jdbcTemplate, never()).update(contains("WITH credited"), any(SqlParameterSource.class));
+        verifyNoInteractions(accountBalanceCache, interestHistoryRollupWriter);
+    }
+
+    @Test
+    void postAccruedCreditsEveryAccrualInOneStatement() {
+        when(jdbcTemplate.update(contains("INSERT INTO interest_run_checkpoints"), any(SqlParameterSource.class))).thenReturn(1);
+        when(jdbcTemplate.update(contains("FROM interest_accruals"), any(SqlParameterSource.class))).thenReturn(1_000_000);
+
+        OptionalLong credited = setBasedInterestPoster.postAccrued("2025-02", LocalDate.of(2025, 3, 1), POSTED_AT);
+
+        assertEquals(OptionalLong.of(1_000_000), credited);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).update(contains("FROM interest_accruals"), params.capture());
+        assertEquals(Date.valueOf(LocalDate.of(2025, 3, 1)), params.getValue().getValue("periodEnd"));
+        verify(jdbcTemplate, times(3)).update(anyString(), any(SqlParameterSource.class));
+        verify(interestHistoryRollupWriter).addPosted(POSTED_AT);
+        verify(accountBalanceCache).clear();
+    }
+
+    @Test
+    void postAccruedSkipsAMonthThatWasAlreadyPosted() {
+        when(jdbcTemplate.update(contains("INSERT INTO interest_run_checkpoints"), any(SqlParameterSource.class))).thenReturn(0);
+
+        assertTrue(setBasedInterestPoster.postAccrued("2025-02", LocalDate.of(2025, 3, 1), POSTED_AT).isEmpty());
+
+        verify(jdbcTemplate, never()).update(contains("FROM interest_accruals"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void postingOrderIsHighestMinimumBalanceFirst() {
+        assertEquals(List.of(high, low), SetBasedInterestPoster.postingOrder(List.of(low, high)));
+    }
+}
@@ -0,0 +1,105 @@
+package dev.dini.account.service.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AccountNotificationServiceTest {
+
+    @Mock
+    private NotificationPublisher notificationPublisher;
+
+    @Mock
+    private NotificationCoalescer notificationCoalescer;
+
+    @InjectMocks
+    private AccountNotificationService accountNotificationService;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void notificationOutsideATransactionIsQueuedRightAway() {
+        accountNotificationService.sendNotification(accountId, "Account Frozen");
+
+        ArgumentCaptor<NotificationMessage> message = ArgumentCaptor.forClass(NotificationMessage.class);
+        verify(notificationPublisher).enqueue(message.capture());
+        assertEquals(accountId.toString(), message.getValue().getRecipient());
+        assertEquals("EMAIL", message.getValue().getType());
+        assertEquals("Account Frozen", message.getValue().getMessage());
+    }
+
+    @Test
+    void notificationsOfATransactionAreQueuedOnlyWhenItCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            accountNotificationService.sendNotifications(List.of(accountId, UUID.randomUUID()), "Account Frozen");
+            verifyNoInteractions(notificationPublisher);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<List<NotificationMessage>> messages = ArgumentCaptor.forClass(List.class);
+        verify(notificationPublisher).putAll(messages.capture());
+        assertEquals(2, messages.getValue().size());
+        verify(notificationPublisher, never()).enqueue(any(NotificationMessage.class));
+    }
+
+    @Test
+    void interestNotificationsWaitForRoomInTheQueue() {
+        accountNotificationService.sendInterestAppliedNotification(accountId, BigDecimal.TEN);
+
+        verify(notificationPublisher).put(any(NotificationMessage.class));
+        verify(notificationPublisher, never()).enqueue(any(NotificationMessage.class));
+    }
+
+    @Test
+    void rolledBackTransactionNotifiesNobody() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            accountNotificationService.sendNotification(accountId, "Account Frozen");
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(notificationPublisher);
+    }
+
+    @Test
+    void limitAndOverdraftNotificationsGoThroughTheCoalescer() {
+        UUID customerId = UUID.randomUUID();
+
+        accountNotificationService.sendTransactionLimitNotification(customerId, accountId, BigDecimal.TEN);
+        accountNotificationService.sendOverdraftProtectionNotification(customerId, accountId, true);
+
+        verify(notificationCoalescer).submit(eq(NotificationEventType.TRANSACTION_LIMIT), any(NotificationMessage.class));
+        verify(notificationCoalescer).submit(eq(NotificationEventType.OVERDRAFT_PROTECTION), any(NotificationMessage.class));
+        verifyNoInteractions(notificationPublisher);
+    }
+}
@@ -0,0 +1,107 @@
+package dev.dini.account.service.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationCoalescerTest {
+
+    @Mock
+    private NotificationPublisher notificationPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationCoalescer notificationCoalescer;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        notificationCoalescer = new NotificationCoalescer(notificationPublisher, meterRegistry);
+        // Long enough that the tests flush the windows themselves
+        ReflectionTestUtils.setField(notificationCoalescer, "windowMs", 60_000L);
+    }
+
+    @Test
+    void togglesWithinTheWindowSendOnlyTheFinalStateWithASummary() {
+        notificationCoalescer.submit(NotificationEventType.ACCOUNT_STATUS, message(accountId, "Account Frozen"));
+        notificationCoalescer.submit(NotificationEventType.ACCOUNT_STATUS, message(accountId, "Account Unfrozen"));
+        notificationCoalescer.submit(NotificationEventType.ACCOUNT_STATUS, message(accountId, "Account Frozen"));
+        verifyNoInteractions(notificationPublisher);
+
+        notificationCoalescer.flush(new NotificationCoalescer.Key(accountId, NotificationEventType.ACCOUNT_STATUS));
+
+        ArgumentCaptor<NotificationMessage> sent = ArgumentCaptor.forClass(NotificationMessage.class);
+        verify(notificationPublisher).enqueue(sent.capture());
+        assertEquals("Account Frozen (final state after 3 changes)", sent.getValue().getMessage());
+        assertEquals(2.0, meterRegistry.get("notification.coalesced").counter().count());
+        assertEquals(0, notificationCoalescer.pendingCount());
+    }
+
+    @Test
+    void aSingleChangeIsSentAsIs() {
+        notificationCoalescer.submit(NotificationEventType.TRANSACTION_LIMIT, message(accountId, "Transaction Limit Set to: 500"));
+
+        notificationCoalescer.flush(new NotificationCoalescer.Key(accountId, NotificationEventType.TRANSACTION_LIMIT));
+
+        ArgumentCaptor<NotificationMessage> sent = ArgumentCaptor.forClass(NotificationMessage.class);
+        verify(notificationPublisher).enqueue(sent.capture());
+        assertEquals("Transaction Limit Set to: 500", sent.getValue().getMessage());
+    }
+
+    @Test
+    void windowsAreKeptPerAccountAndEventType() {
+        notificationCoalescer.submit(NotificationEventType.ACCOUNT_STATUS, message(accountId, "Account Frozen"));
+        notificationCoalescer.submit(NotificationEventType.OVERDRAFT_PROTECTION, message(accountId, "Overdraft Protection Enabled"));
+        notificationCoalescer.submit(NotificationEventType.ACCOUNT_STATUS, message(UUID.randomUUID(), "Account Frozen"));
+
+        assertEquals(3, notificationCoalescer.pendingCount());
+        assertEquals(0.0, meterRegistry.get("notification.coalesced").counter().count());
+    }
+
+    @Test
+    void theWindowIsFlushedOnItsOwn() {
+        ReflectionTestUtils.setField(notificationCoalescer, "windowMs", 20L);
+
+        notificationCoalescer.submit(NotificationEventType.ACCOUNT_STATUS, message(accountId, "Account Frozen"));
+        notificationCoalescer.submit(NotificationEventType.ACCOUNT_STATUS, message(accountId, "Account Unfrozen"));
+
+        verify(notificationPublisher, timeout(5000)).enqueue(any(NotificationMessage.class));
+        assertEquals(0, notificationCoalescer.pendingCount());
+    }
+
+    @Test
+    void beyondMaxPendingNotificationsAreSentStraightAway() {
+        ReflectionTestUtils.setField(notificationCoalescer, "maxPending", 1);
+
+        notificationCoalescer.submit(NotificationEventType.ACCOUNT_STATUS, message(accountId, "Account Frozen"));
+        notificationCoalescer.submit(NotificationEventType.ACCOUNT_STATUS, message(UUID.randomUUID(), "Account Frozen"));
+
+        verify(notificationPublisher).enqueue(any(NotificationMessage.class));
+        assertEquals(1, notificationCoalescer.pendingCount());
+    }
+
+    @Test
+    void shutdownSendsWhatIsStillPending() {
+        notificationCoalescer.submit(NotificationEventType.ACCOUNT_STATUS, message(accountId, "Account Frozen"));
+
+        notificationCoalescer.shutdown();
+
+        verify(notificationPublisher).enqueue(any(NotificationMessage.class));
+    }
+
+    private static NotificationMessage message(UUID accountId, String text) {
+        return new NotificationMessage(accountId.toString(), "EMAIL", text, accountId);
+    }
+}
@@ -0,0 +1,134 @@
+package dev.dini.account.service.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationPublisherTest {
+
+    private InMemoryNotificationTransport transport;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationPublisher notificationPublisher;
+
+    @BeforeEach
+    void setUp() {
+        transport = new InMemoryNotificationTransport();
+        meterRegistry = new SimpleMeterRegistry();
+        // The publisher thread is not started, the tests flush by hand
+        notificationPublisher = new NotificationPublisher(transport, meterRegistry, 4);
+        ReflectionTestUtils.setField(notificationPublisher, "retryBackoffMs", 0L);
+    }
+
+    @Test
+    void queuedNotificationsArePublishedInBatches() {
+        ReflectionTestUtils.setField(notificationPublisher, "batchSize", 3);
+        for (int i = 0; i < 4; i++) {
+            notificationPublisher.enqueue(message("Account Frozen " + i));
+        }
+
+        assertEquals(3, notificationPublisher.flush());
+        assertEquals(1, notificationPublisher.flush());
+        assertEquals(0, notificationPublisher.flush());
+
+        assertEquals(List.of("Account Frozen 0", "Account Frozen 1", "Account Frozen 2", "Account Frozen 3"),
+                transport.published().stream().map(NotificationMessage::getMessage).toList());
+        assertEquals(4.0, meterRegistry.get("notification.published").counter().count());
+    }
+
+    @Test
+    void enqueueNeverBlocksAndDropsWhenTheQueueIsFull() {
+        for (int i = 0; i < 6; i++) {
+            notificationPublisher.enqueue(message("Account updated"));
+        }
+
+        assertEquals(2.0, meterRegistry.get("notification.dropped").counter().count());
+        assertEquals(4.0, meterRegistry.get("notification.queue.size").gauge().value());
+    }
+
+    @Test
+    void putWaitsForTheQueueToMakeRoom() throws Exception {
+        ReflectionTestUtils.setField(notificationPublisher, "batchSize", 1);
+        ReflectionTestUtils.setField(notificationPublisher, "putTimeoutMs", TimeUnit.MINUTES.toMillis(1));
+        for (int i = 0; i < 4; i++) {
+            notificationPublisher.enqueue(message("Account Frozen " + i));
+        }
+        Thread producer = new Thread(() -> notificationPublisher.put(message("Account Frozen 4")));
+        producer.start();
+
+        // The only timed wait in put is the offer on the full queue
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (producer.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.TIMED_WAITING, producer.getState());
+        assertEquals(4.0, meterRegistry.get("notification.queue.size").gauge().value());
+
+        assertEquals(1, notificationPublisher.flush());
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(producer.isAlive());
+        assertEquals(0.0, meterRegistry.get("notification.dropped").counter().count());
+        assertEquals(4.0, meterRegistry.get("notification.queue.size").gauge().value());
+    }
+
+    @Test
+    void putDropsAfterTheTimeoutAndThenStopsWaitingUntilTheQueueHasRoom() {
+        ReflectionTestUtils.setField(notificationPublisher, "putTimeoutMs", 50L);
+        for (int i = 0; i < 4; i++) {
+            notificationPublisher.enqueue(message("Account Frozen " + i));
+        }
+
+        notificationPublisher.putAll(List.of(message("Account Frozen 4"), message("Account Frozen 5"), message("Account Frozen 6")));
+
+        assertEquals(3.0, meterRegistry.get("notification.dropped").counter().count());
+        assertTrue((Boolean) ReflectionTestUtils.getField(notificationPublisher, "stalled"));
+
+        notificationPublisher.flush();
+        notificationPublisher.put(message("Account Frozen 7"));
+        assertEquals(3.0, meterRegistry.get("notification.dropped").counter().count());
+        assertFalse((Boolean) ReflectionTestUtils.getField(notificationPublisher, "stalled"));
+    }
+
+    @Test
+    void aFailedBatchIsRetriedAndDroppedAfterTheLastAttempt() {
+        int[] calls = new int[1];
+        NotificationPublisher failing = new NotificationPublisher(batch -> {
+            calls[0]++;
+            throw new IllegalStateException("broker down");
+        }, meterRegistry, 4);
+        ReflectionTestUtils.setField(failing, "retryBackoffMs", 0L);
+        ReflectionTestUtils.setField(failing, "maxAttempts", 3);
+        failing.enqueue(message("Account Frozen"));
+
+        assertEquals(1, failing.flush());
+
+        assertEquals(3, calls[0]);
+        assertEquals(1.0, meterRegistry.get("notification.dropped").counter().count());
+    }
+
+    @Test
+    void publisherThreadSendsQueuedNotifications() throws Exception {
+        notificationPublisher.start();
+        notificationPublisher.enqueue(message("Account created"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transport.published().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        notificationPublisher.shutdown();
+
+        assertEquals(1, transport.published().size());
+    }
+
+    private static NotificationMessage message(String text) {
+        UUID accountId = UUID.randomUUID();
+        return new NotificationMessage(accountId.toString(), "EMAIL", text, accountId);
+    }
+}
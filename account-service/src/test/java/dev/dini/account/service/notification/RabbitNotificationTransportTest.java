@@ -0,0 +1,73 @@
+package dev.dini.account.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RabbitNotificationTransportTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RabbitOperations operations;
+
+    private RabbitNotificationTransport rabbitNotificationTransport;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<?>) invocation.getArgument(0)).doInRabbit(operations));
+        rabbitNotificationTransport = new RabbitNotificationTransport(rabbitTemplate);
+    }
+
+    @Test
+    void batchIsSentOnOneChannelAndConfirmedOnce() {
+        List<NotificationMessage> batch = List.of(message(), message());
+
+        rabbitNotificationTransport.publish(batch);
+
+        verify(operations).convertAndSend("notification-exchange", "notification-routing-key", batch.get(0));
+        verify(operations).convertAndSend("notification-exchange", "notification-routing-key", batch.get(1));
+        verify(operations).waitForConfirmsOrDie(5000L);
+    }
+
+    @Test
+    void missingConfirmFailsTheBatch() {
+        doThrow(new AmqpException("nack")).when(operations).waitForConfirmsOrDie(anyLong());
+
+        assertThrows(AmqpException.class, () -> rabbitNotificationTransport.publish(List.of(message())));
+    }
+
+    @Test
+    void messagesCarryTheLogicalTypeIdInsteadOfTheClassName() {
+        Message converted = RabbitNotificationTransport.messageConverter(new ObjectMapper())
+                .toMessage(message(), new MessageProperties());
+
+        assertEquals("notification", converted.getMessageProperties().getHeaders().get("__TypeId__"));
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, converted.getMessageProperties().getContentType());
+        assertTrue(new String(converted.getBody(), StandardCharsets.UTF_8).contains("\"message\":\"Account Frozen\""));
+    }
+
+    private static NotificationMessage message() {
+        UUID accountId = UUID.randomUUID();
+        return new NotificationMessage(accountId.toString(), "EMAIL", "Account Frozen", accountId);
+    }
+}
@@ -0,0 +1,133 @@
+package dev.dini.account.service.outbox;
+
+import dev.dini.account.service.transaction.TransactionDTO;
+import dev.dini.account.service.transaction.TransactionFeignClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class TransactionOutboxRelayTest {
+
+    @Mock
+    private TransactionOutboxService transactionOutboxService;
+
+    @Mock
+    private TransactionFeignClient transactionFeignClient;
+
+    @InjectMocks
+    private TransactionOutboxRelay transactionOutboxRelay;
+
+    private TransactionOutbox first;
+    private TransactionOutbox second;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        first = event(1L, 0);
+        second = event(2L, 0);
+    }
+
+    @Test
+    void relayBatchMarksDeliveredEventsSent() {
+        when(transactionOutboxService.claimBatch(anyInt(), any(Duration.class))).thenReturn(List.of(first, second));
+
+        int claimed = transactionOutboxRelay.relayBatch();
+
+        assertEquals(2, claimed);
+        ArgumentCaptor<TransactionDTO> captor = ArgumentCaptor.forClass(TransactionDTO.class);
+        verify(transactionFeignClient, times(2)).createTransaction(anyString(), captor.capture());
+        assertEquals(first.getFromAccountId(), captor.getAllValues().get(0).getFromAccountId());
+        assertEquals(first.getAmount(), captor.getAllValues().get(0).getAmount());
+        verify(transactionOutboxService).markSent(List.of(1L, 2L));
+    }
+
+    @Test
+    void relayBatchReschedulesFailedEventsWithBackoff() {
+        when(transactionOutboxService.claimBatch(anyInt(), any(Duration.class))).thenReturn(List.of(first, second));
+        doThrow(new RuntimeException("connection refused"))
+                .doNothing()
+                .when(transactionFeignClient).createTransaction(anyString(), any(TransactionDTO.class));
+
+        transactionOutboxRelay.relayBatch();
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(transactionOutboxService).recordFailure(eq(first), eq(OutboxStatus.PENDING), nextAttempt.capture(), eq("connection refused"));
+        assertTrue(nextAttempt.getValue().isAfter(LocalDateTime.now()));
+        verify(transactionOutboxService).markSent(List.of(2L));
+    }
+
+    @Test
+    void relayBatchParksEventsThatExhaustedTheirAttempts() {
+        TransactionOutbox exhausted = event(3L, 9);
+        when(transactionOutboxService.claimBatch(anyInt(), any(Duration.class))).thenReturn(List.of(exhausted));
+        doThrow(new RuntimeException("boom")).when(transactionFeignClient).createTransaction(anyString(), any(TransactionDTO.class));
+
+        transactionOutboxRelay.relayBatch();
+
+        verify(transactionOutboxService).recordFailure(eq(exhausted), eq(OutboxStatus.FAILED), isNull(), eq("boom"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayStopsWhenTheOutboxIsDrained() {
+        when(transactionOutboxService.claimBatch(anyInt(), any(Duration.class))).thenReturn(List.of(first), List.of());
+
+        transactionOutboxRelay.relay();
+
+        verify(transactionOutboxService, times(1)).claimBatch(anyInt(), any(Duration.class));
+        verify(transactionOutboxService).markSent(any(Collection.class));
+    }
+
+    @Test
+    void redeliveredEventsCarryTheSameIdempotencyKey() {
+        when(transactionOutboxService.claimBatch(anyInt(), any(Duration.class))).thenReturn(List.of(first), List.of(first));
+
+        transactionOutboxRelay.relayBatch();
+        transactionOutboxRelay.relayBatch();
+
+        verify(transactionFeignClient, times(2)).createTransaction(eq("transaction-outbox-1"), any(TransactionDTO.class));
+    }
+
+    @Test
+    void backoffDoublesAndIsCapped() {
+        assertEquals(Duration.ofSeconds(1), transactionOutboxRelay.backoff(1));
+        assertEquals(Duration.ofSeconds(8), transactionOutboxRelay.backoff(4));
+        assertEquals(Duration.ofMinutes(10), transactionOutboxRelay.backoff(30));
+    }
+
+    @Test
+    void relayBatchDoesNothingWhenNothingIsDue() {
+        when(transactionOutboxService.claimBatch(anyInt(), any(Duration.class))).thenReturn(List.of());
+
+        assertEquals(0, transactionOutboxRelay.relayBatch());
+        verifyNoInteractions(transactionFeignClient);
+        verify(transactionOutboxService, never()).markSent(any());
+    }
+
+    private TransactionOutbox event(Long id, int attempts) {
+        TransactionOutbox event = new TransactionOutbox();
+        event.setId(id);
+        event.setFromAccountId(UUID.randomUUID());
+        event.setToAccountId(UUID.randomUUID());
+        event.setAmount(BigDecimal.TEN);
+        event.setStatus(OutboxStatus.PENDING);
+        event.setAttempts(attempts);
+        assertNull(event.getSentAt());
+        return event;
+    }
+}
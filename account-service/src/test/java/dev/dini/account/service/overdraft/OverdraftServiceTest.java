@@ -0,0 +1,135 @@
+package dev.dini.account.service.overdraft;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.account.AccountValidationView;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.exception.AccountInactiveException;
+import dev.dini.account.service.exception.InsufficientFundsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OverdraftServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
+
+    private OverdraftService overdraftService;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        overdraftService = new OverdraftService(accountRepository, new OverdraftProtectionValidator(), accountBalanceCache);
+    }
+
+    @Test
+    void withdrawDebitsTheWholeAmountWithOneGuardedUpdate() {
+        givenAccount(AccountType.CHECKING, "100", "500");
+        when(accountRepository.debitWithinOverdraft(eq(accountId), eq(new BigDecimal("300")), eq(new BigDecimal("500")), any())).thenReturn(1);
+
+        overdraftService.withdraw(accountId, new BigDecimal("300"));
+
+        verify(accountRepository).debitWithinOverdraft(eq(accountId), eq(new BigDecimal("300")), eq(new BigDecimal("500")), any());
+        // Neither the balance nor the limit goes through a read-modify-write of the entity
+        verify(accountRepository, never()).save(any());
+        verify(accountBalanceCache).evict(accountId);
+    }
+
+    @Test
+    void withdrawCoveredByTheBalanceStillDebitsThroughTheGuardedUpdate() {
+        givenAccount(AccountType.CHECKING, "500", "100");
+        when(accountRepository.debitWithinOverdraft(eq(accountId), any(), any(), any())).thenReturn(1);
+
+        overdraftService.withdraw(accountId, new BigDecimal("500"));
+
+        verify(accountRepository).debitWithinOverdraft(eq(accountId), eq(new BigDecimal("500")), eq(new BigDecimal("100")), any());
+    }
+
+    @Test
+    void withdrawFailsWhenTheGuardedUpdateMatchesNoRow() {
+        givenAccount(AccountType.CHECKING, "100", "500");
+        when(accountRepository.debitWithinOverdraft(eq(accountId), any(), any(), any())).thenReturn(0);
+
+        assertThrows(InsufficientFundsException.class, () -> overdraftService.withdraw(accountId, new BigDecimal("300")));
+        verify(accountBalanceCache, never()).evict(any());
+    }
+
+    @Test
+    void withdrawWithoutOverdraftDebitsTheBalanceAlone() {
+        givenAccount(AccountType.CHECKING, "100", "0");
+        when(accountRepository.debitIfSufficient(eq(accountId), any(), any())).thenReturn(0);
+
+        assertThrows(InsufficientFundsException.class, () -> overdraftService.withdraw(accountId, new BigDecimal("300")));
+        verify(accountRepository).debitIfSufficient(eq(accountId), eq(new BigDecimal("300")), any());
+        verify(accountRepository, never()).debitWithinOverdraft(any(), any(), any(), any());
+    }
+
+    @Test
+    void withdrawOffersNoOverdraftWhenProtectionIsOff() {
+        givenAccount(AccountType.CHECKING, "100", "500", false);
+        when(accountRepository.debitIfSufficient(eq(accountId), any(), any())).thenReturn(1);
+
+        overdraftService.withdraw(accountId, BigDecimal.TEN);
+
+        verify(accountRepository).debitIfSufficient(eq(accountId), eq(BigDecimal.TEN), any());
+        verify(accountRepository, never()).debitWithinOverdraft(any(), any(), any(), any());
+    }
+
+    @Test
+    void withdrawFromAnAccountTypeWithoutOverdraftIsLimitedToTheBalance() {
+        givenAccount(AccountType.SAVINGS, "100", "500");
+        when(accountRepository.debitIfSufficient(eq(accountId), any(), any())).thenReturn(1);
+
+        overdraftService.withdraw(accountId, BigDecimal.TEN);
+
+        verify(accountRepository).debitIfSufficient(eq(accountId), eq(BigDecimal.TEN), any());
+        verify(accountRepository, never()).debitWithinOverdraft(any(), any(), any(), any());
+    }
+
+    @Test
+    void withdrawRejectsInactiveAccountsAndAmountsOverTheTransactionLimit() {
+        when(accountRepository.findValidationViewByAccountId(accountId)).thenReturn(Optional.of(new AccountValidationView(
+                accountId, AccountStatus.FROZEN, AccountType.CHECKING, null, new BigDecimal("100"), true, new BigDecimal("500"))));
+        assertThrows(AccountInactiveException.class, () -> overdraftService.withdraw(accountId, BigDecimal.TEN));
+
+        when(accountRepository.findValidationViewByAccountId(accountId)).thenReturn(Optional.of(new AccountValidationView(
+                accountId, AccountStatus.ACTIVE, AccountType.CHECKING, new BigDecimal("50"), new BigDecimal("100"), true, new BigDecimal("500"))));
+        assertThrows(IllegalStateException.class, () -> overdraftService.withdraw(accountId, new BigDecimal("60")));
+
+        verify(accountRepository, never()).debitIfSufficient(any(), any(), any());
+        verify(accountRepository, never()).debitWithinOverdraft(any(), any(), any(), any());
+    }
+
+    @Test
+    void withdrawFromAnUnknownAccountFails() {
+        when(accountRepository.findValidationViewByAccountId(accountId)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> overdraftService.withdraw(accountId, BigDecimal.TEN));
+    }
+
+    private void givenAccount(AccountType type, String balance, String overdraftLimit) {
+        givenAccount(type, balance, overdraftLimit, true);
+    }
+
+    private void givenAccount(AccountType type, String balance, String overdraftLimit, boolean overdraftProtection) {
+        when(accountRepository.findValidationViewByAccountId(accountId)).thenReturn(Optional.of(new AccountValidationView(
+                accountId, AccountStatus.ACTIVE, type, null, new BigDecimal(balance), overdraftProtection, new BigDecimal(overdraftLimit))));
+    }
+}
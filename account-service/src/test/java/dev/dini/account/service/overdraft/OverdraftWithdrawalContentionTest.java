@@ -0,0 +1,81 @@
+package dev.dini.account.service.overdraft;
+
+import dev.dini.account.service.account.Account;
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.exception.InsufficientFundsException;
+import dev.dini.account.service.support.PostgresRepositoryTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.dini.account.service.support.Concurrency.runConcurrently;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Withdraws from one account with overdraft from many threads, through the real guarded debit. Every
+ * withdrawal reads the same balance before it debits, so only the condition of the UPDATE keeps them
+ * from taking more than balance and limit together.
+ */
+@Import({OverdraftService.class, OverdraftProtectionValidator.class})
+class OverdraftWithdrawalContentionTest extends PostgresRepositoryTest {
+
+    private static final int THREADS = 16;
+    private static final int WITHDRAWALS = THREADS * 20;
+
+    @Autowired
+    private OverdraftService overdraftService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private AccountBalanceCache accountBalanceCache;
+
+    @Test
+    void concurrentWithdrawalsNeverTakeMoreThanBalancePlusLimit() throws Exception {
+        BigDecimal balance = new BigDecimal("100");
+        BigDecimal limit = new BigDecimal("1000");
+        BigDecimal amount = new BigDecimal("107");
+        UUID accountId = createAccount(AccountType.CHECKING, balance, limit).getAccountId();
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // Far more withdrawals than balance and limit allow
+        runConcurrently(THREADS, WITHDRAWALS, i -> {
+            try {
+                overdraftService.withdraw(accountId, amount);
+                approved.incrementAndGet();
+            } catch (InsufficientFundsException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(1100 / 107, approved.get());
+        assertEquals(WITHDRAWALS - 1100 / 107, rejected.get());
+        assertEquals(0, balance.subtract(amount.multiply(BigDecimal.valueOf(approved.get()))).compareTo(balanceOf(accountId)));
+    }
+
+    @Test
+    void theGuardedDebitTakesNoOverdraftOnceProtectionIsOff() {
+        Account account = createAccount(AccountType.CHECKING, new BigDecimal("100"), new BigDecimal("1000"));
+        account.setOverdraftProtection(false);
+        accountRepository.save(account);
+
+        // A caller that still offers the overdraft it read before protection was turned off
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertEquals(Boolean.FALSE, transaction.execute(status ->
+                overdraftService.debit(account.getAccountId(), new BigDecimal("107"), new BigDecimal("1000"), LocalDateTime.now())));
+        assertEquals(Boolean.TRUE, transaction.execute(status ->
+                overdraftService.debit(account.getAccountId(), new BigDecimal("100"), new BigDecimal("1000"), LocalDateTime.now())));
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceOf(account.getAccountId())));
+    }
+}
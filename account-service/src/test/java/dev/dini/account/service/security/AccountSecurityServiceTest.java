@@ -4,8 +4,12 @@ import dev.dini.account.service.account.Account;
 import dev.dini.account.service.account.AccountRepository;
 import dev.dini.account.service.account.AccountStatus;
 import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountStatusRegistry;
+import dev.dini.account.service.dto.BulkStatusChangeRequestDTO;
+import dev.dini.account.service.dto.BulkStatusChangeResponseDTO;
 import dev.dini.account.service.exception.AccountNotFoundException;
 import dev.dini.account.service.notification.AccountNotificationService;
+import dev.dini.account.service.notification.NotificationEventType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,6 +17,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,6 +36,15 @@ class AccountSecurityServiceTest {
     @Mock
     private AccountNotificationService accountNotificationService;
 
+    @Mock
+    private AccountStatusBulkUpdater accountStatusBulkUpdater;
+
+    @Mock
+    private AccountStatusEventPublisher accountStatusEventPublisher;
+
+    @Mock
+    private AccountStatusRegistry accountStatusRegistry;
+
     @InjectMocks
     private AccountSecurityService accountSecurityService;
 
@@ -53,7 +68,8 @@ class AccountSecurityServiceTest {
 
         verify(accountRepository).save(account);
         verify(accountAuditService).logAccountEvent(eq(accountId), eq("Account Status"), eq("Frozen"));
-        verify(accountNotificationService).sendNotification(eq(accountId), eq("Account Frozen"));
+        verify(accountNotificationService).sendNotification(eq(accountId), eq(NotificationEventType.ACCOUNT_STATUS), eq("Account Frozen"));
+        verify(accountStatusRegistry).statusChanged(accountId, AccountStatus.FROZEN);
         assertEquals(AccountStatus.FROZEN, account.getStatus());
     }
 
@@ -73,7 +89,7 @@ class AccountSecurityServiceTest {
 
         verify(accountRepository).save(account);
         verify(accountAuditService).logAccountEvent(eq(accountId), eq("Account Status"), eq("Unfrozen"));
-        verify(accountNotificationService).sendNotification(eq(accountId), eq("Account Unfrozen"));
+        verify(accountNotificationService).sendNotification(eq(accountId), eq(NotificationEventType.ACCOUNT_STATUS), eq("Account Unfrozen"));
         assertEquals(AccountStatus.ACTIVE, account.getStatus());
     }
 
@@ -93,7 +109,7 @@ class AccountSecurityServiceTest {
 
         verify(accountRepository).save(account);
         verify(accountAuditService).logAccountEvent(eq(accountId), eq("Transaction Limit"), eq("Set to: " + limit));
-        verify(accountNotificationService).sendNotification(eq(accountId), eq("Transaction Limit Set to: " + limit));
+        verify(accountNotificationService).sendNotification(eq(accountId), eq(NotificationEventType.TRANSACTION_LIMIT), eq("Transaction Limit Set to: " + limit));
         assertEquals(limit, account.getTransactionLimit());
     }
 
@@ -114,7 +130,7 @@ class AccountSecurityServiceTest {
 
         verify(accountRepository).save(account);
         verify(accountAuditService).logAccountEvent(eq(accountId), eq("Overdraft Protection"), eq("Enabled: " + enabled));
-        verify(accountNotificationService).sendNotification(eq(accountId), eq("Overdraft Protection Enabled"));
+        verify(accountNotificationService).sendNotification(eq(accountId), eq(NotificationEventType.OVERDRAFT_PROTECTION), eq("Overdraft Protection Enabled"));
         assertTrue(account.isOverdraftProtection());
     }
 
@@ -134,7 +150,7 @@ class AccountSecurityServiceTest {
 
         verify(accountRepository).save(account);
         verify(accountAuditService).logAccountEvent(eq(accountId), eq("Account Status"), eq("Closed"));
-        verify(accountNotificationService).sendNotification(eq(accountId), eq("Account Closed"));
+        verify(accountNotificationService).sendNotification(eq(accountId), eq(NotificationEventType.ACCOUNT_STATUS), eq("Account Closed"));
         assertEquals(AccountStatus.CLOSED, account.getStatus());
     }
 
@@ -147,19 +163,26 @@ class AccountSecurityServiceTest {
 
     @Test
     void isAccountLockedReturnsTrueWhenAccountIsFrozen() {
-        account.setStatus(AccountStatus.FROZEN);
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findStatusByAccountId(accountId)).thenReturn(Optional.of(AccountStatus.FROZEN));
 
         assertTrue(accountSecurityService.isAccountLocked(accountId));
+        verify(accountRepository, never()).findById(accountId);
     }
 
     @Test
     void isAccountLockedReturnsFalseWhenAccountIsActive() {
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findStatusByAccountId(accountId)).thenReturn(Optional.of(AccountStatus.ACTIVE));
 
         assertFalse(accountSecurityService.isAccountLocked(accountId));
     }
 
+    @Test
+    void isAccountLockedThrowsAccountNotFoundException() {
+        when(accountRepository.findStatusByAccountId(accountId)).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> accountSecurityService.isAccountLocked(accountId));
+    }
+
     @Test
     void lockAccountSuccessfully() {
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
@@ -180,4 +203,54 @@ class AccountSecurityServiceTest {
         verify(accountRepository).save(account);
         assertEquals(AccountStatus.ACTIVE, account.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void changeStatusFreezesTheGivenAccountsWithOneUpdate() {
+        UUID closed = UUID.randomUUID();
+        List<UUID> ids = List.of(accountId, closed, accountId);
+        when(accountStatusBulkUpdater.updateByIds(any(), eq(AccountStatus.FROZEN), any(LocalDateTime.class)))
+                .thenReturn(List.of(accountId));
+
+        BulkStatusChangeResponseDTO response = accountSecurityService.changeStatus(
+                BulkStatusChangeRequestDTO.builder().accountIds(ids).status(AccountStatus.FROZEN).build());
+
+        assertEquals(1, response.getChanged());
+        assertEquals(List.of(accountId), response.getChangedAccountIds());
+        assertEquals(List.of(closed), response.getUnchangedAccountIds());
+        verify(accountStatusBulkUpdater).updateByIds(argThat(requested -> requested.size() == 2), eq(AccountStatus.FROZEN), any());
+        verify(accountStatusEventPublisher).publishAfterCommit(List.of(accountId), AccountStatus.FROZEN);
+        // The publisher updates the registry after the commit
+        verifyNoInteractions(accountStatusRegistry);
+        verify(accountRepository, never()).findById(any());
+        verifyNoInteractions(accountAuditService, accountNotificationService);
+    }
+
+    @Test
+    void changeStatusOfACustomerUpdatesAllItsAccounts() {
+        UUID customerId = UUID.randomUUID();
+        when(accountStatusBulkUpdater.updateByCustomer(eq(customerId), eq(AccountStatus.ACTIVE), any(LocalDateTime.class)))
+                .thenReturn(List.of(accountId));
+
+        BulkStatusChangeResponseDTO response = accountSecurityService.changeStatus(
+                BulkStatusChangeRequestDTO.builder().customerId(customerId).status(AccountStatus.ACTIVE).build());
+
+        assertEquals(List.of(accountId), response.getChangedAccountIds());
+        assertTrue(response.getUnchangedAccountIds().isEmpty());
+        verify(accountStatusEventPublisher).publishAfterCommit(List.of(accountId), AccountStatus.ACTIVE);
+    }
+
+    @Test
+    void changeStatusRejectsInvalidRequests() {
+        UUID customerId = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> accountSecurityService.changeStatus(
+                BulkStatusChangeRequestDTO.builder().accountIds(List.of(accountId)).status(AccountStatus.CLOSED).build()));
+        assertThrows(IllegalArgumentException.class, () -> accountSecurityService.changeStatus(
+                BulkStatusChangeRequestDTO.builder().accountIds(List.of(accountId)).build()));
+        assertThrows(IllegalArgumentException.class, () -> accountSecurityService.changeStatus(
+                BulkStatusChangeRequestDTO.builder().accountIds(List.of(accountId)).customerId(customerId).status(AccountStatus.FROZEN).build()));
+        assertThrows(IllegalArgumentException.class, () -> accountSecurityService.changeStatus(
+                BulkStatusChangeRequestDTO.builder().status(AccountStatus.FROZEN).build()));
+        verifyNoInteractions(accountStatusBulkUpdater, accountStatusEventPublisher);
+    }
+}
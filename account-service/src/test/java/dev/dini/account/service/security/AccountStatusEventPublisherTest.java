@@ -0,0 +1,111 @@
+package dev.dini.account.service.security;
+
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountStatusRegistry;
+import dev.dini.account.service.notification.AccountNotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountStatusEventPublisherTest {
+
+    @Mock
+    private AccountAuditService accountAuditService;
+
+    @Mock
+    private AccountNotificationService accountNotificationService;
+
+    @Mock
+    private AccountStatusRegistry accountStatusRegistry;
+
+    private AccountStatusEventPublisher accountStatusEventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        accountStatusEventPublisher = new AccountStatusEventPublisher(accountAuditService, accountNotificationService, accountStatusRegistry);
+        ReflectionTestUtils.setField(accountStatusEventPublisher, "batchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        accountStatusEventPublisher.shutdown();
+    }
+
+    @Test
+    void publishWritesAuditEventsAndNotificationsInBatches() {
+        List<UUID> ids = ids(5);
+
+        accountStatusEventPublisher.publish(ids, AccountStatus.FROZEN);
+
+        verify(accountAuditService).logAccountEvents(ids.subList(0, 2), "Account Status", "Frozen");
+        verify(accountAuditService).logAccountEvents(ids.subList(4, 5), "Account Status", "Frozen");
+        verify(accountNotificationService, times(3)).sendNotifications(anyList(), eq("Account Frozen"));
+    }
+
+    @Test
+    void aFailedBatchDoesNotStopTheRest() {
+        List<UUID> ids = ids(4);
+        doThrow(new RuntimeException("down")).when(accountNotificationService).sendNotifications(ids.subList(0, 2), "Account Unfrozen");
+
+        accountStatusEventPublisher.publish(ids, AccountStatus.ACTIVE);
+
+        verify(accountNotificationService).sendNotifications(ids.subList(2, 4), "Account Unfrozen");
+    }
+
+    @Test
+    void insideATransactionNothingIsPublishedUntilItCommits() {
+        List<UUID> ids = ids(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            accountStatusEventPublisher.publishAfterCommit(ids, AccountStatus.FROZEN);
+            verifyNoInteractions(accountAuditService, accountStatusRegistry);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+            verify(accountStatusRegistry).apply(ids, AccountStatus.FROZEN);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(accountAuditService, timeout(1000)).logAccountEvents(ids, "Account Status", "Frozen");
+    }
+
+    @Test
+    void aRolledBackChangePublishesNothing() throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            accountStatusEventPublisher.publishAfterCommit(ids(1), AccountStatus.FROZEN);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        accountStatusEventPublisher.shutdown();
+        verifyNoInteractions(accountAuditService, accountNotificationService, accountStatusRegistry);
+    }
+
+    private static List<UUID> ids(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
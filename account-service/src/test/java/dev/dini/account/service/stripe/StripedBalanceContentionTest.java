@@ -0,0 +1,70 @@
+package dev.dini.account.service.stripe;
+
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.overdraft.OverdraftProtectionValidator;
+import dev.dini.account.service.overdraft.OverdraftService;
+import dev.dini.account.service.support.PostgresRepositoryTest;
+import dev.dini.account.service.transaction.AccountTransferEngine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static dev.dini.account.service.support.Concurrency.runConcurrently;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pays one striped merchant account from many payers at once while its stripes are being compacted,
+ * through the real statements. Every credit has to end up in the main balance exactly once, and
+ * compaction, which locks the main row before the stripes, must not deadlock with the transfers.
+ */
+@Import({AccountTransferEngine.class, StripedBalanceService.class, OverdraftService.class, OverdraftProtectionValidator.class})
+class StripedBalanceContentionTest extends PostgresRepositoryTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 2_000;
+    // Every so many operations a thread compacts instead of paying
+    private static final int COMPACT_EVERY = 100;
+
+    @Autowired
+    private AccountTransferEngine accountTransferEngine;
+
+    @Autowired
+    private StripedBalanceService stripedBalanceService;
+
+    @MockitoBean
+    private AccountAuditService accountAuditService;
+
+    @MockitoBean
+    private AccountBalanceCache accountBalanceCache;
+
+    @Test
+    void concurrentCreditsAndCompactionsLoseNoCredit() throws Exception {
+        UUID merchant = createAccount(AccountType.BUSINESS, BigDecimal.ZERO, BigDecimal.ZERO).getAccountId();
+        stripedBalanceService.setStripes(merchant, 4);
+        List<UUID> payers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            payers.add(createAccount(AccountType.CHECKING, BigDecimal.valueOf(1_000_000), BigDecimal.ZERO).getAccountId());
+        }
+
+        runConcurrently(THREADS, OPERATIONS, i -> {
+            if (i % COMPACT_EVERY == 0) {
+                stripedBalanceService.compact(merchant);
+            } else {
+                accountTransferEngine.transfer(payers.get(i % payers.size()), merchant, BigDecimal.ONE);
+            }
+        });
+        stripedBalanceService.compact(merchant);
+
+        int credits = OPERATIONS - OPERATIONS / COMPACT_EVERY;
+        assertEquals(0, BigDecimal.valueOf(credits).compareTo(balanceOf(merchant)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(stripedBalanceService.getStripedBalance(merchant)));
+    }
+}
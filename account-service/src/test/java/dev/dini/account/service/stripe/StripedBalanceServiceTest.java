@@ -0,0 +1,129 @@
+package dev.dini.account.service.stripe;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StripedBalanceServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountBalanceStripeRepository accountBalanceStripeRepository;
+
+    @Mock
+    private AccountAuditService accountAuditService;
+
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
+
+    @InjectMocks
+    private StripedBalanceService stripedBalanceService;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        accountId = UUID.randomUUID();
+        when(accountRepository.lockByAccountId(accountId)).thenReturn(Optional.of(accountId));
+    }
+
+    @Test
+    void compactMovesStripeBalancesToTheMainRow() {
+        List<AccountBalanceStripe> stripes = List.of(stripe(0, "10.50"), stripe(1, "0"), stripe(2, "4.50"));
+        when(accountBalanceStripeRepository.findByAccountIdForUpdate(accountId)).thenReturn(stripes);
+
+        BigDecimal moved = stripedBalanceService.compact(accountId);
+
+        assertEquals(0, new BigDecimal("15.00").compareTo(moved));
+        assertTrue(stripes.stream().allMatch(stripe -> stripe.getBalance().signum() == 0));
+        verify(accountRepository).credit(eq(accountId), eq(moved), any(LocalDateTime.class));
+    }
+
+    @Test
+    void compactLocksTheMainRowBeforeTheStripes() {
+        when(accountBalanceStripeRepository.findByAccountIdForUpdate(accountId)).thenReturn(List.of(stripe(0, "1")));
+
+        stripedBalanceService.compact(accountId);
+
+        InOrder inOrder = inOrder(accountRepository, accountBalanceStripeRepository);
+        inOrder.verify(accountRepository).lockByAccountId(accountId);
+        inOrder.verify(accountBalanceStripeRepository).findByAccountIdForUpdate(accountId);
+        inOrder.verify(accountRepository).credit(eq(accountId), any(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void compactSkipsAccountsThatNoLongerExist() {
+        when(accountRepository.lockByAccountId(accountId)).thenReturn(Optional.empty());
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(stripedBalanceService.compact(accountId)));
+        verifyNoInteractions(accountBalanceStripeRepository);
+    }
+
+    @Test
+    void compactDoesNothingWhenStripesAreEmpty() {
+        when(accountBalanceStripeRepository.findByAccountIdForUpdate(accountId)).thenReturn(List.of(stripe(0, "0")));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(stripedBalanceService.compact(accountId)));
+        verify(accountRepository, never()).credit(any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void setStripesCompactsThenRecreatesStripeRows() {
+        when(accountBalanceStripeRepository.findByAccountIdForUpdate(accountId)).thenReturn(new ArrayList<>());
+
+        stripedBalanceService.setStripes(accountId, 4);
+
+        verify(accountBalanceStripeRepository).deleteByAccountId(accountId);
+        ArgumentCaptor<List<AccountBalanceStripe>> rows = ArgumentCaptor.forClass(List.class);
+        verify(accountBalanceStripeRepository).saveAll(rows.capture());
+        assertEquals(List.of(0, 1, 2, 3), rows.getValue().stream().map(stripe -> stripe.getId().getStripeNo()).toList());
+        verify(accountRepository).updateBalanceStripes(eq(accountId), eq(4), any(LocalDateTime.class));
+    }
+
+    @Test
+    void setStripesValidatesInput() {
+        assertThrows(IllegalArgumentException.class, () -> stripedBalanceService.setStripes(accountId, -1));
+        assertThrows(IllegalArgumentException.class, () -> stripedBalanceService.setStripes(accountId, StripedBalanceService.MAX_STRIPES + 1));
+        when(accountRepository.lockByAccountId(accountId)).thenReturn(Optional.empty());
+        assertThrows(AccountNotFoundException.class, () -> stripedBalanceService.setStripes(accountId, 8));
+    }
+
+    @Test
+    void creditStripeAlwaysPassesANonNegativeHash() {
+        UUID source = new UUID(-1L, -7L);
+        when(accountBalanceStripeRepository.creditStripe(eq(accountId), anyInt(), any())).thenReturn(1);
+
+        assertTrue(stripedBalanceService.creditStripe(accountId, source, BigDecimal.ONE));
+
+        ArgumentCaptor<Integer> hash = ArgumentCaptor.forClass(Integer.class);
+        verify(accountBalanceStripeRepository).creditStripe(eq(accountId), hash.capture(), eq(BigDecimal.ONE));
+        assertTrue(hash.getValue() >= 0);
+    }
+
+    private AccountBalanceStripe stripe(int stripeNo, String balance) {
+        return new AccountBalanceStripe(new AccountBalanceStripeId(accountId, stripeNo), new BigDecimal(balance));
+    }
+}
@@ -0,0 +1,49 @@
+package dev.dini.account.service.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs operations from several threads at once, for tests of what concurrent callers do to shared rows.
+ */
+public final class Concurrency {
+
+    private Concurrency() {
+    }
+
+    /**
+     * Runs {@code operation} once for every index below {@code operations}, spread round-robin over
+     * {@code threads} threads that all start together.
+     *
+     * @throws java.util.concurrent.ExecutionException With the first operation that failed
+     */
+    public static void runConcurrently(int threads, int operations, IntConsumer operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = thread; i < operations; i += threads) {
+                        operation.accept(i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dev.dini.account.service.support;
+
+import dev.dini.account.service.AccountServiceApplication;
+import dev.dini.account.service.account.Account;
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.account.AccountType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Base for tests that run the real repository statements against PostgreSQL: one container for the
+ * whole test run, migrated by Flyway and validated by Hibernate as in production. Test methods do not
+ * run in a test transaction, so every statement commits and concurrent threads see each other's
+ * writes; each test works on accounts it creates itself. Skipped where Docker is not available.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ContextConfiguration(classes = PostgresRepositoryTest.Config.class)
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresRepositoryTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    protected AccountRepository accountRepository;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        // Started once and shared by every test class, Testcontainers removes it when the JVM exits
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    protected Account createAccount(AccountType accountType, BigDecimal balance, BigDecimal overdraftLimit) {
+        Account account = new Account();
+        account.setCustomerId(UUID.randomUUID());
+        account.setAccountType(accountType);
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setBalance(balance);
+        account.setTransactionLimit(new BigDecimal("1000000"));
+        account.setOverdraftProtection(overdraftLimit.signum() > 0);
+        account.setOverdraftLimit(overdraftLimit);
+        account.setCreatedAt(LocalDateTime.now());
+        account.setUpdatedAt(LocalDateTime.now());
+        return accountRepository.save(account);
+    }
+
+    protected BigDecimal balanceOf(UUID accountId) {
+        return accountRepository.findBalanceByAccountId(accountId).orElseThrow();
+    }
+
+    // Instead of AccountServiceApplication, whose @EnableFeignClients would pull the HTTP clients in
+    @Configuration
+    @AutoConfigurationPackage(basePackageClasses = AccountServiceApplication.class)
+    static class Config {
+    }
+}
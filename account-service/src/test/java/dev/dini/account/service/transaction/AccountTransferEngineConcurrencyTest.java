@@ -0,0 +1,73 @@
+package dev.dini.account.service.transaction;
+
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.overdraft.OverdraftProtectionValidator;
+import dev.dini.account.service.overdraft.OverdraftService;
+import dev.dini.account.service.stripe.StripedBalanceService;
+import dev.dini.account.service.support.PostgresRepositoryTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static dev.dini.account.service.support.Concurrency.runConcurrently;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hammers a handful of hot accounts with transfers in both directions from several threads, through
+ * the real guarded UPDATE statements. No update may be lost, and since both rows of a transfer are
+ * always locked in database order, no transfer may fail on a deadlock.
+ */
+@Import({AccountTransferEngine.class, StripedBalanceService.class, OverdraftService.class, OverdraftProtectionValidator.class})
+class AccountTransferEngineConcurrencyTest extends PostgresRepositoryTest {
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS = 2_000;
+
+    @Autowired
+    private AccountTransferEngine accountTransferEngine;
+
+    @MockitoBean
+    private AccountAuditService accountAuditService;
+
+    @MockitoBean
+    private AccountBalanceCache accountBalanceCache;
+
+    @Test
+    void concurrentTransfersLoseNoUpdatesAndNeverDeadlock() throws Exception {
+        BigDecimal openingBalance = BigDecimal.valueOf(1_000_000);
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            accounts.add(createAccount(AccountType.CHECKING, openingBalance, BigDecimal.ZERO).getAccountId());
+        }
+
+        int[][] transfers = new int[TRANSFERS][];
+        long[] expectedNet = new long[accounts.size()];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < transfers.length; i++) {
+            int from = random.nextInt(accounts.size());
+            int to = (from + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+            int amount = 1 + random.nextInt(100);
+            transfers[i] = new int[]{from, to, amount};
+            expectedNet[from] -= amount;
+            expectedNet[to] += amount;
+        }
+
+        // Any failed transfer, a deadlock included, fails the run
+        runConcurrently(THREADS, TRANSFERS, i -> accountTransferEngine.transfer(
+                accounts.get(transfers[i][0]), accounts.get(transfers[i][1]), BigDecimal.valueOf(transfers[i][2])));
+
+        for (int i = 0; i < accounts.size(); i++) {
+            assertEquals(0, openingBalance.add(BigDecimal.valueOf(expectedNet[i])).compareTo(balanceOf(accounts.get(i))),
+                    "no lost updates on account " + i);
+        }
+    }
+}
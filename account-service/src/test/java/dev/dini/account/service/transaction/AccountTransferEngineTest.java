@@ -0,0 +1,144 @@
+package dev.dini.account.service.transaction;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import dev.dini.account.service.overdraft.OverdraftProtectionValidator;
+import dev.dini.account.service.overdraft.OverdraftService;
+import dev.dini.account.service.stripe.StripedBalanceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountTransferEngineTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private StripedBalanceService stripedBalanceService;
+
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
+
+    private AccountTransferEngine accountTransferEngine;
+
+    private UUID lowId;
+    private UUID highId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // The real guarded debit over the mocked repository
+        OverdraftService overdraftService = new OverdraftService(accountRepository, new OverdraftProtectionValidator(), accountBalanceCache);
+        accountTransferEngine = new AccountTransferEngine(accountRepository, stripedBalanceService, accountBalanceCache, overdraftService);
+        lowId = new UUID(0x1000L, 1L);
+        highId = new UUID(0xF000000000000000L, 1L); // negative as a signed long, still sorts last in the database
+    }
+
+    @Test
+    void transferDebitsBeforeCreditingWhenSourceSortsFirst() {
+        when(accountRepository.debitIfSufficient(eq(lowId), any(), any())).thenReturn(1);
+        when(accountRepository.creditIfUnstriped(eq(highId), any(), any())).thenReturn(1);
+
+        accountTransferEngine.transfer(lowId, highId, BigDecimal.TEN);
+
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).debitIfSufficient(eq(lowId), eq(BigDecimal.TEN), any());
+        inOrder.verify(accountRepository).creditIfUnstriped(eq(highId), eq(BigDecimal.TEN), any());
+    }
+
+    @Test
+    void transferEvictsBothCachedBalances() {
+        when(accountRepository.debitIfSufficient(eq(lowId), any(), any())).thenReturn(1);
+        when(accountRepository.creditIfUnstriped(eq(highId), any(), any())).thenReturn(1);
+
+        accountTransferEngine.transfer(lowId, highId, BigDecimal.TEN);
+
+        verify(accountBalanceCache).evictAll(List.of(lowId, highId));
+    }
+
+    @Test
+    void transferCreditsBeforeDebitingWhenTargetSortsFirst() {
+        when(accountRepository.debitIfSufficient(eq(highId), any(), any())).thenReturn(1);
+        when(accountRepository.creditIfUnstriped(eq(lowId), any(), any())).thenReturn(1);
+
+        accountTransferEngine.transfer(highId, lowId, BigDecimal.TEN);
+
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).creditIfUnstriped(eq(lowId), eq(BigDecimal.TEN), any());
+        inOrder.verify(accountRepository).debitIfSufficient(eq(highId), eq(BigDecimal.TEN), any());
+    }
+
+    @Test
+    void transferThrowsIllegalStateExceptionOnInsufficientFunds() {
+        when(accountRepository.debitIfSufficient(eq(lowId), any(), any())).thenReturn(0);
+        when(accountRepository.existsById(lowId)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> accountTransferEngine.transfer(lowId, highId, BigDecimal.TEN));
+        verify(accountRepository, never()).creditIfUnstriped(any(), any(), any());
+    }
+
+    @Test
+    void transferWithApprovedOverdraftUsesOverdraftGuardedDebit() {
+        BigDecimal overdraft = BigDecimal.valueOf(500);
+        when(accountRepository.debitWithinOverdraft(eq(lowId), eq(BigDecimal.TEN), eq(overdraft), any())).thenReturn(1);
+        when(accountRepository.creditIfUnstriped(eq(highId), any(), any())).thenReturn(1);
+
+        accountTransferEngine.transfer(lowId, highId, BigDecimal.TEN, overdraft);
+
+        verify(accountRepository).debitWithinOverdraft(eq(lowId), eq(BigDecimal.TEN), eq(overdraft), any());
+        verify(accountRepository, never()).debitIfSufficient(any(), any(), any());
+    }
+
+    @Test
+    void transferThrowsAccountNotFoundExceptionForMissingSource() {
+        when(accountRepository.debitIfSufficient(eq(lowId), any(), any())).thenReturn(0);
+        when(accountRepository.existsById(lowId)).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class, () -> accountTransferEngine.transfer(lowId, highId, BigDecimal.TEN));
+    }
+
+    @Test
+    void transferThrowsAccountNotFoundExceptionForMissingTarget() {
+        when(accountRepository.debitIfSufficient(eq(lowId), any(), any())).thenReturn(1);
+        when(accountRepository.creditIfUnstriped(eq(highId), any(), any())).thenReturn(0);
+
+        assertThrows(AccountNotFoundException.class, () -> accountTransferEngine.transfer(lowId, highId, BigDecimal.TEN));
+    }
+
+    @Test
+    void transferCreditsABalanceStripeWhenTheTargetIsStriped() {
+        when(accountRepository.debitIfSufficient(eq(lowId), any(), any())).thenReturn(1);
+        when(accountRepository.creditIfUnstriped(eq(highId), any(), any())).thenReturn(0);
+        when(stripedBalanceService.creditStripe(highId, lowId, BigDecimal.TEN)).thenReturn(true);
+
+        accountTransferEngine.transfer(lowId, highId, BigDecimal.TEN);
+
+        verify(stripedBalanceService).creditStripe(highId, lowId, BigDecimal.TEN);
+    }
+
+    @Test
+    void transferRejectsNonPositiveAmountsAndSelfTransfers() {
+        assertThrows(IllegalArgumentException.class, () -> accountTransferEngine.transfer(lowId, highId, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> accountTransferEngine.transfer(lowId, highId, BigDecimal.valueOf(-5)));
+        assertThrows(IllegalArgumentException.class, () -> accountTransferEngine.transfer(lowId, lowId, BigDecimal.TEN));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void databaseOrderComparesUuidsAsUnsigned() {
+        assertTrue(AccountIdOrder.compare(lowId, highId) < 0);
+        assertTrue(lowId.compareTo(highId) > 0); // java.util.UUID ordering disagrees with the database
+        assertEquals(0, AccountIdOrder.compare(lowId, new UUID(0x1000L, 1L)));
+    }
+}
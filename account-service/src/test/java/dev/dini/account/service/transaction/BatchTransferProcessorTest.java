@@ -0,0 +1,233 @@
+package dev.dini.account.service.transaction;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.account.AccountValidationView;
+import dev.dini.account.service.audit.AccountAuditService;
+import dev.dini.account.service.component.AccountBalanceCache;
+import dev.dini.account.service.component.AccountStatusRegistry;
+import dev.dini.account.service.dto.BatchTransferResultDTO;
+import dev.dini.account.service.dto.FundTransferRequestDTO;
+import dev.dini.account.service.overdraft.OverdraftProtectionValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class BatchTransferProcessorTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AccountAuditService accountAuditService;
+
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
+
+    @Mock
+    private VelocityLimiter velocityLimiter;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountStatusRegistry accountStatusRegistry;
+
+    private TransferValidator transferValidator;
+    private BatchTransferProcessor batchTransferProcessor;
+
+    private UUID payroll;
+    private UUID alice;
+    private UUID bob;
+    private Map<UUID, AccountValidationView> accounts;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        transferValidator = new TransferValidator(accountRepository, new OverdraftProtectionValidator(), accountStatusRegistry);
+        batchTransferProcessor = new BatchTransferProcessor(jdbcTemplate, accountAuditService, accountBalanceCache,
+                velocityLimiter, transferValidator);
+        payroll = UUID.randomUUID();
+        alice = UUID.randomUUID();
+        bob = UUID.randomUUID();
+        accounts = new HashMap<>();
+        accounts.put(payroll, account(payroll, 250));
+        accounts.put(alice, account(alice, 0));
+        accounts.put(bob, account(bob, 0));
+    }
+
+    @Test
+    void planAppliesTransfersAgainstARunningBalance() {
+        List<FundTransferRequestDTO> transfers = List.of(
+                transfer(payroll, alice, 100),
+                transfer(payroll, bob, 100),
+                transfer(payroll, alice, 100));
+
+        BatchTransferProcessor.ChunkPlan plan = batchTransferProcessor.plan(transfers, 10, accounts);
+
+        List<BatchTransferResultDTO> results = plan.results();
+        assertEquals(BatchTransferStatus.APPLIED, results.get(0).getStatus());
+        assertEquals(BatchTransferStatus.APPLIED, results.get(1).getStatus());
+        assertEquals(BatchTransferStatus.REJECTED, results.get(2).getStatus());
+        assertEquals("INSUFFICIENT_FUNDS", results.get(2).getReason());
+        assertEquals(12, results.get(2).getIndex());
+
+        assertEquals(0, BigDecimal.valueOf(-200).compareTo(plan.deltas().get(payroll)));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(plan.deltas().get(alice)));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(plan.deltas().get(bob)));
+        assertEquals(2, plan.appliedPerSource().get(payroll));
+    }
+
+    @Test
+    void planRejectsTransfersOverTheVelocityLimitOfTheSource() {
+        when(velocityLimiter.tryAcquire(payroll, BigDecimal.valueOf(100)))
+                .thenReturn(Optional.empty(), Optional.of("per-minute limit of 1 transfers"));
+
+        BatchTransferProcessor.ChunkPlan plan = batchTransferProcessor.plan(
+                List.of(transfer(payroll, alice, 100), transfer(payroll, bob, 100)), 0, accounts);
+
+        assertEquals(BatchTransferStatus.APPLIED, plan.results().get(0).getStatus());
+        assertEquals("VELOCITY_LIMIT", plan.results().get(1).getReason());
+        assertEquals(0, BigDecimal.valueOf(-100).compareTo(plan.deltas().get(payroll)));
+        assertNull(plan.deltas().get(bob));
+    }
+
+    @Test
+    void payrollBatchFromOneSourceIsNotLimitedByTheDefaultVelocityConfig() {
+        BatchTransferProcessor processor = new BatchTransferProcessor(jdbcTemplate, accountAuditService, accountBalanceCache,
+                new VelocityLimiter(jdbcTemplate, new SimpleMeterRegistry(), 64), transferValidator);
+        accounts.put(payroll, account(payroll, 10_000));
+        List<FundTransferRequestDTO> transfers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            transfers.add(transfer(payroll, i % 2 == 0 ? alice : bob, 10));
+        }
+
+        BatchTransferProcessor.ChunkPlan plan = processor.plan(transfers, 0, accounts);
+
+        assertTrue(plan.results().stream().allMatch(result -> result.getStatus() == BatchTransferStatus.APPLIED));
+        assertEquals(500, plan.appliedPerSource().get(payroll));
+    }
+
+    @Test
+    void planRejectsInvalidTransfersWithoutTouchingBalances() {
+        UUID unknown = UUID.randomUUID();
+        FundTransferRequestDTO missingAmount = transfer(payroll, alice, 1);
+        missingAmount.setAmount(null);
+        List<FundTransferRequestDTO> transfers = List.of(
+                missingAmount,
+                transfer(payroll, alice, -5),
+                transfer(payroll, payroll, 5),
+                transfer(payroll, unknown, 5));
+
+        BatchTransferProcessor.ChunkPlan plan = batchTransferProcessor.plan(transfers, 0, accounts);
+
+        assertEquals(List.of("MISSING_FIELDS", "INVALID_AMOUNT", "SAME_ACCOUNT", "ACCOUNT_NOT_FOUND"),
+                plan.results().stream().map(BatchTransferResultDTO::getReason).toList());
+        assertTrue(plan.deltas().isEmpty());
+    }
+
+    @Test
+    void planRejectsTransfersFromOrToAccountsWhoseLockedRowIsInactive() {
+        accounts.put(bob, new AccountValidationView(bob, AccountStatus.FROZEN, AccountType.CHECKING,
+                null, BigDecimal.ZERO, false, BigDecimal.ZERO));
+
+        BatchTransferProcessor.ChunkPlan plan = batchTransferProcessor.plan(
+                List.of(transfer(payroll, bob, 100), transfer(payroll, alice, 100)), 0, accounts);
+
+        assertEquals("ACCOUNT_INACTIVE", plan.results().get(0).getReason());
+        assertEquals(BatchTransferStatus.APPLIED, plan.results().get(1).getStatus());
+        assertNull(plan.deltas().get(bob));
+    }
+
+    @Test
+    void planGoesByTheLockedRowRatherThanTheStatusRegistry() {
+        // The registry has not caught up with bob being reactivated yet
+        when(accountStatusRegistry.isInactive(bob)).thenReturn(true);
+
+        BatchTransferProcessor.ChunkPlan plan = batchTransferProcessor.plan(List.of(transfer(payroll, bob, 100)), 0, accounts);
+
+        assertEquals(BatchTransferStatus.APPLIED, plan.results().get(0).getStatus());
+    }
+
+    @Test
+    void planAppliesTheSourceTypeAndTransactionLimitRulesOfSingleTransfers() {
+        UUID deposit = UUID.randomUUID();
+        accounts.put(deposit, new AccountValidationView(deposit, AccountStatus.ACTIVE, AccountType.FIXED_DEPOSIT,
+                null, BigDecimal.valueOf(1000), false, BigDecimal.ZERO));
+        accounts.put(payroll, new AccountValidationView(payroll, AccountStatus.ACTIVE, AccountType.CHECKING,
+                BigDecimal.valueOf(50), BigDecimal.valueOf(250), false, BigDecimal.ZERO));
+
+        BatchTransferProcessor.ChunkPlan plan = batchTransferProcessor.plan(List.of(
+                transfer(deposit, alice, 10),
+                transfer(payroll, alice, 51),
+                transfer(payroll, alice, 50)), 0, accounts);
+
+        assertEquals("SOURCE_TYPE_NOT_ALLOWED", plan.results().get(0).getReason());
+        assertEquals("TRANSACTION_LIMIT", plan.results().get(1).getReason());
+        assertEquals(BatchTransferStatus.APPLIED, plan.results().get(2).getStatus());
+    }
+
+    @Test
+    void planLetsASourceWithOverdraftProtectionGoDownToItsLimit() {
+        accounts.put(payroll, new AccountValidationView(payroll, AccountStatus.ACTIVE, AccountType.CHECKING,
+                null, BigDecimal.valueOf(100), true, BigDecimal.valueOf(100)));
+
+        BatchTransferProcessor.ChunkPlan plan = batchTransferProcessor.plan(List.of(
+                transfer(payroll, alice, 150),
+                transfer(payroll, bob, 50),
+                transfer(payroll, bob, 1)), 0, accounts);
+
+        assertEquals(BatchTransferStatus.APPLIED, plan.results().get(0).getStatus());
+        assertEquals(BatchTransferStatus.APPLIED, plan.results().get(1).getStatus());
+        assertEquals("INSUFFICIENT_FUNDS", plan.results().get(2).getReason());
+        assertEquals(0, BigDecimal.valueOf(-200).compareTo(plan.deltas().get(payroll)));
+    }
+
+    @Test
+    void planNetsOutOpposingTransfers() {
+        accounts.put(alice, account(alice, 50));
+        List<FundTransferRequestDTO> transfers = List.of(
+                transfer(alice, bob, 50),
+                transfer(bob, alice, 50));
+
+        BatchTransferProcessor.ChunkPlan plan = batchTransferProcessor.plan(transfers, 0, accounts);
+
+        assertTrue(plan.results().stream().allMatch(result -> result.getStatus() == BatchTransferStatus.APPLIED));
+        assertTrue(plan.deltas().isEmpty(), "accounts whose net change is zero need no update");
+    }
+
+    @Test
+    void planOrdersDeltasLikeTheDatabase() {
+        List<FundTransferRequestDTO> transfers = List.of(transfer(payroll, alice, 1), transfer(payroll, bob, 1));
+
+        BatchTransferProcessor.ChunkPlan plan = batchTransferProcessor.plan(transfers, 0, accounts);
+
+        List<UUID> ordered = new ArrayList<>(plan.deltas().keySet());
+        List<UUID> expected = new ArrayList<>(ordered);
+        expected.sort(AccountIdOrder.DATABASE_ORDER);
+        assertEquals(expected, ordered);
+    }
+
+    private static AccountValidationView account(UUID accountId, long balance) {
+        return new AccountValidationView(accountId, AccountStatus.ACTIVE, AccountType.CHECKING, null,
+                BigDecimal.valueOf(balance), false, BigDecimal.ZERO);
+    }
+
+    private FundTransferRequestDTO transfer(UUID from, UUID to, long amount) {
+        FundTransferRequestDTO transfer = new FundTransferRequestDTO();
+        transfer.setFromAccountId(from);
+        transfer.setToAccountId(to);
+        transfer.setAmount(BigDecimal.valueOf(amount));
+        return transfer;
+    }
+}
@@ -0,0 +1,113 @@
+package dev.dini.account.service.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dini.account.service.dto.BatchTransferResponseDTO;
+import dev.dini.account.service.dto.BatchTransferResultDTO;
+import dev.dini.account.service.dto.FundTransferRequestDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BatchTransferServiceTest {
+
+    @Mock
+    private BatchTransferProcessor batchTransferProcessor;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private BatchTransferService batchTransferService;
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(batchTransferProcessor.applyChunk(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<FundTransferRequestDTO> chunk = invocation.getArgument(0);
+            int firstIndex = invocation.getArgument(1);
+            chunkSizes.add(chunk.size());
+            List<BatchTransferResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                FundTransferRequestDTO transfer = chunk.get(i);
+                results.add(new BatchTransferResultDTO(firstIndex + i, transfer.getFromAccountId(),
+                        transfer.getToAccountId(), transfer.getAmount(), BatchTransferStatus.APPLIED, null));
+            }
+            return results;
+        });
+    }
+
+    @Test
+    void transferReadsAJsonArrayInChunks() {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 1_200; i++) {
+            body.append(i == 0 ? "" : ",").append(transferJson());
+        }
+        body.append("]");
+
+        BatchTransferResponseDTO response = batchTransferService.transfer(stream(body.toString()));
+
+        assertEquals(1_200, response.getTotal());
+        assertEquals(1_200, response.getApplied());
+        assertNull(response.getError());
+        assertEquals(List.of(500, 500, 200), chunkSizes);
+        assertEquals(1_199, response.getResults().get(1_199).getIndex());
+    }
+
+    @Test
+    void transferReadsNewlineDelimitedJson() {
+        String body = transferJson() + "\n" + transferJson() + "\n" + transferJson() + "\n";
+
+        BatchTransferResponseDTO response = batchTransferService.transfer(stream(body));
+
+        assertEquals(3, response.getApplied());
+        assertEquals(List.of(3), chunkSizes);
+    }
+
+    @Test
+    void transferAppliesWhatWasReadBeforeAMalformedEntry() {
+        String body = transferJson() + "\n" + transferJson() + "\n{\"fromAccountId\": \"not-a-uuid\"}\n" + transferJson();
+
+        BatchTransferResponseDTO response = batchTransferService.transfer(stream(body));
+
+        assertEquals(2, response.getApplied());
+        assertNotNull(response.getError());
+        assertTrue(response.getError().contains("position 2"));
+    }
+
+    @Test
+    void transferRejectsEveryItemOfAFailedChunkAndCarriesOn() {
+        reset(batchTransferProcessor);
+        when(batchTransferProcessor.applyChunk(anyList(), anyInt()))
+                .thenThrow(new RuntimeException("deadlock detected"));
+
+        BatchTransferResponseDTO response = batchTransferService.transfer(stream("[" + transferJson() + "," + transferJson() + "]"));
+
+        assertEquals(2, response.getRejected());
+        assertTrue(response.getResults().stream().allMatch(result -> "CHUNK_FAILED".equals(result.getReason())));
+    }
+
+    private String transferJson() {
+        return "{\"fromAccountId\":\"" + UUID.randomUUID() + "\",\"toAccountId\":\"" + UUID.randomUUID() + "\",\"amount\":12.50}";
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
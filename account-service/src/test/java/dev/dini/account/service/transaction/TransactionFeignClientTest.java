@@ -13,6 +13,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 
@@ -31,14 +32,14 @@ public class TransactionFeignClientTest {
 
     @Test
     void createTransaction_withValidData_callsCreateTransaction() {
-        doNothing().when(transactionFeignClient).createTransaction(new TransactionDTO());
+        doNothing().when(transactionFeignClient).createTransaction("key", new TransactionDTO());
 
         UUID fromAccountId = UUID.randomUUID();
         UUID toAccountId = UUID.randomUUID();
         accountService.processTransaction(fromAccountId, toAccountId, BigDecimal.TEN);
 
         ArgumentCaptor<TransactionDTO> captor = ArgumentCaptor.forClass(TransactionDTO.class);
-        verify(transactionFeignClient).createTransaction(captor.capture());
+        verify(transactionFeignClient).createTransaction(anyString(), captor.capture());
         TransactionDTO capturedTransaction = captor.getValue();
 
         assertEquals(fromAccountId, capturedTransaction.getFromAccountId());
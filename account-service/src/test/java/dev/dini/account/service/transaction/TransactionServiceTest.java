@@ -1,18 +1,18 @@
 package dev.dini.account.service.transaction;
 
-import dev.dini.account.service.account.Account;
-import dev.dini.account.service.account.AccountRepository;
 import dev.dini.account.service.audit.AccountAuditService;
 import dev.dini.account.service.exception.AccountNotFoundException;
+import dev.dini.account.service.outbox.TransactionOutboxService;
+import dev.dini.account.service.overdraft.OverdraftService;
 import dev.dini.account.service.security.AccountSecurityService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -21,10 +21,13 @@ import static org.mockito.Mockito.*;
 class TransactionServiceTest {
 
     @Mock
-    private AccountRepository accountRepository;
+    private TransferValidator transferValidator;
 
     @Mock
-    private TransactionFeignClient transactionFeignClient;
+    private AccountTransferEngine accountTransferEngine;
+
+    @Mock
+    private TransactionOutboxService transactionOutboxService;
 
     @Mock
     private AccountAuditService accountAuditService;
@@ -32,14 +35,18 @@ class TransactionServiceTest {
     @Mock
     private AccountSecurityService accountSecurityService;
 
+    @Mock
+    private VelocityLimiter velocityLimiter;
+
+    @Mock
+    private OverdraftService overdraftService;
+
     @InjectMocks
     private TransactionService transactionService;
 
     private UUID fromAccountId;
     private UUID toAccountId;
     private BigDecimal amount;
-    private Account fromAccount;
-    private Account toAccount;
 
     @BeforeEach
     void setUp() {
@@ -47,32 +54,55 @@ class TransactionServiceTest {
         fromAccountId = UUID.randomUUID();
         toAccountId = UUID.randomUUID();
         amount = BigDecimal.valueOf(100);
-        fromAccount = new Account();
-        fromAccount.setAccountId(fromAccountId);
-        fromAccount.setBalance(BigDecimal.valueOf(200));
-        toAccount = new Account();
-        toAccount.setAccountId(toAccountId);
-        toAccount.setBalance(BigDecimal.valueOf(50));
+        when(transferValidator.validate(fromAccountId, toAccountId, amount)).thenReturn(BigDecimal.ZERO);
     }
 
     @Test
     void transferFundsSuccessfully() {
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
-
         transactionService.transferFunds(fromAccountId, toAccountId, amount);
 
-        verify(accountRepository).save(fromAccount);
-        verify(accountRepository).save(toAccount);
-        verify(transactionFeignClient).createTransaction(any(TransactionDTO.class));
+        verify(transferValidator).validate(fromAccountId, toAccountId, amount);
+        verify(accountTransferEngine).transfer(fromAccountId, toAccountId, amount, BigDecimal.ZERO);
+        verify(transactionOutboxService).enqueue(any(TransactionDTO.class));
         verify(accountAuditService).logAccountEvent(eq(fromAccountId), eq("PROCESS_TRANSACTION"), eq("Transaction processed successfully"));
     }
 
+    @Test
+    void transferFundsStopsAtTheVelocityLimitBeforeMovingMoney() {
+        doThrow(new IllegalStateException("Velocity limit exceeded: per-minute limit of 20 transfers"))
+                .when(velocityLimiter).acquire(fromAccountId, amount);
+
+        assertThrows(IllegalStateException.class, () -> transactionService.transferFunds(fromAccountId, toAccountId, amount));
+        verifyNoInteractions(accountTransferEngine, transactionOutboxService);
+    }
+
+    @Test
+    void withdrawGoesThroughTheOverdraftServiceWithinTheVelocityLimits() {
+        transactionService.withdraw(fromAccountId, amount);
+
+        InOrder inOrder = inOrder(velocityLimiter, overdraftService, accountAuditService);
+        inOrder.verify(velocityLimiter).acquire(fromAccountId, amount);
+        inOrder.verify(overdraftService).withdraw(fromAccountId, amount);
+        inOrder.verify(accountAuditService).logAccountEvent(eq(fromAccountId), eq("WITHDRAWAL"), eq("Withdrawal processed successfully"));
+        verifyNoInteractions(accountTransferEngine);
+    }
+
+    @Test
+    void transferFundsPassesApprovedOverdraftToEngine() {
+        when(transferValidator.validate(fromAccountId, toAccountId, amount)).thenReturn(BigDecimal.valueOf(500));
+
+        transactionService.transferFunds(fromAccountId, toAccountId, amount);
+
+        verify(accountTransferEngine).transfer(fromAccountId, toAccountId, amount, BigDecimal.valueOf(500));
+    }
+
     @Test
     void transferFundsThrowsAccountNotFoundException() {
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.empty());
+        doThrow(new AccountNotFoundException(fromAccountId)).when(transferValidator).validate(fromAccountId, toAccountId, amount);
 
         assertThrows(AccountNotFoundException.class, () -> transactionService.transferFunds(fromAccountId, toAccountId, amount));
+        verifyNoInteractions(accountTransferEngine);
+        verifyNoInteractions(transactionOutboxService);
     }
 
     @Test
@@ -80,14 +110,15 @@ class TransactionServiceTest {
         assertThrows(IllegalArgumentException.class, () -> transactionService.transferFunds(null, toAccountId, amount));
         assertThrows(IllegalArgumentException.class, () -> transactionService.transferFunds(fromAccountId, null, amount));
         assertThrows(IllegalArgumentException.class, () -> transactionService.transferFunds(fromAccountId, toAccountId, null));
+        verifyNoInteractions(accountTransferEngine);
     }
 
     @Test
     void transferFundsThrowsIllegalStateException() {
-        fromAccount.setBalance(BigDecimal.valueOf(50));
-        when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-        when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
+        doThrow(new IllegalStateException("Insufficient funds")).when(accountTransferEngine)
+                .transfer(fromAccountId, toAccountId, amount, BigDecimal.ZERO);
 
         assertThrows(IllegalStateException.class, () -> transactionService.transferFunds(fromAccountId, toAccountId, amount));
+        verifyNoInteractions(transactionOutboxService);
     }
-}
\ No newline at end of file
+}
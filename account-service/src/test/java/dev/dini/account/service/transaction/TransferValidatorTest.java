@@ -0,0 +1,131 @@
+package dev.dini.account.service.transaction;
+
+import dev.dini.account.service.account.AccountRepository;
+import dev.dini.account.service.account.AccountStatus;
+import dev.dini.account.service.account.AccountType;
+import dev.dini.account.service.account.AccountValidationView;
+import dev.dini.account.service.component.AccountStatusRegistry;
+import dev.dini.account.service.exception.AccountInactiveException;
+import dev.dini.account.service.exception.AccountNotFoundException;
+import dev.dini.account.service.exception.InsufficientFundsException;
+import dev.dini.account.service.overdraft.OverdraftProtectionValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransferValidatorTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountStatusRegistry accountStatusRegistry;
+
+    private TransferValidator transferValidator;
+
+    private UUID fromAccountId;
+    private UUID toAccountId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        transferValidator = new TransferValidator(accountRepository, new OverdraftProtectionValidator(), accountStatusRegistry);
+        fromAccountId = UUID.randomUUID();
+        toAccountId = UUID.randomUUID();
+    }
+
+    @Test
+    void validateFetchesBothAccountsInOneRoundTrip() {
+        givenAccounts(view(fromAccountId, AccountStatus.ACTIVE, AccountType.CHECKING, "100", false, "0"),
+                view(toAccountId, AccountStatus.ACTIVE, AccountType.SAVINGS, "0", false, "0"));
+
+        assertEquals(BigDecimal.ZERO, transferValidator.validate(fromAccountId, toAccountId, BigDecimal.TEN));
+
+        // Previously: verifyAccountExists x2, verifyAccountActive x2, verifyAccountType, isAccountFrozen x2
+        // and validateWithdrawal each ran a findById, 8 round trips before the transfer started
+        verify(accountRepository, times(1)).findValidationViewsByAccountIds(List.of(fromAccountId, toAccountId));
+        verifyNoMoreInteractions(accountRepository);
+    }
+
+    @Test
+    void validateRejectsMissingTarget() {
+        givenAccounts(view(fromAccountId, AccountStatus.ACTIVE, AccountType.CHECKING, "100", false, "0"));
+
+        AccountNotFoundException exception = assertThrows(AccountNotFoundException.class,
+                () -> transferValidator.validate(fromAccountId, toAccountId, BigDecimal.TEN));
+        assertTrue(exception.getMessage().contains(toAccountId.toString()));
+    }
+
+    @Test
+    void validateRejectsFrozenTarget() {
+        givenAccounts(view(fromAccountId, AccountStatus.ACTIVE, AccountType.CHECKING, "100", false, "0"),
+                view(toAccountId, AccountStatus.FROZEN, AccountType.CHECKING, "0", false, "0"));
+
+        assertThrows(AccountInactiveException.class, () -> transferValidator.validate(fromAccountId, toAccountId, BigDecimal.TEN));
+    }
+
+    @Test
+    void validateRejectsAccountsKnownToBeInactiveWithoutAQuery() {
+        when(accountStatusRegistry.isInactive(fromAccountId)).thenReturn(true);
+
+        assertThrows(AccountInactiveException.class, () -> transferValidator.validate(fromAccountId, toAccountId, BigDecimal.TEN));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void validateRejectsBlockedSourceType() {
+        givenAccounts(view(fromAccountId, AccountStatus.ACTIVE, AccountType.FIXED_DEPOSIT, "100", false, "0"),
+                view(toAccountId, AccountStatus.ACTIVE, AccountType.CHECKING, "0", false, "0"));
+
+        assertThrows(IllegalStateException.class, () -> transferValidator.validate(fromAccountId, toAccountId, BigDecimal.TEN));
+    }
+
+    @Test
+    void validateRejectsAmountAboveTransactionLimit() {
+        givenAccounts(new AccountValidationView(fromAccountId, AccountStatus.ACTIVE, AccountType.CHECKING,
+                        BigDecimal.valueOf(50), new BigDecimal("1000"), false, BigDecimal.ZERO),
+                view(toAccountId, AccountStatus.ACTIVE, AccountType.CHECKING, "0", false, "0"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> transferValidator.validate(fromAccountId, toAccountId, BigDecimal.valueOf(51)));
+        assertEquals("Transaction limit exceeded", exception.getMessage());
+    }
+
+    @Test
+    void validateReturnsOverdraftWhenBalanceAloneIsNotEnough() {
+        givenAccounts(view(fromAccountId, AccountStatus.ACTIVE, AccountType.CHECKING, "100", true, "500"),
+                view(toAccountId, AccountStatus.ACTIVE, AccountType.CHECKING, "0", false, "0"));
+
+        assertEquals(new BigDecimal("500"), transferValidator.validate(fromAccountId, toAccountId, BigDecimal.valueOf(300)));
+        assertThrows(InsufficientFundsException.class,
+                () -> transferValidator.validate(fromAccountId, toAccountId, BigDecimal.valueOf(601)));
+    }
+
+    @Test
+    void validateIgnoresOverdraftOnTypesWithoutOverdraftProtection() {
+        givenAccounts(view(fromAccountId, AccountStatus.ACTIVE, AccountType.SAVINGS, "100", true, "500"),
+                view(toAccountId, AccountStatus.ACTIVE, AccountType.CHECKING, "0", false, "0"));
+
+        assertThrows(InsufficientFundsException.class,
+                () -> transferValidator.validate(fromAccountId, toAccountId, BigDecimal.valueOf(300)));
+    }
+
+    private void givenAccounts(AccountValidationView... views) {
+        when(accountRepository.findValidationViewsByAccountIds(any())).thenReturn(List.of(views));
+    }
+
+    private static AccountValidationView view(UUID accountId, AccountStatus status, AccountType type,
+                                              String balance, boolean overdraftProtection, String overdraftLimit) {
+        return new AccountValidationView(accountId, status, type, null, new BigDecimal(balance),
+                overdraftProtection, new BigDecimal(overdraftLimit));
+    }
+}
@@ -0,0 +1,191 @@
+package dev.dini.account.service.transaction;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class VelocityLimiterTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+    private static final long ONE_UNIT = VelocityLimiter.toUnits(BigDecimal.ONE);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VelocityLimiter velocityLimiter;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        velocityLimiter = new VelocityLimiter(jdbcTemplate, meterRegistry, 64);
+    }
+
+    @Test
+    void perMinuteCountSlidesSecondBySecond() {
+        ReflectionTestUtils.setField(velocityLimiter, "minuteMaxCount", 3L);
+
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, T0).isEmpty());
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, T0 + 20_000).isEmpty());
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, T0 + 40_000).isEmpty());
+        assertEquals(Optional.of("per-minute limit of 3 transfers"), velocityLimiter.tryAcquire(accountId, ONE_UNIT, T0 + 59_000));
+
+        // The first transfer has slid out of the minute
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, T0 + 60_000).isEmpty());
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, T0 + 60_500).isPresent());
+    }
+
+    @Test
+    void amountLimitsAddUpAcrossTheWindow() {
+        ReflectionTestUtils.setField(velocityLimiter, "dayMaxAmount", new BigDecimal("1000.00"));
+        long hour = 3_600_000;
+
+        assertTrue(velocityLimiter.tryAcquire(accountId, VelocityLimiter.toUnits(new BigDecimal("600")), T0).isEmpty());
+        assertTrue(velocityLimiter.tryAcquire(accountId, VelocityLimiter.toUnits(new BigDecimal("400")), T0 + 5 * hour).isEmpty());
+        assertEquals(Optional.of("per-day limit of 1000"),
+                velocityLimiter.tryAcquire(accountId, VelocityLimiter.toUnits(new BigDecimal("0.01")), T0 + 23 * hour));
+
+        assertTrue(velocityLimiter.tryAcquire(accountId, VelocityLimiter.toUnits(new BigDecimal("500")), T0 + 25 * hour).isEmpty());
+    }
+
+    @Test
+    void limitsAreKeptPerAccount() {
+        ReflectionTestUtils.setField(velocityLimiter, "minuteMaxCount", 1L);
+        UUID other = UUID.randomUUID();
+
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, T0).isEmpty());
+        assertTrue(velocityLimiter.tryAcquire(other, ONE_UNIT, T0).isEmpty());
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, T0).isPresent());
+    }
+
+    @Test
+    void releaseGivesARolledBackTransferBack() {
+        ReflectionTestUtils.setField(velocityLimiter, "minuteMaxCount", 1L);
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, T0).isEmpty());
+
+        velocityLimiter.release(accountId, ONE_UNIT, T0);
+
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, T0 + 1).isEmpty());
+    }
+
+    @Test
+    void acquireInsideARolledBackTransactionIsReleased() {
+        ReflectionTestUtils.setField(velocityLimiter, "minuteMaxCount", 1L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            velocityLimiter.acquire(accountId, BigDecimal.TEN);
+            assertThrows(IllegalStateException.class, () -> velocityLimiter.acquire(accountId, BigDecimal.TEN));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        velocityLimiter.acquire(accountId, BigDecimal.TEN);
+        assertEquals(1.0, meterRegistry.get("transfer.velocity.rejected").counter().count());
+    }
+
+    @Test
+    void disabledLimiterAcceptsEverything() {
+        ReflectionTestUtils.setField(velocityLimiter, "enabled", false);
+        ReflectionTestUtils.setField(velocityLimiter, "minuteMaxCount", 1L);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(velocityLimiter.tryAcquire(accountId, BigDecimal.ONE).isEmpty());
+        }
+        assertEquals(0, velocityLimiter.trackedAccounts());
+    }
+
+    @Test
+    void defaultLimitsAreOffAndTrackNothing() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(velocityLimiter.tryAcquire(accountId, BigDecimal.ONE).isEmpty());
+        }
+        assertEquals(0, velocityLimiter.trackedAccounts());
+
+        velocityLimiter.rebuild();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void rebuildCountsTheLastDayOfOutboxTransfers() throws Exception {
+        ReflectionTestUtils.setField(velocityLimiter, "minuteMaxCount", 2L);
+        long now = System.currentTimeMillis();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("from_account_id", UUID.class)).thenReturn(accountId);
+        when(rs.getBigDecimal("amount")).thenReturn(BigDecimal.TEN);
+        when(rs.getTimestamp("created_at")).thenReturn(new Timestamp(now - 1_000), new Timestamp(now - 2 * 3_600_000));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM transaction_outbox"), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+        velocityLimiter.rebuild();
+
+        // Only the transfer of a second ago is still in the minute window
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, now).isEmpty());
+        assertTrue(velocityLimiter.tryAcquire(accountId, ONE_UNIT, now).isPresent());
+    }
+
+    @Test
+    void evictIdleDropsAccountsWithoutTransfersInTheLastDay() {
+        long now = System.currentTimeMillis();
+        velocityLimiter.tryAcquire(accountId, ONE_UNIT, now - 25 * 3_600_000L);
+        velocityLimiter.tryAcquire(UUID.randomUUID(), ONE_UNIT, now);
+
+        velocityLimiter.evictIdle();
+
+        assertEquals(1, velocityLimiter.trackedAccounts());
+    }
+
+    @Test
+    void checkCostsMicrosecondsNotAQuery() {
+        List<UUID> ids = new java.util.ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ReflectionTestUtils.setField(velocityLimiter, "minuteMaxCount", 0L);
+        ReflectionTestUtils.setField(velocityLimiter, "hourMaxCount", 0L);
+        ReflectionTestUtils.setField(velocityLimiter, "dayMaxCount", 0L);
+        for (int i = 0; i < 200_000; i++) {
+            velocityLimiter.tryAcquire(ids.get(i % ids.size()), ONE_UNIT, T0 + i);
+        }
+
+        int checks = 1_000_000;
+        long started = System.nanoTime();
+        for (int i = 0; i < checks; i++) {
+            velocityLimiter.tryAcquire(ids.get(i % ids.size()), ONE_UNIT, T0 + 200_000 + i);
+        }
+        double nanosPerCheck = (System.nanoTime() - started) / (double) checks;
+
+        System.out.printf("velocity check: %.0f ns%n", nanosPerCheck);
+        assertTrue(nanosPerCheck < 20_000, "a velocity check took " + nanosPerCheck + " ns");
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
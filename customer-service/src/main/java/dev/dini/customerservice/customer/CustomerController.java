@@ -154,6 +154,12 @@ public class CustomerController {
         return ResponseEntity.ok(customer);
     }
 
+    // Check which of the given customers exist, for bulk callers such as the account import
+    @PostMapping("/exists")
+    public ResponseEntity<List<UUID>> findExistingCustomerIds(@RequestBody List<UUID> customerIds) {
+        return ResponseEntity.ok(customerService.findExistingCustomerIds(customerIds));
+    }
+
     // Check if a customer exists by email
     @GetMapping("/exists/email")
     public ResponseEntity<Boolean> existsByEmail(@RequestParam String email) {
@@ -2,8 +2,11 @@ package dev.dini.customerservice.customer;
 
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,4 +38,8 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID > {
 
     List<Customer> findByFirstnameAndLastname(@NotNull String firstname, @NotNull String lastname);
 
+    // Method to find which of the given customer IDs exist, in one query
+    @Query("select c.customerId from Customer c where c.customerId in :customerIds")
+    List<UUID> findExistingCustomerIds(@Param("customerIds") Collection<UUID> customerIds);
+
 }
@@ -5,6 +5,7 @@ import dev.dini.customerservice.dto.CustomerResponseDTO;
 import dev.dini.customerservice.dto.UpdateCustomerDTO;
 import jakarta.validation.Valid;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,6 +21,8 @@ public interface CustomerService {
 
     boolean existsByCustomerId(UUID customerId);
 
+    List<UUID> findExistingCustomerIds(Collection<UUID> customerIds);
+
     void deleteCustomer(UUID customerId);
 
     void deactivateCustomer(UUID customerId);
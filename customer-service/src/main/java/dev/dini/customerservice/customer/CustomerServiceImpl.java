@@ -13,6 +13,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -95,6 +96,14 @@ public class CustomerServiceImpl implements CustomerService {
         return this.customerRepository.findById(customerId).isPresent();
     }
 
+    @Override
+    public List<UUID> findExistingCustomerIds(Collection<UUID> customerIds) {
+        if (customerIds.isEmpty()) {
+            return List.of();
+        }
+        return this.customerRepository.findExistingCustomerIds(customerIds);
+    }
+
     @Override
     public void deleteCustomer(UUID customerId) {
         this.customerRepository.deleteById(customerId);
@@ -16,6 +16,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.Mockito.*;
@@ -98,6 +99,20 @@ public class CustomerControllerTest {
         verify(customerService, times(0)).updateCustomer(any(UpdateCustomerDTO.class));
     }
 
+    @Test
+    public void testFindExistingCustomerIds() throws Exception {
+        UUID existing = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(customerService.findExistingCustomerIds(List.of(existing, missing))).thenReturn(List.of(existing));
+
+        mockMvc.perform(post("/api/v1/customers/exists")
+                        .contentType("application/json")
+                        .content("[\"" + existing + "\",\"" + missing + "\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value(existing.toString()))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
     @Test
     public void testDeleteCustomer() throws Exception {
         UUID customerId = UUID.randomUUID();